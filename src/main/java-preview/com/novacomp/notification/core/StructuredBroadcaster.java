@@ -0,0 +1,94 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.model.NotificationRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * {@link Broadcaster} sobre {@link StructuredTaskScope} (API preview de
+ * Java 21): cada solicitud es una subtarea en su propio Virtual Thread y
+ * el ámbito garantiza que ninguna sobrevive a la llamada. Con
+ * {@link BroadcastPolicy#ANY} el primer éxito cierra el ámbito; al vencer
+ * el plazo también. Cerrar el ámbito interrumpe las subtareas pendientes y
+ * espera a que terminen.
+ * <p>
+ * Se compila aparte con {@code --enable-preview} y se carga por reflexión
+ * desde {@link Broadcaster#create}; no referenciar directamente.
+ */
+final class StructuredBroadcaster implements Broadcaster {
+
+    @Override
+    public BroadcastResult broadcast(Function<NotificationRequest, NotificationResult> send,
+            BroadcastPolicy policy, Duration deadline, List<? extends NotificationRequest> requests) {
+        boolean timedOut = false;
+        boolean interrupted = false;
+        List<Subtask<NotificationResult>> subtasks = new ArrayList<>(requests.size());
+        List<NotificationResult> results = new ArrayList<>(requests.size());
+        try (var scope = new BroadcastScope(policy)) {
+            for (NotificationRequest request : requests) {
+                subtasks.add(scope.fork(() -> send.apply(request)));
+            }
+            try {
+                scope.joinUntil(Instant.now().plus(deadline));
+            } catch (TimeoutException ex) {
+                timedOut = true;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+            if (timedOut || interrupted) {
+                // Ya cerrado: join() retorna de inmediato y habilita Subtask.get().
+                scope.shutdown();
+                joinQuietly(scope);
+            }
+
+            for (int i = 0; i < subtasks.size(); i++) {
+                Subtask<NotificationResult> subtask = subtasks.get(i);
+                results.add(switch (subtask.state()) {
+                    case SUCCESS -> subtask.get();
+                    case FAILED -> Broadcaster.error(subtask.exception());
+                    case UNAVAILABLE -> Broadcaster.unfinished(timedOut || interrupted, requests.get(i));
+                });
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return new BroadcastResult(policy, results);
+    }
+
+    private static void joinQuietly(StructuredTaskScope<?> scope) {
+        try {
+            scope.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ámbito que se cierra con el primer éxito si la política es
+     * {@link BroadcastPolicy#ANY}.
+     */
+    private static final class BroadcastScope extends StructuredTaskScope<NotificationResult> {
+
+        private final BroadcastPolicy policy;
+
+        BroadcastScope(BroadcastPolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        protected void handleComplete(Subtask<? extends NotificationResult> subtask) {
+            if (policy == BroadcastPolicy.ANY && subtask.state() == Subtask.State.SUCCESS
+                    && subtask.get() instanceof NotificationResult.Success) {
+                shutdown();
+            }
+        }
+    }
+}
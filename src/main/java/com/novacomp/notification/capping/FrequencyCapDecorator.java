@@ -0,0 +1,72 @@
+package com.novacomp.notification.capping;
+
+import com.novacomp.notification.config.CappingSettings;
+import com.novacomp.notification.core.NotificationCategory;
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.routing.ProviderStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decorator que aplica el {@link FrequencyCapper} antes de llamar al canal,
+ * con la categoría vinculada al hilo ({@link NotificationCategory}).
+ * <p>
+ * Un envío por encima del límite no llega al proveedor: se retorna de
+ * inmediato un {@code Failure} {@value FrequencyCapper#FREQUENCY_CAPPED}.
+ *
+ * @param <T> el tipo de solicitud de notificación que maneja el canal envuelto
+ */
+@Slf4j
+public final class FrequencyCapDecorator<T> implements NotificationChannel<T> {
+
+    private final NotificationChannel<T> delegate;
+    private final FrequencyCapper capper;
+
+    /**
+     * @param delegate el canal a decorar
+     * @param capper   el límite de frecuencia (puede compartirse entre
+     *                 canales)
+     */
+    public FrequencyCapDecorator(NotificationChannel<T> delegate, FrequencyCapper capper) {
+        this.delegate = Objects.requireNonNull(delegate, "El canal delegado no puede ser nulo");
+        this.capper = Objects.requireNonNull(capper, "El FrequencyCapper no puede ser nulo");
+    }
+
+    @Override
+    public NotificationResult send(T request) {
+        if (!(request instanceof NotificationRequest notification)) {
+            return delegate.send(request);
+        }
+        ChannelType type = notification.channelType();
+        String category = NotificationCategory.current().orElse(FrequencyCapper.DEFAULT_CATEGORY);
+        if (!capper.tryAcquire(type, category, notification.recipient())) {
+            CappingSettings.Rule rule = capper.rule(type, category);
+            log.info("[{}] Límite de frecuencia alcanzado; no se envía [para='{}', categoria={}]",
+                    type, notification.recipient(), category);
+            return new NotificationResult.Failure(FrequencyCapper.FREQUENCY_CAPPED,
+                    "El destinatario alcanzó el límite de " + rule.limit() + " envíos de '" + category
+                            + "' por " + rule.window());
+        }
+        return delegate.send(request);
+    }
+
+    @Override
+    public ChannelType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public List<ProviderStats> providerStats() {
+        return delegate.providerStats();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+}
@@ -0,0 +1,102 @@
+package com.novacomp.notification.capping;
+
+import com.novacomp.notification.config.CappingSettings;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.suppression.SuppressionList;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Límite de frecuencia por destinatario, por canal y categoría (ej: no más
+ * de 3 pushes de marketing por usuario y día).
+ * <p>
+ * Cada regla de {@link CappingSettings} tiene su propio
+ * {@link SlidingWindowSketch}, por lo que la memoria es fija (16 × width ×
+ * depth bytes por regla) sin importar cuántos destinatarios haya. Un envío
+ * sin regla para su canal y categoría no se limita; los envíos sin
+ * categoría usan la regla {@value #DEFAULT_CATEGORY}. Se cuentan los envíos
+ * admitidos, terminen o no en éxito.
+ */
+public final class FrequencyCapper {
+
+    /** Código del {@code Failure} de un envío que superó el límite. */
+    public static final String FREQUENCY_CAPPED = "FREQUENCY_CAPPED";
+
+    /** Categoría de los envíos que no declaran una. */
+    public static final String DEFAULT_CATEGORY = "default";
+
+    private final Map<ChannelType, Map<String, Cap>> caps = new EnumMap<>(ChannelType.class);
+
+    private record Cap(CappingSettings.Rule rule, SlidingWindowSketch sketch) {
+    }
+
+    /**
+     * @param settings reglas y tamaño de los sketches
+     * @param clock    reloj de las ventanas
+     */
+    public FrequencyCapper(CappingSettings settings, Clock clock) {
+        Objects.requireNonNull(settings, "La configuración no puede ser nula");
+        Objects.requireNonNull(clock, "El reloj no puede ser nulo");
+        for (CappingSettings.Rule rule : settings.rules()) {
+            var sketch = new SlidingWindowSketch(settings.width(), settings.depth(), rule.window(), clock);
+            caps.computeIfAbsent(rule.channel(), type -> new HashMap<>()).put(rule.category(), new Cap(rule, sketch));
+        }
+    }
+
+    /**
+     * Cuenta un envío si el destinatario no alcanzó el límite de la regla de
+     * su canal y categoría.
+     *
+     * @param channel   el canal
+     * @param category  la categoría, o {@code null} para
+     *                  {@value #DEFAULT_CATEGORY}
+     * @param recipient el destinatario en forma canónica
+     * @return {@code true} si el envío se admite (o no hay regla)
+     */
+    public boolean tryAcquire(ChannelType channel, String category, String recipient) {
+        Cap cap = cap(channel, category);
+        return cap == null || cap.sketch().tryAcquire(SuppressionList.fingerprint(channel, recipient), cap.rule().limit());
+    }
+
+    /**
+     * @param channel   el canal
+     * @param category  la categoría, o {@code null} para
+     *                  {@value #DEFAULT_CATEGORY}
+     * @param recipient el destinatario en forma canónica
+     * @return envíos estimados del destinatario en la ventana de la regla,
+     *         o 0 si no hay regla
+     */
+    public int estimate(ChannelType channel, String category, String recipient) {
+        Cap cap = cap(channel, category);
+        return cap == null ? 0 : cap.sketch().estimate(SuppressionList.fingerprint(channel, recipient));
+    }
+
+    /**
+     * @param channel  el canal
+     * @param category la categoría
+     * @return la regla del canal y la categoría, o {@code null} si no hay
+     */
+    public CappingSettings.Rule rule(ChannelType channel, String category) {
+        Cap cap = cap(channel, category);
+        return cap == null ? null : cap.rule();
+    }
+
+    /**
+     * @return memoria total de los sketches, en bytes
+     */
+    public long memoryBytes() {
+        return caps.values().stream()
+                .flatMap(byCategory -> byCategory.values().stream())
+                .mapToLong(cap -> cap.sketch().memoryBytes())
+                .sum();
+    }
+
+    private Cap cap(ChannelType channel, String category) {
+        Map<String, Cap> byCategory = caps.get(channel);
+        return byCategory == null ? null : byCategory.get(category != null ? category : DEFAULT_CATEGORY);
+    }
+}
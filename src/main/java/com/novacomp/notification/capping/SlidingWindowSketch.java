@@ -0,0 +1,216 @@
+package com.novacomp.notification.capping;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Count-min sketch sobre una ventana deslizante: cuenta eventos por clave
+ * en memoria constante, sin importar cuántas claves distintas haya.
+ *
+ * <h3>Estructura</h3>
+ * {@code depth} filas de {@code width} celdas; una clave cae en una celda
+ * por fila. Cada celda es un {@code long} con {@value #BUCKETS} contadores
+ * de 8 bits, uno por octavo de la ventana: la ventana avanza de a
+ * {@code window / 8}. El conteo de una fila es la suma de los 8 bytes de su
+ * celda (en registros, sin recorrer memoria) y la estimación es el mínimo
+ * entre filas, así que una consulta cuesta {@code depth} accesos a memoria.
+ *
+ * <h3>Precisión</h3>
+ * Las colisiones solo pueden sobrestimar: una clave nunca supera el límite,
+ * pero puede bloquearse antes de tiempo si sus celdas las comparten claves
+ * muy activas. La actualización conservadora (solo se incrementan las filas
+ * cuyo conteo es el mínimo) reduce ese error. Con {@code width} del orden de
+ * las claves distintas por ventana y {@code depth} 4, los bloqueos de más
+ * quedan muy por debajo del 1%. La memoria es
+ * {@code 16 × width × depth} bytes.
+ *
+ * <h3>Avance de la ventana</h3>
+ * Cada celda lleva al lado (en la misma línea de caché) el sello del octavo
+ * en que se limpió por última vez. La ventana no se recorre al avanzar:
+ * cada celda se limpia de forma perezosa la primera vez que se usa en un
+ * octavo nuevo, borrando solo los contadores que salieron desde su sello,
+ * y una consulta ignora esos contadores sin escribir. Así ningún envío
+ * paga una pasada por todo el sketch. Los incrementos son CAS sobre la
+ * celda, sin locks. Dos envíos simultáneos a la misma clave pueden
+ * admitirse ambos en el último lugar libre.
+ */
+public final class SlidingWindowSketch {
+
+    /** Octavos de la ventana: cada uno es un byte de la celda. */
+    public static final int BUCKETS = 8;
+
+    /** Máximo de eventos por clave que puede contar un octavo. */
+    public static final int MAX_COUNT = 0xFF;
+
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** Sello de una celda mientras un hilo borra sus contadores vencidos. */
+    private static final long CLEARING = -1;
+
+    /** Pares (contadores, sello del último octavo en que se limpió). */
+    private final long[] cells;
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final long bucketMillis;
+    private final Clock clock;
+
+    /**
+     * @param width  celdas por fila (se redondea a potencia de 2)
+     * @param depth  filas, de 1 a 8
+     * @param window ventana de conteo (al menos 8 ms)
+     * @param clock  reloj que define los octavos de la ventana
+     */
+    public SlidingWindowSketch(int width, int depth, Duration window, Clock clock) {
+        Objects.requireNonNull(window, "La ventana no puede ser nula");
+        this.clock = Objects.requireNonNull(clock, "El reloj no puede ser nulo");
+        if (width < 1 || width > 1 << 28) {
+            throw new IllegalArgumentException("width debe estar entre 1 y 2^28");
+        }
+        if (depth < 1 || depth > 8) {
+            throw new IllegalArgumentException("depth debe estar entre 1 y 8");
+        }
+        if (window.toMillis() < BUCKETS) {
+            throw new IllegalArgumentException("La ventana debe ser de al menos " + BUCKETS + " ms");
+        }
+        this.width = Integer.bitCount(width) == 1 ? width : Integer.highestOneBit(width) << 1;
+        if ((long) this.width * depth > 1 << 29) {
+            throw new IllegalArgumentException("width × depth no puede superar 2^29 celdas");
+        }
+        this.depth = depth;
+        this.mask = this.width - 1;
+        this.cells = new long[this.width * depth * 2];
+        this.bucketMillis = window.toMillis() / BUCKETS;
+    }
+
+    /**
+     * Estima los eventos de la clave dentro de la ventana.
+     *
+     * @param key huella de 64 bits de la clave
+     * @return la estimación (nunca menor que el valor real)
+     */
+    public int estimate(long key) {
+        long current = currentBucket();
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, count(index(row, h1, h2), current));
+        }
+        return min;
+    }
+
+    /**
+     * Cuenta un evento de la clave si su estimación en la ventana es menor
+     * que {@code limit}.
+     *
+     * @param key   huella de 64 bits de la clave
+     * @param limit eventos admitidos por ventana
+     * @return {@code true} si el evento se admitió y contó
+     */
+    public boolean tryAcquire(long key, int limit) {
+        long current = currentBucket();
+        int shift = (int) (current & (BUCKETS - 1)) << 3;
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, h1, h2);
+            refresh(index, current);
+            min = Math.min(min, sum((long) CELLS.getAcquire(cells, index)));
+        }
+        if (min >= limit) {
+            return false;
+        }
+        // Actualización conservadora: solo las filas que están en el mínimo.
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, h1, h2);
+            long cell;
+            do {
+                cell = (long) CELLS.getAcquire(cells, index);
+                if (sum(cell) > min || ((cell >>> shift) & 0xFF) == MAX_COUNT) {
+                    break;
+                }
+            } while (!CELLS.compareAndSet(cells, index, cell, cell + (1L << shift)));
+        }
+        return true;
+    }
+
+    /**
+     * @return memoria ocupada por los contadores, en bytes
+     */
+    public long memoryBytes() {
+        return (long) cells.length * Long.BYTES;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    /** Posición de los contadores de la celda; su sello está en la siguiente. */
+    private int index(int row, int h1, int h2) {
+        return (row * width + ((h1 + row * h2) & mask)) << 1;
+    }
+
+    /** @return el octavo actual (número de octavos desde la época) */
+    private long currentBucket() {
+        return clock.millis() / bucketMillis;
+    }
+
+    /**
+     * Borra los contadores de la celda que salieron de la ventana desde su
+     * sello. Un solo hilo lo hace por celda y octavo; los demás esperan
+     * unas pocas instrucciones a que publique el sello nuevo.
+     */
+    private void refresh(int index, long current) {
+        while (true) {
+            long stamp = (long) CELLS.getAcquire(cells, index + 1);
+            if (stamp == CLEARING) {
+                Thread.onSpinWait();
+            } else if (stamp >= current) {
+                return;
+            } else if (CELLS.compareAndSet(cells, index + 1, stamp, CLEARING)) {
+                CELLS.getAndBitwiseAnd(cells, index, ~expired(stamp, current));
+                CELLS.setRelease(cells, index + 1, current);
+                return;
+            }
+        }
+    }
+
+    /** Conteo de la celda en el octavo {@code current}, sin escribir en ella. */
+    private int count(int index, long current) {
+        while (true) {
+            long stamp = (long) CELLS.getAcquire(cells, index + 1);
+            long cell = (long) CELLS.getAcquire(cells, index);
+            if (stamp != CLEARING && stamp == (long) CELLS.getAcquire(cells, index + 1)) {
+                return sum(cell & ~expired(stamp, current));
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Máscara de los contadores que salieron de la ventana entre dos octavos. */
+    private static long expired(long stamp, long current) {
+        if (current <= stamp) {
+            return 0;
+        }
+        if (current - stamp >= BUCKETS) {
+            return -1L;
+        }
+        long clear = 0;
+        for (long bucket = stamp + 1; bucket <= current; bucket++) {
+            clear |= 0xFFL << ((bucket & (BUCKETS - 1)) << 3);
+        }
+        return clear;
+    }
+
+    /** Suma de los 8 contadores de una celda (SWAR). */
+    private static int sum(long cell) {
+        long pairs = (cell & 0x00FF00FF00FF00FFL) + ((cell >>> 8) & 0x00FF00FF00FF00FFL);
+        long quads = (pairs & 0x0000FFFF0000FFFFL) + ((pairs >>> 16) & 0x0000FFFF0000FFFFL);
+        return (int) ((quads & 0xFFFFFFFFL) + (quads >>> 32));
+    }
+}
@@ -1,13 +1,27 @@
 package com.novacomp.notification.channel;
 
+import com.novacomp.notification.config.EmailSettings;
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
 import com.novacomp.notification.core.NotificationChannel;
 import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.mime.MimeMessage;
 import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailAttachment;
 import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.payload.PayloadBuffer;
+import com.novacomp.notification.payload.PayloadPool;
+import com.novacomp.notification.payload.ProviderPayloads;
+import com.novacomp.notification.routing.ProviderBalancer;
+import com.novacomp.notification.routing.ProviderStats;
+import com.novacomp.notification.simulation.ProviderBackend;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -17,44 +31,139 @@ import java.util.UUID;
  * En un entorno de producción, esta clase sería reemplazada (o extendida)
  * por una implementación específica del proveedor (ej:
  * {@code SendGridEmailChannel}).
+ * <p>
+ * El cuerpo de cada llamada es el JSON de SendGrid, escrito sobre un
+ * buffer de {@link PayloadPool}. Un correo con adjuntos se transmite como {@link MimeMessage} en streaming
+ * ({@link ProviderBackend#call(String, com.novacomp.notification.mime.MessageBody)}).
+ * Antes de elegir proveedor se abren los adjuntos: uno ilegible falla con
+ * {@value #ATTACHMENT_UNREADABLE} sin contar como fallo del proveedor.
  */
 @Slf4j
 public final class EmailChannel implements NotificationChannel<EmailRequest> {
 
-    private final NotificationConfig config;
+    /** Código de fallo de un correo con un adjunto que no se pudo leer. */
+    public static final String ATTACHMENT_UNREADABLE = "ATTACHMENT_UNREADABLE";
+
+    private final ReloadableConfig config;
+    private final ProviderBackend backend;
+    private final ProviderBalancer balancer;
+    private final boolean quiet;
 
     public EmailChannel(NotificationConfig config) {
+        this(ReloadableConfig.of(config));
+    }
+
+    /**
+     * Crea el canal sobre una configuración recargable: cada envío toma el
+     * snapshot vigente al comenzar.
+     *
+     * @param config referencia a la configuración vigente
+     */
+    public EmailChannel(ReloadableConfig config) {
+        this(config, ProviderBackend.forChannel(ChannelType.EMAIL, config));
+    }
+
+    /**
+     * Crea el canal sobre una configuración recargable y un backend de
+     * proveedor explícito (ej: un simulador).
+     *
+     * @param config  referencia a la configuración vigente
+     * @param backend backend contra el que se realiza cada envío
+     */
+    public EmailChannel(ReloadableConfig config, ProviderBackend backend) {
         this.config = config;
+        this.backend = Objects.requireNonNull(backend, "El backend de proveedor no puede ser nulo");
+        this.quiet = backend.dryRun();
+        this.balancer = new ProviderBalancer("EMAIL", config.current().getEmailSettings().providers());
         log.debug("EmailChannel inicializado con config: from={}",
-                config.getProperty("email.from", "no-configurado"));
+                config.current().getEmailSettings().from());
     }
 
     @Override
     public NotificationResult send(EmailRequest request) {
-        String provider = config.getProperty("email.provider", "sendgrid");
-        String from = config.getProperty("email.from", "no-configurado");
-
-        log.info("[EMAIL] Proveedor={} | De='{}' -> Para='{}', Asunto='{}'",
-                provider, from, request.to(), request.subject());
+        EmailSettings settings = config.current().getEmailSettings();
+        Optional<NotificationResult.Failure> unreadable = openAttachments(request);
+        if (unreadable.isPresent()) {
+            return unreadable.get();
+        }
+        balancer.update(settings.providers());
 
+        ProviderBalancer.Selection route = balancer.select();
         try {
+            if (!quiet) {
+                log.info("[EMAIL] Proveedor={} | De='{}' -> Para='{}', Asunto='{}', Adjuntos={}",
+                        route.provider(), settings.from(), request.to(), request.subject(),
+                        request.attachments().size());
+            }
+
+            Optional<NotificationResult.Failure> rejected = request.attachments().isEmpty()
+                    ? callWithPayload(route.provider(), settings.from(), request)
+                    : backend.call(route.provider(), new MimeMessage(settings.from(), request));
+            if (rejected.isPresent()) {
+                route.onRejected(rejected.get());
+                log.warn("[EMAIL] [{}] Proveedor rechazó el envío [codigo={}]",
+                        route.provider(), rejected.get().code());
+                return rejected.get();
+            }
+            route.onSuccess();
+
             // -- Simulacion de la respuesta de SendGrid v3 API --
             // POST https://api.sendgrid.com/v3/mail/send
             // Response: HTTP 202 Accepted + X-Message-Id header
             String messageId = "SG." + UUID.randomUUID().toString().replace("-", "");
 
-            log.info("[EMAIL] [SendGrid] HTTP 202 Accepted | X-Message-Id={}", messageId);
+            if (!quiet) {
+                log.info("[EMAIL] [SendGrid] HTTP 202 Accepted | X-Message-Id={}", messageId);
+            }
             log.debug("[EMAIL] [SendGrid] Response: {{ \"status\": 202, \"message\": \"success\" }}");
-            return new NotificationResult.Success(messageId, Instant.now());
+            return new NotificationResult.Success(messageId, Instant.now(), getType());
 
         } catch (Exception ex) {
+            route.onFailure();
             log.error("[EMAIL] Fallo en el envio | error={}", ex.getMessage(), ex);
             return new NotificationResult.Failure("EMAIL_SEND_ERROR", ex.getMessage());
+        } finally {
+            route.release();
         }
     }
 
+    @Override
+    public List<ProviderStats> providerStats() {
+        return balancer.stats();
+    }
+
+    @Override
+    public void warmUp() {
+        backend.warmUp();
+    }
+
     @Override
     public ChannelType getType() {
         return ChannelType.EMAIL;
     }
+
+    private Optional<NotificationResult.Failure> callWithPayload(String provider, String from, EmailRequest request) {
+        PayloadBuffer payload = PayloadPool.shared().acquire();
+        try {
+            return backend.call(provider, ProviderPayloads.sendGrid(payload, from, request));
+        } finally {
+            PayloadPool.shared().release(payload);
+        }
+    }
+
+    /**
+     * Abre (mapea) cada adjunto para que un archivo faltante falle antes de
+     * llamar al proveedor. Los adjuntos ya abiertos no se vuelven a leer.
+     */
+    private static Optional<NotificationResult.Failure> openAttachments(EmailRequest request) {
+        for (EmailAttachment attachment : request.attachments()) {
+            try {
+                attachment.content();
+            } catch (UncheckedIOException | IllegalArgumentException ex) {
+                log.warn("[EMAIL] Adjunto ilegible '{}': {}", attachment.filename(), ex.getMessage());
+                return Optional.of(new NotificationResult.Failure(ATTACHMENT_UNREADABLE, ex.getMessage()));
+            }
+        }
+        return Optional.empty();
+    }
 }
@@ -1,55 +1,130 @@
 package com.novacomp.notification.channel;
 
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.PushSettings;
+import com.novacomp.notification.config.ReloadableConfig;
 import com.novacomp.notification.core.NotificationChannel;
 import com.novacomp.notification.core.NotificationResult;
 import com.novacomp.notification.model.ChannelType;
 import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.payload.PayloadBuffer;
+import com.novacomp.notification.payload.PayloadPool;
+import com.novacomp.notification.payload.ProviderPayloads;
+import com.novacomp.notification.routing.ProviderBalancer;
+import com.novacomp.notification.routing.ProviderStats;
+import com.novacomp.notification.simulation.ProviderBackend;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Implementación stub / basada en consola de un canal de notificación push.
  * <p>
  * Sería reemplazada por un adaptador de proveedor como FCM, APNs o similar.
+ * <p>
+ * El cuerpo de cada llamada es el JSON de FCM v1, escrito sobre un buffer
+ * de {@link PayloadPool}.
  */
 @Slf4j
 public final class PushChannel implements NotificationChannel<PushRequest> {
 
-    private final NotificationConfig config;
+    private final ReloadableConfig config;
+    private final ProviderBackend backend;
+    private final ProviderBalancer balancer;
+    private final boolean quiet;
 
     public PushChannel(NotificationConfig config) {
+        this(ReloadableConfig.of(config));
+    }
+
+    /**
+     * Crea el canal sobre una configuración recargable: cada envío toma el
+     * snapshot vigente al comenzar.
+     *
+     * @param config referencia a la configuración vigente
+     */
+    public PushChannel(ReloadableConfig config) {
+        this(config, ProviderBackend.forChannel(ChannelType.PUSH, config));
+    }
+
+    /**
+     * Crea el canal sobre una configuración recargable y un backend de
+     * proveedor explícito (ej: un simulador).
+     *
+     * @param config  referencia a la configuración vigente
+     * @param backend backend contra el que se realiza cada envío
+     */
+    public PushChannel(ReloadableConfig config, ProviderBackend backend) {
         this.config = config;
+        this.backend = Objects.requireNonNull(backend, "El backend de proveedor no puede ser nulo");
+        this.quiet = backend.dryRun();
+        this.balancer = new ProviderBalancer("PUSH", config.current().getPushSettings().providers());
         log.debug("PushChannel inicializado");
     }
 
     @Override
     public NotificationResult send(PushRequest request) {
-        String provider = config.getProperty("push.provider", "fcm");
-        String projectId = config.getProperty("push.project.id", "novacomp-demo");
-
-        log.info("[PUSH] Proveedor={} | Dispositivo='{}', Titulo='{}'",
-                provider, request.deviceToken(), request.title());
+        PushSettings settings = config.current().getPushSettings();
+        String projectId = settings.projectId();
+        balancer.update(settings.providers());
 
+        ProviderBalancer.Selection route = balancer.select();
         try {
+            if (!quiet) {
+                log.info("[PUSH] Proveedor={} | Dispositivo='{}', Titulo='{}'",
+                        route.provider(), request.deviceToken(), request.title());
+            }
+
+            Optional<NotificationResult.Failure> rejected;
+            PayloadBuffer payload = PayloadPool.shared().acquire();
+            try {
+                rejected = backend.call(route.provider(), ProviderPayloads.fcm(payload, request));
+            } finally {
+                PayloadPool.shared().release(payload);
+            }
+            if (rejected.isPresent()) {
+                route.onRejected(rejected.get());
+                log.warn("[PUSH] [{}] Proveedor rechazó el envío [codigo={}]",
+                        route.provider(), rejected.get().code());
+                return rejected.get();
+            }
+            route.onSuccess();
+
             // -- Simulacion de la respuesta de Firebase Cloud Messaging v1 API --
             // POST https://fcm.googleapis.com/v1/projects/{project}/messages:send
             // Response: name = "projects/{project}/messages/{id}"
             String fcmId = UUID.randomUUID().toString().substring(0, 19);
             String messageName = "projects/" + projectId + "/messages/" + fcmId;
 
-            log.info("[PUSH] [FCM] name={} | priority=high | ttl=2419200s", messageName);
+            if (!quiet) {
+                log.info("[PUSH] [FCM] name={} | priority=high | ttl=2419200s", messageName);
+            }
             log.debug("[PUSH] [FCM] Response: {{ \"name\": \"{}\" }}", messageName);
-            return new NotificationResult.Success(messageName, Instant.now());
+            return new NotificationResult.Success(messageName, Instant.now(), getType());
 
         } catch (Exception ex) {
+            route.onFailure();
             log.error("[PUSH] Fallo en el envio | error={}", ex.getMessage(), ex);
             return new NotificationResult.Failure("PUSH_SEND_ERROR", ex.getMessage());
+        } finally {
+            route.release();
         }
     }
 
+    @Override
+    public List<ProviderStats> providerStats() {
+        return balancer.stats();
+    }
+
+    @Override
+    public void warmUp() {
+        backend.warmUp();
+    }
+
     @Override
     public ChannelType getType() {
         return ChannelType.PUSH;
@@ -1,13 +1,26 @@
 package com.novacomp.notification.channel;
 
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
+import com.novacomp.notification.config.SmsSettings;
 import com.novacomp.notification.core.NotificationChannel;
 import com.novacomp.notification.core.NotificationResult;
 import com.novacomp.notification.model.ChannelType;
 import com.novacomp.notification.model.SmsRequest;
+import com.novacomp.notification.payload.PayloadBuffer;
+import com.novacomp.notification.payload.PayloadPool;
+import com.novacomp.notification.payload.ProviderPayloads;
+import com.novacomp.notification.routing.ProviderBalancer;
+import com.novacomp.notification.routing.ProviderStats;
+import com.novacomp.notification.simulation.ProviderBackend;
+import com.novacomp.notification.sms.SmsEncoder;
+import com.novacomp.notification.sms.SmsSegments;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -15,45 +28,124 @@ import java.util.UUID;
  * <p>
  * Sería reemplazada por un adaptador de proveedor como Twilio, Vonage o
  * similar.
+ * <p>
+ * Antes de cada envío se calculan la codificación y los segmentos del
+ * mensaje ({@link SmsRequest#segments()}); con {@code sms.transliterate=true}
+ * el texto se translitera primero a GSM-7 ({@link SmsEncoder#transliterate})
+ * para que un acento o una comilla tipográfica no lo pase a UCS-2.
+ * <p>
+ * El cuerpo de cada llamada es el formulario de Twilio, escrito sobre un
+ * buffer de {@link PayloadPool}.
  */
 @Slf4j
 public final class SmsChannel implements NotificationChannel<SmsRequest> {
 
-    private final NotificationConfig config;
+    /** Número remitente de la cuenta de demostración. */
+    private static final String FROM = "+15551234567";
+
+    private final ReloadableConfig config;
+    private final ProviderBackend backend;
+    private final ProviderBalancer balancer;
+    private final boolean quiet;
 
     public SmsChannel(NotificationConfig config) {
+        this(ReloadableConfig.of(config));
+    }
+
+    /**
+     * Crea el canal sobre una configuración recargable: cada envío toma el
+     * snapshot vigente al comenzar.
+     *
+     * @param config referencia a la configuración vigente
+     */
+    public SmsChannel(ReloadableConfig config) {
+        this(config, ProviderBackend.forChannel(ChannelType.SMS, config));
+    }
+
+    /**
+     * Crea el canal sobre una configuración recargable y un backend de
+     * proveedor explícito (ej: un simulador).
+     *
+     * @param config  referencia a la configuración vigente
+     * @param backend backend contra el que se realiza cada envío
+     */
+    public SmsChannel(ReloadableConfig config, ProviderBackend backend) {
         this.config = config;
+        this.backend = Objects.requireNonNull(backend, "El backend de proveedor no puede ser nulo");
+        this.quiet = backend.dryRun();
+        this.balancer = new ProviderBalancer("SMS", config.current().getSmsSettings().providers());
         log.debug("SmsChannel inicializado con config: proveedor={}",
-                config.getProperty("sms.provider", "no-configurado"));
+                config.current().getSmsSettings().provider());
     }
 
     @Override
     public NotificationResult send(SmsRequest request) {
-        String provider = config.getProperty("sms.provider", "twilio");
-        String accountSid = config.getProperty("sms.account.sid", "AC_demo");
-
-        log.info("[SMS] Proveedor={} | Para='{}', Cuenta='{}'",
-                provider, request.phoneNumber(), accountSid);
+        SmsSettings settings = config.current().getSmsSettings();
+        if (settings.transliterate()) {
+            String message = SmsEncoder.transliterate(request.message());
+            if (message != request.message()) {
+                request = new SmsRequest(request.phoneNumber(), message);
+            }
+        }
+        SmsSegments segments = request.segments();
+        balancer.update(settings.providers());
 
+        ProviderBalancer.Selection route = balancer.select();
         try {
+            if (!quiet) {
+                log.info("[SMS] Proveedor={} | Para='{}', Cuenta='{}', Codificacion={}, Segmentos={}",
+                        route.provider(), request.phoneNumber(), settings.accountSid(),
+                        segments.encoding(), segments.segments());
+            }
+
+            Optional<NotificationResult.Failure> rejected;
+            PayloadBuffer payload = PayloadPool.shared().acquire();
+            try {
+                rejected = backend.call(route.provider(), ProviderPayloads.twilio(payload, FROM, request));
+            } finally {
+                PayloadPool.shared().release(payload);
+            }
+            if (rejected.isPresent()) {
+                route.onRejected(rejected.get());
+                log.warn("[SMS] [{}] Proveedor rechazó el envío [codigo={}]",
+                        route.provider(), rejected.get().code());
+                return rejected.get();
+            }
+            route.onSuccess();
+
             // -- Simulacion de la respuesta de Twilio REST API --
             // POST https://api.twilio.com/2010-04-01/Accounts/{SID}/Messages.json
             // Response: SID con formato SM + 32 hex chars, status "queued"
             String sid = "SM" + UUID.randomUUID().toString().replace("-", "");
 
-            log.info("[SMS] [Twilio] SID={} | Status=queued | To={} | From=+15551234567",
-                    sid, request.phoneNumber());
+            if (!quiet) {
+                log.info("[SMS] [Twilio] SID={} | Status=queued | To={} | From={}",
+                        sid, request.phoneNumber(), FROM);
+            }
             log.debug(
                     "[SMS] [Twilio] Response: {{ \"sid\": \"{}\", \"status\": \"queued\", \"direction\": \"outbound-api\" }}",
                     sid);
-            return new NotificationResult.Success(sid, Instant.now());
+            return new NotificationResult.Success(sid, Instant.now(), getType());
 
         } catch (Exception ex) {
+            route.onFailure();
             log.error("[SMS] Fallo en el envio | error={}", ex.getMessage(), ex);
             return new NotificationResult.Failure("SMS_SEND_ERROR", ex.getMessage());
+        } finally {
+            route.release();
         }
     }
 
+    @Override
+    public List<ProviderStats> providerStats() {
+        return balancer.stats();
+    }
+
+    @Override
+    public void warmUp() {
+        backend.warmUp();
+    }
+
     @Override
     public ChannelType getType() {
         return ChannelType.SMS;
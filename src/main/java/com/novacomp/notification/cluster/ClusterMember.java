@@ -0,0 +1,25 @@
+package com.novacomp.notification.cluster;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+
+/**
+ * Un nodo del cluster: su identificador estable y la dirección donde
+ * atiende los envíos reenviados por los demás nodos.
+ * <p>
+ * La posición del nodo en el {@link HashRing} depende solo de {@code id}:
+ * un nodo que se reinicia en otro puerto conserva sus destinatarios.
+ *
+ * @param id      identificador único y estable del nodo (ej: nombre del pod)
+ * @param address dirección del protocolo de reenvío
+ */
+public record ClusterMember(String id, InetSocketAddress address) {
+
+    public ClusterMember {
+        Objects.requireNonNull(id, "El id del nodo no puede ser nulo");
+        Objects.requireNonNull(address, "La dirección del nodo no puede ser nula");
+        if (id.isBlank()) {
+            throw new IllegalArgumentException("El id del nodo no puede estar vacío");
+        }
+    }
+}
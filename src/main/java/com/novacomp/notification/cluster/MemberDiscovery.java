@@ -0,0 +1,35 @@
+package com.novacomp.notification.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fuente de la membresía del cluster (lista estática, DNS de un headless
+ * service, Consul, etcd...).
+ * <p>
+ * Todos los nodos deben ver, eventualmente, la misma lista: dos nodos con
+ * listas distintas pueden asignar un mismo destinatario a dueños
+ * distintos mientras dura la diferencia.
+ */
+public interface MemberDiscovery {
+
+    /**
+     * @return los nodos vigentes (incluido, normalmente, el propio)
+     */
+    List<ClusterMember> members();
+
+    /**
+     * Registra un listener invocado con la nueva lista tras cada cambio de
+     * membresía.
+     *
+     * @param listener callback que recibe los nodos vigentes
+     */
+    void addListener(Consumer<List<ClusterMember>> listener);
+
+    /**
+     * Quita un listener registrado con {@link #addListener(Consumer)}.
+     *
+     * @param listener el listener a quitar
+     */
+    void removeListener(Consumer<List<ClusterMember>> listener);
+}
@@ -0,0 +1,156 @@
+package com.novacomp.notification.cluster;
+
+import com.novacomp.notification.codec.NotificationCodec;
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Protocolo de reenvío entre nodos: frames con prefijo de longitud sobre
+ * una conexión TCP persistente, con las solicitudes y resultados en el
+ * formato de {@link NotificationCodec}.
+ *
+ * <pre>
+ *   frame     := longitud:i32  tipo:u8  id:i64  cuerpo
+ *   REQUEST   := flags:u8  plazoMs:i64  categoría:(len:u16 UTF-8)  solicitud
+ *   RESPONSE  := resultado
+ *   CANCEL    := (vacío)
+ * </pre>
+ *
+ * {@code id} correlaciona cada respuesta con su solicitud: las respuestas
+ * llegan en el orden en que terminan los envíos, no en el de las
+ * solicitudes. {@code plazoMs} 0 significa sin plazo y una categoría vacía,
+ * sin categoría. {@code CANCEL} cancela en el dueño la solicitud
+ * {@code id} si aún no terminó; el dueño no responde a una solicitud
+ * cancelada.
+ * <p>
+ * Los adjuntos de archivo viajan con su contenido: el codec los guarda
+ * como su ruta, que no existe en el disco del otro nodo.
+ */
+final class ShardProtocol {
+
+    static final byte REQUEST = 1;
+    static final byte RESPONSE = 2;
+    static final byte CANCEL = 3;
+
+    /** Flag de {@code REQUEST}: enviar con {@code sendOrdered}. */
+    static final int ORDERED = 1;
+
+    /** Tamaño máximo de un frame; uno mayor indica un stream corrupto. */
+    static final int MAX_FRAME_BYTES = 16 << 20;
+
+    private static final int HEADER_BYTES = Integer.BYTES + 1 + Long.BYTES;
+
+    /**
+     * Un frame leído del stream.
+     *
+     * @param type     {@link #REQUEST}, {@link #RESPONSE} o {@link #CANCEL}
+     * @param id       id de correlación
+     * @param flags    flags de la solicitud (0 en respuestas)
+     * @param timeout  plazo de la solicitud, o {@code null}
+     * @param category categoría de la solicitud, o {@code null}
+     * @param payload  la solicitud, el {@code NotificationResult} o
+     *                 {@code null} en {@code CANCEL}
+     */
+    record Frame(byte type, long id, int flags, Duration timeout, String category, Object payload) {
+    }
+
+    private ShardProtocol() {
+        // Clase utilitaria -- no instanciable
+    }
+
+    /**
+     * @throws java.io.UncheckedIOException si no se puede leer un adjunto de archivo
+     * @throws IllegalArgumentException     si la categoría o el frame superan su tamaño máximo
+     */
+    static byte[] request(long id, int flags, Duration timeout, String category, Object request) {
+        byte[] record = NotificationCodec.encode(inlineFiles(request));
+        byte[] name = category != null ? category.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("La categoría supera los 65535 bytes");
+        }
+        if ((long) HEADER_BYTES + 1 + Long.BYTES + Short.BYTES + name.length + record.length > MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("La solicitud supera el frame máximo de " + MAX_FRAME_BYTES + " bytes");
+        }
+        ByteBuffer frame = header(REQUEST, id, 1 + Long.BYTES + Short.BYTES + name.length + record.length);
+        frame.put((byte) flags);
+        frame.putLong(timeout != null ? Math.max(1, timeout.toMillis()) : 0);
+        frame.putShort((short) name.length).put(name);
+        return frame.put(record).array();
+    }
+
+    static byte[] response(long id, Object result) {
+        byte[] record = NotificationCodec.encode(result);
+        return header(RESPONSE, id, record.length).put(record).array();
+    }
+
+    static byte[] cancel(long id) {
+        return header(CANCEL, id, 0).array();
+    }
+
+    /**
+     * Lee el siguiente frame.
+     *
+     * @throws EOFException si el otro extremo cerró la conexión
+     * @throws IOException  si el frame está mal formado
+     */
+    static Frame read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < HEADER_BYTES - Integer.BYTES || length > MAX_FRAME_BYTES) {
+            throw new IOException("Frame de " + length + " bytes fuera de rango");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        ByteBuffer frame = ByteBuffer.wrap(bytes);
+        try {
+            byte type = frame.get();
+            long id = frame.getLong();
+            if (type == CANCEL) {
+                return new Frame(type, id, 0, null, null, null);
+            }
+            if (type == RESPONSE) {
+                return new Frame(type, id, 0, null, null, NotificationCodec.decode(frame.slice()));
+            }
+            if (type != REQUEST) {
+                throw new IOException("Tipo de frame desconocido: " + type);
+            }
+            int flags = frame.get();
+            long timeoutMillis = frame.getLong();
+            int nameLength = Short.toUnsignedInt(frame.getShort());
+            String category = nameLength > 0
+                    ? new String(bytes, frame.position(), nameLength, StandardCharsets.UTF_8)
+                    : null;
+            frame.position(frame.position() + nameLength);
+            return new Frame(type, id, flags, timeoutMillis > 0 ? Duration.ofMillis(timeoutMillis) : null,
+                    category, NotificationCodec.decode(frame.slice()));
+        } catch (RuntimeException ex) {
+            throw new IOException("Frame mal formado: " + ex.getMessage(), ex);
+        }
+    }
+
+    /** Reemplaza los adjuntos de archivo por su contenido mapeado (sin copiarlo al heap). */
+    private static Object inlineFiles(Object request) {
+        if (!(request instanceof EmailRequest email)
+                || email.attachments().stream().noneMatch(attachment -> attachment.path().isPresent())) {
+            return request;
+        }
+        List<EmailAttachment> inlined = email.attachments().stream()
+                .map(attachment -> attachment.path().isEmpty() ? attachment
+                        : EmailAttachment.ofBuffer(attachment.filename(), attachment.contentType(),
+                                attachment.content()))
+                .toList();
+        return new EmailRequest(email.to(), email.subject(), email.body(), inlined);
+    }
+
+    private static ByteBuffer header(byte type, long id, int bodyBytes) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + bodyBytes);
+        return frame.putInt(frame.capacity() - Integer.BYTES).put(type).putLong(id);
+    }
+}
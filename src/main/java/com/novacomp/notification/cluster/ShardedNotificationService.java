@@ -0,0 +1,729 @@
+package com.novacomp.notification.cluster;
+
+import com.novacomp.notification.channel.EmailChannel;
+import com.novacomp.notification.core.AsyncNotificationService;
+import com.novacomp.notification.core.NotificationCategory;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.suppression.SuppressionList;
+import com.novacomp.notification.validation.RecipientValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Capa de sharding sobre {@link AsyncNotificationService} para varias
+ * instancias detrás de una misma cola: cada destinatario tiene un único
+ * nodo dueño, que es el único que lo envía.
+ * <p>
+ * Así el estado por destinatario -- límite de frecuencia, orden de
+ * {@code sendOrdered}, lista de supresión aprendida -- vive en un solo
+ * nodo y sigue siendo local y sin coordinación, aunque la cola entregue
+ * los mensajes de un destinatario a cualquier instancia.
+ *
+ * <h3>Asignación</h3>
+ * El dueño sale de un {@link HashRing} sobre la huella del destinatario
+ * <em>normalizado</em> ({@link RecipientValidator}), para que
+ * {@code "+506 8888-1234"} y {@code "+50688881234"} caigan en el mismo
+ * nodo. La membresía la aporta un {@link MemberDiscovery}; ante cada cambio
+ * se reconstruye el anillo y solo se reasignan los destinatarios de los
+ * arcos que cambiaron de dueño. El estado local de un destinatario
+ * reasignado no se migra: su nuevo dueño empieza de cero.
+ *
+ * <h3>Reenvío</h3>
+ * Una solicitud de otro dueño se reenvía por una conexión TCP persistente
+ * por nodo ({@link ShardProtocol}), con su plazo, su categoría y si es
+ * ordenada; el dueño la envía con su servicio local y responde con el
+ * {@code NotificationResult}. El hilo llamador no conecta ni escribe: la
+ * solicitud se encola y el executor del nodo la conecta y la escribe, en
+ * orden de llamada. Cancelar el future de un reenvío lo descarta si aún no
+ * salió, o cancela el envío en el dueño con un {@code CANCEL} si ya salió.
+ * El reenvío es de un solo salto: el nodo que recibe una solicitud
+ * reenviada la envía aunque, por un cambio de membresía en curso, ya no se
+ * considere su dueño.
+ * <p>
+ * Si el dueño no responde o se pierde la conexión, el future se completa
+ * con un {@code Failure} {@value #SHARD_UNAVAILABLE}. El dueño pudo haber
+ * enviado la solicitud antes del corte, por lo que reintentar es
+ * <em>at-least-once</em>. Un error inesperado en el dueño se informa como
+ * {@value #REMOTE_ERROR}.
+ *
+ * <pre>{@code
+ * try (var sharded = ShardedNotificationService.builder(asyncService)
+ *         .memberId("notifier-0")
+ *         .bind(new InetSocketAddress("10.0.0.12", 7400))
+ *         .discovery(discovery)
+ *         .open()) {
+ *     sharded.sendAsync(new SmsRequest("+50688881234", "Su código es 4821"));
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class ShardedNotificationService implements AutoCloseable {
+
+    /** Código del {@code Failure} de un envío cuyo nodo dueño no respondió. */
+    public static final String SHARD_UNAVAILABLE = "SHARD_UNAVAILABLE";
+
+    /** Código del {@code Failure} de un envío que falló con una excepción en el nodo dueño. */
+    public static final String REMOTE_ERROR = "REMOTE_ERROR";
+
+    private final AsyncNotificationService local;
+    private final MemberDiscovery discovery;
+    private final int virtualNodes;
+    private final int connectTimeoutMillis;
+    private final ClusterMember self;
+    private final ServerSocket server;
+    private final RecipientValidator validator = new RecipientValidator();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Peer> peers = new ConcurrentHashMap<>();
+    private final Set<Socket> inbound = ConcurrentHashMap.newKeySet();
+    private final Consumer<List<ClusterMember>> membershipListener = this::rebalance;
+    private final AtomicLong handledLocally = new AtomicLong();
+    private final AtomicLong forwarded = new AtomicLong();
+    private volatile HashRing ring;
+    private volatile boolean closed;
+
+    private ShardedNotificationService(Builder builder) throws IOException {
+        this.local = builder.local;
+        this.discovery = builder.discovery;
+        this.virtualNodes = builder.virtualNodes;
+        this.connectTimeoutMillis = (int) builder.connectTimeout.toMillis();
+        this.server = new ServerSocket();
+        server.bind(builder.bind);
+        this.self = new ClusterMember(builder.memberId,
+                new InetSocketAddress(builder.bind.getAddress(), server.getLocalPort()));
+        this.ring = HashRing.of(discovery.members(), virtualNodes);
+        discovery.addListener(membershipListener);
+        executor.execute(this::acceptLoop);
+        log.info("[CLUSTER] Nodo {} escuchando en {} [nodos={}]", self.id(), self.address(), ring.members().size());
+    }
+
+    /**
+     * @param local servicio asíncrono que envía los destinatarios propios
+     * @return un builder del nodo
+     */
+    public static Builder builder(AsyncNotificationService local) {
+        return new Builder(local);
+    }
+
+    /**
+     * @return este nodo, con la dirección efectiva de escucha
+     */
+    public ClusterMember self() {
+        return self;
+    }
+
+    /**
+     * @return el anillo vigente
+     */
+    public HashRing ring() {
+        return ring;
+    }
+
+    /**
+     * Resuelve el nodo dueño del destinatario de la solicitud.
+     *
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest} o
+     *                {@code PushRequest}
+     * @return el dueño; este nodo si la membresía está vacía
+     */
+    public ClusterMember ownerOf(Object request) {
+        NotificationRequest notification = requireNotification(request);
+        HashRing current = ring;
+        if (current.isEmpty()) {
+            return self;
+        }
+        RecipientValidator.Verdict verdict = validator.check(notification);
+        String recipient = verdict.valid() ? verdict.canonical() : notification.recipient();
+        return current.owner(SuppressionList.fingerprint(notification.channelType(), recipient));
+    }
+
+    /**
+     * Envía la notificación desde el nodo dueño de su destinatario.
+     *
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest} o
+     *                {@code PushRequest}
+     * @return un future con el resultado del envío
+     */
+    public CompletableFuture<NotificationResult> sendAsync(Object request) {
+        return route(request, 0, null);
+    }
+
+    /**
+     * Envía la notificación desde el nodo dueño, con un plazo total (ver
+     * {@link AsyncNotificationService#sendAsync(Object, Duration)}).
+     *
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest} o
+     *                {@code PushRequest}
+     * @param timeout plazo del envío (debe ser &gt; 0)
+     * @return un future con el resultado del envío
+     */
+    public CompletableFuture<NotificationResult> sendAsync(Object request, Duration timeout) {
+        Objects.requireNonNull(timeout, "El plazo no puede ser nulo");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("El plazo debe ser > 0");
+        }
+        return route(request, 0, timeout);
+    }
+
+    /**
+     * Envía la notificación desde el nodo dueño con
+     * {@link AsyncNotificationService#sendOrdered(Object)}. El orden se
+     * preserva entre los envíos de un mismo nodo de origen: la conexión con
+     * el dueño entrega las solicitudes en orden de llamada.
+     *
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest} o
+     *                {@code PushRequest}
+     * @return un future con el resultado del envío
+     */
+    public CompletableFuture<NotificationResult> sendOrdered(Object request) {
+        return route(request, ShardProtocol.ORDERED, null);
+    }
+
+    /**
+     * @return envíos ejecutados por este nodo (propios y recibidos de otros)
+     */
+    public long handledLocally() {
+        return handledLocally.get();
+    }
+
+    /**
+     * @return envíos reenviados a otros nodos
+     */
+    public long forwarded() {
+        return forwarded.get();
+    }
+
+    /**
+     * Deja de atender reenvíos y cierra las conexiones con los demás nodos;
+     * los envíos reenviados sin respuesta se completan con
+     * {@value #SHARD_UNAVAILABLE}. No cierra el servicio local.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        discovery.removeListener(membershipListener);
+        closeQuietly(server);
+        inbound.forEach(ShardedNotificationService::closeQuietly);
+        peers.values().forEach(peer -> peer.close("el nodo " + self.id() + " se cerró"));
+        peers.clear();
+        executor.shutdown();
+        log.info("[CLUSTER] Nodo {} detenido", self.id());
+    }
+
+    // ------------------------------------------------------------------ //
+    // Enrutamiento
+    // ------------------------------------------------------------------ //
+
+    private CompletableFuture<NotificationResult> route(Object request, int flags, Duration timeout) {
+        NotificationRequest notification = requireNotification(request);
+        if (closed) {
+            return CompletableFuture.completedFuture(new NotificationResult.Failure(
+                    AsyncNotificationService.SHUTTING_DOWN, "El nodo " + self.id() + " está cerrado"));
+        }
+        ClusterMember owner = ownerOf(notification);
+        if (owner.id().equals(self.id())) {
+            return execute(notification, flags, timeout);
+        }
+        forwarded.incrementAndGet();
+        return peers.computeIfAbsent(owner.id(), id -> new Peer(owner))
+                .send(notification, flags, timeout, NotificationCategory.current().orElse(null));
+    }
+
+    private CompletableFuture<NotificationResult> execute(NotificationRequest request, int flags, Duration timeout) {
+        handledLocally.incrementAndGet();
+        if ((flags & ShardProtocol.ORDERED) != 0) {
+            return local.sendOrdered(request);
+        }
+        return timeout != null ? local.sendAsync(request, timeout) : local.sendAsync(request);
+    }
+
+    /**
+     * Reconstruye el anillo con la nueva membresía y cierra las conexiones
+     * con los nodos que salieron o cambiaron de dirección.
+     */
+    private synchronized void rebalance(List<ClusterMember> members) {
+        if (closed) {
+            return;
+        }
+        HashRing next = HashRing.of(members, virtualNodes);
+        HashRing previous = ring;
+        ring = next;
+        peers.entrySet().removeIf(entry -> {
+            boolean gone = !members.contains(entry.getValue().member);
+            if (gone) {
+                entry.getValue().close("el nodo " + entry.getKey() + " salió del cluster");
+            }
+            return gone;
+        });
+        if (members.stream().noneMatch(member -> member.id().equals(self.id()))) {
+            log.warn("[CLUSTER] El nodo {} no está en la membresía: reenviará todos sus envíos", self.id());
+        }
+        log.info("[CLUSTER] Anillo reconstruido [nodos={}, claves reasignadas={}%]",
+                members.size(), String.format("%.1f", previous.movedFraction(next) * 100));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Servidor de reenvíos
+    // ------------------------------------------------------------------ //
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                inbound.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException ex) {
+                if (!closed) {
+                    log.error("[CLUSTER] Error aceptando conexiones en {}", self.address(), ex);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Atiende una conexión entrante. Las solicitudes se despachan en el
+     * orden en que llegan, lo que preserva el orden de {@code sendOrdered};
+     * un {@code CANCEL} cancela el envío local de su solicitud.
+     */
+    private void serve(Socket socket) {
+        Map<Long, CompletableFuture<NotificationResult>> running = new ConcurrentHashMap<>();
+        try (socket;
+             var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             var out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (!closed) {
+                ShardProtocol.Frame frame = ShardProtocol.read(in);
+                if (frame.type() == ShardProtocol.CANCEL) {
+                    CompletableFuture<NotificationResult> cancelled = running.remove(frame.id());
+                    if (cancelled != null) {
+                        cancelled.cancel(true);
+                    }
+                    continue;
+                }
+                if (frame.type() != ShardProtocol.REQUEST) {
+                    throw new IOException("Se esperaba un REQUEST y llegó el tipo " + frame.type());
+                }
+                CompletableFuture<NotificationResult> result;
+                try {
+                    NotificationRequest request = requireNotification(frame.payload());
+                    Supplier<CompletableFuture<NotificationResult>> dispatch =
+                            () -> execute(request, frame.flags(), frame.timeout());
+                    result = frame.category() != null ? NotificationCategory.call(frame.category(), dispatch)
+                            : dispatch.get();
+                } catch (RuntimeException ex) {
+                    result = CompletableFuture.failedFuture(ex);
+                }
+                running.put(frame.id(), result);
+                result.whenComplete((value, error) -> {
+                    running.remove(frame.id());
+                    if (!(error instanceof CancellationException)) {
+                        respond(socket, out, frame.id(), value != null ? value : remoteError(error));
+                    }
+                });
+            }
+        } catch (EOFException ex) {
+            // El otro nodo cerró la conexión.
+        } catch (IOException ex) {
+            if (!closed) {
+                log.warn("[CLUSTER] Conexión entrante cerrada: {}", ex.getMessage());
+            }
+        } finally {
+            inbound.remove(socket);
+        }
+    }
+
+    private static void respond(Socket socket, DataOutputStream out, long id, NotificationResult result) {
+        byte[] frame = ShardProtocol.response(id, result);
+        synchronized (out) {
+            try {
+                out.write(frame);
+                out.flush();
+            } catch (IOException ex) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private static NotificationResult.Failure remoteError(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return new NotificationResult.Failure(REMOTE_ERROR,
+                cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+    }
+
+    // ------------------------------------------------------------------ //
+    // Conexiones salientes
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Conexión saliente a otro nodo, abierta al primer reenvío y reabierta
+     * tras un corte. El hilo llamador solo encola: una única tarea del
+     * executor del nodo conecta y escribe los frames en orden de llamada.
+     */
+    private final class Peer {
+
+        private final ClusterMember member;
+        private final AtomicLong ids = new AtomicLong();
+        private final Queue<Outgoing> outgoing = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private Connection connection;
+        private String closedReason;
+        // Solo los usa la tarea que vacía la cola.
+        private long failedAt;
+        private String failure;
+
+        Peer(ClusterMember member) {
+            this.member = member;
+        }
+
+        CompletableFuture<NotificationResult> send(NotificationRequest request, int flags, Duration timeout,
+                String category) {
+            long id = ids.incrementAndGet();
+            byte[] frame;
+            try {
+                frame = ShardProtocol.request(id, flags, timeout, category, request);
+            } catch (UncheckedIOException ex) {
+                // Mismo resultado que daría EmailChannel si el envío fuera local.
+                return CompletableFuture.completedFuture(new NotificationResult.Failure(
+                        EmailChannel.ATTACHMENT_UNREADABLE, ex.getMessage()));
+            }
+            var future = new CompletableFuture<NotificationResult>();
+            if (timeout != null) {
+                future.completeOnTimeout(new NotificationResult.Failure(SHARD_UNAVAILABLE,
+                        "El nodo " + member.id() + " no respondió en " + timeout.toMillis() + " ms"),
+                        timeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            enqueue(new Outgoing(id, frame, future, null, System.nanoTime()));
+            return future;
+        }
+
+        private void enqueue(Outgoing next) {
+            outgoing.add(next);
+            if (queued.getAndIncrement() == 0) {
+                try {
+                    executor.execute(() -> drain(null));
+                } catch (RejectedExecutionException ex) {
+                    drain("el nodo " + self.id() + " se cerró");
+                }
+            }
+        }
+
+        /** Vacía la cola; con {@code abandoned}, falla todo sin conectar. */
+        private void drain(String abandoned) {
+            do {
+                Outgoing next = outgoing.poll();
+                if (abandoned == null) {
+                    transmit(next);
+                } else if (next.future() != null) {
+                    next.future().complete(unavailable(abandoned));
+                }
+            } while (queued.decrementAndGet() > 0);
+        }
+
+        private void transmit(Outgoing next) {
+            if (next.via() != null) {
+                writeCancel(next);
+                return;
+            }
+            CompletableFuture<NotificationResult> future = next.future();
+            if (future.isDone()) {
+                // Cancelado o vencido antes de salir: no se reenvía.
+                return;
+            }
+            if (failure != null && next.enqueuedNanos() - failedAt < 0) {
+                // Encolado antes del último fallo de conexión: no espera otro connectTimeout.
+                future.complete(unavailable(failure));
+                return;
+            }
+            Connection target;
+            try {
+                target = connection();
+            } catch (IOException ex) {
+                failedAt = System.nanoTime();
+                failure = ex.getMessage();
+                future.complete(unavailable(ex.getMessage()));
+                return;
+            }
+            target.pending.put(next.id(), future);
+            try {
+                target.write(next.frame());
+            } catch (IOException ex) {
+                target.close(ex.getMessage());
+                return;
+            }
+            future.whenComplete((result, error) -> {
+                target.pending.remove(next.id());
+                if (future.isCancelled() && !target.closed) {
+                    enqueue(new Outgoing(next.id(), ShardProtocol.cancel(next.id()), null, target,
+                            System.nanoTime()));
+                }
+            });
+        }
+
+        private void writeCancel(Outgoing cancel) {
+            if (cancel.via().closed) {
+                return;
+            }
+            try {
+                cancel.via().write(cancel.frame());
+            } catch (IOException ex) {
+                cancel.via().close(ex.getMessage());
+            }
+        }
+
+        /** Conecta fuera del monitor: {@link #close} no espera un {@code connectTimeout}. */
+        private Connection connection() throws IOException {
+            synchronized (this) {
+                if (closedReason != null) {
+                    throw new IOException(closedReason);
+                }
+                if (connection != null && !connection.closed) {
+                    return connection;
+                }
+            }
+            var socket = new Socket();
+            Connection opened;
+            try {
+                socket.connect(member.address(), connectTimeoutMillis);
+                socket.setTcpNoDelay(true);
+                opened = new Connection(this, socket);
+            } catch (IOException ex) {
+                closeQuietly(socket);
+                throw ex;
+            }
+            synchronized (this) {
+                if (closedReason != null) {
+                    opened.close(closedReason);
+                    throw new IOException(closedReason);
+                }
+                connection = opened;
+            }
+            try {
+                executor.execute(opened::readResponses);
+            } catch (RejectedExecutionException ex) {
+                opened.close("el nodo " + self.id() + " se cerró");
+                throw new IOException("el nodo " + self.id() + " se cerró", ex);
+            }
+            return opened;
+        }
+
+        synchronized void close(String reason) {
+            closedReason = reason;
+            if (connection != null) {
+                connection.close(reason);
+            }
+        }
+
+        NotificationResult.Failure unavailable(String reason) {
+            return new NotificationResult.Failure(SHARD_UNAVAILABLE,
+                    "No se pudo reenviar al nodo " + member.id() + ": " + reason);
+        }
+    }
+
+    /**
+     * Un frame pendiente de escribir: una solicitud ({@code future} no nulo)
+     * o la cancelación de una ya escrita por {@code via}.
+     */
+    private record Outgoing(long id, byte[] frame, CompletableFuture<NotificationResult> future, Connection via,
+            long enqueuedNanos) {
+    }
+
+    /** Una conexión TCP a otro nodo con sus reenvíos sin respuesta. */
+    private static final class Connection {
+
+        private final Peer peer;
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final Map<Long, CompletableFuture<NotificationResult>> pending = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        Connection(Peer peer, Socket socket) throws IOException {
+            this.peer = peer;
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        synchronized void write(byte[] frame) throws IOException {
+            if (closed) {
+                throw new IOException("conexión cerrada");
+            }
+            out.write(frame);
+            out.flush();
+        }
+
+        void readResponses() {
+            try (var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+                while (!closed) {
+                    ShardProtocol.Frame frame = ShardProtocol.read(in);
+                    CompletableFuture<NotificationResult> future = pending.remove(frame.id());
+                    if (future != null && frame.payload() instanceof NotificationResult result) {
+                        future.complete(result);
+                    }
+                }
+            } catch (IOException ex) {
+                close(ex instanceof EOFException ? "el nodo cerró la conexión" : ex.getMessage());
+            }
+        }
+
+        void close(String reason) {
+            closed = true;
+            closeQuietly(socket);
+            for (Long id : pending.keySet()) {
+                CompletableFuture<NotificationResult> future = pending.remove(id);
+                if (future != null) {
+                    future.complete(peer.unavailable(reason));
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private static NotificationRequest requireNotification(Object request) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        if (!(request instanceof NotificationRequest notification)) {
+            throw new IllegalArgumentException(
+                    "Tipo de solicitud no soportado: " + request.getClass().getName());
+        }
+        return notification;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ex) {
+            // Ya cerrado o sin nada que liberar.
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Builder
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Builder de {@link ShardedNotificationService}.
+     */
+    public static final class Builder {
+
+        private final AsyncNotificationService local;
+        private String memberId;
+        private InetSocketAddress bind = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        private MemberDiscovery discovery;
+        private int virtualNodes = HashRing.DEFAULT_VIRTUAL_NODES;
+        private Duration connectTimeout = Duration.ofSeconds(1);
+
+        private Builder(AsyncNotificationService local) {
+            this.local = Objects.requireNonNull(local, "El AsyncNotificationService no puede ser nulo");
+        }
+
+        /**
+         * @param memberId id estable del nodo; debe coincidir con el que
+         *                 publica el {@link MemberDiscovery}
+         * @return este builder
+         */
+        public Builder memberId(String memberId) {
+            this.memberId = Objects.requireNonNull(memberId, "El id del nodo no puede ser nulo");
+            return this;
+        }
+
+        /**
+         * @param bind dirección de escucha de los reenvíos (por defecto
+         *             loopback en un puerto libre); debe ser alcanzable por
+         *             los demás nodos
+         * @return este builder
+         */
+        public Builder bind(InetSocketAddress bind) {
+            this.bind = Objects.requireNonNull(bind, "La dirección no puede ser nula");
+            return this;
+        }
+
+        /**
+         * @param discovery fuente de la membresía del cluster
+         * @return este builder
+         */
+        public Builder discovery(MemberDiscovery discovery) {
+            this.discovery = Objects.requireNonNull(discovery, "El MemberDiscovery no puede ser nulo");
+            return this;
+        }
+
+        /**
+         * @param virtualNodes posiciones de cada nodo en el anillo (por
+         *                     defecto {@value HashRing#DEFAULT_VIRTUAL_NODES});
+         *                     todos los nodos deben usar el mismo valor
+         * @return este builder
+         */
+        public Builder virtualNodes(int virtualNodes) {
+            if (virtualNodes < 1 || virtualNodes > 4096) {
+                throw new IllegalArgumentException("virtualNodes debe estar entre 1 y 4096");
+            }
+            this.virtualNodes = virtualNodes;
+            return this;
+        }
+
+        /**
+         * @param connectTimeout plazo para conectar con otro nodo (por
+         *                       defecto 1 s)
+         * @return este builder
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            Objects.requireNonNull(connectTimeout, "El plazo no puede ser nulo");
+            if (connectTimeout.toMillis() < 1) {
+                throw new IllegalArgumentException("connectTimeout debe ser >= 1 ms");
+            }
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Abre el puerto de reenvíos y se suscribe a la membresía.
+         *
+         * @return el nodo
+         * @throws IllegalStateException si falta el id o el discovery
+         * @throws UncheckedIOException  si no se pudo abrir el puerto
+         */
+        public ShardedNotificationService open() {
+            if (memberId == null || discovery == null) {
+                throw new IllegalStateException("memberId y discovery son obligatorios");
+            }
+            try {
+                return new ShardedNotificationService(this);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("No se pudo abrir el puerto de reenvíos " + bind, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.novacomp.notification.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link MemberDiscovery} con una lista fija que se reemplaza a mano con
+ * {@link #update(List)}: para despliegues con nodos conocidos, para
+ * integrarla con un mecanismo propio de descubrimiento y para tests con
+ * varios nodos en el mismo proceso.
+ */
+@Slf4j
+public final class StaticMemberDiscovery implements MemberDiscovery {
+
+    private final List<Consumer<List<ClusterMember>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile List<ClusterMember> members;
+
+    /**
+     * @param members los nodos iniciales
+     */
+    public StaticMemberDiscovery(List<ClusterMember> members) {
+        this.members = validate(members);
+    }
+
+    /**
+     * @param members los nodos iniciales
+     * @return la fuente de membresía
+     */
+    public static StaticMemberDiscovery of(ClusterMember... members) {
+        return new StaticMemberDiscovery(List.of(members));
+    }
+
+    @Override
+    public List<ClusterMember> members() {
+        return members;
+    }
+
+    /**
+     * Publica una nueva lista de nodos y notifica a los listeners.
+     *
+     * @param next los nodos vigentes
+     * @throws IllegalArgumentException si hay ids repetidos
+     */
+    public void update(List<ClusterMember> next) {
+        List<ClusterMember> validated = validate(next);
+        synchronized (this) {
+            members = validated;
+        }
+        log.info("[CLUSTER] Membresía actualizada [nodos={}]", validated.size());
+        for (Consumer<List<ClusterMember>> listener : listeners) {
+            listener.accept(validated);
+        }
+    }
+
+    @Override
+    public void addListener(Consumer<List<ClusterMember>> listener) {
+        listeners.add(Objects.requireNonNull(listener, "El listener no puede ser nulo"));
+    }
+
+    @Override
+    public void removeListener(Consumer<List<ClusterMember>> listener) {
+        listeners.remove(listener);
+    }
+
+    private static List<ClusterMember> validate(List<ClusterMember> members) {
+        Objects.requireNonNull(members, "La lista de nodos no puede ser nula");
+        Set<String> ids = new HashSet<>();
+        for (ClusterMember member : members) {
+            if (!ids.add(Objects.requireNonNull(member, "Los nodos no pueden ser nulos").id())) {
+                throw new IllegalArgumentException("Id de nodo repetido: " + member.id());
+            }
+        }
+        return List.copyOf(members);
+    }
+}
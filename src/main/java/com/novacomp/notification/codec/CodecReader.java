@@ -0,0 +1,163 @@
+package com.novacomp.notification.codec;
+
+import com.novacomp.notification.model.ChannelType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Lector de un stream producido por {@link CodecWriter}.
+ * <p>
+ * Ofrece dos modos de lectura:
+ * <ul>
+ * <li>{@link #next()} -- materializa cada registro como el record original
+ * ({@code EmailRequest}, {@code NotificationResult.Success}, ...)</li>
+ * <li>{@link #nextView()} -- retorna una {@link RecordView} <em>zero-copy</em>
+ * que apunta a los bytes del buffer fuente; útil para filtrar o reenviar
+ * registros sin decodificar sus strings</li>
+ * </ul>
+ * Las referencias compartidas se resuelven contra la posición de su primera
+ * aparición en el mismo buffer, por lo que el lector necesita el stream
+ * completo, leído en orden. <b>No es thread-safe</b>.
+ */
+public final class CodecReader {
+
+    private final ByteBuffer buffer;
+    private final RecordView view;
+    private int[] sharedOffsets = new int[64];
+    private int[] sharedLengths = new int[64];
+    private int sharedCount;
+
+    /**
+     * Crea un lector sobre los bytes entre la posición y el límite de
+     * {@code source}. El buffer fuente no se modifica.
+     *
+     * @param source el stream codificado (no puede ser {@code null})
+     */
+    public CodecReader(ByteBuffer source) {
+        Objects.requireNonNull(source, "El buffer fuente no puede ser nulo");
+        this.buffer = source.duplicate();
+        this.view = new RecordView(buffer);
+    }
+
+    /**
+     * @return {@code true} si quedan registros por leer
+     */
+    public boolean hasNext() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * Lee el siguiente registro y lo materializa.
+     *
+     * @return el record decodificado
+     */
+    public Object next() {
+        return nextView().materialize();
+    }
+
+    /**
+     * Lee el siguiente registro sin decodificar sus strings.
+     * <p>
+     * La vista retornada es <b>reutilizada</b> por el lector: solo es válida
+     * hasta la siguiente llamada a {@code next()} / {@code nextView()}.
+     *
+     * @return la vista del registro
+     * @throws IllegalArgumentException si la versión de esquema o el tag
+     *                                  son desconocidos
+     */
+    public RecordView nextView() {
+        byte version = buffer.get();
+        if (version < 1 || version > NotificationCodec.SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Versión de esquema no soportada: " + version);
+        }
+        RecordType type = RecordType.fromTag(buffer.get());
+        view.reset(type);
+
+        for (int field = 0; field < type.stringFields(); field++) {
+            readString(type, field);
+        }
+        if (type == RecordType.EMAIL_WITH_ATTACHMENTS) {
+            readAttachments();
+        }
+        if (type == RecordType.SUCCESS) {
+            long seconds = WireFormat.unZigZag(WireFormat.readVarint(buffer));
+            int nanos = (int) WireFormat.readVarint(buffer);
+            view.setTimestamp(seconds, nanos);
+            // Los registros v1 no incluyen el canal que entregó el mensaje.
+            view.setChannel(version >= 2 ? channelOf(buffer.get()) : null);
+        }
+        return view;
+    }
+
+    private static ChannelType channelOf(byte code) {
+        if (code == 0) {
+            return null;
+        }
+        ChannelType[] types = ChannelType.values();
+        if (code < 0 || code > types.length) {
+            throw new IllegalArgumentException("Canal desconocido: " + code);
+        }
+        return types[code - 1];
+    }
+
+    private void readAttachments() {
+        int count = (int) WireFormat.readVarint(buffer);
+        view.resetAttachments(count);
+        for (int i = 0; i < count; i++) {
+            long filename = readString(true);
+            long contentType = readString(true);
+            byte kind = buffer.get();
+            long source;
+            if (kind == RecordType.ATTACHMENT_FILE) {
+                source = readString(true);
+            } else if (kind == RecordType.ATTACHMENT_INLINE) {
+                int length = (int) WireFormat.readVarint(buffer);
+                int offset = buffer.position();
+                buffer.position(offset + length);
+                source = (long) offset << 32 | length;
+            } else {
+                throw new IllegalArgumentException("Tipo de adjunto desconocido: " + kind);
+            }
+            view.setAttachment(i, filename, contentType, kind, source);
+        }
+    }
+
+    private void readString(RecordType type, int field) {
+        long ref = readString(type.isShared(field));
+        view.setField(field, (int) (ref >>> 32), (int) ref);
+    }
+
+    /**
+     * Lee un string y retorna su ubicación en el buffer.
+     *
+     * @return {@code offset << 32 | length}
+     */
+    private long readString(boolean shared) {
+        long header = WireFormat.readVarint(buffer);
+        if ((header & 1L) == 1L) {
+            int ref = (int) (header >>> 1);
+            if (ref >= sharedCount) {
+                throw new IllegalArgumentException("Referencia compartida inválida: " + ref);
+            }
+            return (long) sharedOffsets[ref] << 32 | sharedLengths[ref];
+        }
+
+        int length = (int) (header >>> 1);
+        int offset = buffer.position();
+        buffer.position(offset + length);
+
+        if (shared && length >= CodecWriter.MIN_SHARED_BYTES
+                && sharedCount < CodecWriter.MAX_SHARED_STRINGS) {
+            if (sharedCount == sharedOffsets.length) {
+                sharedOffsets = Arrays.copyOf(sharedOffsets, sharedCount << 1);
+                sharedLengths = Arrays.copyOf(sharedLengths, sharedCount << 1);
+            }
+            sharedOffsets[sharedCount] = offset;
+            sharedLengths[sharedCount] = length;
+            sharedCount++;
+        }
+        return (long) offset << 32 | length;
+    }
+}
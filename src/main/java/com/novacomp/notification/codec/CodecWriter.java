@@ -0,0 +1,257 @@
+package com.novacomp.notification.codec;
+
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Escritor de un <em>stream</em> de registros en el formato binario de
+ * {@link NotificationCodec}.
+ * <p>
+ * Todos los registros escritos con la misma instancia comparten una tabla
+ * de strings: la segunda vez que aparece un asunto, cuerpo o código de
+ * error (de al menos {@value #MIN_SHARED_BYTES} bytes) se emite solo una
+ * referencia varint a su primera aparición. En una campaña donde miles de
+ * solicitudes comparten el mismo asunto y cuerpo, cada registro queda
+ * reducido prácticamente al destinatario.
+ * <p>
+ * El stream resultante debe leerse completo y en orden con un
+ * {@link CodecReader}. <b>No es thread-safe</b>: usar una instancia por
+ * hilo o por segmento.
+ *
+ * <pre>{@code
+ * CodecWriter writer = new CodecWriter();
+ * for (EmailRequest request : campaign) {
+ *     writer.write(request);
+ * }
+ * ByteBuffer segment = writer.toByteBuffer();
+ * }</pre>
+ */
+public final class CodecWriter {
+
+    /** Longitud mínima (bytes UTF-8) para que un string entre en la tabla compartida. */
+    public static final int MIN_SHARED_BYTES = 8;
+
+    /** Máximo de strings compartidos por stream; a partir de ahí se escriben literales. */
+    public static final int MAX_SHARED_STRINGS = 1 << 16;
+
+    private ByteBuffer buffer;
+    private final Map<String, Integer> sharedStrings = new HashMap<>();
+    private int records;
+
+    /**
+     * Crea un escritor con un buffer inicial de 256 bytes.
+     */
+    public CodecWriter() {
+        this(256);
+    }
+
+    /**
+     * Crea un escritor con la capacidad inicial indicada. El buffer crece
+     * automáticamente (x2) cuando se llena.
+     *
+     * @param initialCapacity capacidad inicial en bytes (debe ser ≥ 16)
+     */
+    public CodecWriter(int initialCapacity) {
+        if (initialCapacity < 16) {
+            throw new IllegalArgumentException("initialCapacity debe ser >= 16");
+        }
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    /**
+     * Agrega un registro al stream.
+     *
+     * @param value un {@code EmailRequest}, {@code SmsRequest},
+     *              {@code PushRequest} o {@code NotificationResult}
+     * @return este escritor
+     * @throws IllegalArgumentException si el tipo no es soportado
+     */
+    public CodecWriter write(Object value) {
+        Objects.requireNonNull(value, "El registro a codificar no puede ser nulo");
+
+        switch (value) {
+            case EmailRequest email -> {
+                RecordType type = email.attachments().isEmpty()
+                        ? RecordType.EMAIL_REQUEST
+                        : RecordType.EMAIL_WITH_ATTACHMENTS;
+                header(type);
+                string(type, 0, email.to());
+                string(type, 1, email.subject());
+                string(type, 2, email.body());
+                if (type == RecordType.EMAIL_WITH_ATTACHMENTS) {
+                    attachments(email.attachments());
+                }
+            }
+            case SmsRequest sms -> {
+                header(RecordType.SMS_REQUEST);
+                string(RecordType.SMS_REQUEST, 0, sms.phoneNumber());
+                string(RecordType.SMS_REQUEST, 1, sms.message());
+            }
+            case PushRequest push -> {
+                header(RecordType.PUSH_REQUEST);
+                string(RecordType.PUSH_REQUEST, 0, push.deviceToken());
+                string(RecordType.PUSH_REQUEST, 1, push.title());
+                string(RecordType.PUSH_REQUEST, 2, push.body());
+            }
+            case NotificationResult.Success success -> {
+                header(RecordType.SUCCESS);
+                string(RecordType.SUCCESS, 0, success.messageId());
+                instant(success.timestamp());
+                channel(success.channel());
+            }
+            case NotificationResult.Failure failure -> {
+                header(RecordType.FAILURE);
+                string(RecordType.FAILURE, 0, failure.code());
+                string(RecordType.FAILURE, 1, failure.reason());
+            }
+            default -> throw new IllegalArgumentException(
+                    "Tipo no soportado por el codec: " + value.getClass().getName());
+        }
+        records++;
+        return this;
+    }
+
+    /**
+     * Retorna una vista con los bytes escritos hasta ahora (posición 0,
+     * límite = tamaño). No copia el contenido: la vista comparte memoria
+     * con el escritor y deja de ser válida tras {@link #reset()}.
+     *
+     * @return el stream codificado
+     */
+    public ByteBuffer toByteBuffer() {
+        return buffer.duplicate().flip();
+    }
+
+    /**
+     * Retorna una copia de los bytes escritos hasta ahora.
+     *
+     * @return el stream codificado
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        buffer.get(0, bytes);
+        return bytes;
+    }
+
+    /**
+     * @return bytes escritos hasta ahora
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * @return registros escritos hasta ahora
+     */
+    public int records() {
+        return records;
+    }
+
+    /**
+     * Descarta el contenido y la tabla de strings para reutilizar la
+     * instancia (y su buffer) en un nuevo stream.
+     */
+    public void reset() {
+        buffer.clear();
+        sharedStrings.clear();
+        records = 0;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private void header(RecordType type) {
+        ensureCapacity(2);
+        buffer.put(NotificationCodec.SCHEMA_VERSION);
+        buffer.put(type.tag());
+    }
+
+    private void string(RecordType type, int field, String value) {
+        string(value, type.isShared(field));
+    }
+
+    private void string(String value, boolean shared) {
+        if (shared) {
+            Integer ref = sharedStrings.get(value);
+            if (ref != null) {
+                long header = ((long) ref << 1) | 1L;
+                ensureCapacity(WireFormat.varintSize(header));
+                WireFormat.writeVarint(buffer, header);
+                return;
+            }
+        }
+
+        int length = WireFormat.utf8Length(value);
+        long header = (long) length << 1;
+        ensureCapacity(WireFormat.varintSize(header) + length);
+        WireFormat.writeVarint(buffer, header);
+        WireFormat.writeUtf8(buffer, value);
+
+        if (shared && length >= MIN_SHARED_BYTES && sharedStrings.size() < MAX_SHARED_STRINGS) {
+            sharedStrings.put(value, sharedStrings.size());
+        }
+    }
+
+    /**
+     * Los archivos se escriben como referencia a su ruta; los buffers, con
+     * su contenido. Nombres, tipos y rutas son compartibles: en una campaña
+     * se repiten en cada registro.
+     */
+    private void attachments(List<EmailAttachment> attachments) {
+        ensureCapacity(WireFormat.varintSize(attachments.size()));
+        WireFormat.writeVarint(buffer, attachments.size());
+        for (EmailAttachment attachment : attachments) {
+            string(attachment.filename(), true);
+            string(attachment.contentType(), true);
+            Optional<Path> path = attachment.path();
+            if (path.isPresent()) {
+                ensureCapacity(1);
+                buffer.put(RecordType.ATTACHMENT_FILE);
+                string(path.get().toString(), true);
+            } else {
+                ByteBuffer content = attachment.content();
+                ensureCapacity(1 + WireFormat.varintSize(content.remaining()) + content.remaining());
+                buffer.put(RecordType.ATTACHMENT_INLINE);
+                WireFormat.writeVarint(buffer, content.remaining());
+                buffer.put(content);
+            }
+        }
+    }
+
+    private void channel(ChannelType channel) {
+        ensureCapacity(1);
+        buffer.put(channel == null ? 0 : (byte) (channel.ordinal() + 1));
+    }
+
+    private void instant(Instant instant) {
+        long seconds = WireFormat.zigZag(instant.getEpochSecond());
+        ensureCapacity(WireFormat.varintSize(seconds) + WireFormat.varintSize(instant.getNano()));
+        WireFormat.writeVarint(buffer, seconds);
+        WireFormat.writeVarint(buffer, instant.getNano());
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.remaining() >= extra) {
+            return;
+        }
+        int required = buffer.position() + extra;
+        int capacity = Math.max(buffer.capacity() << 1, required);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+}
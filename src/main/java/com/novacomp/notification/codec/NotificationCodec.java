@@ -0,0 +1,72 @@
+package com.novacomp.notification.codec;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Codec binario compacto para las solicitudes y resultados que la librería
+ * encola o persiste (reintentos, outbox, dead letters).
+ * <p>
+ * Frente a JSON con Jackson, el formato elimina nombres de campo, comillas
+ * y escapes, y escribe UTF-8 directamente sobre el {@link ByteBuffer}:
+ *
+ * <pre>
+ *   registro := version:u8  tag:u8  campo*
+ *   string   := varint(len &lt;&lt; 1)  bytes-UTF8[len]      -- literal
+ *             | varint(ref &lt;&lt; 1 | 1)                      -- referencia compartida
+ *   instant  := varint(zigzag(epochSecond))  varint(nanos)
+ *   success  := string(messageId)  instant  canal:u8       -- canal: 0 = desconocido
+ *   adjuntos := varint(n)  adjunto[n]                     -- tras to/subject/body (tag 6)
+ *   adjunto  := string(nombre)  string(tipo)  1:u8 string(ruta)
+ *             | string(nombre)  string(tipo)  2:u8 varint(len) bytes[len]
+ * </pre>
+ *
+ * El byte de versión acompaña a cada registro para que un segmento escrito
+ * por una versión anterior siga siendo legible tras una actualización: los
+ * {@code SUCCESS} de la versión 1 no traen el byte de canal y se leen con
+ * canal desconocido.
+ * <p>
+ * Un {@code EmailRequest} con adjuntos de archivo guarda solo la ruta: al
+ * decodificarlo se vuelve a leer el archivo en el envío. Los adjuntos de
+ * buffer viajan dentro del registro.
+ * <p>
+ * Para registros sueltos usar los métodos estáticos de esta clase; para
+ * streams (colas, segmentos de disco) usar {@link CodecWriter} y
+ * {@link CodecReader}, que además comparten strings repetidos.
+ *
+ * <pre>{@code
+ * byte[] bytes = NotificationCodec.encode(new SmsRequest("+50688881234", "Hola"));
+ * SmsRequest copia = (SmsRequest) NotificationCodec.decode(ByteBuffer.wrap(bytes));
+ * }</pre>
+ */
+public final class NotificationCodec {
+
+    /** Versión actual del esquema escrita en cada registro. */
+    public static final byte SCHEMA_VERSION = 2;
+
+    private NotificationCodec() {
+        // Clase utilitaria -- no instanciable
+    }
+
+    /**
+     * Codifica un único registro.
+     *
+     * @param value un {@code EmailRequest}, {@code SmsRequest},
+     *              {@code PushRequest} o {@code NotificationResult}
+     * @return los bytes del registro
+     */
+    public static byte[] encode(Object value) {
+        return new CodecWriter(64).write(value).toByteArray();
+    }
+
+    /**
+     * Decodifica el primer registro del buffer, sin modificar su posición.
+     *
+     * @param buffer bytes producidos por {@link #encode(Object)}
+     * @return el record decodificado
+     */
+    public static Object decode(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "El buffer no puede ser nulo");
+        return new CodecReader(buffer).next();
+    }
+}
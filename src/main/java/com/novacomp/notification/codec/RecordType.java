@@ -0,0 +1,107 @@
+package com.novacomp.notification.codec;
+
+/**
+ * Tipos de registro soportados por el formato binario de
+ * {@link NotificationCodec}.
+ * <p>
+ * Cada valor fija su {@code tag} en el wire format y qué campos de texto
+ * son candidatos a <em>referencias compartidas</em> (asuntos, cuerpos,
+ * códigos de error...). Los identificadores únicos, como destinatarios o
+ * {@code messageId}, nunca se comparten porque no se repiten y solo
+ * inflarían la tabla de strings.
+ * <p>
+ * Los tags son parte del formato persistido: <b>nunca</b> reutilizar ni
+ * renumerar un valor existente.
+ */
+public enum RecordType {
+
+    /** {@code EmailRequest(to, subject, body)}. */
+    EMAIL_REQUEST(1, 3, 0b110),
+
+    /** {@code SmsRequest(phoneNumber, message)}. */
+    SMS_REQUEST(2, 2, 0b10),
+
+    /** {@code PushRequest(deviceToken, title, body)}. */
+    PUSH_REQUEST(3, 3, 0b110),
+
+    /** {@code NotificationResult.Success(messageId, timestamp)}. */
+    SUCCESS(4, 1, 0b0),
+
+    /** {@code NotificationResult.Failure(code, reason)}. */
+    FAILURE(5, 2, 0b11),
+
+    /**
+     * {@code EmailRequest(to, subject, body, attachments)} con al menos un
+     * adjunto; sin adjuntos se escribe {@link #EMAIL_REQUEST}.
+     */
+    EMAIL_WITH_ATTACHMENTS(6, 3, 0b110);
+
+    /** Adjunto referenciado por la ruta de su archivo. */
+    static final byte ATTACHMENT_FILE = 1;
+
+    /** Adjunto con el contenido dentro del registro. */
+    static final byte ATTACHMENT_INLINE = 2;
+
+    private static final RecordType[] BY_TAG = new RecordType[8];
+
+    static {
+        for (RecordType type : values()) {
+            BY_TAG[type.tag] = type;
+        }
+    }
+
+    private final byte tag;
+    private final int stringFields;
+    private final int sharedMask;
+
+    RecordType(int tag, int stringFields, int sharedMask) {
+        this.tag = (byte) tag;
+        this.stringFields = stringFields;
+        this.sharedMask = sharedMask;
+    }
+
+    /**
+     * Retorna el byte que identifica este tipo en el wire format.
+     *
+     * @return el tag del registro
+     */
+    public byte tag() {
+        return tag;
+    }
+
+    /**
+     * Retorna el número de campos de texto del registro, en orden de
+     * declaración del record.
+     *
+     * @return cantidad de campos {@code String}
+     */
+    public int stringFields() {
+        return stringFields;
+    }
+
+    /**
+     * Indica si el campo de texto {@code index} puede codificarse como
+     * referencia a un string ya escrito en el mismo stream.
+     *
+     * @param index índice del campo (base cero)
+     * @return {@code true} si el campo es compartible
+     */
+    boolean isShared(int index) {
+        return (sharedMask & (1 << index)) != 0;
+    }
+
+    /**
+     * Resuelve el tipo a partir de su tag.
+     *
+     * @param tag byte leído del buffer
+     * @return el tipo correspondiente
+     * @throws IllegalArgumentException si el tag es desconocido
+     */
+    static RecordType fromTag(byte tag) {
+        RecordType type = tag > 0 && tag < BY_TAG.length ? BY_TAG[tag] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Tag de registro desconocido: " + tag);
+        }
+        return type;
+    }
+}
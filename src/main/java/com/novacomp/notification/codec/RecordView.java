@@ -0,0 +1,214 @@
+package com.novacomp.notification.codec;
+
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vista <em>zero-copy</em> de un registro codificado.
+ * <p>
+ * Los campos de texto se exponen como {@link ByteBuffer} de solo lectura
+ * que apuntan directamente al buffer fuente (bytes UTF-8); solo se
+ * decodifican a {@code String} cuando se pide con {@link #string(int)} o
+ * {@link #materialize()}. Esto permite, por ejemplo, contar dead letters
+ * por código de error o reenviar registros a otro nodo sin crear un solo
+ * {@code String}.
+ * <p>
+ * Las instancias son reutilizadas por {@link CodecReader}: una vista solo
+ * es válida hasta la siguiente lectura.
+ */
+public final class RecordView {
+
+    private static final int MAX_FIELDS = 3;
+
+    /** Por adjunto: nombre, tipo y fuente ({@code offset << 32 | length}) y la clase de fuente. */
+    private static final int ATTACHMENT_SLOTS = 4;
+
+    private final ByteBuffer buffer;
+    private final int[] offsets = new int[MAX_FIELDS];
+    private final int[] lengths = new int[MAX_FIELDS];
+    private RecordType type;
+    private long epochSecond;
+    private int nanos;
+    private ChannelType channel;
+    private long[] attachmentSlots = new long[ATTACHMENT_SLOTS];
+    private int attachmentCount;
+
+    RecordView(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * @return el tipo del registro
+     */
+    public RecordType type() {
+        return type;
+    }
+
+    /**
+     * Retorna los bytes UTF-8 del campo de texto {@code index} sin copiarlos.
+     *
+     * @param index índice del campo en orden de declaración del record
+     * @return vista de solo lectura sobre el buffer fuente
+     */
+    public ByteBuffer field(int index) {
+        checkField(index);
+        return buffer.slice(offsets[index], lengths[index]).asReadOnlyBuffer();
+    }
+
+    /**
+     * Retorna la longitud en bytes UTF-8 del campo de texto {@code index}.
+     *
+     * @param index índice del campo
+     * @return longitud en bytes
+     */
+    public int fieldLength(int index) {
+        checkField(index);
+        return lengths[index];
+    }
+
+    /**
+     * Decodifica el campo de texto {@code index}.
+     *
+     * @param index índice del campo
+     * @return el valor del campo
+     */
+    public String string(int index) {
+        checkField(index);
+        return WireFormat.readUtf8(buffer, offsets[index], lengths[index]);
+    }
+
+    /**
+     * Retorna el timestamp de un registro {@link RecordType#SUCCESS}.
+     *
+     * @return el instante de envío
+     * @throws IllegalStateException si el registro no es un {@code SUCCESS}
+     */
+    public Instant timestamp() {
+        if (type != RecordType.SUCCESS) {
+            throw new IllegalStateException("El registro " + type + " no tiene timestamp");
+        }
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    /**
+     * Retorna el canal que entregó un registro {@link RecordType#SUCCESS}.
+     *
+     * @return el canal, o {@code null} si no se registró (ej: registros v1)
+     * @throws IllegalStateException si el registro no es un {@code SUCCESS}
+     */
+    public ChannelType channel() {
+        if (type != RecordType.SUCCESS) {
+            throw new IllegalStateException("El registro " + type + " no tiene canal");
+        }
+        return channel;
+    }
+
+    /**
+     * Retorna la cantidad de adjuntos de un registro
+     * {@link RecordType#EMAIL_WITH_ATTACHMENTS}, sin leerlos.
+     *
+     * @return adjuntos del registro; 0 para cualquier otro tipo
+     */
+    public int attachmentCount() {
+        return type == RecordType.EMAIL_WITH_ATTACHMENTS ? attachmentCount : 0;
+    }
+
+    /**
+     * Decodifica el registro completo al record original.
+     * <p>
+     * Los adjuntos de archivo vuelven como referencia a la misma ruta (el
+     * archivo no se abre); los adjuntos inline se copian, porque el buffer
+     * fuente puede reutilizarse tras la lectura.
+     *
+     * @return un {@code EmailRequest}, {@code SmsRequest}, {@code PushRequest}
+     *         o {@code NotificationResult}
+     */
+    public Object materialize() {
+        return switch (type) {
+            case EMAIL_REQUEST -> new EmailRequest(string(0), string(1), string(2));
+            case SMS_REQUEST -> new SmsRequest(string(0), string(1));
+            case PUSH_REQUEST -> new PushRequest(string(0), string(1), string(2));
+            case SUCCESS -> new NotificationResult.Success(string(0), timestamp(), channel);
+            case FAILURE -> new NotificationResult.Failure(string(0), string(1));
+            case EMAIL_WITH_ATTACHMENTS -> new EmailRequest(string(0), string(1), string(2), attachments());
+        };
+    }
+
+    private List<EmailAttachment> attachments() {
+        List<EmailAttachment> attachments = new ArrayList<>(attachmentCount);
+        for (int i = 0; i < attachmentCount; i++) {
+            int slot = i * ATTACHMENT_SLOTS;
+            String filename = located(attachmentSlots[slot]);
+            String contentType = located(attachmentSlots[slot + 1]);
+            long source = attachmentSlots[slot + 2];
+            if (attachmentSlots[slot + 3] == RecordType.ATTACHMENT_FILE) {
+                attachments.add(EmailAttachment.ofFile(Path.of(located(source)), filename, contentType));
+            } else {
+                ByteBuffer copy = ByteBuffer.allocate((int) source)
+                        .put(buffer.slice((int) (source >>> 32), (int) source))
+                        .flip();
+                attachments.add(EmailAttachment.ofBuffer(filename, contentType, copy));
+            }
+        }
+        return attachments;
+    }
+
+    private String located(long location) {
+        return WireFormat.readUtf8(buffer, (int) (location >>> 32), (int) location);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Mutadores usados por CodecReader
+    // ------------------------------------------------------------------ //
+
+    void reset(RecordType type) {
+        this.type = type;
+    }
+
+    void setField(int index, int offset, int length) {
+        offsets[index] = offset;
+        lengths[index] = length;
+    }
+
+    void resetAttachments(int count) {
+        if (attachmentSlots.length < count * ATTACHMENT_SLOTS) {
+            attachmentSlots = Arrays.copyOf(attachmentSlots, count * ATTACHMENT_SLOTS);
+        }
+        attachmentCount = count;
+    }
+
+    void setAttachment(int index, long filename, long contentType, byte kind, long source) {
+        int slot = index * ATTACHMENT_SLOTS;
+        attachmentSlots[slot] = filename;
+        attachmentSlots[slot + 1] = contentType;
+        attachmentSlots[slot + 2] = source;
+        attachmentSlots[slot + 3] = kind;
+    }
+
+    void setTimestamp(long epochSecond, int nanos) {
+        this.epochSecond = epochSecond;
+        this.nanos = nanos;
+    }
+
+    void setChannel(ChannelType channel) {
+        this.channel = channel;
+    }
+
+    private void checkField(int index) {
+        if (index < 0 || index >= type.stringFields()) {
+            throw new IndexOutOfBoundsException(
+                    "Campo " + index + " fuera de rango para " + type);
+        }
+    }
+}
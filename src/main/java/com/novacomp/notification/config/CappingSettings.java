@@ -0,0 +1,103 @@
+package com.novacomp.notification.config;
+
+import com.novacomp.notification.model.ChannelType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Configuración tipada del límite de frecuencia por destinatario, resuelta
+ * una sola vez a partir de las propiedades {@code capping.*} de
+ * {@link NotificationConfig}.
+ * <p>
+ * Cada regla es una propiedad {@code capping.<canal>.<categoria>} con el
+ * formato {@code <envios>/<ventana>}, donde la ventana termina en
+ * {@code ms}, {@code s}, {@code m}, {@code h} o {@code d}:
+ *
+ * <pre>
+ * capping.push.marketing = 3/1d     # 3 pushes de marketing por usuario y día
+ * capping.sms.default    = 10/1h    # envíos SMS sin categoría
+ * </pre>
+ *
+ * @param width celdas por fila de cada sketch ({@code capping.width}, por
+ *              defecto 1048576)
+ * @param depth filas de cada sketch ({@code capping.depth}, por defecto 4)
+ * @param rules reglas configuradas (vacío = sin límite de frecuencia)
+ */
+public record CappingSettings(int width, int depth, List<Rule> rules) {
+
+    /**
+     * Límite de envíos por destinatario para un canal y una categoría.
+     *
+     * @param channel  el canal
+     * @param category la categoría ({@code default} para los envíos sin
+     *                 categoría)
+     * @param limit    envíos admitidos por ventana (1 a 255)
+     * @param window   la ventana deslizante
+     */
+    public record Rule(ChannelType channel, String category, int limit, Duration window) {
+
+        public Rule {
+            Objects.requireNonNull(channel, "El canal no puede ser nulo");
+            Objects.requireNonNull(category, "La categoría no puede ser nula");
+            Objects.requireNonNull(window, "La ventana no puede ser nula");
+            if (limit < 1 || limit > 255) {
+                throw new IllegalArgumentException("El límite debe estar entre 1 y 255");
+            }
+            if (window.toMillis() < 8) {
+                throw new IllegalArgumentException("La ventana debe ser de al menos 8 ms");
+            }
+        }
+    }
+
+    public CappingSettings {
+        Objects.requireNonNull(rules, "La lista de reglas no puede ser nula");
+        if (width < 1 || depth < 1 || depth > 8) {
+            throw new IllegalArgumentException("Se requiere capping.width >= 1 y 1 <= capping.depth <= 8");
+        }
+        rules = List.copyOf(rules);
+    }
+
+    /**
+     * @return {@code true} si hay al menos una regla
+     */
+    public boolean enabled() {
+        return !rules.isEmpty();
+    }
+
+    static CappingSettings from(NotificationConfig config) {
+        List<Rule> rules = new ArrayList<>();
+        try {
+            for (Map.Entry<String, String> entry : config.getAllProperties().entrySet()) {
+                String key = entry.getKey();
+                if (!key.startsWith("capping.") || key.equals("capping.width") || key.equals("capping.depth")) {
+                    continue;
+                }
+                String[] parts = key.split("\\.", 3);
+                if (parts.length != 3 || parts[2].isBlank()) {
+                    throw new IllegalArgumentException("clave '" + key + "' (se espera capping.<canal>.<categoria>)");
+                }
+                rules.add(parseRule(ChannelType.valueOf(parts[1].toUpperCase(Locale.ROOT)), parts[2], entry.getValue()));
+            }
+            return new CappingSettings(
+                    Integer.parseInt(config.getProperty("capping.width", "1048576").trim()),
+                    Integer.parseInt(config.getProperty("capping.depth", "4").trim()),
+                    rules);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Configuración 'capping.*' inválida: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static Rule parseRule(ChannelType channel, String category, String value) {
+        int slash = value.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("regla '" + value + "' (se espera <envios>/<ventana>, ej: 3/1d)");
+        }
+        return new Rule(channel, category, Integer.parseInt(value.substring(0, slash).trim()),
+                NotificationConfig.parseDuration(value.substring(slash + 1)));
+    }
+}
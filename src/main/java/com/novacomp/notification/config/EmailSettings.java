@@ -0,0 +1,48 @@
+package com.novacomp.notification.config;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configuración tipada del canal de email, resuelta una sola vez a partir
+ * de las propiedades {@code email.*} de {@link NotificationConfig}.
+ *
+ * @param provider  proveedor de envío ({@code email.provider}, por defecto
+ *                  {@code sendgrid})
+ * @param from      remitente ({@code email.from}, por defecto
+ *                  {@code no-configurado})
+ * @param providers proveedores del canal con su peso ({@code email.providers},
+ *                  ej: {@code a:3,b:1}); por defecto solo {@code provider}
+ */
+public record EmailSettings(String provider, String from, List<WeightedProvider> providers) {
+
+    public EmailSettings {
+        Objects.requireNonNull(provider, "El proveedor de email no puede ser nulo");
+        Objects.requireNonNull(from, "El remitente no puede ser nulo");
+
+        if (provider.isBlank()) {
+            throw new IllegalArgumentException("La propiedad 'email.provider' no puede estar vacía");
+        }
+
+        Objects.requireNonNull(providers, "La lista de proveedores no puede ser nula");
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("El canal email requiere al menos un proveedor");
+        }
+        providers = List.copyOf(providers);
+    }
+
+    /**
+     * Crea la configuración con un único proveedor.
+     */
+    public EmailSettings(String provider, String from) {
+        this(provider, from, List.of(new WeightedProvider(provider, 1)));
+    }
+
+    static EmailSettings from(NotificationConfig config) {
+        String provider = WeightedProvider.primary(config, "email", "sendgrid");
+        return new EmailSettings(
+                provider,
+                config.getProperty("email.from", "no-configurado"),
+                WeightedProvider.resolve(config, "email", provider));
+    }
+}
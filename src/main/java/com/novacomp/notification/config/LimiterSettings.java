@@ -0,0 +1,80 @@
+package com.novacomp.notification.config;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Configuración tipada del límite de concurrencia adaptativo por canal,
+ * resuelta una sola vez a partir de las propiedades {@code limiter.*} de
+ * {@link NotificationConfig}.
+ *
+ * @param algorithm    algoritmo ({@code limiter.algorithm}: {@code none},
+ *                     {@code aimd} o {@code gradient}; por defecto
+ *                     {@code none}, sin límite)
+ * @param initialLimit límite inicial de envíos en vuelo
+ *                     ({@code limiter.initial}, por defecto 20)
+ * @param minLimit     límite mínimo ({@code limiter.min}, por defecto 1)
+ * @param maxLimit     límite máximo ({@code limiter.max}, por defecto 1000)
+ * @param maxWaiting   envíos que pueden esperar un permiso con el límite
+ *                     alcanzado ({@code limiter.max.waiting}, por defecto
+ *                     0: se rechazan de inmediato)
+ * @param maxWait      espera máxima por un permiso
+ *                     ({@code limiter.max.wait.ms}, por defecto 1000)
+ */
+public record LimiterSettings(Algorithm algorithm,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        int maxWaiting,
+        Duration maxWait) {
+
+    /**
+     * Algoritmos de ajuste del límite.
+     */
+    public enum Algorithm {
+        /** Sin límite de concurrencia. */
+        NONE,
+        /** Additive-increase / multiplicative-decrease ante errores. */
+        AIMD,
+        /** Gradiente de latencia (estilo TCP Vegas). */
+        GRADIENT
+    }
+
+    public LimiterSettings {
+        Objects.requireNonNull(algorithm, "El algoritmo del limitador no puede ser nulo");
+        Objects.requireNonNull(maxWait, "La espera máxima no puede ser nula");
+
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Se requiere 1 <= limiter.min <= limiter.max");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limiter.initial debe estar entre limiter.min y limiter.max");
+        }
+        if (maxWaiting < 0 || maxWait.isNegative()) {
+            throw new IllegalArgumentException("limiter.max.waiting y limiter.max.wait.ms deben ser >= 0");
+        }
+    }
+
+    /**
+     * @return {@code true} si hay un algoritmo de límite configurado
+     */
+    public boolean enabled() {
+        return algorithm != Algorithm.NONE;
+    }
+
+    static LimiterSettings from(NotificationConfig config) {
+        String algorithm = config.getProperty("limiter.algorithm", "none");
+        try {
+            return new LimiterSettings(
+                    Algorithm.valueOf(algorithm.trim().toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(config.getProperty("limiter.initial", "20")),
+                    Integer.parseInt(config.getProperty("limiter.min", "1")),
+                    Integer.parseInt(config.getProperty("limiter.max", "1000")),
+                    Integer.parseInt(config.getProperty("limiter.max.waiting", "0")),
+                    Duration.ofMillis(Long.parseLong(config.getProperty("limiter.max.wait.ms", "1000"))));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Configuración 'limiter.*' inválida: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.novacomp.notification.config;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Locale;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -10,6 +12,12 @@ import java.util.Objects;
  * <p>
  * Se construye exclusivamente mediante el {@link Builder} fluido -- sin YAML,
  * sin {@code .properties}, sin archivos externos.
+ * <p>
+ * Al construirse, las propiedades de cada canal se resuelven y validan una
+ * única vez en snapshots tipados ({@link EmailSettings}, {@link SmsSettings},
+ * {@link PushSettings}, {@link LimiterSettings}); el camino de envío lee
+ * campos finales en vez de buscar claves en el mapa. Para cambiar la
+ * configuración en caliente, ver {@link ReloadableConfig}.
  *
  * <pre>{@code
  * NotificationConfig config = NotificationConfig.builder()
@@ -25,11 +33,27 @@ public final class NotificationConfig {
     private final Map<String, String> properties;
     private final int retryAttempts;
     private final long baseDelayMs;
+    private final int orderedLanes;
+    private final EmailSettings emailSettings;
+    private final SmsSettings smsSettings;
+    private final PushSettings pushSettings;
+    private final LimiterSettings limiterSettings;
+    private final SuppressionSettings suppressionSettings;
+    private final CappingSettings cappingSettings;
+    private final ReceiptSettings receiptSettings;
 
     private NotificationConfig(Builder builder) {
         this.properties = Collections.unmodifiableMap(new HashMap<>(builder.properties));
         this.retryAttempts = builder.retryAttempts;
         this.baseDelayMs = builder.baseDelayMs;
+        this.orderedLanes = builder.orderedLanes;
+        this.emailSettings = EmailSettings.from(this);
+        this.smsSettings = SmsSettings.from(this);
+        this.pushSettings = PushSettings.from(this);
+        this.limiterSettings = LimiterSettings.from(this);
+        this.suppressionSettings = SuppressionSettings.from(this);
+        this.cappingSettings = CappingSettings.from(this);
+        this.receiptSettings = ReceiptSettings.from(this);
     }
 
     /**
@@ -74,6 +98,16 @@ public final class NotificationConfig {
         return baseDelayMs;
     }
 
+    /**
+     * Retorna el número de lanes seriales que usa el envío ordenado por
+     * destinatario de {@code AsyncNotificationService}.
+     *
+     * @return número de lanes (≥ 1)
+     */
+    public int getOrderedLanes() {
+        return orderedLanes;
+    }
+
     /**
      * Retorna una vista no modificable de todas las propiedades de configuración.
      *
@@ -83,6 +117,104 @@ public final class NotificationConfig {
         return properties;
     }
 
+    /**
+     * Retorna la configuración tipada del canal de email.
+     *
+     * @return snapshot inmutable de las propiedades {@code email.*}
+     */
+    public EmailSettings getEmailSettings() {
+        return emailSettings;
+    }
+
+    /**
+     * Retorna la configuración tipada del canal SMS.
+     *
+     * @return snapshot inmutable de las propiedades {@code sms.*}
+     */
+    public SmsSettings getSmsSettings() {
+        return smsSettings;
+    }
+
+    /**
+     * Retorna la configuración tipada del canal push.
+     *
+     * @return snapshot inmutable de las propiedades {@code push.*}
+     */
+    public PushSettings getPushSettings() {
+        return pushSettings;
+    }
+
+    /**
+     * Retorna la configuración tipada del límite de concurrencia adaptativo.
+     *
+     * @return snapshot inmutable de las propiedades {@code limiter.*}
+     */
+    public LimiterSettings getLimiterSettings() {
+        return limiterSettings;
+    }
+
+    /**
+     * Retorna la configuración tipada de la lista de supresión.
+     *
+     * @return snapshot inmutable de las propiedades {@code suppression.*}
+     */
+    public SuppressionSettings getSuppressionSettings() {
+        return suppressionSettings;
+    }
+
+    /**
+     * Retorna la configuración tipada del límite de frecuencia por
+     * destinatario.
+     *
+     * @return snapshot inmutable de las propiedades {@code capping.*}
+     */
+    public CappingSettings getCappingSettings() {
+        return cappingSettings;
+    }
+
+    /**
+     * Retorna la configuración tipada del seguimiento de confirmaciones de
+     * entrega.
+     *
+     * @return snapshot inmutable de las propiedades {@code receipts.*}
+     */
+    public ReceiptSettings getReceiptSettings() {
+        return receiptSettings;
+    }
+
+    /**
+     * Interpreta una duración de configuración como {@code 250ms},
+     * {@code 30s}, {@code 2m}, {@code 6h} o {@code 1d}.
+     *
+     * @param text la duración
+     * @return la duración interpretada
+     * @throws IllegalArgumentException si falta el número o la unidad no es
+     *                                  {@code ms}, {@code s}, {@code m},
+     *                                  {@code h} ni {@code d}
+     */
+    public static Duration parseDuration(String text) {
+        Objects.requireNonNull(text, "La duración no puede ser nula");
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        int unit = value.endsWith("ms") ? value.length() - 2 : value.length() - 1;
+        if (unit < 1) {
+            throw new IllegalArgumentException("Duración inválida (use ms, s, m, h o d): '" + text + "'");
+        }
+        long amount;
+        try {
+            amount = Long.parseLong(value.substring(0, unit));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Duración inválida: '" + text + "'", ex);
+        }
+        return switch (value.substring(unit)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> throw new IllegalArgumentException("Duración inválida (use ms, s, m, h o d): '" + text + "'");
+        };
+    }
+
     /**
      * Crea una nueva instancia de {@link Builder}.
      *
@@ -92,6 +224,20 @@ public final class NotificationConfig {
         return new Builder();
     }
 
+    /**
+     * Crea un {@link Builder} inicializado con los valores de esta
+     * configuración, útil para derivar una nueva versión en un reload.
+     *
+     * @return un builder con una copia del estado actual
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .properties(properties)
+                .retryAttempts(retryAttempts)
+                .baseDelayMs(baseDelayMs)
+                .orderedLanes(orderedLanes);
+    }
+
     // ------------------------------------------------------------------ //
     // Builder
     // ------------------------------------------------------------------ //
@@ -104,6 +250,7 @@ public final class NotificationConfig {
         private final Map<String, String> properties = new HashMap<>();
         private int retryAttempts = 3;
         private long baseDelayMs = 1000L;
+        private int orderedLanes = 16;
 
         private Builder() {
         }
@@ -162,11 +309,28 @@ public final class NotificationConfig {
             return this;
         }
 
+        /**
+         * Establece el número de lanes del envío ordenado por destinatario.
+         * Más lanes = más paralelismo entre destinatarios distintos.
+         *
+         * @param orderedLanes número de lanes (debe ser ≥ 1)
+         * @return este builder
+         */
+        public Builder orderedLanes(int orderedLanes) {
+            if (orderedLanes < 1) {
+                throw new IllegalArgumentException("Las lanes ordenadas deben ser >= 1");
+            }
+            this.orderedLanes = orderedLanes;
+            return this;
+        }
+
         /**
          * Construye una instancia inmutable de {@link NotificationConfig}
          * a partir del estado actual del builder.
          *
          * @return la instancia de configuración
+         * @throws IllegalArgumentException si alguna propiedad de canal es
+         *                                  inválida (ej: proveedor vacío)
          */
         public NotificationConfig build() {
             return new NotificationConfig(this);
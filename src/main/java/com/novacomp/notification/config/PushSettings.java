@@ -0,0 +1,51 @@
+package com.novacomp.notification.config;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configuración tipada del canal push, resuelta una sola vez a partir de
+ * las propiedades {@code push.*} de {@link NotificationConfig}.
+ *
+ * @param provider  proveedor de envío ({@code push.provider}, por defecto
+ *                  {@code fcm})
+ * @param projectId proyecto del proveedor ({@code push.project.id}, por
+ *                  defecto {@code novacomp-demo})
+ * @param providers proveedores del canal con su peso ({@code push.providers},
+ *                  ej: {@code a:3,b:1}); por defecto solo {@code provider}
+ */
+public record PushSettings(String provider, String projectId, List<WeightedProvider> providers) {
+
+    public PushSettings {
+        Objects.requireNonNull(provider, "El proveedor de push no puede ser nulo");
+        Objects.requireNonNull(projectId, "El ID del proyecto no puede ser nulo");
+
+        if (provider.isBlank()) {
+            throw new IllegalArgumentException("La propiedad 'push.provider' no puede estar vacía");
+        }
+        if (projectId.isBlank()) {
+            throw new IllegalArgumentException("La propiedad 'push.project.id' no puede estar vacía");
+        }
+
+        Objects.requireNonNull(providers, "La lista de proveedores no puede ser nula");
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("El canal push requiere al menos un proveedor");
+        }
+        providers = List.copyOf(providers);
+    }
+
+    /**
+     * Crea la configuración con un único proveedor.
+     */
+    public PushSettings(String provider, String projectId) {
+        this(provider, projectId, List.of(new WeightedProvider(provider, 1)));
+    }
+
+    static PushSettings from(NotificationConfig config) {
+        String provider = WeightedProvider.primary(config, "push", "fcm");
+        return new PushSettings(
+                provider,
+                config.getProperty("push.project.id", "novacomp-demo"),
+                WeightedProvider.resolve(config, "push", provider));
+    }
+}
@@ -0,0 +1,54 @@
+package com.novacomp.notification.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuración tipada del seguimiento de confirmaciones de entrega,
+ * resuelta una sola vez a partir de las propiedades {@code receipts.*} de
+ * {@link NotificationConfig}.
+ *
+ * @param enabled  si el servicio registra cada envío aceptado para
+ *                 correlacionar las confirmaciones del proveedor
+ *                 ({@code receipts.enabled}, por defecto {@code false})
+ * @param ttl      tiempo mínimo que se recuerda un envío a la espera de su
+ *                 confirmación ({@code receipts.ttl.minutes}, por defecto
+ *                 360)
+ * @param expected envíos esperados por cuarto de {@code ttl}, para
+ *                 dimensionar el índice de entrada
+ *                 ({@code receipts.expected}, por defecto 65536)
+ * @param maxBodyBytes tamaño máximo del cuerpo de un webhook que acepta el
+ *                 {@code DeliveryReceiptServer}
+ *                 ({@code receipts.max.body.bytes}, por defecto 1 MiB)
+ */
+public record ReceiptSettings(boolean enabled, Duration ttl, int expected, int maxBodyBytes) {
+
+    /** Tamaño máximo por defecto del cuerpo de un webhook: un lote de SendGrid ronda los 100 KB. */
+    public static final int DEFAULT_MAX_BODY_BYTES = 1 << 20;
+
+    public ReceiptSettings {
+        Objects.requireNonNull(ttl, "El ttl no puede ser nulo");
+        if (ttl.toMillis() < 4) {
+            throw new IllegalArgumentException("receipts.ttl debe ser de al menos 4 ms");
+        }
+        if (expected < 1) {
+            throw new IllegalArgumentException("receipts.expected debe ser >= 1");
+        }
+        if (maxBodyBytes < 1) {
+            throw new IllegalArgumentException("receipts.max.body.bytes debe ser >= 1");
+        }
+    }
+
+    static ReceiptSettings from(NotificationConfig config) {
+        try {
+            return new ReceiptSettings(
+                    Boolean.parseBoolean(config.getProperty("receipts.enabled", "false")),
+                    Duration.ofMinutes(Long.parseLong(config.getProperty("receipts.ttl.minutes", "360").trim())),
+                    Integer.parseInt(config.getProperty("receipts.expected", "65536").trim()),
+                    Integer.parseInt(config.getProperty("receipts.max.body.bytes",
+                            String.valueOf(DEFAULT_MAX_BODY_BYTES)).trim()));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Configuración 'receipts.*' inválida: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.novacomp.notification.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Referencia recargable en caliente a una {@link NotificationConfig}.
+ * <p>
+ * Cada {@code NotificationConfig} sigue siendo inmutable; lo que cambia es
+ * <em>cuál</em> snapshot está vigente. El snapshot se publica a través de
+ * un campo {@code volatile}: el camino de envío hace una sola lectura
+ * volátil al inicio de cada envío y a partir de ahí solo accede a campos
+ * finales, por lo que un envío en curso mantiene una vista consistente
+ * aunque se recargue la configuración a mitad de camino.
+ * <p>
+ * Las recargas son programáticas: el nuevo snapshot se construye (y por lo
+ * tanto se valida) <em>antes</em> de publicarse; si la validación falla,
+ * la configuración vigente no se toca.
+ *
+ * <pre>{@code
+ * ReloadableConfig config = ReloadableConfig.of(NotificationConfig.builder()
+ *         .property("sms.account.sid", System.getenv("TWILIO_SID"))
+ *         .build());
+ * NotificationService service = new NotificationService(config);
+ *
+ * // Rotación de credenciales sin reconstruir el servicio
+ * config.update(b -> b.property("sms.account.sid", nuevoSid));
+ * }</pre>
+ */
+@Slf4j
+public final class ReloadableConfig {
+
+    private volatile NotificationConfig current;
+    private final List<Consumer<NotificationConfig>> listeners = new CopyOnWriteArrayList<>();
+
+    private ReloadableConfig(NotificationConfig initial) {
+        this.current = initial;
+    }
+
+    /**
+     * Crea una referencia recargable con el snapshot inicial dado.
+     *
+     * @param initial configuración inicial (no puede ser {@code null})
+     * @return la referencia recargable
+     */
+    public static ReloadableConfig of(NotificationConfig initial) {
+        Objects.requireNonNull(initial, "La NotificationConfig no puede ser nula");
+        return new ReloadableConfig(initial);
+    }
+
+    /**
+     * Retorna el snapshot vigente.
+     *
+     * @return la configuración actual
+     */
+    public NotificationConfig current() {
+        return current;
+    }
+
+    /**
+     * Publica atómicamente un nuevo snapshot.
+     *
+     * @param next la nueva configuración (no puede ser {@code null})
+     */
+    public void reload(NotificationConfig next) {
+        Objects.requireNonNull(next, "La NotificationConfig no puede ser nula");
+        synchronized (this) {
+            current = next;
+        }
+        log.info("Configuración recargada [propiedades={}]", next.getAllProperties().size());
+        for (Consumer<NotificationConfig> listener : listeners) {
+            listener.accept(next);
+        }
+    }
+
+    /**
+     * Deriva un nuevo snapshot a partir del vigente y lo publica. Las
+     * actualizaciones concurrentes se serializan, por lo que ninguna se
+     * pierde.
+     *
+     * @param change modificación a aplicar sobre un builder con el estado
+     *               actual
+     * @return el snapshot publicado
+     * @throws IllegalArgumentException si la configuración resultante es
+     *                                  inválida; el snapshot vigente no cambia
+     */
+    public NotificationConfig update(UnaryOperator<NotificationConfig.Builder> change) {
+        Objects.requireNonNull(change, "La función de cambio no puede ser nula");
+        NotificationConfig next;
+        synchronized (this) {
+            next = change.apply(current.toBuilder()).build();
+            current = next;
+        }
+        log.info("Configuración actualizada [propiedades={}]", next.getAllProperties().size());
+        for (Consumer<NotificationConfig> listener : listeners) {
+            listener.accept(next);
+        }
+        return next;
+    }
+
+    /**
+     * Registra un listener invocado tras cada recarga exitosa.
+     *
+     * @param listener callback que recibe el nuevo snapshot
+     */
+    public void addListener(Consumer<NotificationConfig> listener) {
+        listeners.add(Objects.requireNonNull(listener, "El listener no puede ser nulo"));
+    }
+}
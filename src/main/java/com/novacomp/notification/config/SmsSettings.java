@@ -0,0 +1,63 @@
+package com.novacomp.notification.config;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configuración tipada del canal SMS, resuelta una sola vez a partir de las
+ * propiedades {@code sms.*} de {@link NotificationConfig}.
+ *
+ * @param provider   proveedor de envío ({@code sms.provider}, por defecto
+ *                   {@code twilio})
+ * @param accountSid identificador de la cuenta ({@code sms.account.sid},
+ *                   por defecto {@code AC_demo})
+ * @param providers  proveedores del canal con su peso ({@code sms.providers},
+ *                   ej: {@code a:3,b:1}); por defecto solo {@code provider}
+ * @param transliterate si se reemplazan los caracteres fuera de GSM-7 por
+ *                   su equivalente para no pasar a UCS-2
+ *                   ({@code sms.transliterate}, por defecto {@code false})
+ */
+public record SmsSettings(String provider, String accountSid, List<WeightedProvider> providers,
+        boolean transliterate) {
+
+    public SmsSettings {
+        Objects.requireNonNull(provider, "El proveedor de SMS no puede ser nulo");
+        Objects.requireNonNull(accountSid, "El SID de la cuenta no puede ser nulo");
+
+        if (provider.isBlank()) {
+            throw new IllegalArgumentException("La propiedad 'sms.provider' no puede estar vacía");
+        }
+        if (accountSid.isBlank()) {
+            throw new IllegalArgumentException("La propiedad 'sms.account.sid' no puede estar vacía");
+        }
+
+        Objects.requireNonNull(providers, "La lista de proveedores no puede ser nula");
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("El canal sms requiere al menos un proveedor");
+        }
+        providers = List.copyOf(providers);
+    }
+
+    /**
+     * Crea la configuración sin transliteración.
+     */
+    public SmsSettings(String provider, String accountSid, List<WeightedProvider> providers) {
+        this(provider, accountSid, providers, false);
+    }
+
+    /**
+     * Crea la configuración con un único proveedor.
+     */
+    public SmsSettings(String provider, String accountSid) {
+        this(provider, accountSid, List.of(new WeightedProvider(provider, 1)));
+    }
+
+    static SmsSettings from(NotificationConfig config) {
+        String provider = WeightedProvider.primary(config, "sms", "twilio");
+        return new SmsSettings(
+                provider,
+                config.getProperty("sms.account.sid", "AC_demo"),
+                WeightedProvider.resolve(config, "sms", provider),
+                Boolean.parseBoolean(config.getProperty("sms.transliterate", "false")));
+    }
+}
@@ -0,0 +1,50 @@
+package com.novacomp.notification.config;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Configuración tipada de la lista de supresión, resuelta una sola vez a
+ * partir de las propiedades {@code suppression.*} de
+ * {@link NotificationConfig}.
+ *
+ * @param enabled    si el servicio consulta la lista antes de cada envío
+ *                   ({@code suppression.enabled}, por defecto {@code false})
+ * @param file       archivo mapeado de la tabla ({@code suppression.file});
+ *                   {@code null} para mantenerla en memoria directa sin
+ *                   persistir
+ * @param capacity   destinatarios que admite la lista
+ *                   ({@code suppression.capacity}, por defecto 1.000.000)
+ * @param suppressOn códigos de {@code Failure} del proveedor que suprimen
+ *                   al destinatario ({@code suppression.codes}, separados
+ *                   por coma; por defecto {@code UNREGISTERED,BOUNCED})
+ */
+public record SuppressionSettings(boolean enabled, Path file, long capacity, Set<String> suppressOn) {
+
+    public SuppressionSettings {
+        Objects.requireNonNull(suppressOn, "Los códigos de supresión no pueden ser nulos");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("suppression.capacity debe ser >= 1");
+        }
+        suppressOn = Set.copyOf(suppressOn);
+    }
+
+    static SuppressionSettings from(NotificationConfig config) {
+        String file = config.getProperty("suppression.file");
+        try {
+            return new SuppressionSettings(
+                    Boolean.parseBoolean(config.getProperty("suppression.enabled", "false")),
+                    file == null || file.isBlank() ? null : Path.of(file.trim()),
+                    Long.parseLong(config.getProperty("suppression.capacity", "1000000").trim()),
+                    Arrays.stream(config.getProperty("suppression.codes", "UNREGISTERED,BOUNCED").split(","))
+                            .map(String::trim)
+                            .filter(code -> !code.isEmpty())
+                            .collect(Collectors.toSet()));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Configuración 'suppression.*' inválida: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.novacomp.notification.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Proveedor de un canal con su peso de enrutamiento.
+ *
+ * @param name   nombre del proveedor (ej: {@code twilio})
+ * @param weight peso relativo (≥ 1): con pesos {@code 3} y {@code 1}, el
+ *               primero recibe ~3/4 del tráfico mientras ambos estén sanos
+ */
+public record WeightedProvider(String name, int weight) {
+
+    public WeightedProvider {
+        Objects.requireNonNull(name, "El nombre del proveedor no puede ser nulo");
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("El nombre del proveedor no puede estar vacío");
+        }
+        if (weight < 1) {
+            throw new IllegalArgumentException("El peso del proveedor debe ser >= 1");
+        }
+    }
+
+    /**
+     * Resuelve la lista de proveedores de un canal: la propiedad
+     * {@code <canal>.providers} ({@code sendgrid:3,mailgun:1}) si existe, o
+     * el proveedor único {@code <canal>.provider} con peso 1.
+     */
+    static List<WeightedProvider> resolve(NotificationConfig config, String channel, String provider) {
+        String spec = config.getProperty(channel + ".providers");
+        if (spec == null) {
+            return List.of(new WeightedProvider(provider, 1));
+        }
+
+        List<WeightedProvider> providers = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            try {
+                var entry = new WeightedProvider(kv[0].trim(), kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1);
+                if (!names.add(entry.name())) {
+                    throw new IllegalArgumentException("Proveedor repetido: " + entry.name());
+                }
+                providers.add(entry);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(
+                        "La propiedad '" + channel + ".providers' es inválida: " + ex.getMessage(), ex);
+            }
+        }
+        return List.copyOf(providers);
+    }
+
+    /**
+     * Proveedor por defecto de un canal: el de {@code <canal>.provider} o,
+     * si solo se configuró {@code <canal>.providers}, el primero de la
+     * lista.
+     */
+    static String primary(NotificationConfig config, String channel, String defaultProvider) {
+        String provider = config.getProperty(channel + ".provider");
+        if (provider != null) {
+            return provider;
+        }
+        String spec = config.getProperty(channel + ".providers");
+        return spec == null ? defaultProvider : spec.split(",")[0].split(":")[0].trim();
+    }
+}
@@ -1,13 +1,41 @@
 package com.novacomp.notification.core;
 
+import com.novacomp.notification.codec.CodecWriter;
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
 import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.resilience.AdaptiveConcurrencyLimiter;
+import com.novacomp.notification.resilience.ConcurrencyLimitDecorator;
+import com.novacomp.notification.scheduling.NotificationScheduler;
+import com.novacomp.notification.scheduling.ScheduledNotification;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Fachada asíncrona para enviar notificaciones sobre
@@ -36,6 +64,66 @@ import java.util.concurrent.Executors;
  * de reintentos es <em>gratis</em> en términos de utilización del carrier
  * thread.
  *
+ * <h3>Orden por destinatario</h3>
+ * {@link #sendAsync(Object)} no garantiza orden: dos mensajes al mismo
+ * destinatario pueden entregarse invertidos. {@link #sendOrdered(Object)}
+ * asigna cada destinatario por hash a una de N <em>lanes</em> seriales
+ * ({@link NotificationConfig#getOrderedLanes()}): los mensajes de un mismo
+ * destinatario se envían estrictamente en orden de llamada, mientras que
+ * destinatarios en lanes distintas avanzan en paralelo.
+ *
+ * <h3>Admisión</h3>
+ * Si el servicio tiene límites de concurrencia adaptativos
+ * ({@link NotificationService#getLimiter(ChannelType)}), {@code sendAsync}
+ * y {@code sendOrdered} rechazan en el propio hilo llamador -- sin crear un
+ * Virtual Thread ni ocupar una lane -- los envíos a un canal saturado y sin
+ * lugar de espera: el future se completa de inmediato con un
+ * {@code Failure} {@code CONCURRENCY_LIMITED}.
+ *
+ * <h3>Plazos y cancelación</h3>
+ * {@link #sendAsync(Object, Duration)} propaga un {@link Deadline} por el
+ * envío: el retry no agenda reintentos más allá del plazo y el backend del
+ * proveedor acota su espera; al vencer, el future se completa con
+ * {@code DEADLINE_EXCEEDED}. Cancelar un future de {@code sendAsync}
+ * descarta el envío si aún no empezó e interrumpe el que está en curso,
+ * incluido el backoff de los reintentos. La {@link NotificationCategory}
+ * del hilo llamador también se propaga al hilo del envío, en todas las
+ * formas de envío: {@code sendAsync}, {@code sendOrdered}, {@code sendAll},
+ * los envíos programados y los de un {@link NotificationProcessor} (la
+ * vigente al crearlo).
+ *
+ * <h3>Flujos reactivos</h3>
+ * {@link #processor(int, int)} expone el servicio como
+ * {@link java.util.concurrent.Flow.Processor}: se suscribe a un productor
+ * de solicitudes pidiendo solo tantas como envíos en curso admiten
+ * {@code maxInFlight} y los limitadores de los canales, y
+ * publica los resultados con backpressure hacia sus suscriptores.
+ *
+ * <h3>Envíos programados</h3>
+ * {@link #sendAt(Instant, Object)} y {@link #sendAfter(Duration, Object)}
+ * difieren el envío mediante un {@link NotificationScheduler} (rueda de
+ * tiempo jerárquica) que se crea la primera vez que se usa. Para persistir
+ * los envíos programados, crear un {@code NotificationScheduler} propio con
+ * un {@code SchedulePersistence}.
+ *
+ * <h3>Envío simultáneo por varios canales</h3>
+ * {@link #sendAll(BroadcastPolicy, Duration, List)} envía el mismo evento
+ * por varios canales a la vez, cada uno en su Virtual Thread, con un plazo
+ * total y un criterio de éxito ({@link BroadcastPolicy}). Con
+ * {@code --enable-preview} se ejecuta sobre {@code StructuredTaskScope}
+ * (concurrencia estructurada de Java 21); sin él, sobre futures del mismo
+ * executor con igual semántica de cancelación.
+ *
+ * <h3>Cierre ordenado</h3>
+ * {@link #close()} espera sin límite a que terminen los envíos en curso.
+ * Para despliegues, {@link #shutdown(Duration, Consumer)} deja de admitir
+ * envíos (se rechazan con un {@code Failure} {@value #SHUTTING_DOWN}),
+ * espera a los envíos en curso hasta el plazo y luego cancela los que
+ * quedan, entregando sus solicitudes -- junto con los envíos programados
+ * sin despachar -- a un exportador (ej: {@link #exportToFile(Path)}) para
+ * reencolarlas en otra instancia. Un envío cancelado pudo haber llegado al
+ * proveedor, por lo que reenviar lo exportado es <em>at-least-once</em>.
+ *
  * <h3>Ejemplo de uso</h3>
  * 
  * <pre>{@code
@@ -53,8 +141,16 @@ import java.util.concurrent.Executors;
 @Slf4j
 public final class AsyncNotificationService implements AutoCloseable {
 
+    /** Código del {@code Failure} de un envío recibido durante el cierre. */
+    public static final String SHUTTING_DOWN = "SHUTTING_DOWN";
+
     private final NotificationService notificationService;
     private final ExecutorService virtualThreadExecutor;
+    private final OrderedLanes orderedLanes;
+    private final Broadcaster broadcaster;
+    private final Map<CompletableFuture<NotificationResult>, Object> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean accepting = true;
+    private volatile NotificationScheduler scheduler;
 
     /**
      * Crea un servicio asíncrono respaldado por la configuración dada.
@@ -65,9 +161,34 @@ public final class AsyncNotificationService implements AutoCloseable {
      * @param config configuración de la librería (no puede ser {@code null})
      */
     public AsyncNotificationService(NotificationConfig config) {
-        Objects.requireNonNull(config, "La NotificationConfig no puede ser nula");
-        this.notificationService = new NotificationService(config);
+        this(new NotificationService(Objects.requireNonNull(config, "La NotificationConfig no puede ser nula")));
+    }
+
+    /**
+     * Crea un servicio asíncrono sobre una configuración recargable en
+     * caliente.
+     *
+     * @param config referencia a la configuración vigente (no puede ser
+     *               {@code null})
+     */
+    public AsyncNotificationService(ReloadableConfig config) {
+        this(new NotificationService(config));
+    }
+
+    /**
+     * Crea un servicio asíncrono que despacha sobre el
+     * {@link NotificationService} dado, que se cierra junto con este.
+     *
+     * @param notificationService servicio síncrono subyacente (no puede ser
+     *                            {@code null})
+     */
+    public AsyncNotificationService(NotificationService notificationService) {
+        this.notificationService = Objects.requireNonNull(notificationService,
+                "El NotificationService no puede ser nulo");
         this.virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.orderedLanes = new OrderedLanes(
+                notificationService.getConfig().current().getOrderedLanes(), virtualThreadExecutor);
+        this.broadcaster = Broadcaster.create(virtualThreadExecutor);
         log.info("Servicio asíncrono de notificaciones inicializado con executor de Virtual Threads");
     }
 
@@ -77,13 +198,30 @@ public final class AsyncNotificationService implements AutoCloseable {
      *
      * @param request uno de {@code EmailRequest}, {@code SmsRequest},
      *                o {@code PushRequest}
-     * @return un future que se completa con el {@link NotificationResult}
+     * @return un future que se completa con el {@link NotificationResult};
+     *         cancelarlo interrumpe el envío
      */
     public CompletableFuture<NotificationResult> sendAsync(Object request) {
-        Objects.requireNonNull(request, "La solicitud no puede ser nula");
-        return CompletableFuture.supplyAsync(
-                () -> notificationService.send(request),
-                virtualThreadExecutor);
+        return submit(null, request, null);
+    }
+
+    /**
+     * Envía una notificación de forma asíncrona con un plazo total, contado
+     * desde esta llamada.
+     * <p>
+     * El plazo se propaga como {@link Deadline} al hilo del envío: los
+     * reintentos no se programan más allá de él y el backend del proveedor
+     * acota su espera. Al vencer, el future se completa con un
+     * {@code Failure} {@value Deadline#DEADLINE_EXCEEDED} y el envío en curso
+     * se interrumpe.
+     *
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest},
+     *                o {@code PushRequest}
+     * @param timeout plazo del envío (debe ser &gt; 0)
+     * @return un future que se completa con el {@link NotificationResult}
+     */
+    public CompletableFuture<NotificationResult> sendAsync(Object request, Duration timeout) {
+        return submit(null, request, Deadline.after(timeout));
     }
 
     /**
@@ -91,22 +229,594 @@ public final class AsyncNotificationService implements AutoCloseable {
      *
      * @param type    el canal a utilizar
      * @param request la carga útil de la solicitud de notificación
-     * @return un future que se completa con el {@link NotificationResult}
+     * @return un future que se completa con el {@link NotificationResult};
+     *         cancelarlo interrumpe el envío
      */
     public CompletableFuture<NotificationResult> sendAsync(ChannelType type, Object request) {
         Objects.requireNonNull(type, "El ChannelType no puede ser nulo");
+        return submit(type, request, null);
+    }
+
+    /**
+     * Envía una notificación de forma asíncrona a través del canal
+     * especificado, con un plazo total (ver
+     * {@link #sendAsync(Object, Duration)}).
+     *
+     * @param type    el canal a utilizar
+     * @param request la carga útil de la solicitud de notificación
+     * @param timeout plazo del envío (debe ser &gt; 0)
+     * @return un future que se completa con el {@link NotificationResult}
+     */
+    public CompletableFuture<NotificationResult> sendAsync(ChannelType type, Object request, Duration timeout) {
+        Objects.requireNonNull(type, "El ChannelType no puede ser nulo");
+        return submit(type, request, Deadline.after(timeout));
+    }
+
+    /**
+     * Envía una notificación de forma asíncrona preservando el orden por
+     * destinatario: el envío no comienza hasta que terminan (incluidos sus
+     * reintentos) los envíos previos al mismo destinatario.
+     * <p>
+     * Como {@link #sendAsync(Object)}, pasa por la admisión del limitador
+     * del canal: un envío a un canal saturado se rechaza con
+     * {@code CONCURRENCY_LIMITED} sin ocupar la lane.
+     *
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest},
+     *                o {@code PushRequest}
+     * @return un future que se completa con el {@link NotificationResult}
+     * @throws IllegalArgumentException si el tipo de solicitud es desconocido
+     */
+    public CompletableFuture<NotificationResult> sendOrdered(Object request) {
+        return ordered(request, null);
+    }
+
+    /**
+     * Envía una notificación preservando el orden por destinatario (ver
+     * {@link #sendOrdered(Object)}), con un plazo total contado desde esta
+     * llamada, incluida la espera en la lane.
+     * <p>
+     * Al vencer, el future se completa con un {@code Failure}
+     * {@value Deadline#DEADLINE_EXCEEDED}: si el envío aún esperaba su turno
+     * se descarta; si ya estaba en curso, el plazo acota sus reintentos y la
+     * espera del proveedor, sin interrumpir el hilo de la lane.
+     *
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest},
+     *                o {@code PushRequest}
+     * @param timeout plazo del envío (debe ser &gt; 0)
+     * @return un future que se completa con el {@link NotificationResult}
+     * @throws IllegalArgumentException si el tipo de solicitud es desconocido
+     */
+    public CompletableFuture<NotificationResult> sendOrdered(Object request, Duration timeout) {
+        return ordered(request, Deadline.after(timeout));
+    }
+
+    /**
+     * Programa el envío de una notificación para un instante absoluto.
+     *
+     * @param deliverAt instante de envío; si ya pasó, se envía de inmediato
+     * @param request   uno de {@code EmailRequest}, {@code SmsRequest},
+     *                  o {@code PushRequest}
+     * @return el handle del envío programado (resultado y cancelación)
+     * @throws IllegalStateException si el servicio está cerrando
+     */
+    public ScheduledNotification sendAt(Instant deliverAt, Object request) {
         Objects.requireNonNull(request, "La solicitud no puede ser nula");
-        return CompletableFuture.supplyAsync(
-                () -> notificationService.send(type, request),
-                virtualThreadExecutor);
+        requireAccepting();
+        return scheduler().schedule(deliverAt, request);
+    }
+
+    /**
+     * Programa el envío de una notificación para dentro de {@code delay}.
+     *
+     * @param delay   tiempo hasta el envío
+     * @param request uno de {@code EmailRequest}, {@code SmsRequest},
+     *                o {@code PushRequest}
+     * @return el handle del envío programado (resultado y cancelación)
+     * @throws IllegalStateException si el servicio está cerrando
+     */
+    public ScheduledNotification sendAfter(Duration delay, Object request) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        requireAccepting();
+        return scheduler().schedule(delay, request);
+    }
+
+    /**
+     * Envía las solicitudes -- típicamente el mismo evento por email, SMS y
+     * push -- en paralelo, una subtarea por solicitud, y espera el resultado
+     * combinado.
+     * <p>
+     * Con {@link BroadcastPolicy#ANY} retorna con el primer canal que
+     * entrega y cancela el resto; con {@link BroadcastPolicy#ALL} espera a
+     * todos. Al vencer {@code deadline} -- o antes, el {@link Deadline}
+     * vigente del llamador -- los envíos pendientes se cancelan
+     * (interrupción) y cuentan como {@code DEADLINE_EXCEEDED}. Los envíos no
+     * pasan por la admisión del limitador, pero se siguen como los de
+     * {@link #sendAsync(Object)}: {@link #shutdown(Duration, Consumer)} los
+     * espera y, si no terminan a tiempo, los interrumpe y exporta. El
+     * llamador bloquea hasta que todos terminan o se cancelan.
+     *
+     * @param policy   criterio de éxito
+     * @param deadline plazo total (debe ser &gt; 0)
+     * @param requests solicitudes a enviar (al menos una)
+     * @return el resultado combinado, un resultado por solicitud en orden
+     */
+    public BroadcastResult sendAll(BroadcastPolicy policy, Duration deadline,
+            List<? extends NotificationRequest> requests) {
+        Objects.requireNonNull(policy, "La política no puede ser nula");
+        Objects.requireNonNull(deadline, "El plazo no puede ser nulo");
+        Objects.requireNonNull(requests, "La lista de solicitudes no puede ser nula");
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("El plazo debe ser > 0");
+        }
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una solicitud");
+        }
+        requests.forEach(request -> Objects.requireNonNull(request, "La solicitud no puede ser nula"));
+        if (!accepting) {
+            return new BroadcastResult(policy, requests.stream().map(request -> shuttingDown().join()).toList());
+        }
+
+        // Cada subtarea corre en su propio hilo: el plazo y la categoría se
+        // vinculan en cada una. Un plazo vigente del llamador que venza antes
+        // acota todo el envío.
+        Deadline outer = Deadline.current().orElse(null);
+        String category = NotificationCategory.current().orElse(null);
+        Duration budget = deadline;
+        long outerNanos = outer != null ? outer.remainingNanos() : Long.MAX_VALUE;
+        if (Duration.ofNanos(outerNanos).compareTo(deadline) < 0) {
+            if (outerNanos <= 0) {
+                return new BroadcastResult(policy, requests.stream()
+                        .map(request -> (NotificationResult) outer.exceeded("envío simultáneo no iniciado"))
+                        .toList());
+            }
+            budget = Duration.ofNanos(outerNanos);
+        }
+        Deadline bound = Deadline.after(budget);
+        BroadcastResult result;
+        try {
+            result = broadcaster.broadcast(request -> sendTracked(request, bound, category), policy, budget, requests);
+        } catch (RejectedExecutionException ex) {
+            // shutdown() cerró el executor después de la comprobación de accepting.
+            return new BroadcastResult(policy, requests.stream().map(request -> shuttingDown().join()).toList());
+        }
+        log.info("Envío simultáneo completado [politica={}, exitos={}/{}, canales={}]",
+                policy, result.successCount(), requests.size(), result.deliveredChannels());
+        return result;
+    }
+
+    /**
+     * Envía un lote de notificaciones en paralelo, un Virtual Thread por
+     * solicitud, y agrega los resultados en un {@link BatchResult}.
+     * <p>
+     * Cada resultado se vuelca al lote en cuanto su envío termina, por lo
+     * que los {@link NotificationResult} individuales no se retienen hasta
+     * el final del lote. Un envío cancelado o que lanza una excepción ocupa
+     * su posición como {@code Failure} ({@value Deadline#CANCELLED} o
+     * {@code CHANNEL_ERROR}) sin hacer fallar el lote.
+     *
+     * @param requests solicitudes a enviar (ninguna puede ser {@code null})
+     * @return un future que se completa con los resultados, en el mismo
+     *         orden que {@code requests}
+     */
+    public CompletableFuture<BatchResult> sendBatchAsync(List<?> requests) {
+        Objects.requireNonNull(requests, "La lista de solicitudes no puede ser nula");
+
+        BatchResult.Builder batch = BatchResult.builder(requests.size());
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[requests.size()];
+        for (int i = 0; i < pending.length; i++) {
+            int index = i;
+            pending[i] = sendAsync(requests.get(i)).handle((result, error) -> {
+                batch.set(index, error == null ? result : failureOf(error));
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(pending).thenApply(ignored -> batch.build());
     }
 
     /**
-     * Cierra el executor de Virtual Threads.
+     * Crea un {@link NotificationProcessor} para enviar un flujo reactivo de
+     * solicitudes ({@link java.util.concurrent.Flow}) con backpressure de
+     * punta a punta: pide solicitudes al productor solo a medida que se
+     * libera capacidad de despacho, y publica los resultados.
+     * <p>
+     * Cada solicitud se envía con {@link #sendAsync(Object)}, por lo que
+     * pasa por la admisión del limitador y se sigue en el cierre ordenado.
+     * Con límites de concurrencia adaptativos, los envíos en curso tampoco
+     * superan la suma de los límites actuales de los canales: si el
+     * limitador baja su límite, el processor pide menos al productor en
+     * lugar de provocar rechazos {@code CONCURRENCY_LIMITED}.
+     *
+     * @param maxInFlight    envíos en curso como máximo (debe ser &gt; 0)
+     * @param bufferCapacity resultados en espera por suscriptor (debe ser
+     *                       &gt; 0)
+     * @return el processor, sin productor ni suscriptores
+     */
+    public NotificationProcessor processor(int maxInFlight, int bufferCapacity) {
+        // Los suscriptores de resultados corren en Virtual Threads propios:
+        // la entrega no depende del executor de envíos, que se apaga al cerrar.
+        return new NotificationProcessor(this::sendAsync, maxInFlight, notificationService::concurrencyCapacity,
+                bufferCapacity, command -> Thread.ofVirtual().name("notification-flow").start(command));
+    }
+
+    /**
+     * Prepara todos los canales para el primer envío (ver
+     * {@link NotificationService#warmUp()}) y arranca los carrier threads
+     * de los Virtual Threads.
+     *
+     * @return el resumen del calentamiento
+     */
+    public WarmUpReport warmUp() {
+        return warmUp(EnumSet.allOf(ChannelType.class), NotificationService.DEFAULT_WARM_UP_ITERATIONS);
+    }
+
+    /**
+     * Prepara los canales dados para el primer envío (ver
+     * {@link NotificationService#warmUp(Set, int)}) y arranca los carrier
+     * threads de los Virtual Threads.
+     *
+     * @param types      canales a preparar
+     * @param iterations pasadas por canal
+     * @return el resumen del calentamiento
+     */
+    public WarmUpReport warmUp(Set<ChannelType> types, int iterations) {
+        // El primer Virtual Thread crea el scheduler de carriers (ForkJoinPool).
+        CompletableFuture.runAsync(() -> { }, virtualThreadExecutor).join();
+        return notificationService.warmUp(types, iterations);
+    }
+
+    /**
+     * @return número de envíos admitidos que aún no terminaron
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Cierra el servicio esperando a los envíos en curso como máximo
+     * {@code deadline}; los que no terminan a tiempo se cancelan.
+     *
+     * @param deadline espera máxima por los envíos en curso
+     * @return el resumen del cierre
+     * @see #shutdown(Duration, Consumer)
+     */
+    public ShutdownReport shutdown(Duration deadline) {
+        return shutdown(deadline, remaining -> { });
+    }
+
+    /**
+     * Cierra el servicio de forma ordenada:
+     * <ol>
+     * <li>deja de admitir envíos nuevos y detiene el programador;</li>
+     * <li>espera a los envíos en curso hasta {@code deadline};</li>
+     * <li>cancela los que siguen en curso (sus futures quedan cancelados y
+     * sus Virtual Threads se interrumpen) y cierra el
+     * {@link NotificationService};</li>
+     * <li>entrega a {@code exporter} las solicitudes canceladas y los envíos
+     * programados sin despachar, si hay alguno.</li>
+     * </ol>
+     * Llamadas posteriores no esperan y retornan un resumen vacío.
+     *
+     * @param deadline espera máxima por los envíos en curso
+     * @param exporter recibe las solicitudes que quedaron sin terminar; un
+     *                 error del exportador se registra y no interrumpe el
+     *                 cierre
+     * @return el resumen del cierre
+     */
+    public ShutdownReport shutdown(Duration deadline, Consumer<List<Object>> exporter) {
+        Objects.requireNonNull(deadline, "El plazo no puede ser nulo");
+        Objects.requireNonNull(exporter, "El exportador no puede ser nulo");
+        long start = System.nanoTime();
+        synchronized (this) {
+            if (!accepting) {
+                return new ShutdownReport(0, 0, 0, Duration.ZERO);
+            }
+            accepting = false;
+        }
+
+        NotificationScheduler activeScheduler = scheduler;
+        List<Object> remaining = new ArrayList<>(
+                activeScheduler != null ? activeScheduler.shutdown() : List.of());
+        int scheduled = remaining.size();
+        int pending = inFlight.size();
+        log.info("Cerrando servicio asíncrono [enCurso={}, programados={}, plazo={} ms]",
+                pending, remaining.size(), deadline.toMillis());
+
+        awaitInFlight(deadline);
+        inFlight.forEach((future, request) -> {
+            if (future.cancel(false)) {
+                remaining.add(request);
+            }
+        });
+        int cancelled = remaining.size() - scheduled;
+        virtualThreadExecutor.shutdownNow();
+        notificationService.close();
+
+        int exported = 0;
+        if (!remaining.isEmpty()) {
+            try {
+                exporter.accept(List.copyOf(remaining));
+                exported = remaining.size();
+            } catch (RuntimeException ex) {
+                log.error("No se pudieron exportar {} solicitudes pendientes", remaining.size(), ex);
+            }
+        }
+        var report = new ShutdownReport(Math.max(0, pending - cancelled), remaining.size(), exported,
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Servicio asíncrono cerrado [drenados={}, abandonados={}, exportados={}, en={} ms]",
+                report.drained(), report.abandoned(), report.exported(), report.elapsed().toMillis());
+        return report;
+    }
+
+    /**
+     * Exportador para {@link #shutdown(Duration, Consumer)} que escribe las
+     * solicitudes pendientes en {@code file} con el formato de
+     * {@code NotificationCodec}, para leerlas con un {@code CodecReader} y
+     * reencolarlas.
+     *
+     * @param file archivo destino (se reemplaza si existe)
+     * @return el exportador
+     */
+    public static Consumer<List<Object>> exportToFile(Path file) {
+        Objects.requireNonNull(file, "El archivo no puede ser nulo");
+        return requests -> {
+            var writer = new CodecWriter();
+            requests.forEach(writer::write);
+            try {
+                Files.write(file, writer.toByteArray());
+            } catch (IOException ex) {
+                throw new UncheckedIOException("No se pudo escribir " + file, ex);
+            }
+            log.info("Exportadas {} solicitudes pendientes a {}", requests.size(), file);
+        };
+    }
+
+    /**
+     * Cierra el executor de Virtual Threads esperando sin límite a los
+     * envíos en curso y luego el {@link NotificationService} (que fuerza a
+     * disco la lista de supresión). Los envíos programados que sigan
+     * pendientes se descartan y sus futures quedan cancelados.
      */
     @Override
     public void close() {
+        accepting = false;
+        NotificationScheduler activeScheduler = scheduler;
+        if (activeScheduler != null) {
+            activeScheduler.shutdown();
+        }
         virtualThreadExecutor.close();
+        notificationService.close();
         log.info("Servicio asíncrono de notificaciones cerrado");
     }
+
+    /**
+     * Descarta el envío antes de crear trabajo si el limitador del canal no
+     * lo admitiría.
+     *
+     * @return un future ya completado con el rechazo, o {@code null} si el
+     *         envío es admitido
+     */
+    private CompletableFuture<NotificationResult> rejectIfSaturated(ChannelType type) {
+        AdaptiveConcurrencyLimiter limiter = notificationService.getLimiter(type).orElse(null);
+        if (limiter == null || limiter.admits()) {
+            return null;
+        }
+        log.debug("[LIMIT] [{}] Envío descartado en admisión [limite={}]", type, limiter.limit());
+        return CompletableFuture.completedFuture(ConcurrencyLimitDecorator.rejection(limiter));
+    }
+
+    /**
+     * Admite y despacha un envío en un Virtual Thread propio. El future
+     * retornado controla la tarea: si se cancela, o si vence
+     * {@code deadline}, la tarea que aún no empezó se descarta y la que está
+     * en curso se interrumpe (abortando el backoff de los reintentos).
+     *
+     * @param type     canal explícito, o {@code null} para resolverlo por el
+     *                 tipo de solicitud
+     * @param deadline plazo del envío, o {@code null} sin plazo
+     */
+    private CompletableFuture<NotificationResult> submit(ChannelType type, Object request, Deadline deadline) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        if (!accepting) {
+            return shuttingDown();
+        }
+        ChannelType channel = type != null ? type
+                : request instanceof NotificationRequest notification ? notification.channelType() : null;
+        if (channel != null) {
+            CompletableFuture<NotificationResult> rejected = rejectIfSaturated(channel);
+            if (rejected != null) {
+                return rejected;
+            }
+        }
+
+        Supplier<NotificationResult> send = NotificationCategory.capture(type != null
+                ? () -> notificationService.send(type, request)
+                : () -> notificationService.send(request));
+        CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+        if (!admit(request, future)) {
+            return future;
+        }
+        Future<?> task;
+        try {
+            task = virtualThreadExecutor.submit(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(deadline != null ? deadline.call(send) : send.get());
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // shutdown() cerró el executor después de la comprobación de accepting.
+            future.complete(shuttingDown().join());
+            return future;
+        }
+
+        NotificationResult.Failure timedOut = deadline != null
+                ? deadline.exceeded("el envío no terminó a tiempo")
+                : null;
+        if (deadline != null) {
+            future.completeOnTimeout(timedOut, deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        }
+        // Solo se interrumpe la tarea si el future lo completó otro hilo
+        // (cancelación o plazo): la propia tarea no debe auto-interrumpirse.
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled() || (timedOut != null && result == timedOut)) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Admite y encola un envío en la lane de su destinatario. La lane no se
+     * interrumpe: cancelar el future, o que venza {@code deadline}, solo
+     * descarta el envío que aún no empezó.
+     *
+     * @param deadline plazo del envío, o {@code null} sin plazo
+     */
+    private CompletableFuture<NotificationResult> ordered(Object request, Deadline deadline) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        if (!(request instanceof NotificationRequest notification)) {
+            throw new IllegalArgumentException(
+                    "Tipo de solicitud no soportado: " + request.getClass().getName());
+        }
+        if (!accepting) {
+            return shuttingDown();
+        }
+        CompletableFuture<NotificationResult> rejected = rejectIfSaturated(notification.channelType());
+        if (rejected != null) {
+            return rejected;
+        }
+
+        CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+        if (!admit(request, future)) {
+            return future;
+        }
+        Supplier<NotificationResult> send = NotificationCategory.capture(() -> notificationService.send(notification));
+        CompletableFuture<NotificationResult> lane = orderedLanes.submit(notification.recipient(),
+                deadline == null ? send
+                        : () -> deadline.isExpired()
+                                ? deadline.exceeded("el envío no salió de la lane a tiempo")
+                                : deadline.call(send));
+        lane.whenComplete((result, error) -> {
+            if (error instanceof RejectedExecutionException) {
+                // shutdown() cerró el executor después de la comprobación de accepting.
+                future.complete(shuttingDown().join());
+            } else if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        });
+        if (deadline != null) {
+            future.completeOnTimeout(deadline.exceeded("el envío no terminó a tiempo"),
+                    deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        }
+        future.whenComplete((result, error) -> {
+            if (!lane.isDone()) {
+                lane.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Envía en el hilo actual (una subtarea de {@link #sendAll}) con el
+     * envío registrado en {@code inFlight}: cancelarlo al cerrar interrumpe
+     * el hilo.
+     *
+     * @param category categoría del llamador, o {@code null}
+     */
+    private NotificationResult sendTracked(NotificationRequest request, Deadline deadline, String category) {
+        CompletableFuture<NotificationResult> tracked = new CompletableFuture<>();
+        Thread sender = Thread.currentThread();
+        tracked.whenComplete((result, error) -> {
+            if (tracked.isCancelled()) {
+                sender.interrupt();
+            }
+        });
+        if (!admit(request, tracked)) {
+            return tracked.join();
+        }
+        try {
+            Supplier<NotificationResult> send = () -> notificationService.send(request);
+            NotificationResult result = deadline.call(category != null
+                    ? () -> NotificationCategory.call(category, send)
+                    : send);
+            tracked.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            tracked.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Registra el envío en {@code inFlight} <em>antes</em> de confirmar que
+     * el servicio admite envíos: o {@link #shutdown(Duration, Consumer)} lo
+     * ve al esperar, cancelar y exportar, o este ve {@code accepting} en
+     * {@code false}.
+     *
+     * @return {@code false} si el servicio se está cerrando; {@code future}
+     *         ya quedó completado con {@value #SHUTTING_DOWN}
+     */
+    private boolean admit(Object request, CompletableFuture<NotificationResult> future) {
+        inFlight.put(future, request);
+        future.whenComplete((result, error) -> inFlight.remove(future));
+        if (accepting) {
+            return true;
+        }
+        future.complete(shuttingDown().join());
+        return false;
+    }
+
+    private void awaitInFlight(Duration deadline) {
+        try {
+            CompletableFuture.allOf(inFlight.keySet().toArray(CompletableFuture[]::new))
+                    .get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            // Se resuelve al cancelar los pendientes.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Resultado de un envío cuyo future terminó sin {@link NotificationResult}.
+     */
+    private static NotificationResult.Failure failureOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        return cause instanceof CancellationException
+                ? Deadline.cancelled("el envío del lote se canceló")
+                : Broadcaster.error(cause);
+    }
+
+    private static CompletableFuture<NotificationResult> shuttingDown() {
+        return CompletableFuture.completedFuture(
+                new NotificationResult.Failure(SHUTTING_DOWN, "El servicio se está cerrando"));
+    }
+
+    private void requireAccepting() {
+        if (!accepting) {
+            throw new IllegalStateException("El servicio se está cerrando");
+        }
+    }
+
+    private NotificationScheduler scheduler() {
+        NotificationScheduler current = scheduler;
+        if (current == null) {
+            synchronized (this) {
+                current = scheduler;
+                if (current == null) {
+                    current = new NotificationScheduler(this::sendAsync);
+                    scheduler = current;
+                }
+            }
+        }
+        return current;
+    }
 }
@@ -0,0 +1,333 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.model.ChannelType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Contenedor compacto de resultados para envíos masivos.
+ * <p>
+ * En vez de mantener vivo un {@link NotificationResult.Success} (record +
+ * {@code String} + {@code Instant}, ~130 bytes) por cada mensaje hasta que
+ * el llamador agregue el lote, los resultados se almacenan en arreglos
+ * primitivos paralelos:
+ * <ul>
+ * <li>{@code failureRefs[i]} -- {@code -1} si el envío fue exitoso, o el
+ * índice del {@code Failure} en un diccionario de fallos únicos</li>
+ * <li>{@code epochNanos[i]} -- timestamp del éxito en nanos desde epoch</li>
+ * <li>{@code channels[i]} -- canal que entregó el éxito ({@code ordinal + 1},
+ * o {@code 0} si se desconoce)</li>
+ * <li>{@code idOffsets[i]} / {@code idLengths[i]} -- posición del
+ * {@code messageId} (UTF-8) dentro de un único arena de bytes</li>
+ * </ul>
+ * El overhead por resultado baja a ~21 bytes más los bytes del ID, sin
+ * objetos por mensaje. Los {@link NotificationResult} se materializan de
+ * forma perezosa solo cuando se piden con {@link #get(int)} o al iterar.
+ *
+ * <pre>{@code
+ * BatchResult batch = service.sendBatch(solicitudes);
+ * System.out.println(batch.successCount() + " enviados");
+ * batch.countsByFailureCode().forEach((code, n) -> System.out.println(code + ": " + n));
+ * }</pre>
+ */
+public final class BatchResult implements Iterable<NotificationResult> {
+
+    private static final int SUCCESS = -1;
+    private static final int UNSET = -2;
+
+    private final int size;
+    private final int[] failureRefs;
+    private final long[] epochNanos;
+    private final byte[] channels;
+    private final int[] idOffsets;
+    private final int[] idLengths;
+    private final byte[] idArena;
+    private final NotificationResult.Failure[] failures;
+    private final int successCount;
+
+    private BatchResult(Builder builder) {
+        this.size = builder.size;
+        this.failureRefs = builder.failureRefs;
+        this.epochNanos = builder.epochNanos;
+        this.channels = builder.channels;
+        this.idOffsets = builder.idOffsets;
+        this.idLengths = builder.idLengths;
+        this.idArena = Arrays.copyOf(builder.idArena, builder.arenaSize);
+        this.failures = builder.failures.toArray(NotificationResult.Failure[]::new);
+        this.successCount = builder.successCount;
+    }
+
+    /**
+     * Crea un builder para un lote de {@code size} resultados.
+     *
+     * @param size número de resultados del lote (debe ser ≥ 0)
+     * @return un nuevo builder
+     */
+    public static Builder builder(int size) {
+        return new Builder(size);
+    }
+
+    /**
+     * @return número de resultados del lote
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return número de envíos exitosos
+     */
+    public int successCount() {
+        return successCount;
+    }
+
+    /**
+     * @return número de envíos fallidos
+     */
+    public int failureCount() {
+        return size - successCount;
+    }
+
+    /**
+     * @param index posición en el lote
+     * @return {@code true} si el envío en {@code index} fue exitoso
+     */
+    public boolean isSuccess(int index) {
+        return failureRefs[Objects.checkIndex(index, size)] == SUCCESS;
+    }
+
+    /**
+     * Retorna el {@code messageId} del envío exitoso en {@code index}.
+     *
+     * @param index posición en el lote
+     * @return el ID del mensaje, o {@code null} si el envío falló
+     */
+    public String messageId(int index) {
+        if (!isSuccess(index)) {
+            return null;
+        }
+        return new String(idArena, idOffsets[index], idLengths[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retorna el código de error del envío fallido en {@code index}.
+     *
+     * @param index posición en el lote
+     * @return el {@link NotificationResult.Failure#code()}, o {@code null} si
+     *         el envío fue exitoso
+     */
+    public String failureCode(int index) {
+        int ref = failureRefs[Objects.checkIndex(index, size)];
+        return ref == SUCCESS ? null : failures[ref].code();
+    }
+
+    /**
+     * Retorna las posiciones de los envíos fallidos, en orden.
+     *
+     * @return índices de los fallos
+     */
+    public int[] failedIndices() {
+        int[] indices = new int[failureCount()];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (failureRefs[i] != SUCCESS) {
+                indices[next++] = i;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Cuenta los fallos agrupados por {@link NotificationResult.Failure#code()},
+     * en orden de primera aparición.
+     *
+     * @return mapa código -&gt; cantidad
+     */
+    public Map<String, Integer> countsByFailureCode() {
+        int[] perFailure = new int[failures.length];
+        for (int ref : failureRefs) {
+            if (ref != SUCCESS) {
+                perFailure[ref]++;
+            }
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < failures.length; i++) {
+            counts.merge(failures[i].code(), perFailure[i], Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Materializa el resultado en {@code index}.
+     *
+     * @param index posición en el lote
+     * @return el {@link NotificationResult} correspondiente
+     */
+    public NotificationResult get(int index) {
+        int ref = failureRefs[Objects.checkIndex(index, size)];
+        if (ref != SUCCESS) {
+            return failures[ref];
+        }
+        long nanos = epochNanos[index];
+        int channel = channels[index];
+        return new NotificationResult.Success(messageId(index),
+                Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L)),
+                channel == 0 ? null : ChannelType.values()[channel - 1]);
+    }
+
+    /**
+     * Itera el lote materializando cada resultado bajo demanda.
+     */
+    @Override
+    public Iterator<NotificationResult> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public NotificationResult next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult[size=" + size + ", exitos=" + successCount + ", fallos=" + failureCount() + "]";
+    }
+
+    // ------------------------------------------------------------------ //
+    // Builder
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Builder de tamaño fijo para {@link BatchResult}.
+     * <p>
+     * Los resultados pueden registrarse en cualquier orden y desde varios
+     * hilos con {@link #set(int, NotificationResult)} -- típicamente desde
+     * los callbacks de los futures de un envío asíncrono -- sin retener el
+     * {@code NotificationResult} original más allá de la llamada.
+     */
+    public static final class Builder {
+
+        private final int size;
+        private final int[] failureRefs;
+        private final long[] epochNanos;
+        private final byte[] channels;
+        private final int[] idOffsets;
+        private final int[] idLengths;
+        private byte[] idArena;
+        private int arenaSize;
+        private final List<NotificationResult.Failure> failures = new ArrayList<>();
+        private final Map<NotificationResult.Failure, Integer> failureIndex = new HashMap<>();
+        private int successCount;
+        private int filled;
+
+        private Builder(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("El tamaño del lote debe ser >= 0");
+            }
+            this.size = size;
+            this.failureRefs = new int[size];
+            this.epochNanos = new long[size];
+            this.channels = new byte[size];
+            this.idOffsets = new int[size];
+            this.idLengths = new int[size];
+            this.idArena = new byte[Math.max(64, size * 36)];
+            Arrays.fill(failureRefs, UNSET);
+        }
+
+        /**
+         * Registra el resultado de la posición {@code index}. Thread-safe.
+         *
+         * @param index  posición en el lote
+         * @param result resultado del envío (no puede ser {@code null})
+         * @return este builder
+         * @throws IllegalStateException si la posición ya fue registrada
+         */
+        public synchronized Builder set(int index, NotificationResult result) {
+            Objects.checkIndex(index, size);
+            Objects.requireNonNull(result, "El resultado no puede ser nulo");
+            if (failureRefs[index] != UNSET) {
+                throw new IllegalStateException("La posición " + index + " ya tiene resultado");
+            }
+
+            switch (result) {
+                case NotificationResult.Success s -> {
+                    failureRefs[index] = SUCCESS;
+                    epochNanos[index] = s.timestamp().getEpochSecond() * 1_000_000_000L + s.timestamp().getNano();
+                    channels[index] = s.channel() == null ? 0 : (byte) (s.channel().ordinal() + 1);
+                    appendId(index, s.messageId());
+                    successCount++;
+                }
+                case NotificationResult.Failure f -> failureRefs[index] = failureIndex.computeIfAbsent(f, key -> {
+                    failures.add(key);
+                    return failures.size() - 1;
+                });
+            }
+            filled++;
+            return this;
+        }
+
+        /**
+         * Construye el lote inmutable.
+         *
+         * @return el {@link BatchResult}
+         * @throws IllegalStateException si alguna posición no tiene resultado
+         */
+        public synchronized BatchResult build() {
+            if (filled != size) {
+                throw new IllegalStateException(
+                        "Faltan resultados: " + (size - filled) + " de " + size + " posiciones sin registrar");
+            }
+            return new BatchResult(this);
+        }
+
+        private void appendId(int index, String messageId) {
+            int length = messageId.length();
+            ensureArena(length);
+            int offset = arenaSize;
+            boolean ascii = true;
+            for (int i = 0; i < length; i++) {
+                char c = messageId.charAt(i);
+                if (c >= 0x80) {
+                    ascii = false;
+                    break;
+                }
+                idArena[offset + i] = (byte) c;
+            }
+            if (!ascii) {
+                byte[] utf8 = messageId.getBytes(StandardCharsets.UTF_8);
+                length = utf8.length;
+                ensureArena(length);
+                System.arraycopy(utf8, 0, idArena, offset, length);
+            }
+            idOffsets[index] = offset;
+            idLengths[index] = length;
+            arenaSize += length;
+        }
+
+        private void ensureArena(int extra) {
+            if (arenaSize + extra > idArena.length) {
+                idArena = Arrays.copyOf(idArena, Math.max(idArena.length << 1, arenaSize + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.novacomp.notification.core;
+
+/**
+ * Criterio de éxito de un envío simultáneo por varios canales
+ * ({@link AsyncNotificationService#sendAll(BroadcastPolicy, java.time.Duration, java.util.List)}).
+ */
+public enum BroadcastPolicy {
+
+    /**
+     * Espera a todos los canales; el envío es exitoso solo si todos
+     * entregan. Ningún canal se cancela salvo al vencer el plazo.
+     */
+    ALL,
+
+    /**
+     * Termina con el primer canal que entrega y cancela el resto.
+     */
+    ANY
+}
@@ -0,0 +1,57 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.model.ChannelType;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Resultado combinado de un envío simultáneo por varios canales.
+ * <p>
+ * Los canales que no terminaron tienen un {@code Failure}
+ * {@value #DEADLINE_EXCEEDED} si venció el plazo, o {@value #CANCELLED} si
+ * se cancelaron porque otro canal ya entregó ({@link BroadcastPolicy#ANY}).
+ *
+ * @param policy  criterio de éxito aplicado
+ * @param results un resultado por solicitud, en el orden de envío
+ */
+public record BroadcastResult(BroadcastPolicy policy, List<NotificationResult> results) {
+
+    /** Código del {@code Failure} de un canal que no terminó dentro del plazo. */
+    public static final String DEADLINE_EXCEEDED = Deadline.DEADLINE_EXCEEDED;
+
+    /** Código del {@code Failure} de un canal cancelado tras el éxito de otro. */
+    public static final String CANCELLED = Deadline.CANCELLED;
+
+    public BroadcastResult {
+        Objects.requireNonNull(policy, "La política no puede ser nula");
+        results = List.copyOf(results);
+    }
+
+    /**
+     * @return {@code true} si se cumplió la política: todos los canales
+     *         entregaron ({@code ALL}) o al menos uno ({@code ANY})
+     */
+    public boolean succeeded() {
+        long successes = successCount();
+        return policy == BroadcastPolicy.ALL ? successes == results.size() : successes > 0;
+    }
+
+    /**
+     * @return número de canales que entregaron
+     */
+    public int successCount() {
+        return (int) results.stream().filter(NotificationResult.Success.class::isInstance).count();
+    }
+
+    /**
+     * @return los canales que entregaron, en el orden de envío
+     */
+    public List<ChannelType> deliveredChannels() {
+        return results.stream()
+                .filter(NotificationResult.Success.class::isInstance)
+                .map(result -> ((NotificationResult.Success) result).channel())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
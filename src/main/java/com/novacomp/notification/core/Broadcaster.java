@@ -0,0 +1,70 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.model.NotificationRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Estrategia de ejecución de
+ * {@link AsyncNotificationService#sendAll(BroadcastPolicy, Duration, List)}.
+ * <p>
+ * La implementación preferida ({@code StructuredBroadcaster}, en
+ * {@code src/main/java-preview}) usa {@code StructuredTaskScope}, que en
+ * Java 21 es una API preview: solo se carga si la JVM corre con
+ * {@code --enable-preview}. Sin ella se usa {@link FutureBroadcaster}.
+ */
+interface Broadcaster {
+
+    /**
+     * Envía cada solicitud en su propio Virtual Thread y combina los
+     * resultados según {@code policy}. Bloquea como máximo {@code deadline}
+     * más lo que tarden los envíos pendientes en atender la cancelación.
+     *
+     * @param send     envío síncrono de una solicitud
+     * @param policy   criterio de éxito
+     * @param deadline plazo total
+     * @param requests solicitudes a enviar
+     * @return el resultado combinado
+     */
+    BroadcastResult broadcast(Function<NotificationRequest, NotificationResult> send,
+            BroadcastPolicy policy, Duration deadline, List<? extends NotificationRequest> requests);
+
+    /**
+     * Resultado de una solicitud cuyo envío lanzó una excepción.
+     */
+    static NotificationResult.Failure error(Throwable ex) {
+        return new NotificationResult.Failure("CHANNEL_ERROR",
+                ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+    }
+
+    /**
+     * Resultado de una solicitud que no terminó.
+     *
+     * @param timedOut {@code true} si venció el plazo; {@code false} si se
+     *                 canceló por el éxito de otro canal
+     */
+    static NotificationResult.Failure unfinished(boolean timedOut, NotificationRequest request) {
+        return timedOut
+                ? new NotificationResult.Failure(BroadcastResult.DEADLINE_EXCEEDED,
+                        "El canal " + request.channelType() + " no terminó dentro del plazo")
+                : new NotificationResult.Failure(BroadcastResult.CANCELLED,
+                        "Cancelado: otro canal ya entregó");
+    }
+
+    /**
+     * Carga el {@code StructuredBroadcaster} si la JVM admite APIs preview;
+     * si no, retorna un {@link FutureBroadcaster} sobre {@code executor}.
+     */
+    static Broadcaster create(ExecutorService executor) {
+        try {
+            return (Broadcaster) Class.forName("com.novacomp.notification.core.StructuredBroadcaster")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return new FutureBroadcaster(executor);
+        }
+    }
+}
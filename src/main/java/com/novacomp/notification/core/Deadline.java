@@ -0,0 +1,141 @@
+package com.novacomp.notification.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Plazo de un envío, propagado por el hilo que lo ejecuta.
+ * <p>
+ * Un envío con plazo (ej: {@link AsyncNotificationService#sendAsync(Object, Duration)})
+ * ejecuta el canal dentro de {@link #call(Supplier)}; los componentes del
+ * camino de envío consultan {@link #current()} sin cambiar sus firmas:
+ * <ul>
+ * <li>{@code RetryChannelDecorator} no programa un reintento cuyo backoff
+ * terminaría después del plazo;</li>
+ * <li>los backends de proveedor acotan su espera (latencia, timeout HTTP)
+ * al tiempo restante.</li>
+ * </ul>
+ * Los plazos anidados no se extienden: dentro de un plazo vigente,
+ * {@code call} usa el más próximo de los dos. El plazo vive en un
+ * {@code ThreadLocal}, por lo que no cruza a otros hilos por sí solo:
+ * quien reparte trabajo entre hilos debe volver a vincularlo.
+ *
+ * <pre>{@code
+ * NotificationResult result = Deadline.after(Duration.ofSeconds(2))
+ *         .call(() -> resilientChannel.send(request));
+ * }</pre>
+ */
+public final class Deadline {
+
+    /** Código del {@code Failure} de un envío que agotó su plazo. */
+    public static final String DEADLINE_EXCEEDED = "DEADLINE_EXCEEDED";
+
+    /** Código del {@code Failure} de un envío cancelado por el llamador. */
+    public static final String CANCELLED = "CANCELLED";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Duration timeout;
+
+    private Deadline(long deadlineNanos, Duration timeout) {
+        this.deadlineNanos = deadlineNanos;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Crea un plazo que vence dentro de {@code timeout}.
+     *
+     * @param timeout tiempo disponible (debe ser &gt; 0)
+     * @return el plazo
+     */
+    public static Deadline after(Duration timeout) {
+        Objects.requireNonNull(timeout, "El timeout no puede ser nulo");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("El timeout debe ser > 0");
+        }
+        return new Deadline(System.nanoTime() + timeout.toNanos(), timeout);
+    }
+
+    /**
+     * @return el plazo vinculado al hilo actual, si hay uno
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return nanosegundos hasta el vencimiento ({@code <= 0} si venció)
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * @return el tiempo restante, o {@link Duration#ZERO} si venció
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    /**
+     * @return {@code true} si el plazo ya venció
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * @param wait una espera que se quiere hacer
+     * @return {@code true} si al terminar {@code wait} aún quedaría plazo
+     */
+    public boolean allows(Duration wait) {
+        return remainingNanos() > wait.toNanos();
+    }
+
+    /**
+     * Ejecuta {@code action} con este plazo vinculado al hilo actual (o con
+     * el vigente, si vence antes) y restaura el anterior al terminar.
+     *
+     * @param action el envío a ejecutar
+     * @param <T>    tipo del resultado
+     * @return el resultado de {@code action}
+     */
+    public <T> T call(Supplier<T> action) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(previous != null && previous.deadlineNanos - deadlineNanos < 0 ? previous : this);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * @param detail qué no llegó a hacerse
+     * @return un {@code Failure} {@value #DEADLINE_EXCEEDED}
+     */
+    public NotificationResult.Failure exceeded(String detail) {
+        return new NotificationResult.Failure(DEADLINE_EXCEEDED,
+                "Plazo de " + timeout.toMillis() + " ms agotado: " + detail);
+    }
+
+    /**
+     * @param detail qué se canceló
+     * @return un {@code Failure} {@value #CANCELLED}
+     */
+    public static NotificationResult.Failure cancelled(String detail) {
+        return new NotificationResult.Failure(CANCELLED, "Envío cancelado: " + detail);
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[timeout=" + timeout.toMillis() + " ms, restante=" + remaining().toMillis() + " ms]";
+    }
+}
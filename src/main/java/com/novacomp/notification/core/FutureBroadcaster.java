@@ -0,0 +1,83 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.model.NotificationRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.IdentityHashMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link Broadcaster} para JVMs sin APIs preview: un {@link Future} por
+ * solicitud sobre el executor de Virtual Threads del servicio, recogidos
+ * en orden de finalización con un {@link CompletionService}. Los envíos
+ * pendientes se cancelan con una interrupción, igual que al cerrar un
+ * {@code StructuredTaskScope}, pero sin esperar a que terminen.
+ */
+final class FutureBroadcaster implements Broadcaster {
+
+    private final ExecutorService executor;
+
+    FutureBroadcaster(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public BroadcastResult broadcast(Function<NotificationRequest, NotificationResult> send,
+            BroadcastPolicy policy, Duration deadline, List<? extends NotificationRequest> requests) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        CompletionService<NotificationResult> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<NotificationResult>, Integer> indexes = new IdentityHashMap<>();
+        List<Future<NotificationResult>> futures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            NotificationRequest request = requests.get(i);
+            Future<NotificationResult> future = completion.submit(() -> send.apply(request));
+            futures.add(future);
+            indexes.put(future, i);
+        }
+
+        NotificationResult[] results = new NotificationResult[requests.size()];
+        boolean timedOut = false;
+        try {
+            for (int done = 0; done < results.length; done++) {
+                Future<NotificationResult> future = completion.poll(
+                        deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    timedOut = true;
+                    break;
+                }
+                NotificationResult result = resultOf(future);
+                results[indexes.get(future)] = result;
+                if (policy == BroadcastPolicy.ANY && result instanceof NotificationResult.Success) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                futures.get(i).cancel(true);
+                results[i] = Broadcaster.unfinished(timedOut, requests.get(i));
+            }
+        }
+        return new BroadcastResult(policy, List.of(results));
+    }
+
+    private static NotificationResult resultOf(Future<NotificationResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            return Broadcaster.error(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.novacomp.notification.core;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Categoría de negocio de un envío (ej: {@code marketing},
+ * {@code transaccional}), propagada por el hilo que lo ejecuta.
+ * <p>
+ * Las solicitudes no llevan categoría; quien la conoce ejecuta el envío
+ * dentro de {@link #call(String, Supplier)} y las etapas del camino de envío
+ * (ej: el límite de frecuencia por destinatario) la consultan con
+ * {@link #current()}. Como {@link Deadline}, vive en un {@code ThreadLocal}:
+ * los envíos que siguen en otro hilo ({@code AsyncNotificationService},
+ * su {@code NotificationProcessor} y los envíos programados, y los intentos
+ * de un {@code FallbackDispatcher}) capturan la categoría del llamador y
+ * la vuelven a vincular en el hilo del envío.
+ *
+ * <pre>{@code
+ * NotificationResult result = NotificationCategory.call("marketing",
+ *         () -> service.send(new PushRequest(token, "Oferta", "2x1 hoy")));
+ * }</pre>
+ */
+public final class NotificationCategory {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private NotificationCategory() {
+        // Clase utilitaria -- no instanciable
+    }
+
+    /**
+     * @return la categoría vinculada al hilo actual, si hay una
+     */
+    public static Optional<String> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Captura la categoría vinculada ahora al hilo actual para ejecutar
+     * {@code action} con ella más tarde, en cualquier hilo.
+     *
+     * @param action el envío a ejecutar
+     * @param <T>    tipo del resultado
+     * @return {@code action} envuelta, o la misma {@code action} si no hay
+     *         categoría vinculada
+     */
+    public static <T> Supplier<T> capture(Supplier<T> action) {
+        Objects.requireNonNull(action, "La acción no puede ser nula");
+        String category = CURRENT.get();
+        return category != null ? () -> call(category, action) : action;
+    }
+
+    /**
+     * Ejecuta {@code action} con la categoría vinculada al hilo actual y
+     * restaura la anterior al terminar.
+     *
+     * @param category la categoría (no vacía)
+     * @param action   el envío a ejecutar
+     * @param <T>      tipo del resultado
+     * @return el resultado de {@code action}
+     */
+    public static <T> T call(String category, Supplier<T> action) {
+        Objects.requireNonNull(category, "La categoría no puede ser nula");
+        Objects.requireNonNull(action, "La acción no puede ser nula");
+        if (category.isBlank()) {
+            throw new IllegalArgumentException("La categoría no puede estar vacía");
+        }
+        String previous = CURRENT.get();
+        CURRENT.set(category);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.novacomp.notification.core;
 
 import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.routing.ProviderStats;
+
+import java.util.List;
 
 /**
  * Interfaz Strategy para enviar notificaciones a través de un canal específico.
@@ -35,4 +38,24 @@ public interface NotificationChannel<T> {
      * @return el tipo de canal
      */
     ChannelType getType();
+
+    /**
+     * Retorna las métricas de los proveedores entre los que este canal
+     * reparte el tráfico. Los decorators delegan en el canal envuelto.
+     *
+     * @return métricas por proveedor, o una lista vacía si el canal no
+     *         enruta entre proveedores
+     */
+    default List<ProviderStats> providerStats() {
+        return List.of();
+    }
+
+    /**
+     * Prepara el canal para el primer envío (ej: abre las conexiones con el
+     * proveedor), sin enviar nada. Los decorators delegan en el canal
+     * envuelto.
+     */
+    default void warmUp() {
+        // Nada que preparar por defecto.
+    }
 }
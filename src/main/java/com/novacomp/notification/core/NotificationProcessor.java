@@ -0,0 +1,205 @@
+package com.novacomp.notification.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Puente reactivo ({@link Flow.Processor}) entre un flujo de solicitudes y
+ * el {@link AsyncNotificationService}: recibe solicitudes como
+ * {@link Flow.Subscriber} y publica sus resultados como
+ * {@link Flow.Publisher}.
+ *
+ * <h3>Backpressure</h3>
+ * La demanda hacia arriba es la capacidad libre de despacho: los envíos en
+ * curso más las solicitudes pedidas y aún no recibidas no superan
+ * {@code maxInFlight} ni la capacidad de los limitadores de concurrencia
+ * (que se vuelve a leer cada vez que termina un envío, así que la demanda
+ * sigue al límite adaptativo). Se pide más solo cuando un envío terminó
+ * <em>y</em> su resultado entró al buffer de los suscriptores de
+ * resultados. Si un suscriptor de resultados no pide más, el buffer se
+ * llena, la publicación (que corre en el executor del processor, nunca en
+ * el hilo del productor) se bloquea y la demanda hacia arriba se detiene. Nada crece sin límite: como máximo hay {@code maxInFlight}
+ * envíos en curso y {@code bufferCapacity} resultados por suscriptor.
+ *
+ * <h3>Categoría</h3>
+ * La {@link NotificationCategory} vigente al crear el processor se vincula
+ * en cada envío, aunque las solicitudes lleguen por el hilo del productor.
+ *
+ * <h3>Ciclo de vida</h3>
+ * Los resultados se publican en orden de terminación. Cuando el productor
+ * termina ({@code onComplete}/{@code onError}) se esperan los envíos en
+ * curso y luego se cierra la publicación con la misma señal; con
+ * {@code onError}, los resultados que aún estén en el buffer de un
+ * suscriptor pueden descartarse. Los suscriptores de resultados deben
+ * suscribirse antes de que empiece el flujo de solicitudes: los resultados
+ * publicados sin suscriptores se descartan.
+ *
+ * <pre>{@code
+ * NotificationProcessor processor = asyncService.processor(64, 256);
+ * processor.subscribe(resultSubscriber);
+ * kafkaPublisher.subscribe(processor);
+ * }</pre>
+ */
+@Slf4j
+public final class NotificationProcessor implements Flow.Processor<Object, NotificationResult> {
+
+    private final Function<Object, CompletableFuture<NotificationResult>> send;
+    private final int maxInFlight;
+    private final IntSupplier capacity;
+    private final Executor executor;
+    private final String category;
+    private final SubmissionPublisher<NotificationResult> results;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile Flow.Subscription subscription;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+
+    /**
+     * @param send           envío asíncrono de una solicitud
+     * @param maxInFlight    envíos en curso como máximo (debe ser &gt; 0)
+     * @param capacity       envíos concurrentes que admiten ahora los
+     *                       limitadores ({@link Integer#MAX_VALUE} sin
+     *                       límite)
+     * @param bufferCapacity resultados en espera por suscriptor (debe ser
+     *                       &gt; 0; se redondea a potencia de 2)
+     * @param executor       ejecuta la publicación de cada resultado y la
+     *                       entrega a los suscriptores de resultados
+     */
+    NotificationProcessor(Function<Object, CompletableFuture<NotificationResult>> send,
+            int maxInFlight, IntSupplier capacity, int bufferCapacity, Executor executor) {
+        this.send = Objects.requireNonNull(send, "La función de envío no puede ser nula");
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight debe ser > 0");
+        }
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("bufferCapacity debe ser > 0");
+        }
+        this.maxInFlight = maxInFlight;
+        this.capacity = Objects.requireNonNull(capacity, "La capacidad no puede ser nula");
+        this.executor = Objects.requireNonNull(executor, "El executor no puede ser nulo");
+        // onNext corre en el hilo del productor, que no conoce la categoría.
+        this.category = NotificationCategory.current().orElse(null);
+        this.results = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Publisher de resultados
+    // ------------------------------------------------------------------ //
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super NotificationResult> subscriber) {
+        results.subscribe(subscriber);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Subscriber de solicitudes
+    // ------------------------------------------------------------------ //
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "La suscripción no puede ser nula");
+        if (this.subscription != null) {
+            // Un Subscriber solo admite un productor (regla 2.5 de Reactive Streams).
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        requestMore();
+    }
+
+    @Override
+    public void onNext(Object request) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        // Primero pending: mientras tanto requestMore ve de más, nunca de menos.
+        pending.incrementAndGet();
+        demand.decrementAndGet();
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = category != null
+                    ? NotificationCategory.call(category, () -> send.apply(request))
+                    : send.apply(request);
+        } catch (RuntimeException ex) {
+            future = CompletableFuture.completedFuture(Broadcaster.error(ex));
+        }
+        // Nunca en línea: un envío ya completado (ej: CONCURRENCY_LIMITED)
+        // publicaría y pediría más dentro de onNext, recursivamente con un
+        // productor síncrono, y bloquearía su hilo si el buffer está lleno.
+        future.handle((result, error) -> error != null ? Broadcaster.error(error) : result)
+                .thenAcceptAsync(this::publish, executor);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        upstreamError = Objects.requireNonNull(error, "El error no puede ser nulo");
+        upstreamDone = true;
+        finishIfDrained();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        finishIfDrained();
+    }
+
+    /**
+     * @return envíos recibidos cuyo resultado aún no se publicó
+     */
+    public int inFlight() {
+        return pending.get();
+    }
+
+    /**
+     * Publica el resultado (bloquea mientras el buffer de algún suscriptor
+     * esté lleno) y recién entonces libera el lugar hacia arriba.
+     */
+    private void publish(NotificationResult result) {
+        if (!results.isClosed()) {
+            results.submit(result);
+        }
+        if (pending.decrementAndGet() == 0 && upstreamDone) {
+            finishIfDrained();
+        } else if (!upstreamDone) {
+            requestMore();
+        }
+    }
+
+    /**
+     * Completa la demanda hasta el mínimo entre {@code maxInFlight} y la
+     * capacidad actual de los limitadores. Siempre deja al menos una
+     * solicitud pedida o en curso: sin ella, nada volvería a pedir.
+     */
+    private synchronized void requestMore() {
+        long outstanding = pending.get() + demand.get();
+        long room = Math.min(maxInFlight, Math.max(1, capacity.getAsInt())) - outstanding;
+        if (room > 0) {
+            demand.addAndGet(room);
+            subscription.request(room);
+        }
+    }
+
+    private void finishIfDrained() {
+        if (pending.get() != 0 || !finished.compareAndSet(false, true)) {
+            return;
+        }
+        Throwable error = upstreamError;
+        if (error != null) {
+            log.warn("Flujo de solicitudes terminado con error; se cierra la publicación de resultados", error);
+            results.closeExceptionally(error);
+        } else {
+            log.debug("Flujo de solicitudes completado; se cierra la publicación de resultados");
+            results.close();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.novacomp.notification.core;
 
+import com.novacomp.notification.model.ChannelType;
+
 import java.time.Instant;
 import java.util.Objects;
 
@@ -30,13 +32,25 @@ public sealed interface NotificationResult
      *
      * @param messageId identificador único asignado al mensaje enviado
      * @param timestamp instante en el que la notificación fue enviada
+     * @param channel   canal que entregó la notificación, o {@code null} si
+     *                  se desconoce (ej: resultados creados fuera de un canal)
      */
-    record Success(String messageId, Instant timestamp) implements NotificationResult {
+    record Success(String messageId, Instant timestamp, ChannelType channel) implements NotificationResult {
 
         public Success {
             Objects.requireNonNull(messageId, "El ID del mensaje no puede ser nulo");
             Objects.requireNonNull(timestamp, "El timestamp no puede ser nulo");
         }
+
+        /**
+         * Crea un éxito sin canal conocido.
+         *
+         * @param messageId identificador único asignado al mensaje enviado
+         * @param timestamp instante en el que la notificación fue enviada
+         */
+        public Success(String messageId, Instant timestamp) {
+            this(messageId, timestamp, null);
+        }
     }
 
     /**
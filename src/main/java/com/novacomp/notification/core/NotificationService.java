@@ -1,14 +1,45 @@
 package com.novacomp.notification.core;
 
+import com.novacomp.notification.capping.FrequencyCapDecorator;
+import com.novacomp.notification.capping.FrequencyCapper;
+import com.novacomp.notification.config.CappingSettings;
+import com.novacomp.notification.config.LimiterSettings;
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReceiptSettings;
+import com.novacomp.notification.config.ReloadableConfig;
+import com.novacomp.notification.config.SuppressionSettings;
 import com.novacomp.notification.factory.ChannelFactory;
 import com.novacomp.notification.model.ChannelType;
 import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.NotificationRequest;
 import com.novacomp.notification.model.PushRequest;
 import com.novacomp.notification.model.SmsRequest;
+import com.novacomp.notification.receipt.DeliveryReceiptServer;
+import com.novacomp.notification.receipt.DeliveryTracker;
+import com.novacomp.notification.receipt.DeliveryTrackingDecorator;
+import com.novacomp.notification.resilience.AdaptiveConcurrencyLimiter;
+import com.novacomp.notification.resilience.ConcurrencyLimitDecorator;
+import com.novacomp.notification.routing.FallbackDispatcher;
+import com.novacomp.notification.routing.FallbackPolicy;
+import com.novacomp.notification.routing.ProviderStats;
+import com.novacomp.notification.simulation.ProviderBackend;
+import com.novacomp.notification.suppression.SuppressionChannelDecorator;
+import com.novacomp.notification.suppression.SuppressionList;
+import com.novacomp.notification.validation.RecipientValidator;
+import com.novacomp.notification.validation.ValidationChannelDecorator;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Fachada / punto de entrada para enviar notificaciones a través de la
@@ -19,6 +50,56 @@ import java.util.Objects;
  * <strong>expresiones switch con pattern matching</strong> sobre el objeto
  * de solicitud para resolver el {@link ChannelType} correcto y realizar
  * el cast seguro al canal tipado.
+ * <p>
+ * Los canales se crean una sola vez por {@link ChannelType} y leen el
+ * snapshot vigente de una {@link ReloadableConfig}, por lo que las recargas
+ * de configuración se aplican sin reconstruir el servicio.
+ * <p>
+ * Cada canal -- con su backend de proveedor y sus decorators -- se crea en
+ * su primer uso: un job que solo envía SMS no paga la creación de los
+ * canales de email y push, ni la lista de supresión o los sketches de
+ * frecuencia si no llega a enviar. Los errores de configuración de un
+ * canal (ej: un {@code simulator.mode} desconocido) aparecen en ese primer
+ * uso. Para que el primer envío no pague la creación ni la compilación JIT,
+ * {@link #warmUp()} crea los canales, abre las conexiones con los
+ * proveedores y recorre los decorators y canales reales contra un backend
+ * que no envía nada.
+ * <p>
+ * Con {@code limiter.algorithm} configurado ({@link LimiterSettings}), cada
+ * canal se envuelve en un {@link ConcurrencyLimitDecorator} con su propio
+ * {@link AdaptiveConcurrencyLimiter}. El limitador se crea junto con su
+ * canal y no sigue las recargas de configuración.
+ * <p>
+ * Antes de llegar al limitador, cada canal valida y normaliza el
+ * destinatario con un {@link RecipientValidator} (E.164, sintaxis de email,
+ * formato de token): un destinatario inválido se rechaza con un
+ * {@code Failure} {@value RecipientValidator#INVALID_RECIPIENT} sin llamar
+ * al proveedor. Se desactiva con {@code validation.enabled=false}.
+ * <p>
+ * Con {@code suppression.enabled=true} ({@link SuppressionSettings}), el
+ * destinatario ya normalizado se busca en una {@link SuppressionList}
+ * compartida por los canales: uno suprimido se rechaza con un
+ * {@code Failure} {@value SuppressionList#RECIPIENT_SUPPRESSED}, y los
+ * rechazos del proveedor con los códigos de {@code suppression.codes} lo
+ * agregan a la lista.
+ * <p>
+ * Con reglas {@code capping.<canal>.<categoria>} ({@link CappingSettings}),
+ * un {@link FrequencyCapper} limita los envíos por destinatario dentro de
+ * una ventana deslizante, según la {@link NotificationCategory} del envío;
+ * los que superan el límite se rechazan con un {@code Failure}
+ * {@value FrequencyCapper#FREQUENCY_CAPPED}. Los destinatarios suprimidos
+ * y los envíos que rechaza el limitador de concurrencia no consumen el
+ * límite.
+ * <p>
+ * Con {@code receipts.enabled=true} ({@link ReceiptSettings}), cada envío
+ * aceptado se registra en un {@link DeliveryTracker} para correlacionar las
+ * confirmaciones de entrega que reciba un {@link DeliveryReceiptServer}.
+ * <p>
+ * {@link #close()} fuerza a disco y cierra la lista de supresión cuando
+ * tiene archivo; {@link AsyncNotificationService#close()} lo llama al
+ * cerrar. Después de cerrarlo ya no se crean canales ni se abre la lista:
+ * los envíos por un canal que no se llegó a crear fallan con
+ * {@value AsyncNotificationService#SHUTTING_DOWN}.
  *
  * <h3>Ejemplo de uso</h3>
  *
@@ -40,9 +121,25 @@ import java.util.Objects;
  * }</pre>
  */
 @Slf4j
-public final class NotificationService {
+public final class NotificationService implements AutoCloseable {
+
+    /** Pasadas del camino de envío por canal en {@link #warmUp()}: supera el umbral de compilación de C2. */
+    public static final int DEFAULT_WARM_UP_ITERATIONS = 20_000;
 
-    private final NotificationConfig config;
+    private final ReloadableConfig config;
+    private final LimiterSettings limiterSettings;
+    private final SuppressionSettings suppressionSettings;
+    private final CappingSettings cappingSettings;
+    private final RecipientValidator validator;
+    private final DeliveryTracker tracker;
+    private final AtomicReferenceArray<NotificationChannel<?>> channels =
+            new AtomicReferenceArray<>(ChannelType.values().length);
+    private final Map<ChannelType, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final FallbackDispatcher fallback = new FallbackDispatcher(this::channel);
+    private volatile boolean sharedOpen;
+    private boolean closed;
+    private SuppressionList suppression;
+    private FrequencyCapper capper;
 
     /**
      * Crea una nueva instancia del servicio respaldada por la configuración
@@ -51,10 +148,145 @@ public final class NotificationService {
      * @param config configuración de la librería (no puede ser {@code null})
      */
     public NotificationService(NotificationConfig config) {
-        this.config = Objects.requireNonNull(config, "La NotificationConfig no puede ser nula");
+        this(ReloadableConfig.of(Objects.requireNonNull(config, "La NotificationConfig no puede ser nula")));
+    }
+
+    /**
+     * Crea una nueva instancia del servicio sobre una configuración
+     * recargable en caliente.
+     *
+     * @param config referencia a la configuración vigente (no puede ser
+     *               {@code null})
+     */
+    public NotificationService(ReloadableConfig config) {
+        this.config = Objects.requireNonNull(config, "La ReloadableConfig no puede ser nula");
+        // Las propiedades se validan aquí; los objetos caros se crean en el primer uso.
+        this.limiterSettings = config.current().getLimiterSettings();
+        this.suppressionSettings = config.current().getSuppressionSettings();
+        this.cappingSettings = config.current().getCappingSettings();
+        this.validator = Boolean.parseBoolean(config.current().getProperty("validation.enabled", "true"))
+                ? new RecipientValidator()
+                : null;
+        ReceiptSettings receiptSettings = config.current().getReceiptSettings();
+        this.tracker = receiptSettings.enabled() ? new DeliveryTracker(receiptSettings, Clock.systemUTC()) : null;
         log.info("Servicio de notificaciones inicializado");
     }
 
+    /**
+     * Retorna la configuración recargable que respalda este servicio.
+     *
+     * @return la referencia a la configuración vigente
+     */
+    public ReloadableConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Retorna las métricas por proveedor de un canal (envíos, fallos,
+     * latencia EWMA, envíos en curso y expulsiones).
+     *
+     * @param type el canal
+     * @return métricas de cada proveedor configurado en el canal
+     */
+    public List<ProviderStats> getProviderStats(ChannelType type) {
+        Objects.requireNonNull(type, "El ChannelType no puede ser nulo");
+        return channel(type).providerStats();
+    }
+
+    /**
+     * Retorna el limitador de concurrencia adaptativo de un canal.
+     *
+     * @param type el canal
+     * @return el limitador, o vacío si {@code limiter.algorithm} es
+     *         {@code none}
+     */
+    public Optional<AdaptiveConcurrencyLimiter> getLimiter(ChannelType type) {
+        if (!limiterSettings.enabled()) {
+            return Optional.empty();
+        }
+        channel(type);
+        return Optional.ofNullable(limiters.get(type));
+    }
+
+    /**
+     * Envíos concurrentes que admiten ahora los limitadores de los canales
+     * ya creados, para acotar la demanda de un {@link NotificationProcessor}.
+     *
+     * @return la suma de sus límites actuales, el límite inicial si aún no
+     *         se creó ningún canal, o {@link Integer#MAX_VALUE} si
+     *         {@code limiter.algorithm} es {@code none}
+     */
+    int concurrencyCapacity() {
+        if (!limiterSettings.enabled()) {
+            return Integer.MAX_VALUE;
+        }
+        long capacity = 0;
+        for (AdaptiveConcurrencyLimiter limiter : limiters.values()) {
+            capacity += limiter.limit();
+        }
+        return capacity == 0 ? limiterSettings.initialLimit() : (int) Math.min(capacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retorna la lista de supresión que consultan los canales, para cargarla
+     * o agregar destinatarios (ej: bajas recibidas por otro medio).
+     *
+     * @return la lista, o vacío si {@code suppression.enabled} es
+     *         {@code false}
+     * @throws IllegalStateException si el servicio se cerró antes de abrirla
+     */
+    public Optional<SuppressionList> getSuppressionList() {
+        openShared();
+        return Optional.ofNullable(suppression);
+    }
+
+    /**
+     * Retorna el límite de frecuencia por destinatario.
+     *
+     * @return el límite, o vacío si no hay reglas {@code capping.*}
+     * @throws IllegalStateException si el servicio se cerró antes de crearlo
+     */
+    public Optional<FrequencyCapper> getFrequencyCapper() {
+        openShared();
+        return Optional.ofNullable(capper);
+    }
+
+    /**
+     * Retorna el tracker que correlaciona las confirmaciones de entrega con
+     * los envíos, para pasárselo a un {@link DeliveryReceiptServer} o
+     * suscribirse a los estados finales.
+     *
+     * @return el tracker, o vacío si {@code receipts.enabled} es
+     *         {@code false}
+     */
+    public Optional<DeliveryTracker> getDeliveryTracker() {
+        return Optional.ofNullable(tracker);
+    }
+
+    /**
+     * Fuerza a disco y cierra la lista de supresión si tiene archivo
+     * ({@code suppression.file}). Los canales ya creados siguen
+     * funcionando, pero lo que la lista aprenda después ya no se fuerza a
+     * disco. No se crean canales nuevos: sus envíos fallan con
+     * {@value AsyncNotificationService#SHUTTING_DOWN}, para no abrir una
+     * lista que ya nadie cerraría. Llamarlo más de una vez no tiene efecto.
+     */
+    @Override
+    public void close() {
+        SuppressionList opened;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            opened = suppression;
+        }
+        if (opened != null) {
+            opened.close();
+            log.info("Lista de supresión cerrada [entradas={}]", opened.size());
+        }
+    }
+
     /**
      * Envía una notificación, resolviendo automáticamente el canal correcto
      * a partir del tipo de solicitud mediante pattern matching.
@@ -91,7 +323,7 @@ public final class NotificationService {
         Objects.requireNonNull(type, "El ChannelType no puede ser nulo");
         Objects.requireNonNull(request, "La solicitud de notificación no puede ser nula");
 
-        var channel = (NotificationChannel<Object>) ChannelFactory.create(type, config);
+        var channel = (NotificationChannel<Object>) channel(type);
 
         log.info("Despachando por canal explícito [tipo={}]", type);
         NotificationResult result = channel.send(request);
@@ -100,13 +332,224 @@ public final class NotificationService {
         return result;
     }
 
+    /**
+     * Envía una notificación lógica con fallback entre canales: se intenta
+     * cada canal de {@code policy} con la solicitud correspondiente hasta
+     * que uno entrega (ver {@link FallbackDispatcher}).
+     *
+     * @param policy   orden de canales, plazos y modo
+     * @param requests una solicitud por canal (ej: push, SMS y email al
+     *                 mismo usuario)
+     * @return el {@code Success} del canal que entregó
+     *         ({@link NotificationResult.Success#channel()}), o un
+     *         {@code Failure} {@value FallbackDispatcher#FALLBACK_EXHAUSTED}
+     */
+    public NotificationResult sendWithFallback(FallbackPolicy policy, List<? extends NotificationRequest> requests) {
+        NotificationResult result = fallback.send(policy, requests);
+        switch (result) {
+            case NotificationResult.Success s -> logResult(s.channel(), s);
+            case NotificationResult.Failure f ->
+                log.warn("[FAIL] [FALLBACK] Ningún canal entregó [razon={}]", f.reason());
+        }
+        return result;
+    }
+
+    /**
+     * Envía un lote de notificaciones de forma secuencial y retorna sus
+     * resultados en un {@link BatchResult} compacto, en el mismo orden que
+     * {@code requests}.
+     *
+     * @param requests solicitudes a enviar (ninguna puede ser {@code null})
+     * @return los resultados del lote
+     * @throws IllegalArgumentException si algún tipo de solicitud es
+     *                                  desconocido
+     */
+    public BatchResult sendBatch(List<?> requests) {
+        Objects.requireNonNull(requests, "La lista de solicitudes no puede ser nula");
+
+        BatchResult.Builder batch = BatchResult.builder(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            batch.set(i, send(requests.get(i)));
+        }
+        return batch.build();
+    }
+
+    /**
+     * Prepara todos los canales para el primer envío, con
+     * {@value #DEFAULT_WARM_UP_ITERATIONS} pasadas por canal (ver
+     * {@link #warmUp(Set, int)}).
+     *
+     * @return el resumen del calentamiento
+     */
+    public WarmUpReport warmUp() {
+        return warmUp(EnumSet.allOf(ChannelType.class), DEFAULT_WARM_UP_ITERATIONS);
+    }
+
+    /**
+     * Prepara los canales dados para el primer envío, sin enviar nada:
+     * <ol>
+     * <li>crea cada canal con sus decorators, la lista de supresión y el
+     * límite de frecuencia;</li>
+     * <li>abre las conexiones con los proveedores
+     * ({@link NotificationChannel#warmUp()});</li>
+     * <li>envía {@code iterations} solicitudes sintéticas por canal a través
+     * de una copia de su cadena de decorators cuyo canal llama a
+     * {@link ProviderBackend#DRY_RUN} -- validación, supresión, limitador,
+     * payload del proveedor e id de mensaje --, para que el JIT compile el
+     * mismo código que recorrerá el tráfico real.</li>
+     * </ol>
+     * La copia omite el límite de frecuencia y el registro de confirmaciones,
+     * y usa su propio limitador y un validador sin caché: el calentamiento no
+     * consume límites, no registra envíos ni altera las métricas ni los
+     * límites de concurrencia de los canales reales.
+     *
+     * @param types      canales a preparar
+     * @param iterations pasadas por canal (0 solo crea y conecta)
+     * @return el resumen del calentamiento
+     */
+    public WarmUpReport warmUp(Set<ChannelType> types, int iterations) {
+        Objects.requireNonNull(types, "Los canales no pueden ser nulos");
+        if (iterations < 0) {
+            throw new IllegalArgumentException("iterations debe ser >= 0");
+        }
+        long start = System.nanoTime();
+        EnumSet<ChannelType> ordered = EnumSet.noneOf(ChannelType.class);
+        ordered.addAll(types);
+        List<ChannelType> warmed = List.copyOf(ordered);
+        for (ChannelType type : warmed) {
+            channel(type).warmUp();
+        }
+        List<NotificationChannel<Object>> dryRuns = new ArrayList<>(warmed.size());
+        for (ChannelType type : warmed) {
+            dryRuns.add(dryRun(type));
+        }
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (int c = 0; c < warmed.size(); c++) {
+                sink += dryRuns.get(c).send(sample(warmed.get(c), i)).hashCode();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Calentamiento completado [canales={}, iteraciones={}, en={} ms]",
+                warmed, iterations, elapsed.toMillis());
+        log.debug("Calentamiento [control={}]", sink);
+        return new WarmUpReport(warmed, iterations, elapsed);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Creación perezosa de canales
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Retorna el canal del tipo, creándolo con sus decorators en el primer
+     * uso. Cerrado el servicio, un canal que no se llegó a crear se
+     * reemplaza por uno que rechaza todo con
+     * {@value AsyncNotificationService#SHUTTING_DOWN}.
+     */
+    private NotificationChannel<?> channel(ChannelType type) {
+        NotificationChannel<?> channel = channels.get(type.ordinal());
+        if (channel == null) {
+            synchronized (this) {
+                channel = channels.get(type.ordinal());
+                if (channel == null) {
+                    if (closed) {
+                        return new ClosedChannel(type);
+                    }
+                    channel = createChannel(type);
+                    channels.set(type.ordinal(), channel);
+                }
+            }
+        }
+        return channel;
+    }
+
+    private NotificationChannel<?> createChannel(ChannelType type) {
+        long start = System.nanoTime();
+        openShared();
+        var limiter = limiterSettings.enabled() ? new AdaptiveConcurrencyLimiter(type.name(), limiterSettings) : null;
+        if (limiter != null) {
+            limiters.put(type, limiter);
+        }
+        NotificationChannel<?> channel = decorate(ChannelFactory.createReloadable(type, config),
+                tracker, limiter, capper, validator);
+        log.info("Canal {} inicializado en {} ms", type, (System.nanoTime() - start) / 1_000_000);
+        return channel;
+    }
+
+    /**
+     * Copia de la cadena del canal para {@link #warmUp(Set, int)}: mismo
+     * orden de decorators sobre un canal con {@link ProviderBackend#DRY_RUN},
+     * sin los que dejan estado por destinatario.
+     */
+    @SuppressWarnings("unchecked")
+    private NotificationChannel<Object> dryRun(ChannelType type) {
+        var limiter = limiterSettings.enabled() ? new AdaptiveConcurrencyLimiter(type.name(), limiterSettings) : null;
+        return (NotificationChannel<Object>) decorate(
+                ChannelFactory.createReloadable(type, config, ProviderBackend.DRY_RUN),
+                null, limiter, null, validator != null ? new RecipientValidator(0) : null);
+    }
+
+    /** Envuelve el canal con los decorators del servicio; un argumento nulo omite el suyo. */
+    private NotificationChannel<?> decorate(NotificationChannel<?> channel, DeliveryTracker tracker,
+            AdaptiveConcurrencyLimiter limiter, FrequencyCapper capper, RecipientValidator validator) {
+        if (tracker != null) {
+            channel = new DeliveryTrackingDecorator<>(channel, tracker);
+        }
+        // Dentro del limitador: un envío sin permiso no consume el límite de frecuencia.
+        if (capper != null) {
+            channel = new FrequencyCapDecorator<>(channel, capper);
+        }
+        if (limiter != null) {
+            channel = limited(channel, limiter, limiterSettings);
+        }
+        if (suppression != null) {
+            channel = new SuppressionChannelDecorator<>(channel, suppression, suppressionSettings.suppressOn());
+        }
+        if (validator != null) {
+            channel = new ValidationChannelDecorator<>(channel, validator);
+        }
+        return channel;
+    }
+
+    /** Abre la lista de supresión y el límite de frecuencia que comparten los canales. */
+    private void openShared() {
+        if (sharedOpen) {
+            return;
+        }
+        synchronized (this) {
+            if (!sharedOpen) {
+                if (closed) {
+                    throw new IllegalStateException("El NotificationService está cerrado");
+                }
+                suppression = suppressionSettings.enabled() ? openSuppression(suppressionSettings) : null;
+                capper = cappingSettings.enabled() ? new FrequencyCapper(cappingSettings, Clock.systemUTC()) : null;
+                sharedOpen = true;
+            }
+        }
+    }
+
+    /** Canal de un tipo que no se llegó a crear antes de {@link #close()}. */
+    private record ClosedChannel(ChannelType type) implements NotificationChannel<Object> {
+
+        @Override
+        public NotificationResult send(Object request) {
+            return new NotificationResult.Failure(AsyncNotificationService.SHUTTING_DOWN,
+                    "El servicio de notificaciones está cerrado");
+        }
+
+        @Override
+        public ChannelType getType() {
+            return type;
+        }
+    }
+
     // ------------------------------------------------------------------ //
     // Helpers privados de despacho
     // ------------------------------------------------------------------ //
 
     private NotificationResult dispatchEmail(EmailRequest request) {
         @SuppressWarnings("unchecked")
-        var channel = (NotificationChannel<EmailRequest>) ChannelFactory.create(ChannelType.EMAIL, config);
+        var channel = (NotificationChannel<EmailRequest>) channel(ChannelType.EMAIL);
         log.info("Canal auto-resuelto: EMAIL");
         NotificationResult result = channel.send(request);
         logResult(ChannelType.EMAIL, result);
@@ -115,7 +558,7 @@ public final class NotificationService {
 
     private NotificationResult dispatchSms(SmsRequest request) {
         @SuppressWarnings("unchecked")
-        var channel = (NotificationChannel<SmsRequest>) ChannelFactory.create(ChannelType.SMS, config);
+        var channel = (NotificationChannel<SmsRequest>) channel(ChannelType.SMS);
         log.info("Canal auto-resuelto: SMS");
         NotificationResult result = channel.send(request);
         logResult(ChannelType.SMS, result);
@@ -124,13 +567,36 @@ public final class NotificationService {
 
     private NotificationResult dispatchPush(PushRequest request) {
         @SuppressWarnings("unchecked")
-        var channel = (NotificationChannel<PushRequest>) ChannelFactory.create(ChannelType.PUSH, config);
+        var channel = (NotificationChannel<PushRequest>) channel(ChannelType.PUSH);
         log.info("Canal auto-resuelto: PUSH");
         NotificationResult result = channel.send(request);
         logResult(ChannelType.PUSH, result);
         return result;
     }
 
+    /** Solicitud sintética, válida y distinta en cada pasada, del canal dado. */
+    private static NotificationRequest sample(ChannelType type, int i) {
+        String text = (i & 1) == 0 ? "Su código es " + i : "Your code is " + i;
+        return switch (type) {
+            case SMS -> new SmsRequest("+506" + (80_000_000 + i % 10_000_000), text);
+            case EMAIL -> new EmailRequest("warmup" + i + "@Example.com", "Calentamiento", text);
+            case PUSH -> new PushRequest("warmup-token-" + i, "Calentamiento", text);
+        };
+    }
+
+    private static SuppressionList openSuppression(SuppressionSettings settings) {
+        SuppressionList.Builder builder = SuppressionList.builder().capacity(settings.capacity());
+        if (settings.file() != null) {
+            builder.file(settings.file());
+        }
+        return builder.open();
+    }
+
+    private static <T> NotificationChannel<T> limited(NotificationChannel<T> channel,
+            AdaptiveConcurrencyLimiter limiter, LimiterSettings settings) {
+        return new ConcurrencyLimitDecorator<>(channel, limiter, settings.maxWait());
+    }
+
     private void logResult(ChannelType type, NotificationResult result) {
         switch (result) {
             case NotificationResult.Success s ->
@@ -0,0 +1,127 @@
+package com.novacomp.notification.core;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Conjunto de <em>lanes</em> seriales sobre un executor compartido.
+ * <p>
+ * Cada clave se asigna por hash a una lane fija; dentro de una lane las
+ * tareas se ejecutan estrictamente en orden de llegada, una a la vez,
+ * mientras que lanes distintas avanzan en paralelo. No hay hilos dedicados
+ * ni locks: una lane sin trabajo no consume nada, y la primera tarea que
+ * llega a una lane vacía programa un único drenado en el executor.
+ * <p>
+ * Si el executor rechaza ese drenado (ej: ya se cerró), las tareas que
+ * esperaban en la lane no se ejecutan: sus futures fallan con la
+ * {@link RejectedExecutionException} y la lane queda vacía y utilizable.
+ */
+final class OrderedLanes {
+
+    private final SerialLane[] lanes;
+
+    OrderedLanes(int count, Executor executor) {
+        if (count < 1) {
+            throw new IllegalArgumentException("El número de lanes debe ser >= 1");
+        }
+        this.lanes = new SerialLane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new SerialLane(executor);
+        }
+    }
+
+    /**
+     * Encola {@code task} en la lane de {@code key}.
+     *
+     * @return un future que se completa con el resultado de la tarea
+     */
+    <T> CompletableFuture<T> submit(String key, Supplier<T> task) {
+        var laneTask = new LaneTask<>(task);
+        laneFor(key).execute(laneTask);
+        return laneTask.future;
+    }
+
+    int size() {
+        return lanes.length;
+    }
+
+    int laneIndex(String key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    private SerialLane laneFor(String key) {
+        return lanes[laneIndex(key)];
+    }
+
+    // ------------------------------------------------------------------ //
+    // Lane serial
+    // ------------------------------------------------------------------ //
+
+    private static final class SerialLane implements Executor {
+
+        private final Executor executor;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        SerialLane(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    reject(ex);
+                }
+            }
+        }
+
+        /** Descarta lo encolado (incluido lo que llegue mientras tanto) en lugar de drenarlo. */
+        private void reject(RejectedExecutionException cause) {
+            do {
+                if (tasks.poll() instanceof LaneTask<?> laneTask) {
+                    laneTask.future.completeExceptionally(cause);
+                }
+            } while (pending.decrementAndGet() != 0);
+        }
+
+        private void drain() {
+            do {
+                tasks.poll().run();
+            } while (pending.decrementAndGet() != 0);
+        }
+    }
+
+    /** Tarea de una lane con el future de su resultado. */
+    private static final class LaneTask<T> implements Runnable {
+
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        LaneTask(Supplier<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                // Cancelado mientras esperaba su turno en la lane.
+                return;
+            }
+            try {
+                future.complete(task.get());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.novacomp.notification.core;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Resumen de un {@link AsyncNotificationService#shutdown(Duration)}.
+ *
+ * @param drained   envíos en curso al iniciar el cierre que terminaron
+ *                  dentro del plazo
+ * @param abandoned solicitudes sin terminar al vencer el plazo (envíos en
+ *                  curso cancelados más envíos programados sin despachar)
+ * @param exported  solicitudes abandonadas entregadas al exportador
+ * @param elapsed   duración del cierre
+ */
+public record ShutdownReport(int drained, int abandoned, int exported, Duration elapsed) {
+
+    public ShutdownReport {
+        if (drained < 0 || abandoned < 0 || exported < 0) {
+            throw new IllegalArgumentException("Los contadores del cierre deben ser >= 0");
+        }
+        Objects.requireNonNull(elapsed, "La duración no puede ser nula");
+    }
+
+    /**
+     * @return {@code true} si no quedó ninguna solicitud sin terminar
+     */
+    public boolean clean() {
+        return abandoned == 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.model.ChannelType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Resumen de un {@link NotificationService#warmUp()}.
+ *
+ * @param channels   canales creados y preparados
+ * @param iterations pasadas del camino de envío por canal
+ * @param elapsed    duración del calentamiento
+ */
+public record WarmUpReport(List<ChannelType> channels, int iterations, Duration elapsed) {
+
+    public WarmUpReport {
+        channels = List.copyOf(Objects.requireNonNull(channels, "La lista de canales no puede ser nula"));
+        if (iterations < 0) {
+            throw new IllegalArgumentException("iterations debe ser >= 0");
+        }
+        Objects.requireNonNull(elapsed, "La duración no puede ser nula");
+    }
+}
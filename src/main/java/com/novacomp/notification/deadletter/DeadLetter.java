@@ -0,0 +1,24 @@
+package com.novacomp.notification.deadletter;
+
+import com.novacomp.notification.core.NotificationResult;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Solicitud que agotó sus reintentos, tal como quedó en el
+ * {@link DeadLetterStore}.
+ *
+ * @param id       identificador en el store (creciente en orden de llegada)
+ * @param failedAt instante en que se registró
+ * @param request  la solicitud original
+ * @param failure  el último fallo del canal
+ */
+public record DeadLetter(long id, Instant failedAt, Object request, NotificationResult.Failure failure) {
+
+    public DeadLetter {
+        Objects.requireNonNull(failedAt, "El instante no puede ser nulo");
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        Objects.requireNonNull(failure, "El fallo no puede ser nulo");
+    }
+}
@@ -0,0 +1,65 @@
+package com.novacomp.notification.deadletter;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Selección de dead letters por código de fallo y rango de tiempo, resuelta
+ * sobre el índice en memoria del {@link DeadLetterStore}.
+ *
+ * <pre>{@code
+ * DeadLetterQuery query = DeadLetterQuery.all()
+ *         .withCode("PROVIDER_UNAVAILABLE")
+ *         .between(outageStart, outageEnd);
+ * }</pre>
+ *
+ * @param code  código de fallo exacto, o {@code null} para cualquiera
+ * @param from  instante mínimo (inclusivo), o {@code null} sin límite
+ * @param to    instante máximo (exclusivo), o {@code null} sin límite
+ * @param limit máximo de resultados (debe ser &gt; 0)
+ */
+public record DeadLetterQuery(String code, Instant from, Instant to, int limit) {
+
+    public DeadLetterQuery {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El límite debe ser > 0");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("El rango de tiempo está vacío: " + from + " .. " + to);
+        }
+    }
+
+    /**
+     * @return una consulta sin filtros
+     */
+    public static DeadLetterQuery all() {
+        return new DeadLetterQuery(null, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param code código de fallo (ej: {@code PROVIDER_UNAVAILABLE})
+     * @return esta consulta restringida al código
+     */
+    public DeadLetterQuery withCode(String code) {
+        return new DeadLetterQuery(Objects.requireNonNull(code, "El código no puede ser nulo"), from, to, limit);
+    }
+
+    /**
+     * @param from instante mínimo (inclusivo)
+     * @param to   instante máximo (exclusivo)
+     * @return esta consulta restringida al rango
+     */
+    public DeadLetterQuery between(Instant from, Instant to) {
+        return new DeadLetterQuery(code,
+                Objects.requireNonNull(from, "El instante inicial no puede ser nulo"),
+                Objects.requireNonNull(to, "El instante final no puede ser nulo"), limit);
+    }
+
+    /**
+     * @param limit máximo de resultados
+     * @return esta consulta con el límite dado
+     */
+    public DeadLetterQuery limit(int limit) {
+        return new DeadLetterQuery(code, from, to, limit);
+    }
+}
@@ -0,0 +1,796 @@
+package com.novacomp.notification.deadletter;
+
+import com.novacomp.notification.codec.CodecReader;
+import com.novacomp.notification.codec.CodecWriter;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.resilience.DeadLetterSink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Almacén local de dead letters en archivos de segmento, con índice en
+ * memoria por código de fallo y tiempo, y reenvío masivo a ritmo
+ * controlado.
+ *
+ * <h3>Formato en disco</h3>
+ * Los registros se agregan secuencialmente al segmento activo
+ * ({@code segment-<primerId>.dlq}); al superar {@code segmentBytes} se abre
+ * uno nuevo. Cada registro es un <em>frame</em>:
+ *
+ * <pre>
+ *   frame   := len:i32  crc32c:i32  kind:u8  id:i64  epochMillis:i64  payload[len]
+ *   LETTER  := payload = solicitud + Failure en formato NotificationCodec
+ *   RESOLVED:= payload vacío; marca {@code id} como reenviado con éxito
+ * </pre>
+ *
+ * El CRC cubre todo lo que sigue al campo {@code crc32c}. Al abrir, los
+ * segmentos se recorren para reconstruir el índice. En el segmento activo
+ * (el último) un frame incompleto o corrupto es una escritura cortada por
+ * una caída y se trunca desde ahí. Los segmentos sellados ya se
+ * sincronizaron al rotar, así que una corrupción en ellos no se trunca: un
+ * frame con CRC inválido se registra y se salta, y si ni siquiera su
+ * longitud es legible la apertura falla en lugar de descartar las dead
+ * letters válidas que le siguen.
+ *
+ * <h3>Durabilidad</h3>
+ * {@link #accept} escribe el frame en el page cache y retorna; un hilo
+ * virtual hace {@code fsync} cada {@code syncInterval} si hubo escrituras,
+ * de modo que muchos fallos comparten un solo {@code fsync}. Ante una
+ * caída del sistema operativo se pierden como máximo los registros del
+ * último intervalo. Con {@code syncInterval(Duration.ZERO)} se hace
+ * {@code fsync} en cada registro.
+ *
+ * <h3>Reenvío</h3>
+ * {@link #replay(DeadLetterQuery, double, Function)} reenvía las dead
+ * letters seleccionadas por el despachador asíncrono a un ritmo fijo (para
+ * no saturar al proveedor que se acaba de recuperar) y marca como resueltas
+ * las que se entregan. Los segmentos más antiguos se borran cuando todas
+ * sus dead letters están resueltas.
+ *
+ * <pre>{@code
+ * try (var store = DeadLetterStore.builder(Path.of("/var/lib/notifications/dlq")).open();
+ *      var async = new AsyncNotificationService(config)) {
+ *     var sms = new RetryChannelDecorator<>(smsChannel, 3, 1000L, store);
+ *     ...
+ *     // Terminada la caída del proveedor:
+ *     ReplayReport report = store.replay(
+ *             DeadLetterQuery.all().withCode("PROVIDER_UNAVAILABLE").between(inicio, fin),
+ *             50.0, async::sendAsync);
+ * }
+ * }</pre>
+ * Es thread-safe.
+ */
+@Slf4j
+public final class DeadLetterStore implements DeadLetterSink, AutoCloseable {
+
+    /** Bytes de cabecera de cada frame. */
+    static final int FRAME_HEADER = 4 + 4 + 1 + 8 + 8;
+
+    private static final byte LETTER = 1;
+    private static final byte RESOLVED = 2;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".dlq";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Duration syncInterval;
+    private final Clock clock;
+
+    // Estado protegido por el monitor de la instancia.
+    private final CodecWriter writer = new CodecWriter();
+    private final ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER);
+    private final CRC32C crc = new CRC32C();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final List<Entry> byTime = new ArrayList<>();
+    private final Map<String, List<Entry>> byCode = new HashMap<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private Segment active;
+    private long nextId = 1;
+    private long lastMillis;
+    private boolean dirty;
+    private boolean closed;
+
+    private final Thread syncer;
+
+    private DeadLetterStore(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.segmentBytes = builder.segmentBytes;
+        this.syncInterval = builder.syncInterval;
+        this.clock = builder.clock;
+
+        Files.createDirectories(directory);
+        try {
+            recover();
+        } catch (IOException | RuntimeException ex) {
+            segments.forEach(Segment::close);
+            throw ex;
+        }
+        if (active == null) {
+            roll();
+        }
+        this.syncer = syncInterval.isZero() ? null
+                : Thread.ofVirtual().name("dead-letter-sync").start(this::syncLoop);
+        log.info("[DLQ] Store abierto en {} [segmentos={}, pendientes={}, fsync cada {} ms]",
+                directory, segments.size(), byId.size(), syncInterval.toMillis());
+    }
+
+    /**
+     * @param directory directorio de los segmentos (se crea si no existe)
+     * @return un builder con segmentos de 64 MiB y fsync cada 200 ms
+     */
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Escritura
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Registra una solicitud que agotó sus reintentos.
+     *
+     * @throws UncheckedIOException si no se pudo escribir el segmento
+     */
+    @Override
+    public void accept(Object request, NotificationResult.Failure failure) {
+        append(request, failure);
+    }
+
+    /**
+     * Registra una solicitud que agotó sus reintentos.
+     *
+     * @param request un {@code EmailRequest}, {@code SmsRequest} o
+     *                {@code PushRequest}
+     * @param failure el último fallo del canal
+     * @return el id asignado
+     * @throws IllegalArgumentException si el tipo de solicitud no es soportado
+     * @throws UncheckedIOException     si no se pudo escribir el segmento
+     */
+    public synchronized long append(Object request, NotificationResult.Failure failure) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        Objects.requireNonNull(failure, "El fallo no puede ser nulo");
+        requireOpen();
+
+        writer.reset();
+        writer.write(request).write(failure);
+        ByteBuffer payload = writer.toByteBuffer();
+        int length = payload.remaining();
+        long id = nextId++;
+        // Tiempos no decrecientes: el índice por tiempo es una lista ordenada.
+        long millis = Math.max(lastMillis, clock.millis());
+        lastMillis = millis;
+
+        long offset = writeFrame(LETTER, id, millis, payload);
+        index(new Entry(id, millis, failure.code(), active, offset, length));
+        log.debug("[DLQ] Registrado id={} [codigo={}]", id, failure.code());
+        return id;
+    }
+
+    /**
+     * Marca dead letters como resueltas: dejan de aparecer en las consultas
+     * y sus segmentos pueden borrarse.
+     *
+     * @param ids ids a resolver; los desconocidos o ya resueltos se ignoran
+     * @return cuántas se resolvieron
+     */
+    public synchronized int resolve(Collection<Long> ids) {
+        Objects.requireNonNull(ids, "Los ids no pueden ser nulos");
+        requireOpen();
+        int resolved = 0;
+        for (long id : ids) {
+            Entry entry = byId.get(id);
+            if (entry == null) {
+                continue;
+            }
+            writeFrame(RESOLVED, id, Math.max(lastMillis, clock.millis()), ByteBuffer.allocate(0));
+            unindex(entry);
+            resolved++;
+        }
+        if (resolved > 0) {
+            deleteResolvedSegments();
+        }
+        return resolved;
+    }
+
+    /**
+     * Fuerza a disco lo escrito hasta ahora.
+     *
+     * @throws UncheckedIOException si falla el {@code fsync}
+     */
+    public void flush() {
+        FileChannel channel;
+        synchronized (this) {
+            if (!dirty || closed) {
+                return;
+            }
+            dirty = false;
+            channel = active.channel;
+        }
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException ex) {
+            // El segmento se cerró al rotar, lo que ya incluye su fsync.
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo sincronizar " + directory, ex);
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Consulta y reenvío
+    // ------------------------------------------------------------------ //
+
+    /**
+     * @return dead letters pendientes (sin resolver)
+     */
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Cuenta las dead letters pendientes que cumplen la consulta, usando
+     * solo el índice (sin leer disco).
+     *
+     * @param query criterios de selección
+     * @return cuántas cumplen la consulta, hasta {@code query.limit()}
+     */
+    public synchronized int count(DeadLetterQuery query) {
+        return select(query).size();
+    }
+
+    /**
+     * Lee las dead letters pendientes que cumplen la consulta, en orden de
+     * llegada.
+     *
+     * @param query criterios de selección
+     * @return las dead letters encontradas
+     * @throws UncheckedIOException si no se pudo leer un segmento
+     */
+    public List<DeadLetter> find(DeadLetterQuery query) {
+        List<Entry> selected;
+        synchronized (this) {
+            requireOpen();
+            selected = select(query);
+        }
+        List<DeadLetter> letters = new ArrayList<>(selected.size());
+        for (Entry entry : selected) {
+            DeadLetter letter = read(entry);
+            if (letter != null) {
+                letters.add(letter);
+            }
+        }
+        return letters;
+    }
+
+    /**
+     * Reenvía las dead letters que cumplen la consulta a razón de
+     * {@code perSecond} por segundo y espera sus resultados. Las que se
+     * entregan se marcan como resueltas; las que vuelven a fallar quedan en
+     * el store para un próximo reenvío.
+     * <p>
+     * Bloquea al llamador durante todo el reenvío. Si el hilo se interrumpe,
+     * deja de despachar y espera solo a lo ya despachado. El despachador no
+     * debería volver a entregar los fallos a este store (ej: un
+     * {@code RetryChannelDecorator} con este sink), o cada reenvío fallido
+     * quedaría duplicado.
+     *
+     * @param query      criterios de selección
+     * @param perSecond  ritmo máximo de reenvío (debe ser &gt; 0)
+     * @param dispatcher envío asíncrono (ej: {@code asyncService::sendAsync})
+     * @return el resumen del reenvío
+     */
+    public ReplayReport replay(DeadLetterQuery query, double perSecond,
+            Function<Object, CompletableFuture<NotificationResult>> dispatcher) {
+        Objects.requireNonNull(dispatcher, "El despachador no puede ser nulo");
+        if (!(perSecond > 0)) {
+            throw new IllegalArgumentException("El ritmo de reenvío debe ser > 0");
+        }
+        long start = System.nanoTime();
+        List<DeadLetter> letters = find(query);
+        log.info("[DLQ] Reenviando {} dead letters a {}/s", letters.size(), perSecond);
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<?>> pending = new ArrayList<>(letters.size());
+        for (int i = 0; i < letters.size(); i++) {
+            if (!pace(start + i * intervalNanos)) {
+                log.warn("[DLQ] Reenvío interrumpido tras {} de {}", i, letters.size());
+                break;
+            }
+            DeadLetter letter = letters.get(i);
+            CompletableFuture<NotificationResult> sent;
+            try {
+                sent = dispatcher.apply(letter.request());
+            } catch (RuntimeException ex) {
+                sent = CompletableFuture.failedFuture(ex);
+            }
+            pending.add(sent.handle((result, error) -> {
+                if (error == null && result instanceof NotificationResult.Success) {
+                    resolve(List.of(letter.id()));
+                    return delivered.incrementAndGet();
+                }
+                return failed.incrementAndGet();
+            }));
+        }
+        boolean interrupted = Thread.interrupted();
+        for (CompletableFuture<?> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (Exception ex) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        var report = new ReplayReport(letters.size(), pending.size(), delivered.get(), failed.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("[DLQ] Reenvío terminado [seleccionadas={}, entregadas={}, fallidas={}, en={} ms]",
+                report.selected(), report.delivered(), report.failed(), report.elapsed().toMillis());
+        return report;
+    }
+
+    /**
+     * Detiene la sincronización periódica, hace {@code fsync} y cierra los
+     * segmentos.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (syncer != null) {
+            syncer.interrupt();
+            try {
+                syncer.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            try {
+                active.channel.force(false);
+            } catch (IOException ex) {
+                log.error("[DLQ] No se pudo sincronizar el segmento activo al cerrar", ex);
+            }
+            segments.forEach(Segment::close);
+        }
+        log.info("[DLQ] Store cerrado [pendientes={}]", byId.size());
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private long writeFrame(byte kind, long id, long millis, ByteBuffer payload) {
+        int length = payload.remaining();
+        try {
+            if (active.size > 0 && active.size + FRAME_HEADER + length > segmentBytes) {
+                roll();
+            }
+            header.clear();
+            header.putInt(length).putInt(0).put(kind).putLong(id).putLong(millis);
+            crc.reset();
+            crc.update(header.array(), 8, FRAME_HEADER - 8);
+            crc.update(payload.duplicate());
+            header.putInt(4, (int) crc.getValue()).flip();
+
+            long offset = active.size;
+            ByteBuffer[] frame = {header, payload};
+            try {
+                while (header.hasRemaining() || payload.hasRemaining()) {
+                    active.channel.write(frame);
+                }
+            } catch (IOException ex) {
+                discardPartialFrame(offset, ex);
+                throw ex;
+            }
+            active.size += FRAME_HEADER + length;
+            if (syncInterval.isZero()) {
+                active.channel.force(false);
+            } else {
+                dirty = true;
+            }
+            return offset;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir en " + active.path, ex);
+        }
+    }
+
+    /**
+     * Descarta lo que llegó a escribirse de un frame fallido, para que el
+     * siguiente empiece en {@code active.size}. Si no se puede truncar, al
+     * menos se reposiciona: el siguiente frame sobrescribe los restos.
+     */
+    private void discardPartialFrame(long offset, IOException failure) {
+        try {
+            active.channel.truncate(offset);
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+        try {
+            active.channel.position(offset);
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+
+    /** Cierra el segmento activo para escritura y abre uno nuevo. */
+    private void roll() throws IOException {
+        if (active != null) {
+            active.channel.force(false);
+        }
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, nextId, SUFFIX));
+        active = new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE), 0);
+        segments.addLast(active);
+        dirty = false;
+    }
+
+    private void index(Entry entry) {
+        byTime.add(entry);
+        byCode.computeIfAbsent(entry.code, code -> new ArrayList<>()).add(entry);
+        byId.put(entry.id, entry);
+        entry.segment.live++;
+    }
+
+    private void unindex(Entry entry) {
+        byId.remove(entry.id);
+        entry.resolved = true;
+        entry.segment.live--;
+    }
+
+    /**
+     * Borra los segmentos más antiguos sin dead letters pendientes. Se
+     * respeta el orden para que una marca RESOLVED nunca sobreviva al
+     * borrado de un segmento posterior que la necesite: las marcas siempre
+     * están en un segmento igual o más nuevo que su dead letter.
+     */
+    private void deleteResolvedSegments() {
+        while (segments.size() > 1 && segments.peekFirst().live == 0) {
+            Segment oldest = segments.removeFirst();
+            oldest.close();
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException ex) {
+                log.warn("[DLQ] No se pudo borrar el segmento resuelto {}", oldest.path, ex);
+            }
+            byTime.removeIf(entry -> entry.segment == oldest);
+            byCode.values().forEach(entries -> entries.removeIf(entry -> entry.segment == oldest));
+            byCode.values().removeIf(List::isEmpty);
+            log.debug("[DLQ] Segmento resuelto borrado: {}", oldest.path.getFileName());
+        }
+    }
+
+    private List<Entry> select(DeadLetterQuery query) {
+        Objects.requireNonNull(query, "La consulta no puede ser nula");
+        List<Entry> candidates = query.code() == null ? byTime : byCode.getOrDefault(query.code(), List.of());
+        long from = query.from() != null ? query.from().toEpochMilli() : Long.MIN_VALUE;
+        long to = query.to() != null ? query.to().toEpochMilli() : Long.MAX_VALUE;
+
+        List<Entry> selected = new ArrayList<>();
+        for (int i = firstAtOrAfter(candidates, from); i < candidates.size(); i++) {
+            Entry entry = candidates.get(i);
+            if (entry.millis >= to || selected.size() == query.limit()) {
+                break;
+            }
+            if (!entry.resolved) {
+                selected.add(entry);
+            }
+        }
+        return selected;
+    }
+
+    /** Búsqueda binaria sobre una lista ordenada por tiempo. */
+    private static int firstAtOrAfter(List<Entry> entries, long millis) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).millis < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private DeadLetter read(Entry entry) {
+        ByteBuffer payload = ByteBuffer.allocate(entry.length);
+        try {
+            long position = entry.offset + FRAME_HEADER;
+            while (payload.hasRemaining()) {
+                if (entry.segment.channel.read(payload, position + payload.position()) < 0) {
+                    throw new IOException("Fin de archivo inesperado en " + entry.segment.path);
+                }
+            }
+        } catch (ClosedChannelException ex) {
+            return null; // resuelta y borrada mientras se leía
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer la dead letter " + entry.id, ex);
+        }
+        var reader = new CodecReader(payload.flip());
+        return new DeadLetter(entry.id, Instant.ofEpochMilli(entry.millis), reader.next(),
+                (NotificationResult.Failure) reader.next());
+    }
+
+    /**
+     * Reconstruye el índice recorriendo los segmentos en orden y trunca un
+     * frame final incompleto o corrupto del segmento activo.
+     */
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+        List<Long> resolvedMarks = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            boolean sealed = i < paths.size() - 1;
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(path, channel, 0);
+            segments.addLast(segment);
+            active = segment;
+            segment.size = scan(segment, resolvedMarks, sealed);
+            if (segment.size < channel.size()) {
+                log.warn("[DLQ] Frame incompleto o corrupto en {} (offset {}): se trunca",
+                        path.getFileName(), segment.size);
+                channel.truncate(segment.size);
+            }
+            channel.position(segment.size);
+        }
+        for (long id : resolvedMarks) {
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                unindex(entry);
+            }
+        }
+        deleteResolvedSegments();
+    }
+
+    /**
+     * Indexa los frames de {@code segment}. En el segmento activo se detiene
+     * en el primer frame inválido; en uno sellado salta los frames con CRC
+     * o tipo inválidos y falla si la longitud de un frame es ilegible.
+     *
+     * @return offset del primer frame inválido (o el tamaño del archivo)
+     */
+    private long scan(Segment segment, List<Long> resolvedMarks, boolean sealed) throws IOException {
+        FileChannel channel = segment.channel;
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER);
+        CRC32C check = new CRC32C();
+        while (offset + FRAME_HEADER <= size) {
+            frameHeader.clear();
+            channel.read(frameHeader, offset);
+            int length = frameHeader.getInt(0);
+            if (length < 0 || offset + FRAME_HEADER + length > size) {
+                if (sealed) {
+                    throw new IOException("Segmento sellado corrupto " + segment.path.getFileName()
+                            + ": longitud de frame inválida en el offset " + offset);
+                }
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, offset + FRAME_HEADER);
+            check.reset();
+            check.update(frameHeader.array(), 8, FRAME_HEADER - 8);
+            check.update(payload.array(), 0, length);
+            byte kind = frameHeader.get(8);
+            if ((int) check.getValue() != frameHeader.getInt(4) || (kind != LETTER && kind != RESOLVED)) {
+                if (!sealed) {
+                    break;
+                }
+                log.error("[DLQ] Frame corrupto en el segmento sellado {} (offset {}, {} bytes): se salta",
+                        segment.path.getFileName(), offset, length);
+                offset += FRAME_HEADER + length;
+                continue;
+            }
+
+            long id = frameHeader.getLong(9);
+            long millis = frameHeader.getLong(17);
+            if (kind == LETTER) {
+                var reader = new CodecReader(payload.flip());
+                reader.next();
+                var failure = (NotificationResult.Failure) reader.next();
+                index(new Entry(id, millis, failure.code(), segment, offset, length));
+            } else {
+                resolvedMarks.add(id);
+            }
+            nextId = Math.max(nextId, id + 1);
+            lastMillis = Math.max(lastMillis, millis);
+            offset += FRAME_HEADER + length;
+        }
+        if (sealed && offset < size) {
+            throw new IOException("Segmento sellado corrupto " + segment.path.getFileName()
+                    + ": frame incompleto en el offset " + offset);
+        }
+        return offset;
+    }
+
+    private void syncLoop() {
+        while (true) {
+            try {
+                Thread.sleep(syncInterval);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                flush();
+            } catch (UncheckedIOException ex) {
+                log.error("[DLQ] Falló el fsync periódico", ex);
+            }
+        }
+    }
+
+    /** Espera hasta {@code deadlineNanos}; {@code false} si se interrumpe. */
+    private static boolean pace(long deadlineNanos) {
+        long wait;
+        while ((wait = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private void requireOpen() {
+        if (closed) {
+            throw new IllegalStateException("El DeadLetterStore está cerrado");
+        }
+    }
+
+    /** Ubicación de una dead letter y datos indexados. */
+    private static final class Entry {
+        final long id;
+        final long millis;
+        final String code;
+        final Segment segment;
+        final long offset;
+        final int length;
+        boolean resolved;
+
+        Entry(long id, long millis, String code, Segment segment, long offset, int length) {
+            this.id = id;
+            this.millis = millis;
+            this.code = code;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        long size;
+        int live;
+
+        Segment(Path path, FileChannel channel, long size) {
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                log.warn("[DLQ] No se pudo cerrar {}", path, ex);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Builder
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Builder de {@link DeadLetterStore}.
+     */
+    public static final class Builder {
+
+        private final Path directory;
+        private long segmentBytes = 64L << 20;
+        private Duration syncInterval = Duration.ofMillis(200);
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "El directorio no puede ser nulo");
+        }
+
+        /**
+         * @param segmentBytes tamaño a partir del cual se rota el segmento
+         *                     (debe ser ≥ 4096)
+         * @return este builder
+         */
+        public Builder segmentBytes(long segmentBytes) {
+            if (segmentBytes < 4096) {
+                throw new IllegalArgumentException("segmentBytes debe ser >= 4096");
+            }
+            this.segmentBytes = segmentBytes;
+            return this;
+        }
+
+        /**
+         * @param syncInterval intervalo entre {@code fsync};
+         *                     {@link Duration#ZERO} para sincronizar cada
+         *                     registro
+         * @return este builder
+         */
+        public Builder syncInterval(Duration syncInterval) {
+            Objects.requireNonNull(syncInterval, "El intervalo no puede ser nulo");
+            if (syncInterval.isNegative()) {
+                throw new IllegalArgumentException("El intervalo de fsync debe ser >= 0");
+            }
+            this.syncInterval = syncInterval;
+            return this;
+        }
+
+        /**
+         * @param clock reloj para el instante de cada dead letter
+         * @return este builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "El reloj no puede ser nulo");
+            return this;
+        }
+
+        /**
+         * Abre el store, recuperando los segmentos existentes.
+         *
+         * @return el store
+         * @throws UncheckedIOException si no se pudo leer o crear el directorio,
+         *         o si un segmento sellado está corrupto sin posibilidad de saltar
+         *         el frame dañado
+         */
+        public DeadLetterStore open() {
+            try {
+                return new DeadLetterStore(this);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("No se pudo abrir el DeadLetterStore en " + directory, ex);
+            }
+        }
+    }
+}
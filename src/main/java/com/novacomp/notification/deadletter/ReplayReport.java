@@ -0,0 +1,24 @@
+package com.novacomp.notification.deadletter;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Resumen de un {@link DeadLetterStore#replay reenvío} de dead letters.
+ *
+ * @param selected  dead letters que cumplían la consulta
+ * @param submitted reenvíos despachados (menos que {@code selected} si el
+ *                  reenvío se interrumpió)
+ * @param delivered reenvíos exitosos; se marcan como resueltos en el store
+ * @param failed    reenvíos fallidos; siguen en el store
+ * @param elapsed   duración del reenvío
+ */
+public record ReplayReport(int selected, int submitted, int delivered, int failed, Duration elapsed) {
+
+    public ReplayReport {
+        if (selected < 0 || submitted < 0 || delivered < 0 || failed < 0) {
+            throw new IllegalArgumentException("Los contadores del reenvío deben ser >= 0");
+        }
+        Objects.requireNonNull(elapsed, "La duración no puede ser nula");
+    }
+}
@@ -0,0 +1,451 @@
+package com.novacomp.notification.demo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.core.AsyncNotificationService;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.core.NotificationService;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga para dimensionar nodos.
+ * <p>
+ * Dos modelos de carga:
+ * <ul>
+ * <li><b>Tasa fija (modelo abierto)</b>, {@code --rate=N}: las solicitudes
+ * se emiten según un calendario fijo ({@code inicio + i / N}),
+ * independientemente de si las anteriores terminaron. La latencia se mide
+ * desde el instante <em>planificado</em> de cada envío, no desde que
+ * efectivamente salió; así las esperas en cola cuentan y el reporte queda
+ * corregido por <em>coordinated omission</em>. También se reporta el tiempo
+ * de servicio sin corregir para comparar.</li>
+ * <li><b>Máximo throughput (modelo cerrado)</b>, {@code --rate=0}:
+ * {@code --concurrency} workers envían en bucle lo más rápido posible.</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp app.jar:libs/* com.novacomp.notification.demo.LoadTestApp \
+ *      --rate=5000 --duration=60 --warmup=10 --mix=email:50,sms:30,push:20 --mode=async
+ * </pre>
+ *
+ * Opciones: {@code --rate} (envíos/s, 0 = máximo), {@code --duration} y
+ * {@code --warmup} (segundos), {@code --mix} (pesos por canal),
+ * {@code --mode} ({@code async} sobre {@link AsyncNotificationService},
+ * {@code sync} sobre {@link NotificationService} con un pool fijo de
+ * {@code --concurrency} hilos), {@code --queue} (cola del pool en modo
+ * {@code sync}, por defecto {@code 16 × --concurrency}; lo que no cabe se
+ * cuenta como fallo {@code QUEUE_FULL}) y {@code --out} (directorio de
+ * resultados).
+ * Las opciones {@code --simulator.*} se pasan tal cual a la configuración
+ * para medir contra un proveedor simulado (ver
+ * {@link com.novacomp.notification.simulation.ProviderBackend}), ej:
+ * {@code --simulator.mode=local --simulator.sms.latency=lognormal:80ms,0.5}.
+ * <p>
+ * Al terminar imprime un resumen y escribe en {@code --out} un JSON con el
+ * reporte y la distribución de percentiles en formato {@code .hgrm}.
+ */
+public final class LoadTestApp {
+
+    private static final String SEPARADOR = "=".repeat(60);
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9, 99.99 };
+
+    private LoadTestApp() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+
+        NotificationConfig config = NotificationConfig.builder()
+                .property("email.from", "loadtest@novacomp.com")
+                .properties(options.simulator)
+                .retryAttempts(0)
+                .build();
+
+        System.out.println(SEPARADOR);
+        System.out.println("  Universal Notification Lib -- Prueba de carga");
+        System.out.printf("  modo=%s | tasa=%s | duracion=%ds | warmup=%ds | mix=%s%n",
+                options.mode, options.rate == 0 ? "maxima" : options.rate + "/s",
+                options.duration.toSeconds(), options.warmup.toSeconds(), options.mix);
+        System.out.println(SEPARADOR);
+
+        try (var target = new Target(options, config)) {
+            if (!options.warmup.isZero()) {
+                System.out.println("[WARMUP] calentando el JIT...");
+                run(options, options.warmup, target);
+            }
+            System.out.println("[CARGA] midiendo...");
+            Stats stats = run(options, options.duration, target);
+            report(options, stats);
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Ejecución
+    // ------------------------------------------------------------------ //
+
+    private static Stats run(Options options, Duration phase, Target target) throws InterruptedException {
+        Stats stats = new Stats();
+        long start = System.nanoTime();
+        long end = start + phase.toNanos();
+
+        if (options.rate > 0) {
+            runOpenLoop(options, target, stats, start, end);
+        } else {
+            runClosedLoop(options, target, stats, end);
+        }
+        stats.elapsedNanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    private static void runOpenLoop(Options options, Target target, Stats stats, long start, long end)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        InFlight inFlight = new InFlight();
+
+        for (long i = 0;; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.begin();
+            stats.sent.increment();
+            target.dispatch(nextRequest(options, i), intended, stats, inFlight);
+        }
+
+        if (!inFlight.awaitDrained(60, TimeUnit.SECONDS)) {
+            System.err.println("[WARN] Envíos aún en vuelo tras 60 s: " + inFlight.pending());
+        }
+    }
+
+    private static void runClosedLoop(Options options, Target target, Stats stats, long end)
+            throws InterruptedException {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < options.concurrency; w++) {
+                workers.execute(() -> {
+                    long i = ThreadLocalRandom.current().nextLong(1_000_000);
+                    while (System.nanoTime() < end) {
+                        stats.sent.increment();
+                        target.sendBlocking(nextRequest(options, i++), stats);
+                    }
+                });
+            }
+        }
+    }
+
+    private static Object nextRequest(Options options, long sequence) {
+        int pick = ThreadLocalRandom.current().nextInt(options.totalWeight);
+        for (Map.Entry<ChannelType, Integer> entry : options.mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return switch (entry.getKey()) {
+                    case EMAIL -> new EmailRequest("carga" + sequence + "@ejemplo.com",
+                            "Prueba de carga", "Mensaje de prueba de carga #" + sequence);
+                    case SMS -> new SmsRequest(String.format("+5068%07d", sequence % 10_000_000),
+                            "Codigo: " + (sequence % 1_000_000));
+                    case PUSH -> new PushRequest("load-device-" + sequence, "Carga", "Push #" + sequence);
+                };
+            }
+        }
+        throw new IllegalStateException("Mix de canales vacío");
+    }
+
+    // ------------------------------------------------------------------ //
+    // Reporte
+    // ------------------------------------------------------------------ //
+
+    private static void report(Options options, Stats stats) throws IOException {
+        double seconds = stats.elapsedNanos / 1e9;
+        long completed = stats.corrected.totalCount();
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", Instant.now().toString());
+        json.put("mode", options.mode.name().toLowerCase(Locale.ROOT));
+        json.put("targetRate", options.rate);
+        json.put("durationSeconds", seconds);
+        json.put("mix", options.mix);
+        json.put("sent", stats.sent.sum());
+        json.put("completed", completed);
+        json.put("success", stats.success.sum());
+        json.put("failuresByCode", stats.failuresAsMap());
+        json.put("achievedThroughput", completed / seconds);
+        json.put("latencyMicros", percentiles(stats.corrected));
+        json.put("serviceTimeMicros", percentiles(stats.uncorrected));
+
+        System.out.println();
+        System.out.println(SEPARADOR);
+        System.out.printf("  Enviados=%d | Completados=%d | Exitos=%d | Fallos=%s%n",
+                stats.sent.sum(), completed, stats.success.sum(), stats.failuresAsMap());
+        System.out.printf("  Throughput logrado: %.1f envios/s%n", completed / seconds);
+        System.out.println("  Latencia (corregida por coordinated omission), ms:");
+        printPercentiles(stats.corrected);
+        System.out.println("  Tiempo de servicio (sin corregir), ms:");
+        printPercentiles(stats.uncorrected);
+
+        Files.createDirectories(options.out);
+        String stamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(Instant.now());
+        Path jsonFile = options.out.resolve("loadtest-" + stamp + ".json");
+        Path hgrmFile = options.out.resolve("loadtest-" + stamp + ".hgrm");
+        Path serviceHgrmFile = options.out.resolve("loadtest-" + stamp + "-service.hgrm");
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(jsonFile.toFile(), json);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(hgrmFile))) {
+            stats.corrected.outputPercentileDistribution(out, 1000.0);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(serviceHgrmFile))) {
+            stats.uncorrected.outputPercentileDistribution(out, 1000.0);
+        }
+        System.out.println("  Resultados: " + jsonFile + ", " + hgrmFile);
+        System.out.println(SEPARADOR);
+    }
+
+    private static Map<String, Long> percentiles(LatencyHistogram histogram) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (double p : PERCENTILES) {
+            values.put("p" + (p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p)),
+                    histogram.valueAtPercentile(p));
+        }
+        values.put("max", histogram.maxValue());
+        return values;
+    }
+
+    private static void printPercentiles(LatencyHistogram histogram) {
+        StringBuilder line = new StringBuilder("   ");
+        percentiles(histogram).forEach((name, micros) ->
+                line.append(String.format(Locale.ROOT, " %s=%.3f", name, micros / 1000.0)));
+        System.out.println(line);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Destino de la carga
+    // ------------------------------------------------------------------ //
+
+    private static final class Target implements AutoCloseable {
+
+        private final Mode mode;
+        private final NotificationService service;
+        private final AsyncNotificationService asyncService;
+        private final ExecutorService syncPool;
+
+        Target(Options options, NotificationConfig config) {
+            this.mode = options.mode;
+            this.service = new NotificationService(config);
+            this.asyncService = mode == Mode.ASYNC ? new AsyncNotificationService(service) : null;
+            this.syncPool = mode == Mode.SYNC
+                    ? new ThreadPoolExecutor(options.concurrency, options.concurrency, 0, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(options.queue))
+                    : null;
+        }
+
+        /** Emisión abierta: nunca bloquea al generador. */
+        void dispatch(Object request, long intended, Stats stats, InFlight inFlight) {
+            if (mode == Mode.ASYNC) {
+                long started = System.nanoTime();
+                asyncService.sendAsync(request).whenComplete((result, error) -> {
+                    stats.record(intended, started, result, error);
+                    inFlight.end();
+                });
+                return;
+            }
+            try {
+                syncPool.execute(() -> {
+                    long started = System.nanoTime();
+                    NotificationResult result = null;
+                    Throwable error = null;
+                    try {
+                        result = service.send(request);
+                    } catch (RuntimeException ex) {
+                        error = ex;
+                    }
+                    stats.record(intended, started, result, error);
+                    inFlight.end();
+                });
+            } catch (RejectedExecutionException ex) {
+                stats.fail("QUEUE_FULL");
+                inFlight.end();
+            }
+        }
+
+        /** Emisión cerrada: el worker espera cada resultado. */
+        void sendBlocking(Object request, Stats stats) {
+            long started = System.nanoTime();
+            NotificationResult result = null;
+            Throwable error = null;
+            try {
+                result = mode == Mode.ASYNC ? asyncService.sendAsync(request).join() : service.send(request);
+            } catch (RuntimeException ex) {
+                error = ex;
+            }
+            stats.record(started, started, result, error);
+        }
+
+        @Override
+        public void close() {
+            if (asyncService != null) {
+                asyncService.close();
+            }
+            if (syncPool != null) {
+                syncPool.close();
+            }
+        }
+    }
+
+    private static final class Stats {
+
+        final LatencyHistogram corrected = new LatencyHistogram();
+        final LatencyHistogram uncorrected = new LatencyHistogram();
+        final LongAdder sent = new LongAdder();
+        final LongAdder success = new LongAdder();
+        final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        long elapsedNanos;
+
+        void record(long intended, long started, NotificationResult result, Throwable error) {
+            long now = System.nanoTime();
+            corrected.recordNanos(now - intended);
+            uncorrected.recordNanos(now - started);
+            if (error != null) {
+                fail("EXCEPTION");
+            } else if (result instanceof NotificationResult.Failure f) {
+                fail(f.code());
+            } else {
+                success.increment();
+            }
+        }
+
+        /** Cuenta un fallo sin latencia: el envío nunca llegó a ejecutarse. */
+        void fail(String code) {
+            failures.computeIfAbsent(code, k -> new LongAdder()).increment();
+        }
+
+        Map<String, Long> failuresAsMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            failures.forEach((code, count) -> map.put(code, count.sum()));
+            return map;
+        }
+    }
+
+    /**
+     * Envíos emitidos y aún sin completar en el modelo abierto. Un contador
+     * en lugar de un {@code Phaser}: cuando el servicio se atrasa puede haber
+     * más de 65535 envíos en vuelo.
+     */
+    private static final class InFlight {
+
+        /** Empieza en 1: el generador cuenta hasta {@link #awaitDrained}. */
+        private final AtomicLong pending = new AtomicLong(1);
+        private final CountDownLatch drained = new CountDownLatch(1);
+
+        void begin() {
+            pending.incrementAndGet();
+        }
+
+        void end() {
+            if (pending.decrementAndGet() == 0) {
+                drained.countDown();
+            }
+        }
+
+        boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+            end();
+            return drained.await(timeout, unit);
+        }
+
+        long pending() {
+            return pending.get();
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Opciones de línea de comandos
+    // ------------------------------------------------------------------ //
+
+    private enum Mode {
+        ASYNC, SYNC
+    }
+
+    private record Options(int rate, Duration duration, Duration warmup, Map<ChannelType, Integer> mix,
+            int totalWeight, Mode mode, int concurrency, int queue, Path out, Map<String, String> simulator) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Argumento inválido (se espera --clave=valor): " + arg);
+                }
+                int eq = arg.indexOf('=');
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+
+            Map<String, String> simulator = new LinkedHashMap<>();
+            values.forEach((key, value) -> {
+                if (key.startsWith("simulator.")) {
+                    simulator.put(key, value);
+                }
+            });
+
+            Map<ChannelType, Integer> mix = new EnumMap<>(ChannelType.class);
+            for (String part : values.getOrDefault("mix", "email:50,sms:30,push:20").split(",")) {
+                String[] kv = part.split(":");
+                int weight = Integer.parseInt(kv[1].trim());
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Peso negativo en --mix: " + part);
+                }
+                if (weight > 0) {
+                    mix.put(ChannelType.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+                }
+            }
+            int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+            if (totalWeight == 0) {
+                throw new IllegalArgumentException("--mix debe incluir al menos un canal con peso > 0");
+            }
+
+            int rate = Integer.parseInt(values.getOrDefault("rate", "1000"));
+            int concurrency = Integer.parseInt(values.getOrDefault("concurrency", "64"));
+            int queue = Integer.parseInt(values.getOrDefault("queue", String.valueOf(concurrency * 16)));
+            if (rate < 0 || concurrency < 1 || queue < 1) {
+                throw new IllegalArgumentException("--rate debe ser >= 0, --concurrency >= 1 y --queue >= 1");
+            }
+
+            return new Options(rate,
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))),
+                    mix, totalWeight,
+                    Mode.valueOf(values.getOrDefault("mode", "async").toUpperCase(Locale.ROOT)),
+                    concurrency, queue,
+                    Path.of(values.getOrDefault("out", "target/loadtest")),
+                    simulator);
+        }
+    }
+}
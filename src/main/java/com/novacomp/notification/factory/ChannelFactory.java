@@ -4,8 +4,10 @@ import com.novacomp.notification.channel.EmailChannel;
 import com.novacomp.notification.channel.PushChannel;
 import com.novacomp.notification.channel.SmsChannel;
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
 import com.novacomp.notification.core.NotificationChannel;
 import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.simulation.ProviderBackend;
 
 import java.util.Objects;
 
@@ -38,10 +40,49 @@ public final class ChannelFactory {
         Objects.requireNonNull(type, "El ChannelType no puede ser nulo");
         Objects.requireNonNull(config, "La NotificationConfig no puede ser nula");
 
+        return createReloadable(type, ReloadableConfig.of(config));
+    }
+
+    /**
+     * Crea una implementación de canal que lee su configuración del
+     * snapshot vigente de {@code config} en cada envío.
+     *
+     * @param type   el tipo de canal a instanciar
+     * @param config configuración recargable compartida
+     * @return una instancia de {@link NotificationChannel} lista para usar
+     * @throws NullPointerException si algún argumento es {@code null}
+     */
+    public static NotificationChannel<?> createReloadable(ChannelType type,
+            ReloadableConfig config) {
+        Objects.requireNonNull(type, "El ChannelType no puede ser nulo");
+        Objects.requireNonNull(config, "La ReloadableConfig no puede ser nula");
+
         return switch (type) {
             case EMAIL -> new EmailChannel(config);
             case SMS -> new SmsChannel(config);
             case PUSH -> new PushChannel(config);
         };
     }
+
+    /**
+     * Crea una implementación de canal con un backend de proveedor
+     * explícito, en lugar del que indica {@code simulator.mode}.
+     *
+     * @param type    el tipo de canal a instanciar
+     * @param config  configuración recargable compartida
+     * @param backend backend contra el que se realiza cada envío
+     * @return una instancia de {@link NotificationChannel} lista para usar
+     * @throws NullPointerException si algún argumento es {@code null}
+     */
+    public static NotificationChannel<?> createReloadable(ChannelType type,
+            ReloadableConfig config, ProviderBackend backend) {
+        Objects.requireNonNull(type, "El ChannelType no puede ser nulo");
+        Objects.requireNonNull(config, "La ReloadableConfig no puede ser nula");
+
+        return switch (type) {
+            case EMAIL -> new EmailChannel(config, backend);
+            case SMS -> new SmsChannel(config, backend);
+            case PUSH -> new PushChannel(config, backend);
+        };
+    }
 }
@@ -0,0 +1,106 @@
+package com.novacomp.notification.mime;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool acotado de buffers directos de tamaño fijo para codificar cuerpos de
+ * mensaje.
+ * <p>
+ * Los buffers son directos para que la escritura a un socket o a un pipe no
+ * pase por la copia temporal que el JDK hace con buffers de heap. Si el pool
+ * está vacío, {@link #acquire()} asigna uno nuevo; {@link #release} lo
+ * devuelve solo si hay lugar, así que el pool nunca retiene más de
+ * {@code maxPooled} buffers aunque haya picos de envíos concurrentes.
+ * Es thread-safe.
+ */
+public final class BufferPool {
+
+    /** Tamaño de los buffers de {@link #shared()}: 840 líneas base64 por escritura. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Buffers retenidos como máximo por {@link #shared()}. */
+    public static final int DEFAULT_MAX_POOLED = 64;
+
+    private static final BufferPool SHARED = new BufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+
+    private final int bufferSize;
+    private final ArrayBlockingQueue<ByteBuffer> free;
+    private final AtomicLong allocated = new AtomicLong();
+
+    /**
+     * @param bufferSize tamaño de cada buffer en bytes (al menos
+     *                   {@value MimeMessage#MIN_BUFFER_SIZE})
+     * @param maxPooled  buffers retenidos como máximo (al menos 1)
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize < MimeMessage.MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferSize debe ser >= " + MimeMessage.MIN_BUFFER_SIZE);
+        }
+        if (maxPooled < 1) {
+            throw new IllegalArgumentException("maxPooled debe ser >= 1");
+        }
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * @return el pool compartido por defecto del proceso
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Toma un buffer vacío del pool, o asigna uno si no hay.
+     *
+     * @return un buffer directo de {@link #bufferSize()} bytes, limpio
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            allocated.incrementAndGet();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        return buffer;
+    }
+
+    /**
+     * Devuelve un buffer obtenido con {@link #acquire()}. El llamador no
+     * debe volver a usarlo.
+     *
+     * @param buffer el buffer a devolver
+     * @throws IllegalArgumentException si el buffer no es de este pool
+     */
+    public void release(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "El buffer no puede ser nulo");
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize || buffer.isReadOnly()) {
+            throw new IllegalArgumentException("El buffer no pertenece a este pool");
+        }
+        free.offer(buffer.clear());
+    }
+
+    /**
+     * @return tamaño de cada buffer en bytes
+     */
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return buffers libres en el pool
+     */
+    public int available() {
+        return free.size();
+    }
+
+    /**
+     * @return buffers asignados desde la creación del pool (los reutilizados
+     *         no cuentan)
+     */
+    public long allocated() {
+        return allocated.get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.novacomp.notification.mime;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canal que descarta lo que recibe y solo cuenta los bytes. Lo usan los
+ * backends simulados para consumir un {@link MessageBody} (pagando el costo
+ * real de codificarlo) sin transmitirlo.
+ */
+public final class DiscardingChannel implements WritableByteChannel {
+
+    private final AtomicLong written = new AtomicLong();
+    private volatile boolean open = true;
+
+    @Override
+    public int write(ByteBuffer src) throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        int bytes = src.remaining();
+        src.position(src.limit());
+        written.addAndGet(bytes);
+        return bytes;
+    }
+
+    /**
+     * @return bytes descartados hasta ahora
+     */
+    public long written() {
+        return written.get();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.novacomp.notification.mime;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Cuerpo de un mensaje que se escribe en streaming sobre el transporte, sin
+ * materializarse antes en memoria.
+ * <p>
+ * Una instancia puede escribirse más de una vez (ej: un reintento contra
+ * otro proveedor) y desde varios hilos a la vez.
+ */
+@FunctionalInterface
+public interface MessageBody {
+
+    /**
+     * Escribe el cuerpo completo en {@code out}. No cierra el canal.
+     *
+     * @param out canal de destino
+     * @return bytes escritos
+     * @throws IOException si falla la escritura o la lectura de un adjunto
+     */
+    long writeTo(WritableByteChannel out) throws IOException;
+}
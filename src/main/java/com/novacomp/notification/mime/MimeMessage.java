@@ -0,0 +1,242 @@
+package com.novacomp.notification.mime;
+
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mensaje MIME de un {@link EmailRequest}, escrito en streaming sobre el
+ * transporte.
+ * <p>
+ * Sin adjuntos el mensaje es un {@code text/plain}; con adjuntos, un
+ * {@code multipart/mixed} con el cuerpo como primera parte. Todas las partes
+ * viajan en base64, de modo que el separador ({@code =_NovaComp_...}) nunca
+ * puede aparecer en el contenido.
+ *
+ * <h3>Memoria</h3>
+ * Cada escritura toma <em>un</em> buffer de un {@link BufferPool} y lo
+ * reutiliza para cabeceras y contenido: el base64 se genera de a líneas de
+ * {@value #LINE_LENGTH} caracteres leyendo el adjunto con accesos absolutos
+ * sobre su vista ({@link EmailAttachment#content()}, mapeada en memoria si
+ * es un archivo) y el buffer se vacía en el canal cada vez que se llena.
+ * Enviar un PDF de 5 MB ocupa el buffer del pool y nada más en el heap, sin
+ * importar cuántos destinatarios lo reciban a la vez.
+ * <p>
+ * El canal de destino debe ser bloqueante (socket, pipe, archivo).
+ *
+ * <pre>{@code
+ * try (FileChannel eml = FileChannel.open(path, CREATE, WRITE)) {
+ *     new MimeMessage("noreply@novacomp.com", request).writeTo(eml);
+ * }
+ * }</pre>
+ */
+public final class MimeMessage implements MessageBody {
+
+    /** Caracteres base64 por línea (RFC 2045), sin contar el CRLF. */
+    public static final int LINE_LENGTH = 76;
+
+    /** Tamaño mínimo de los buffers usados para escribir. */
+    public static final int MIN_BUFFER_SIZE = 1024;
+
+    /** Bytes de entrada que produce una línea completa de base64. */
+    private static final int LINE_INPUT = LINE_LENGTH / 4 * 3;
+
+    private static final int LINE_OUTPUT = LINE_LENGTH + 2;
+
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+                    .getBytes(StandardCharsets.US_ASCII);
+
+    private static final String TEXT_PART = "Content-Type: text/plain; charset=UTF-8\r\n"
+            + "Content-Transfer-Encoding: base64\r\n\r\n";
+
+    private final String from;
+    private final EmailRequest request;
+    private final BufferPool pool;
+    private final String boundary;
+
+    /**
+     * Crea el mensaje sobre el pool compartido.
+     *
+     * @param from    remitente
+     * @param request la solicitud a enviar
+     */
+    public MimeMessage(String from, EmailRequest request) {
+        this(from, request, BufferPool.shared());
+    }
+
+    /**
+     * @param from    remitente
+     * @param request la solicitud a enviar
+     * @param pool    pool del que se toma el buffer de cada escritura
+     */
+    public MimeMessage(String from, EmailRequest request, BufferPool pool) {
+        this.from = Objects.requireNonNull(from, "El remitente no puede ser nulo");
+        this.request = Objects.requireNonNull(request, "El EmailRequest no puede ser nulo");
+        this.pool = Objects.requireNonNull(pool, "El BufferPool no puede ser nulo");
+        this.boundary = "=_NovaComp_" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @return el separador de partes del mensaje
+     */
+    public String boundary() {
+        return boundary;
+    }
+
+    @Override
+    public long writeTo(WritableByteChannel out) throws IOException {
+        Objects.requireNonNull(out, "El canal de destino no puede ser nulo");
+        ByteBuffer buffer = pool.acquire();
+        try {
+            long written = text(headers(), buffer, out);
+            ByteBuffer body = ByteBuffer.wrap(request.body().getBytes(StandardCharsets.UTF_8));
+            if (request.attachments().isEmpty()) {
+                written += text(TEXT_PART, buffer, out);
+                written += base64(body, buffer, out);
+            } else {
+                written += text("Content-Type: multipart/mixed; boundary=\"" + boundary + "\"\r\n\r\n"
+                        + "--" + boundary + "\r\n" + TEXT_PART, buffer, out);
+                written += base64(body, buffer, out);
+                for (EmailAttachment attachment : request.attachments()) {
+                    written += text(partHeaders(attachment), buffer, out);
+                    written += base64(attachment.content(), buffer, out);
+                }
+                written += text("--" + boundary + "--\r\n", buffer, out);
+            }
+            return written + flush(buffer, out);
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Cabeceras
+    // ------------------------------------------------------------------ //
+
+    private String headers() {
+        return "From: " + from + "\r\n"
+                + "To: " + request.to() + "\r\n"
+                + "Subject: " + encodedWord(request.subject()) + "\r\n"
+                + "MIME-Version: 1.0\r\n";
+    }
+
+    private String partHeaders(EmailAttachment attachment) {
+        return "--" + boundary + "\r\n"
+                + "Content-Type: " + attachment.contentType() + "; " + parameter("name", attachment.filename()) + "\r\n"
+                + "Content-Disposition: attachment; " + parameter("filename", attachment.filename()) + "\r\n"
+                + "Content-Transfer-Encoding: base64\r\n\r\n";
+    }
+
+    /** Asunto tal cual si es ASCII imprimible, o como encoded-word (RFC 2047). */
+    private static String encodedWord(String value) {
+        if (isPlainAscii(value)) {
+            return value;
+        }
+        return "=?UTF-8?B?" + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)) + "?=";
+    }
+
+    /** Parámetro entre comillas si es ASCII imprimible, o extendido (RFC 2231). */
+    private static String parameter(String name, String value) {
+        if (isPlainAscii(value) && value.indexOf('"') < 0 && value.indexOf('\\') < 0) {
+            return name + "=\"" + value + "\"";
+        }
+        StringBuilder encoded = new StringBuilder(name).append("*=UTF-8''");
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xFF;
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '-' || c == '_') {
+                encoded.append((char) c);
+            } else {
+                encoded.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7E) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Escritura
+    // ------------------------------------------------------------------ //
+
+    private static long text(String value, ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long written = 0;
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                written += flush(buffer, out);
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return written;
+    }
+
+    /**
+     * Codifica {@code source} (de la posición al límite, sin moverlos) en
+     * líneas base64 terminadas en CRLF, vaciando {@code buffer} en el canal
+     * cada vez que no entra otra línea.
+     */
+    private static long base64(ByteBuffer source, ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        long written = 0;
+        int position = source.position();
+        int limit = source.limit();
+        while (position < limit) {
+            if (buffer.remaining() < LINE_OUTPUT) {
+                written += flush(buffer, out);
+            }
+            int end = Math.min(position + LINE_INPUT, limit);
+            for (; position + 3 <= end; position += 3) {
+                int bits = (source.get(position) & 0xFF) << 16
+                        | (source.get(position + 1) & 0xFF) << 8
+                        | (source.get(position + 2) & 0xFF);
+                buffer.put(ALPHABET[bits >>> 18])
+                        .put(ALPHABET[(bits >>> 12) & 0x3F])
+                        .put(ALPHABET[(bits >>> 6) & 0x3F])
+                        .put(ALPHABET[bits & 0x3F]);
+            }
+            if (position < end) {
+                // Cola de 1 o 2 bytes: solo puede darse en la última línea.
+                boolean two = end - position == 2;
+                int bits = (source.get(position) & 0xFF) << 16
+                        | (two ? (source.get(position + 1) & 0xFF) << 8 : 0);
+                buffer.put(ALPHABET[bits >>> 18])
+                        .put(ALPHABET[(bits >>> 12) & 0x3F])
+                        .put(two ? ALPHABET[(bits >>> 6) & 0x3F] : (byte) '=')
+                        .put((byte) '=');
+                position = end;
+            }
+            buffer.put((byte) '\r').put((byte) '\n');
+        }
+        return written;
+    }
+
+    private static long flush(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += out.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+}
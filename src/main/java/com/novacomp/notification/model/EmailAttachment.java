@@ -0,0 +1,245 @@
+package com.novacomp.notification.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adjunto de un {@link EmailRequest}: referencia a un archivo o a un
+ * {@link ByteBuffer}, nunca una copia del contenido.
+ * <p>
+ * Una misma instancia puede adjuntarse a todas las solicitudes de una
+ * campaña. Los archivos se mapean en memoria ({@link FileChannel#map}) la
+ * primera vez que se leen y todas las solicitudes comparten ese mapeo:
+ * {@link #content()} entrega una vista de solo lectura con posición
+ * propia, así que varios envíos concurrentes recorren las mismas páginas
+ * sin copiarlas al heap.
+ * <p>
+ * Los adjuntos creados por separado sobre la misma ruta también comparten
+ * el mapeo mientras el archivo no cambie de tamaño, fecha de modificación
+ * ni inodo: al decodificar miles de dead letters o envíos programados de
+ * una campaña, cada una trae su propio adjunto, y un mapeo por adjunto
+ * agotaría el límite de mapeos del proceso ({@code vm.max_map_count}). El
+ * mapeo se libera cuando ya no queda ningún adjunto que lo use.
+ *
+ * <pre>{@code
+ * var factura = EmailAttachment.ofFile(Path.of("/facturas/2026-10.pdf"));
+ * for (String to : destinatarios) {
+ *     service.send(new EmailRequest(to, "Su factura", "Adjuntamos su factura.",
+ *             List.of(factura)));
+ * }
+ * }</pre>
+ * <p>
+ * La igualdad es por identidad: dos adjuntos con el mismo archivo son
+ * distintos si se crearon por separado.
+ */
+public final class EmailAttachment {
+
+    /** Tipo MIME usado cuando no se indica ni se deduce de la extensión. */
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    /** Mapeos vigentes por ruta absoluta; las entradas se limpian al recolectarse su buffer. */
+    private static final Map<Path, Mapping> MAPPINGS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ByteBuffer> RELEASED = new ReferenceQueue<>();
+
+    private final String filename;
+    private final String contentType;
+    private final Path path;
+    private volatile ByteBuffer content;
+
+    private EmailAttachment(String filename, String contentType, Path path, ByteBuffer content) {
+        this.filename = header(filename, "nombre de archivo");
+        this.contentType = header(contentType, "tipo de contenido");
+        this.path = path;
+        this.content = content;
+    }
+
+    /**
+     * Adjunta un archivo con su nombre y un tipo deducido de la extensión.
+     *
+     * @param path ruta del archivo; no se abre hasta el primer envío
+     * @return el adjunto
+     */
+    public static EmailAttachment ofFile(Path path) {
+        Objects.requireNonNull(path, "La ruta del adjunto no puede ser nula");
+        Path name = path.getFileName();
+        if (name == null) {
+            throw new IllegalArgumentException("La ruta del adjunto no tiene nombre de archivo: " + path);
+        }
+        return ofFile(path, name.toString(), guessContentType(name.toString()));
+    }
+
+    /**
+     * Adjunta un archivo con nombre y tipo explícitos.
+     *
+     * @param path        ruta del archivo; no se abre hasta el primer envío
+     * @param filename    nombre con el que lo ve el destinatario
+     * @param contentType tipo MIME, ej: {@code application/pdf}
+     * @return el adjunto
+     */
+    public static EmailAttachment ofFile(Path path, String filename, String contentType) {
+        Objects.requireNonNull(path, "La ruta del adjunto no puede ser nula");
+        return new EmailAttachment(filename, contentType, path, null);
+    }
+
+    /**
+     * Adjunta los bytes entre la posición y el límite de {@code content},
+     * sin copiarlos. El llamador no debe modificarlos mientras haya envíos
+     * que los usen.
+     *
+     * @param filename    nombre con el que lo ve el destinatario
+     * @param contentType tipo MIME, ej: {@code text/csv}
+     * @param content     contenido del adjunto (heap, directo o mapeado)
+     * @return el adjunto
+     */
+    public static EmailAttachment ofBuffer(String filename, String contentType, ByteBuffer content) {
+        Objects.requireNonNull(content, "El contenido del adjunto no puede ser nulo");
+        return new EmailAttachment(filename, contentType, null, content.slice().asReadOnlyBuffer());
+    }
+
+    /**
+     * @return nombre con el que lo ve el destinatario
+     */
+    public String filename() {
+        return filename;
+    }
+
+    /**
+     * @return tipo MIME del contenido
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * @return la ruta del archivo, o vacío si el adjunto es un buffer
+     */
+    public Optional<Path> path() {
+        return Optional.ofNullable(path);
+    }
+
+    /**
+     * Retorna una vista de solo lectura del contenido, con posición 0 y
+     * límite igual al tamaño. Cada llamada retorna una vista nueva sobre la
+     * misma memoria; la primera llamada de un archivo lo mapea.
+     *
+     * @return el contenido, sin copia
+     * @throws UncheckedIOException     si el archivo no se puede leer
+     * @throws IllegalArgumentException si el archivo supera 2 GiB
+     */
+    public ByteBuffer content() {
+        ByteBuffer mapped = content;
+        if (mapped == null) {
+            synchronized (this) {
+                mapped = content;
+                if (mapped == null) {
+                    mapped = map(path);
+                    content = mapped;
+                }
+            }
+        }
+        return mapped.duplicate();
+    }
+
+    /**
+     * @return tamaño del contenido en bytes (mapea el archivo si aún no
+     *         se leyó)
+     */
+    public int size() {
+        return content().remaining();
+    }
+
+    @Override
+    public String toString() {
+        return "EmailAttachment[" + filename + ", " + contentType
+                + (path != null ? ", " + path : ", buffer") + "]";
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private static ByteBuffer map(Path path) {
+        for (Object released; (released = RELEASED.poll()) != null; ) {
+            Mapping mapping = (Mapping) released;
+            MAPPINGS.remove(mapping.key, mapping);
+        }
+        try {
+            Path key = path.toAbsolutePath().normalize();
+            BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+            Mapping current = MAPPINGS.get(key);
+            ByteBuffer shared = current != null && current.matches(attributes) ? current.get() : null;
+            if (shared != null) {
+                return shared;
+            }
+            try (FileChannel file = FileChannel.open(key, StandardOpenOption.READ)) {
+                long size = file.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("El adjunto supera 2 GiB: " + path);
+                }
+                // El mapeo sobrevive al cierre del canal.
+                ByteBuffer mapped = file.map(FileChannel.MapMode.READ_ONLY, 0, size).asReadOnlyBuffer();
+                MAPPINGS.put(key, new Mapping(key, attributes, mapped));
+                return mapped;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer el adjunto " + path, ex);
+        }
+    }
+
+    private static String guessContentType(String filename) {
+        String type = URLConnection.guessContentTypeFromName(filename);
+        return type != null ? type : DEFAULT_CONTENT_TYPE;
+    }
+
+    /** Valida un valor que termina en una cabecera MIME. */
+    private static String header(String value, String field) {
+        Objects.requireNonNull(value, "El " + field + " del adjunto no puede ser nulo");
+        if (value.isBlank()) {
+            throw new IllegalArgumentException("El " + field + " del adjunto no puede estar vacío");
+        }
+        if (value.indexOf('\r') >= 0 || value.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("El " + field + " del adjunto no puede contener saltos de línea");
+        }
+        return value;
+    }
+
+    /**
+     * Mapeo compartido de un archivo, válido mientras el archivo conserve
+     * los atributos con que se mapeó. Un archivo reemplazado (otro inodo) o
+     * truncado se vuelve a mapear.
+     */
+    private static final class Mapping extends WeakReference<ByteBuffer> {
+
+        private final Path key;
+        private final long size;
+        private final FileTime modified;
+        private final Object fileKey;
+
+        Mapping(Path key, BasicFileAttributes attributes, ByteBuffer mapped) {
+            super(mapped, RELEASED);
+            this.key = key;
+            this.size = attributes.size();
+            this.modified = attributes.lastModifiedTime();
+            this.fileKey = attributes.fileKey();
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return attributes.size() == size && attributes.lastModifiedTime().equals(modified)
+                    && Objects.equals(attributes.fileKey(), fileKey);
+        }
+    }
+}
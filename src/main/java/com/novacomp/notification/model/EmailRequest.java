@@ -1,5 +1,6 @@
 package com.novacomp.notification.model;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -8,21 +9,63 @@ import java.util.Objects;
  * <p>
  * Utiliza un {@code record} de Java 21 con un constructor canónico compacto
  * que garantiza invariantes de no-nulidad en tiempo de construcción.
+ * <p>
+ * Los adjuntos son referencias ({@link EmailAttachment}): la misma lista
+ * puede compartirse entre todas las solicitudes de una campaña sin copiar
+ * el contenido.
  *
- * @param to      dirección de correo del destinatario (no puede ser
- *                {@code null} ni vacía)
- * @param subject línea de asunto del correo (no puede ser {@code null})
- * @param body    contenido del cuerpo del correo (no puede ser {@code null})
+ * @param to          dirección de correo del destinatario (no puede ser
+ *                    {@code null} ni vacía)
+ * @param subject     línea de asunto del correo (no puede ser {@code null})
+ * @param body        contenido del cuerpo del correo (no puede ser
+ *                    {@code null})
+ * @param attachments adjuntos del correo, en orden (no puede ser
+ *                    {@code null}; vacía si no hay)
  */
-public record EmailRequest(String to, String subject, String body) {
+public record EmailRequest(String to, String subject, String body, List<EmailAttachment> attachments)
+        implements NotificationRequest {
 
     public EmailRequest {
         Objects.requireNonNull(to, "El destinatario 'to' no puede ser nulo");
         Objects.requireNonNull(subject, "El asunto no puede ser nulo");
         Objects.requireNonNull(body, "El cuerpo no puede ser nulo");
+        Objects.requireNonNull(attachments, "La lista de adjuntos no puede ser nula");
 
         if (to.isBlank()) {
             throw new IllegalArgumentException("El destinatario 'to' no puede estar vacío");
         }
+        attachments = List.copyOf(attachments);
+    }
+
+    /**
+     * Crea una solicitud sin adjuntos.
+     *
+     * @param to      dirección de correo del destinatario
+     * @param subject línea de asunto del correo
+     * @param body    contenido del cuerpo del correo
+     */
+    public EmailRequest(String to, String subject, String body) {
+        this(to, subject, body, List.of());
+    }
+
+    /**
+     * Retorna una copia con otro destinatario y los mismos asunto, cuerpo y
+     * adjuntos (sin copiar su contenido).
+     *
+     * @param to el nuevo destinatario
+     * @return la copia
+     */
+    public EmailRequest withTo(String to) {
+        return new EmailRequest(to, subject, body, attachments);
+    }
+
+    @Override
+    public String recipient() {
+        return to;
+    }
+
+    @Override
+    public ChannelType channelType() {
+        return ChannelType.EMAIL;
     }
 }
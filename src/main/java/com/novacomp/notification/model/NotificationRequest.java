@@ -0,0 +1,28 @@
+package com.novacomp.notification.model;
+
+/**
+ * Interfaz sellada común a todas las solicitudes de notificación.
+ * <p>
+ * Expone el destinatario y el canal de forma uniforme para los
+ * componentes que no necesitan conocer el tipo concreto de la solicitud
+ * (particionado por destinatario, validación, listas de supresión...).
+ * Al ser sellada, los {@code switch} sobre ella siguen siendo exhaustivos.
+ */
+public sealed interface NotificationRequest
+        permits EmailRequest, SmsRequest, PushRequest {
+
+    /**
+     * Retorna la dirección del destinatario en el formato propio del canal
+     * (email, número de teléfono o token de dispositivo).
+     *
+     * @return el destinatario
+     */
+    String recipient();
+
+    /**
+     * Retorna el canal por el que se despacha esta solicitud.
+     *
+     * @return el tipo de canal
+     */
+    ChannelType channelType();
+}
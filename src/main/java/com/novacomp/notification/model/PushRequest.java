@@ -11,7 +11,7 @@ import java.util.Objects;
  * @param body        contenido del cuerpo de la notificación (no puede ser
  *                    {@code null})
  */
-public record PushRequest(String deviceToken, String title, String body) {
+public record PushRequest(String deviceToken, String title, String body) implements NotificationRequest {
 
     public PushRequest {
         Objects.requireNonNull(deviceToken, "El token del dispositivo no puede ser nulo");
@@ -22,4 +22,14 @@ public record PushRequest(String deviceToken, String title, String body) {
             throw new IllegalArgumentException("El token del dispositivo no puede estar vacío");
         }
     }
+
+    @Override
+    public String recipient() {
+        return deviceToken;
+    }
+
+    @Override
+    public ChannelType channelType() {
+        return ChannelType.PUSH;
+    }
 }
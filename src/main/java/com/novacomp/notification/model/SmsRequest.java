@@ -1,5 +1,8 @@
 package com.novacomp.notification.model;
 
+import com.novacomp.notification.sms.SmsEncoder;
+import com.novacomp.notification.sms.SmsSegments;
+
 import java.util.Objects;
 
 /**
@@ -9,7 +12,7 @@ import java.util.Objects;
  *                    vacío)
  * @param message     contenido del mensaje SMS (no puede ser {@code null})
  */
-public record SmsRequest(String phoneNumber, String message) {
+public record SmsRequest(String phoneNumber, String message) implements NotificationRequest {
 
     public SmsRequest {
         Objects.requireNonNull(phoneNumber, "El número de teléfono no puede ser nulo");
@@ -19,4 +22,24 @@ public record SmsRequest(String phoneNumber, String message) {
             throw new IllegalArgumentException("El número de teléfono no puede estar vacío");
         }
     }
+
+    @Override
+    public String recipient() {
+        return phoneNumber;
+    }
+
+    @Override
+    public ChannelType channelType() {
+        return ChannelType.SMS;
+    }
+
+    /**
+     * Calcula la codificación y los segmentos facturables del mensaje (ver
+     * {@link SmsEncoder}).
+     *
+     * @return codificación, longitud y segmentos del mensaje
+     */
+    public SmsSegments segments() {
+        return SmsEncoder.analyze(message);
+    }
 }
@@ -0,0 +1,453 @@
+package com.novacomp.notification.payload;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Buffer reutilizable con el cuerpo de una llamada HTTP a un proveedor,
+ * escrito directamente en UTF-8 sobre un {@code byte[]}.
+ * <p>
+ * Soporta los dos formatos que usan los proveedores: JSON (SendGrid, FCM)
+ * con {@link #startJson()} y formularios
+ * {@code application/x-www-form-urlencoded} (Twilio) con
+ * {@link #startForm()}. Los strings se escapan y codifican carácter a
+ * carácter sobre el arreglo, sin {@code String.getBytes()},
+ * {@code StringBuilder} ni generadores intermedios: escribir un payload no
+ * asigna memoria salvo cuando el arreglo tiene que crecer, y un buffer
+ * obtenido de un {@link PayloadPool} ya creció en envíos anteriores.
+ * <p>
+ * El transporte lee {@link #array()} entre 0 y {@link #size()}.
+ * <b>No es thread-safe</b>: pertenece a un envío entre
+ * {@link PayloadPool#acquire()} y {@link PayloadPool#release}.
+ *
+ * <pre>{@code
+ * buffer.startJson()
+ *         .beginObject()
+ *         .name("subject").value(request.subject())
+ *         .endObject();
+ * }</pre>
+ */
+public final class PayloadBuffer {
+
+    /** Content-Type de un payload iniciado con {@link #startJson()}. */
+    public static final String JSON = "application/json; charset=UTF-8";
+
+    /** Content-Type de un payload iniciado con {@link #startForm()}. */
+    public static final String FORM = "application/x-www-form-urlencoded";
+
+    /** Anidamiento máximo de objetos y arreglos JSON. */
+    public static final int MAX_DEPTH = 64;
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes;
+    private int size;
+    private String contentType = JSON;
+    /** Bit {@code d} en 1: el próximo elemento del nivel {@code d} es el primero. */
+    private long first;
+    private int depth;
+    private boolean afterName;
+    private boolean abandoned;
+
+    /**
+     * @param initialCapacity capacidad inicial en bytes (al menos 16)
+     */
+    public PayloadBuffer(int initialCapacity) {
+        if (initialCapacity < 16) {
+            throw new IllegalArgumentException("initialCapacity debe ser >= 16");
+        }
+        this.bytes = new byte[initialCapacity];
+    }
+
+    /**
+     * Vacía el buffer para escribir un payload JSON.
+     *
+     * @return este buffer
+     */
+    public PayloadBuffer startJson() {
+        return start(JSON);
+    }
+
+    /**
+     * Vacía el buffer para escribir un formulario URL-encoded.
+     *
+     * @return este buffer
+     */
+    public PayloadBuffer startForm() {
+        return start(FORM);
+    }
+
+    // ------------------------------------------------------------------ //
+    // JSON
+    // ------------------------------------------------------------------ //
+
+    /**
+     * @return este buffer, tras abrir un objeto JSON
+     */
+    public PayloadBuffer beginObject() {
+        return open((byte) '{');
+    }
+
+    /**
+     * @return este buffer, tras cerrar el objeto JSON abierto
+     */
+    public PayloadBuffer endObject() {
+        return close((byte) '}');
+    }
+
+    /**
+     * @return este buffer, tras abrir un arreglo JSON
+     */
+    public PayloadBuffer beginArray() {
+        return open((byte) '[');
+    }
+
+    /**
+     * @return este buffer, tras cerrar el arreglo JSON abierto
+     */
+    public PayloadBuffer endArray() {
+        return close((byte) ']');
+    }
+
+    /**
+     * Escribe el nombre del siguiente miembro del objeto abierto.
+     *
+     * @param name nombre del miembro
+     * @return este buffer
+     */
+    public PayloadBuffer name(String name) {
+        Objects.requireNonNull(name, "El nombre no puede ser nulo");
+        if (afterName) {
+            throw new IllegalStateException("Falta el valor de un miembro anterior");
+        }
+        separator();
+        quoted(name);
+        ensureCapacity(1);
+        bytes[size++] = ':';
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * @param value valor de texto ({@code null} escribe {@code null})
+     * @return este buffer
+     */
+    public PayloadBuffer value(String value) {
+        separator();
+        if (value == null) {
+            ascii("null");
+        } else {
+            quoted(value);
+        }
+        return this;
+    }
+
+    /**
+     * @param value valor numérico
+     * @return este buffer
+     */
+    public PayloadBuffer value(long value) {
+        separator();
+        ensureCapacity(20);
+        if (value == Long.MIN_VALUE) {
+            ascii("-9223372036854775808");
+            return this;
+        }
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = size + digits - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+
+    /**
+     * @param value valor booleano
+     * @return este buffer
+     */
+    public PayloadBuffer value(boolean value) {
+        separator();
+        ascii(value ? "true" : "false");
+        return this;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Formulario
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Agrega un campo {@code name=value} al formulario, codificando ambos.
+     *
+     * @param name  nombre del campo
+     * @param value valor del campo
+     * @return este buffer
+     */
+    public PayloadBuffer field(String name, String value) {
+        Objects.requireNonNull(name, "El nombre no puede ser nulo");
+        Objects.requireNonNull(value, "El valor no puede ser nulo");
+        if (size > 0) {
+            ensureCapacity(1);
+            bytes[size++] = '&';
+        }
+        urlEncoded(name);
+        ensureCapacity(1);
+        bytes[size++] = '=';
+        urlEncoded(value);
+        return this;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Lectura
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Retorna el arreglo subyacente, sin copiarlo. Solo los primeros
+     * {@link #size()} bytes son del payload; el arreglo cambia si el buffer
+     * crece.
+     *
+     * @return el arreglo del buffer
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * @return bytes escritos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return capacidad actual del arreglo
+     */
+    public int capacity() {
+        return bytes.length;
+    }
+
+    /**
+     * @return el Content-Type del payload ({@link #JSON} o {@link #FORM})
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Marca el buffer para que no vuelva al pool: el transporte puede
+     * seguir leyendo el arreglo después del envío (ej: una llamada
+     * abandonada por timeout).
+     */
+    public void abandon() {
+        abandoned = true;
+    }
+
+    /**
+     * @return {@code true} si el buffer fue marcado con {@link #abandon()}
+     */
+    public boolean isAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * @return el payload decodificado (para logs y tests; asigna)
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, 0, size, StandardCharsets.UTF_8);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private PayloadBuffer start(String type) {
+        size = 0;
+        depth = 0;
+        first = 0;
+        afterName = false;
+        contentType = type;
+        return this;
+    }
+
+    private PayloadBuffer open(byte bracket) {
+        separator();
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("Anidamiento JSON mayor a " + MAX_DEPTH);
+        }
+        ensureCapacity(1);
+        bytes[size++] = bracket;
+        first |= 1L << depth;
+        depth++;
+        return this;
+    }
+
+    private PayloadBuffer close(byte bracket) {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("No hay un objeto o arreglo que cerrar");
+        }
+        depth--;
+        ensureCapacity(1);
+        bytes[size++] = bracket;
+        return this;
+    }
+
+    /** Escribe la coma previa a un elemento, salvo tras un nombre o al inicio de un nivel. */
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth == 0) {
+            return;
+        }
+        long bit = 1L << (depth - 1);
+        if ((first & bit) != 0) {
+            first &= ~bit;
+        } else {
+            ensureCapacity(1);
+            bytes[size++] = ',';
+        }
+    }
+
+    private void ascii(String value) {
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    /** String JSON entre comillas: escapes de RFC 8259 más U+2028/U+2029. */
+    private void quoted(String value) {
+        int length = value.length();
+        // Peor caso: \\u00XX (6 bytes) por carácter, más las comillas.
+        ensureCapacity(length * 6 + 2);
+        byte[] out = bytes;
+        int pos = size;
+        out[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                out[pos++] = (byte) c;
+            } else if (c < 0x80) {
+                out[pos++] = '\\';
+                switch (c) {
+                    case '"' -> out[pos++] = '"';
+                    case '\\' -> out[pos++] = '\\';
+                    case '\n' -> out[pos++] = 'n';
+                    case '\r' -> out[pos++] = 'r';
+                    case '\t' -> out[pos++] = 't';
+                    case '\b' -> out[pos++] = 'b';
+                    case '\f' -> out[pos++] = 'f';
+                    default -> {
+                        out[pos++] = 'u';
+                        out[pos++] = '0';
+                        out[pos++] = '0';
+                        out[pos++] = HEX[c >> 4];
+                        out[pos++] = HEX[c & 0xF];
+                    }
+                }
+            } else if (c == '\u2028' || c == '\u2029') {
+                out[pos++] = '\\';
+                out[pos++] = 'u';
+                out[pos++] = '2';
+                out[pos++] = '0';
+                out[pos++] = '2';
+                out[pos++] = HEX[c & 0xF];
+            } else {
+                pos = utf8(value, i, c, out, pos);
+                if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                }
+            }
+        }
+        out[pos++] = '"';
+        size = pos;
+    }
+
+    /** Codificación URL de formulario: alfanuméricos y {@code -._*} tal cual, espacio como {@code +}. */
+    private void urlEncoded(String value) {
+        int length = value.length();
+        // Peor caso: 3 bytes UTF-8 por char, cada uno como %XX.
+        ensureCapacity(length * 9);
+        byte[] out = bytes;
+        int pos = size;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == '_' || c == '*') {
+                out[pos++] = (byte) c;
+            } else if (c == ' ') {
+                out[pos++] = '+';
+            } else {
+                // UTF-8 al final del arreglo y luego cada byte como %XX, en orden.
+                int start = pos;
+                int end = c < 0x80 ? start + 1 : utf8(value, i, c, out, start);
+                if (c < 0x80) {
+                    out[start] = (byte) c;
+                }
+                int count = end - start;
+                for (int k = count - 1; k >= 0; k--) {
+                    int b = out[start + k] & 0xFF;
+                    out[start + k * 3] = '%';
+                    out[start + k * 3 + 1] = HEX[b >> 4];
+                    out[start + k * 3 + 2] = HEX[b & 0xF];
+                }
+                pos = start + count * 3;
+                if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                }
+            }
+        }
+        size = pos;
+    }
+
+    /**
+     * Escribe en UTF-8 el carácter no ASCII {@code c} (posición {@code i}
+     * de {@code value}). Un surrogate sin pareja se escribe como '?'.
+     *
+     * @return la posición siguiente en {@code out}
+     */
+    private static int utf8(String value, int i, char c, byte[] out, int pos) {
+        if (c < 0x800) {
+            out[pos++] = (byte) (0xC0 | (c >> 6));
+            out[pos++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, value.charAt(i + 1));
+            out[pos++] = (byte) (0xF0 | (cp >> 18));
+            out[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            out[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            out[pos++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            out[pos++] = '?';
+        } else {
+            out[pos++] = (byte) (0xE0 | (c >> 12));
+            out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            out[pos++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return pos;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (bytes.length - size >= extra) {
+            return;
+        }
+        int required = size + extra;
+        if (required < 0) {
+            throw new IllegalStateException("El payload supera 2 GiB");
+        }
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, required));
+    }
+}
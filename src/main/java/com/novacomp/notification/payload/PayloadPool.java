@@ -0,0 +1,146 @@
+package com.novacomp.notification.payload;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool acotado de {@link PayloadBuffer}, seguro para hilos virtuales.
+ * <p>
+ * No usa {@code ThreadLocal}: con un hilo virtual por envío, cada hilo
+ * tendría su propio buffer y el pool no reutilizaría nada. En su lugar hay
+ * {@code slots} casilleros que se toman y devuelven con CAS, empezando por
+ * uno derivado del id del hilo para que hilos distintos no compitan por el
+ * mismo. Tomar y devolver no asigna memoria ni bloquea; si no hay buffer
+ * libre en los casilleros que se prueban, se crea uno nuevo, y si al
+ * devolverlo no hay casillero libre, se descarta.
+ * <p>
+ * Los buffers que crecieron por encima de {@code maxRetainedBytes} no
+ * vuelven al pool, para que un payload excepcional no quede retenido para
+ * siempre.
+ *
+ * <pre>{@code
+ * PayloadBuffer payload = PayloadPool.shared().acquire();
+ * try {
+ *     ProviderPayloads.sendGrid(payload, from, request);
+ *     backend.call(provider, payload);
+ * } finally {
+ *     PayloadPool.shared().release(payload);
+ * }
+ * }</pre>
+ */
+public final class PayloadPool {
+
+    /** Capacidad inicial de los buffers de {@link #shared()}. */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    /** Tamaño máximo de un buffer retenido por {@link #shared()}. */
+    public static final int DEFAULT_MAX_RETAINED_BYTES = 64 * 1024;
+
+    /** Casilleros probados al tomar o devolver un buffer. */
+    private static final int PROBES = 4;
+
+    private static final PayloadPool SHARED = new PayloadPool(
+            Math.max(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 2),
+            DEFAULT_BUFFER_SIZE, DEFAULT_MAX_RETAINED_BYTES);
+
+    private final AtomicReferenceArray<PayloadBuffer> slots;
+    private final int mask;
+    private final int bufferSize;
+    private final int maxRetainedBytes;
+    private final AtomicLong allocated = new AtomicLong();
+
+    /**
+     * @param slots            casilleros del pool (se redondea a potencia de 2)
+     * @param bufferSize       capacidad inicial de cada buffer (al menos 16)
+     * @param maxRetainedBytes capacidad máxima de un buffer devuelto al pool
+     */
+    public PayloadPool(int slots, int bufferSize, int maxRetainedBytes) {
+        if (slots < 1 || slots > 1 << 16) {
+            throw new IllegalArgumentException("slots debe estar entre 1 y 65536");
+        }
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize debe ser >= 16");
+        }
+        if (maxRetainedBytes < bufferSize) {
+            throw new IllegalArgumentException("maxRetainedBytes debe ser >= bufferSize");
+        }
+        int size = Integer.bitCount(slots) == 1 ? slots : Integer.highestOneBit(slots) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.bufferSize = bufferSize;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * @return el pool compartido por defecto del proceso
+     */
+    public static PayloadPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Toma un buffer libre, o crea uno si no hay en los casilleros probados.
+     *
+     * @return un buffer a vaciar con {@code startJson()} o {@code startForm()}
+     */
+    public PayloadBuffer acquire() {
+        int start = home();
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            PayloadBuffer buffer = slots.get(slot);
+            if (buffer != null && slots.compareAndSet(slot, buffer, null)) {
+                return buffer;
+            }
+        }
+        allocated.incrementAndGet();
+        return new PayloadBuffer(bufferSize);
+    }
+
+    /**
+     * Devuelve un buffer obtenido con {@link #acquire()}. El llamador no
+     * debe volver a usarlo. Los buffers abandonados
+     * ({@link PayloadBuffer#abandon()}) o demasiado grandes se descartan.
+     *
+     * @param buffer el buffer a devolver
+     */
+    public void release(PayloadBuffer buffer) {
+        Objects.requireNonNull(buffer, "El buffer no puede ser nulo");
+        if (buffer.isAbandoned() || buffer.capacity() > maxRetainedBytes) {
+            return;
+        }
+        int start = home();
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return buffers creados desde la creación del pool (los reutilizados
+     *         no cuentan)
+     */
+    public long allocated() {
+        return allocated.get();
+    }
+
+    /**
+     * @return buffers libres en el pool
+     */
+    public int available() {
+        int available = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /** Casillero inicial del hilo actual: su id mezclado (Fibonacci hashing). */
+    private int home() {
+        return (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 40);
+    }
+}
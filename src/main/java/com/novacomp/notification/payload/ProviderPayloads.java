@@ -0,0 +1,94 @@
+package com.novacomp.notification.payload;
+
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+
+import java.util.Objects;
+
+/**
+ * Cuerpos de las llamadas de envío de cada proveedor, escritos sobre un
+ * {@link PayloadBuffer}.
+ * <p>
+ * Cada método vacía el buffer y escribe el payload completo:
+ * <ul>
+ * <li>{@link #sendGrid} -- JSON de {@code POST /v3/mail/send}</li>
+ * <li>{@link #twilio} -- formulario de
+ * {@code POST /2010-04-01/Accounts/{sid}/Messages.json}</li>
+ * <li>{@link #fcm} -- JSON de
+ * {@code POST /v1/projects/{project}/messages:send}</li>
+ * </ul>
+ */
+public final class ProviderPayloads {
+
+    private ProviderPayloads() {
+        // Clase utilitaria -- no instanciable
+    }
+
+    /**
+     * Escribe el JSON de SendGrid v3 para un correo sin adjuntos (los
+     * adjuntos viajan como MIME en streaming).
+     *
+     * @param buffer  buffer de destino
+     * @param from    remitente
+     * @param request el correo
+     * @return {@code buffer}
+     */
+    public static PayloadBuffer sendGrid(PayloadBuffer buffer, String from, EmailRequest request) {
+        Objects.requireNonNull(request, "El EmailRequest no puede ser nulo");
+        return buffer.startJson()
+                .beginObject()
+                .name("personalizations").beginArray()
+                .beginObject()
+                .name("to").beginArray().beginObject().name("email").value(request.to()).endObject().endArray()
+                .endObject()
+                .endArray()
+                .name("from").beginObject().name("email").value(from).endObject()
+                .name("subject").value(request.subject())
+                .name("content").beginArray()
+                .beginObject().name("type").value("text/plain").name("value").value(request.body()).endObject()
+                .endArray()
+                .endObject();
+    }
+
+    /**
+     * Escribe el formulario de Twilio Messages.
+     *
+     * @param buffer  buffer de destino
+     * @param from    número remitente (E.164)
+     * @param request el SMS
+     * @return {@code buffer}
+     */
+    public static PayloadBuffer twilio(PayloadBuffer buffer, String from, SmsRequest request) {
+        Objects.requireNonNull(request, "El SmsRequest no puede ser nulo");
+        return buffer.startForm()
+                .field("To", request.phoneNumber())
+                .field("From", from)
+                .field("Body", request.message());
+    }
+
+    /**
+     * Escribe el JSON de FCM v1 para una notificación de alta prioridad.
+     *
+     * @param buffer  buffer de destino
+     * @param request la notificación
+     * @return {@code buffer}
+     */
+    public static PayloadBuffer fcm(PayloadBuffer buffer, PushRequest request) {
+        Objects.requireNonNull(request, "El PushRequest no puede ser nulo");
+        return buffer.startJson()
+                .beginObject()
+                .name("message").beginObject()
+                .name("token").value(request.deviceToken())
+                .name("notification").beginObject()
+                .name("title").value(request.title())
+                .name("body").value(request.body())
+                .endObject()
+                .name("android").beginObject()
+                .name("priority").value("high")
+                .name("ttl").value("2419200s")
+                .endObject()
+                .endObject()
+                .endObject();
+    }
+}
@@ -0,0 +1,303 @@
+package com.novacomp.notification.receipt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Índice en memoria de {@link MessageKey} a un valor, con expiración por
+ * tiempo y sin objetos por entrada más allá del propio valor.
+ *
+ * <h3>Estructura</h3>
+ * {@value #GENERATIONS} generaciones, cada una de {@code ttl / 3}: las
+ * inserciones van a la generación del momento y las búsquedas recorren de
+ * la más nueva a la más vieja. Cuando empieza una nueva generación
+ * reemplaza entera a la más vieja, así que una entrada vive entre
+ * {@code ttl} y {@code 4/3 × ttl} y expirar cuesta soltar una tabla, no
+ * recorrer entradas una por una.
+ * <p>
+ * Cada generación son {@value #SEGMENTS} tablas de direccionamiento
+ * abierto (sondeo lineal), cada una con su lock: las claves viven de a
+ * pares en un {@code long[]} y los valores en un {@code Object[]} paralelo,
+ * unos 20 bytes por casilla. Los bits altos de la clave eligen la tabla y
+ * los bajos la casilla. Una tabla duplica su tamaño al llenarse en 3/4.
+ *
+ * <h3>Expiración</h3>
+ * Las generaciones avanzan con las llamadas a {@link #put}, {@link #get},
+ * {@link #size} y {@link #expire}: sin llamadas no expira nada, así que
+ * quien necesite enterarse de las expiraciones en un índice ocioso debe
+ * llamar a {@link #expire} periódicamente. El hilo que reemplaza una
+ * generación entrega cada valor que sale a {@code onExpire}, fuera del
+ * lock de rotación. Una generación se marca como retirada antes de
+ * drenarla, y un {@link #put} que la encuentra retirada al tomar el lock de
+ * su tabla reintenta en la generación vigente: ninguna entrada queda en una
+ * tabla ya drenada sin pasar por {@code onExpire}.
+ *
+ * @param <V> el tipo de valor
+ */
+final class CorrelationIndex<V> {
+
+    /** Generaciones simultáneas; una entrada es visible durante las {@code GENERATIONS - 1} siguientes. */
+    static final int GENERATIONS = 4;
+
+    private static final int SEGMENTS = 64;
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final Generation EMPTY = new Generation(Long.MIN_VALUE, 0);
+
+    private final AtomicReferenceArray<Generation> ring = new AtomicReferenceArray<>(GENERATIONS);
+    private final long spanMillis;
+    private final int segmentCapacity;
+    private final Clock clock;
+    private final Consumer<? super V> onExpire;
+    private final Object rotation = new Object();
+
+    /**
+     * @param ttl      tiempo mínimo que una entrada sigue visible
+     * @param expected inserciones esperadas por generación, para
+     *                 dimensionar las tablas
+     * @param clock    reloj que define las generaciones
+     * @param onExpire destino de los valores que expiran
+     */
+    CorrelationIndex(Duration ttl, int expected, Clock clock, Consumer<? super V> onExpire) {
+        Objects.requireNonNull(ttl, "El ttl no puede ser nulo");
+        this.clock = Objects.requireNonNull(clock, "El reloj no puede ser nulo");
+        this.onExpire = Objects.requireNonNull(onExpire, "El destino de las expiraciones no puede ser nulo");
+        if (ttl.toMillis() < GENERATIONS - 1) {
+            throw new IllegalArgumentException("El ttl debe ser de al menos " + (GENERATIONS - 1) + " ms");
+        }
+        if (expected < 1) {
+            throw new IllegalArgumentException("expected debe ser >= 1");
+        }
+        this.spanMillis = ttl.toMillis() / (GENERATIONS - 1);
+        long perSegment = Math.min((long) expected * 4 / 3 / SEGMENTS + 1, 1 << 26);
+        this.segmentCapacity = (int) Math.max(MIN_SEGMENT_CAPACITY, Long.highestOneBit(perSegment) << 1);
+        for (int i = 0; i < GENERATIONS; i++) {
+            ring.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * Inserta o reemplaza el valor de una clave en la generación actual.
+     */
+    void put(MessageKey key, V value) {
+        Objects.requireNonNull(value, "El valor no puede ser nulo");
+        while (true) {
+            Generation generation = current(epoch());
+            Segment segment = generation.segment(key);
+            synchronized (segment) {
+                // Retirada entre current() y el lock: el drenado pudo haber
+                // pasado ya por esta tabla, así que se reintenta en la vigente.
+                if (!generation.retired) {
+                    segment.put(key.hi(), key.lo(), value);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return el valor de la clave, o {@code null} si no está o ya expiró
+     */
+    @SuppressWarnings("unchecked")
+    V get(MessageKey key) {
+        long epoch = epoch();
+        current(epoch);
+        for (int age = 0; age < GENERATIONS; age++) {
+            Generation generation = ring.get(slot(epoch - age));
+            if (generation.epoch != epoch - age) {
+                continue;
+            }
+            Segment segment = generation.segment(key);
+            Object value;
+            synchronized (segment) {
+                value = segment.get(key.hi(), key.lo());
+            }
+            if (value != null) {
+                return (V) value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return entradas visibles (aproximado con inserciones concurrentes)
+     */
+    long size() {
+        long epoch = epoch();
+        current(epoch);
+        long size = 0;
+        for (int age = 0; age < GENERATIONS; age++) {
+            Generation generation = ring.get(slot(epoch - age));
+            if (generation.epoch == epoch - age) {
+                size += generation.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Avanza las generaciones hasta el instante actual y entrega a
+     * {@code onExpire} las entradas que quedaron fuera.
+     */
+    void expire() {
+        current(epoch());
+    }
+
+    /**
+     * @return duración de una generación: el retraso máximo con que
+     *         {@link #expire} detecta una entrada vencida
+     */
+    Duration span() {
+        return Duration.ofMillis(spanMillis);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Generaciones
+    // ------------------------------------------------------------------ //
+
+    private long epoch() {
+        return Math.floorDiv(clock.millis(), spanMillis);
+    }
+
+    private static int slot(long epoch) {
+        return Math.floorMod(epoch, GENERATIONS);
+    }
+
+    /**
+     * Retorna la generación de {@code epoch}, reemplazando la que ocupa su
+     * lugar y las que quedaron fuera de la ventana si el reloj avanzó.
+     */
+    private Generation current(long epoch) {
+        Generation generation = ring.get(slot(epoch));
+        if (generation.epoch >= epoch) {
+            return generation;
+        }
+        Generation[] expired = new Generation[GENERATIONS];
+        synchronized (rotation) {
+            generation = ring.get(slot(epoch));
+            if (generation.epoch >= epoch) {
+                return generation;
+            }
+            for (int i = 0; i < GENERATIONS; i++) {
+                Generation old = ring.get(i);
+                if (old.epoch <= epoch - GENERATIONS) {
+                    old.retired = true;
+                    expired[i] = old;
+                    ring.set(i, EMPTY);
+                }
+            }
+            generation = new Generation(epoch, segmentCapacity);
+            ring.set(slot(epoch), generation);
+        }
+        for (Generation old : expired) {
+            if (old != null) {
+                old.drain(onExpire);
+            }
+        }
+        return generation;
+    }
+
+    private static final class Generation {
+
+        final long epoch;
+        final Segment[] segments;
+        /** Fuera del anillo: {@link #put} ya no inserta en ella. */
+        volatile boolean retired;
+
+        Generation(long epoch, int segmentCapacity) {
+            this.epoch = epoch;
+            this.segments = new Segment[segmentCapacity == 0 ? 0 : SEGMENTS];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = new Segment(segmentCapacity);
+            }
+        }
+
+        Segment segment(MessageKey key) {
+            return segments[(int) (key.hi() >>> SEGMENT_SHIFT)];
+        }
+
+        long size() {
+            long size = 0;
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    size += segment.size;
+                }
+            }
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> void drain(Consumer<? super V> onExpire) {
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    for (Object value : segment.values) {
+                        if (value != null) {
+                            onExpire.accept((V) value);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Tabla de direccionamiento abierto; se accede con su monitor tomado. */
+    private static final class Segment {
+
+        long[] keys;
+        Object[] values;
+        int size;
+
+        Segment(int capacity) {
+            this.keys = new long[capacity * 2];
+            this.values = new Object[capacity];
+        }
+
+        void put(long hi, long lo, Object value) {
+            if (size >= values.length - (values.length >>> 2)) {
+                grow();
+            }
+            int mask = values.length - 1;
+            int i = (int) lo & mask;
+            while (values[i] != null) {
+                if (keys[2 * i] == hi && keys[2 * i + 1] == lo) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[2 * i] = hi;
+            keys[2 * i + 1] = lo;
+            values[i] = value;
+            size++;
+        }
+
+        Object get(long hi, long lo) {
+            int mask = values.length - 1;
+            int i = (int) lo & mask;
+            Object value;
+            while ((value = values[i]) != null) {
+                if (keys[2 * i] == hi && keys[2 * i + 1] == lo) {
+                    return value;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[2 * i], oldKeys[2 * i + 1], oldValues[i]);
+                }
+            }
+        }
+    }
+}
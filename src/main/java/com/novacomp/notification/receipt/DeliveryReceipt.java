@@ -0,0 +1,25 @@
+package com.novacomp.notification.receipt;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Confirmación de entrega recibida de un proveedor.
+ *
+ * @param messageId    id del mensaje tal como lo reporta el proveedor
+ *                     (puede traer sufijos, ver {@link MessageKey})
+ * @param status       estado reportado
+ * @param providerCode código propio del proveedor (ej: {@code "5.1.1"},
+ *                     {@code "30003"}, {@code "INVALID_REGISTRATION"}), o
+ *                     {@code null}
+ * @param timestamp    instante del evento según el proveedor, o de la
+ *                     recepción si no lo informa
+ */
+public record DeliveryReceipt(String messageId, DeliveryStatus status, String providerCode, Instant timestamp) {
+
+    public DeliveryReceipt {
+        Objects.requireNonNull(messageId, "El ID del mensaje no puede ser nulo");
+        Objects.requireNonNull(status, "El estado no puede ser nulo");
+        Objects.requireNonNull(timestamp, "El timestamp no puede ser nulo");
+    }
+}
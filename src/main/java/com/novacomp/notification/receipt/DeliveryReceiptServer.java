@@ -0,0 +1,178 @@
+package com.novacomp.notification.receipt;
+
+import com.novacomp.notification.config.ReceiptSettings;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Receptor embebido de los webhooks de confirmación de entrega.
+ * <p>
+ * Expone {@code POST /receipts/<proveedor>} para cada {@link ReceiptParser}
+ * ({@code sendgrid}, {@code twilio} y {@code fcm} por defecto) y entrega
+ * cada confirmación leída a un {@link DeliveryTracker}. Responde
+ * {@code 204} cuando el cuerpo es válido, aunque sus mensajes no se hayan
+ * enviado desde esta instancia (reintentar no cambiaría nada), {@code 400}
+ * si el cuerpo es inválido, {@code 404} para otras rutas (sin leer el
+ * cuerpo) y {@code 413} si el cuerpo supera
+ * {@link ReceiptSettings#maxBodyBytes()}. Cada petición se atiende en un
+ * Virtual Thread, con el cuerpo leído de una sola vez hasta ese máximo.
+ * <p>
+ * Por defecto escucha solo en loopback: la verificación de firmas de los
+ * proveedores (SendGrid Signed Event Webhook, {@code X-Twilio-Signature})
+ * corresponde al proxy de entrada que lo publica.
+ *
+ * <pre>{@code
+ * try (var receipts = new DeliveryReceiptServer(service.getDeliveryTracker().orElseThrow(), 8090)) {
+ *     ...
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class DeliveryReceiptServer implements AutoCloseable {
+
+    /** Prefijo de las rutas de los webhooks. */
+    public static final String PATH = "/receipts/";
+
+    /** Conexiones pendientes de aceptar que admite el socket. */
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DeliveryTracker tracker;
+    private final Map<String, ReceiptParser> parsers = new HashMap<>();
+    private final Clock clock;
+    private final int maxBodyBytes;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Arranca el receptor en {@code localhost:port} con los parsers por
+     * defecto y el tamaño máximo de cuerpo por defecto.
+     *
+     * @param tracker tracker que correlaciona las confirmaciones
+     * @param port    puerto de escucha (0 = puerto libre cualquiera)
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public DeliveryReceiptServer(DeliveryTracker tracker, int port) throws IOException {
+        this(tracker, port, ReceiptSettings.DEFAULT_MAX_BODY_BYTES);
+    }
+
+    /**
+     * Arranca el receptor en {@code localhost:port} con los parsers por
+     * defecto.
+     *
+     * @param tracker      tracker que correlaciona las confirmaciones
+     * @param port         puerto de escucha (0 = puerto libre cualquiera)
+     * @param maxBodyBytes tamaño máximo del cuerpo de un webhook
+     *                     ({@link ReceiptSettings#maxBodyBytes()})
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public DeliveryReceiptServer(DeliveryTracker tracker, int port, int maxBodyBytes) throws IOException {
+        this(tracker, new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ReceiptParser.defaults(),
+                maxBodyBytes, Clock.systemUTC());
+    }
+
+    /**
+     * @param tracker      tracker que correlaciona las confirmaciones
+     * @param address      dirección de escucha
+     * @param parsers      un parser por proveedor
+     * @param maxBodyBytes tamaño máximo del cuerpo de un webhook
+     * @param clock        reloj de recepción, para los eventos sin timestamp
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public DeliveryReceiptServer(DeliveryTracker tracker, InetSocketAddress address, List<ReceiptParser> parsers,
+            int maxBodyBytes, Clock clock) throws IOException {
+        this.tracker = Objects.requireNonNull(tracker, "El tracker no puede ser nulo");
+        this.clock = Objects.requireNonNull(clock, "El reloj no puede ser nulo");
+        Objects.requireNonNull(address, "La dirección no puede ser nula");
+        if (maxBodyBytes < 1 || maxBodyBytes == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamaño máximo del cuerpo fuera de rango: " + maxBodyBytes);
+        }
+        this.maxBodyBytes = maxBodyBytes;
+        for (ReceiptParser parser : Objects.requireNonNull(parsers, "Los parsers no pueden ser nulos")) {
+            if (this.parsers.putIfAbsent(parser.provider(), parser) != null) {
+                throw new IllegalArgumentException("Proveedor duplicado: " + parser.provider());
+            }
+        }
+        this.server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+        log.info("Receptor de confirmaciones escuchando en puerto {} {}", port(), this.parsers.keySet());
+    }
+
+    /**
+     * @return el puerto efectivo de escucha
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return peticiones rechazadas con {@code 400}, {@code 404} o {@code 413}
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        log.info("Receptor de confirmaciones detenido");
+    }
+
+    // ------------------------------------------------------------------ //
+    // Manejo de peticiones
+    // ------------------------------------------------------------------ //
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            ReceiptParser parser = parsers.get(exchange.getRequestURI().getPath().substring(PATH.length()));
+            if (!"POST".equals(exchange.getRequestMethod()) || parser == null) {
+                rejected.increment();
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            // Content-Length rechaza sin leer; readNBytes acota los cuerpos chunked o que mienten.
+            String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+            byte[] body = declared != null && tooLarge(declared) ? null : in.readNBytes(maxBodyBytes + 1);
+            if (body == null || body.length > maxBodyBytes) {
+                rejected.increment();
+                log.warn("Webhook de {} rechazado: cuerpo mayor a {} bytes", parser.provider(), maxBodyBytes);
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            }
+            try {
+                parser.parse(body, body.length, clock.instant(), tracker::accept);
+            } catch (IOException ex) {
+                rejected.increment();
+                log.warn("Webhook de {} inválido [razon={}]", parser.provider(), ex.getMessage());
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(204, -1);
+        }
+    }
+
+    private boolean tooLarge(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim()) > maxBodyBytes;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.novacomp.notification.receipt;
+
+/**
+ * Estado de entrega de un mensaje según la confirmación del proveedor.
+ * <p>
+ * {@link #SENT} es intermedio: el proveedor lo procesó o lo sigue
+ * intentando. Los demás son finales y no cambian con confirmaciones
+ * posteriores.
+ */
+public enum DeliveryStatus {
+
+    /** Procesado, encolado o diferido por el proveedor. */
+    SENT(false),
+
+    /** Entregado al buzón, al operador o al dispositivo. */
+    DELIVERED(true),
+
+    /** Rechazado por el destinatario: buzón, número o token inexistente. */
+    BOUNCED(true),
+
+    /** Descartado o fallido por otro motivo (contenido, cuota, credenciales...). */
+    FAILED(true),
+
+    /** Sin confirmación final dentro del {@code ttl}; lo genera el tracker, no el proveedor. */
+    EXPIRED(true);
+
+    private final boolean terminal;
+
+    DeliveryStatus(boolean terminal) {
+        this.terminal = terminal;
+    }
+
+    /**
+     * @return {@code true} si es un estado final
+     */
+    public boolean isFinal() {
+        return terminal;
+    }
+}
@@ -0,0 +1,289 @@
+package com.novacomp.notification.receipt;
+
+import com.novacomp.notification.config.ReceiptSettings;
+import com.novacomp.notification.model.ChannelType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Correlaciona las confirmaciones de entrega de los proveedores con los
+ * envíos que las originaron.
+ * <p>
+ * Cada envío aceptado se registra con {@link #track} (lo hace
+ * {@link DeliveryTrackingDecorator}) bajo la {@link MessageKey} de su
+ * {@code messageId}; cada confirmación que llega al
+ * {@link DeliveryReceiptServer} se busca con {@link #accept}. Un envío se
+ * recuerda durante al menos {@code ttl} en un {@link CorrelationIndex}: sin
+ * el id como {@code String}, solo el canal, el destinatario (el mismo
+ * objeto de la solicitud) y el instante: unos 80 bytes por envío, frente a
+ * ~140 de un {@code ConcurrentHashMap} con el id como clave.
+ *
+ * <h3>Suscripciones</h3>
+ * <ul>
+ * <li>{@link #subscribe} recibe todas las confirmaciones correlacionadas,
+ * intermedias y finales, en el hilo que atiende el webhook.</li>
+ * <li>{@link #whenFinal} completa con la primera confirmación final del
+ * envío, o con {@link DeliveryStatus#EXPIRED} si no llega ninguna antes de
+ * que el envío expire.</li>
+ * </ul>
+ * Los envíos expiran entre {@code ttl} y {@code 4/3 × ttl} después de
+ * registrarse. Mientras haya futures de {@link #whenFinal} pendientes, un
+ * barrido cada {@code ttl / 3} (en el {@code delayedExecutor} de
+ * {@link CompletableFuture}) expira los envíos vencidos aunque el servicio
+ * esté ocioso, así que el {@code EXPIRED} puede llegar hasta
+ * {@code 5/3 × ttl} después del envío. {@link #expireStale} fuerza un
+ * barrido.
+ * Solo cuenta la primera confirmación final: los proveedores reintentan
+ * los webhooks y pueden entregar eventos fuera de orden (un
+ * {@code processed} después del {@code delivered}), así que lo que llega
+ * después de un estado final se descarta.
+ *
+ * <pre>{@code
+ * var result = (NotificationResult.Success) service.send(email);
+ * service.getDeliveryTracker().orElseThrow()
+ *         .whenFinal(result.messageId())
+ *         .thenAccept(update -> log.info("{} -> {}", update.recipient(), update.status()));
+ * }</pre>
+ */
+@Slf4j
+public final class DeliveryTracker {
+
+    private final CorrelationIndex<Entry> index;
+    private final Clock clock;
+    private final List<Consumer<? super DeliveryUpdate>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder tracked = new LongAdder();
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+    private final AtomicLong waiting = new AtomicLong();
+    private final AtomicBoolean sweepScheduled = new AtomicBoolean();
+
+    /**
+     * @param settings {@code ttl} y tamaño esperado del índice
+     * @param clock    reloj de la expiración y de los envíos registrados
+     */
+    public DeliveryTracker(ReceiptSettings settings, Clock clock) {
+        Objects.requireNonNull(settings, "Los ReceiptSettings no pueden ser nulos");
+        this.clock = Objects.requireNonNull(clock, "El reloj no puede ser nulo");
+        this.index = new CorrelationIndex<>(settings.ttl(), settings.expected(), clock, this::expire);
+    }
+
+    /**
+     * Registra un envío aceptado por el proveedor.
+     *
+     * @param messageId id devuelto por el proveedor
+     * @param channel   canal del envío
+     * @param recipient destinatario normalizado
+     * @param sentAt    instante de aceptación
+     */
+    public void track(String messageId, ChannelType channel, String recipient, Instant sentAt) {
+        Objects.requireNonNull(messageId, "El ID del mensaje no puede ser nulo");
+        Objects.requireNonNull(channel, "El canal no puede ser nulo");
+        Objects.requireNonNull(recipient, "El destinatario no puede ser nulo");
+        Objects.requireNonNull(sentAt, "El instante de envío no puede ser nulo");
+        index.put(MessageKey.of(messageId), new Entry(channel, recipient, sentAt.toEpochMilli()));
+        tracked.increment();
+    }
+
+    /**
+     * Procesa una confirmación: la correlaciona con su envío y la entrega a
+     * los suscriptores.
+     *
+     * @param receipt la confirmación
+     * @return {@code false} si el envío no se registró en esta instancia o
+     *         ya expiró
+     */
+    public boolean accept(DeliveryReceipt receipt) {
+        Objects.requireNonNull(receipt, "La confirmación no puede ser nula");
+        MessageKey key;
+        try {
+            key = MessageKey.of(receipt.messageId());
+        } catch (IllegalArgumentException ex) {
+            unmatched.increment();
+            return false;
+        }
+        Entry entry = index.get(key);
+        if (entry == null) {
+            unmatched.increment();
+            log.debug("Confirmación sin envío registrado [id={}, estado={}]", receipt.messageId(), receipt.status());
+            return false;
+        }
+        matched.increment();
+        DeliveryUpdate update = entry.update(receipt);
+        CompletableFuture<DeliveryUpdate> waiter;
+        synchronized (entry) {
+            if (entry.outcome != null) {
+                return true;
+            }
+            if (receipt.status().isFinal()) {
+                entry.outcome = update;
+            }
+            waiter = entry.outcome != null ? entry.waiter : null;
+        }
+        if (waiter != null) {
+            waiting.decrementAndGet();
+            waiter.complete(update);
+        }
+        notifyListeners(update);
+        return true;
+    }
+
+    /**
+     * Suscribe un listener a todas las confirmaciones correlacionadas. Se
+     * invoca en el hilo del webhook: debe ser rápido y no bloquear.
+     *
+     * @param listener el listener
+     * @return acción que cancela la suscripción
+     */
+    public Runnable subscribe(Consumer<? super DeliveryUpdate> listener) {
+        Objects.requireNonNull(listener, "El listener no puede ser nulo");
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Retorna el estado final de un envío registrado.
+     *
+     * @param messageId id devuelto por el proveedor
+     * @return future que completa con la primera confirmación final, o con
+     *         {@link DeliveryStatus#EXPIRED} al expirar el envío; falla con
+     *         {@link NoSuchElementException} si el envío no está registrado
+     */
+    public CompletableFuture<DeliveryUpdate> whenFinal(String messageId) {
+        Objects.requireNonNull(messageId, "El ID del mensaje no puede ser nulo");
+        Entry entry = index.get(MessageKey.of(messageId));
+        if (entry == null) {
+            return CompletableFuture.failedFuture(
+                    new NoSuchElementException("Envío no registrado o expirado: " + messageId));
+        }
+        synchronized (entry) {
+            if (entry.outcome != null) {
+                return CompletableFuture.completedFuture(entry.outcome);
+            }
+            if (entry.waiter == null) {
+                entry.waiter = new CompletableFuture<>();
+                entry.messageId = messageId;
+                waiting.incrementAndGet();
+                scheduleSweep();
+            }
+            return entry.waiter.copy();
+        }
+    }
+
+    /**
+     * Expira ya los envíos que superaron su {@code ttl} y completa sus
+     * futures de {@link #whenFinal} con {@link DeliveryStatus#EXPIRED}. El
+     * tracker lo hace solo cada {@code ttl / 3} mientras haya futures
+     * pendientes.
+     */
+    public void expireStale() {
+        index.expire();
+    }
+
+    /**
+     * @return envíos registrados desde la creación
+     */
+    public long tracked() {
+        return tracked.sum();
+    }
+
+    /**
+     * @return confirmaciones correlacionadas con un envío
+     */
+    public long matched() {
+        return matched.sum();
+    }
+
+    /**
+     * @return confirmaciones de envíos desconocidos o ya expirados
+     */
+    public long unmatched() {
+        return unmatched.sum();
+    }
+
+    /**
+     * @return envíos que el índice recuerda en este momento
+     */
+    public long size() {
+        return index.size();
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers privados
+    // ------------------------------------------------------------------ //
+
+    private void scheduleSweep() {
+        if (sweepScheduled.compareAndSet(false, true)) {
+            CompletableFuture.delayedExecutor(index.span().toMillis(), TimeUnit.MILLISECONDS).execute(this::sweep);
+        }
+    }
+
+    /** Barrido periódico: se reprograma mientras queden futures de {@link #whenFinal} sin completar. */
+    private void sweep() {
+        sweepScheduled.set(false);
+        try {
+            index.expire();
+        } finally {
+            if (waiting.get() > 0) {
+                scheduleSweep();
+            }
+        }
+    }
+
+    private void expire(Entry entry) {
+        DeliveryUpdate update;
+        CompletableFuture<DeliveryUpdate> waiter;
+        synchronized (entry) {
+            if (entry.outcome != null || entry.waiter == null) {
+                return;
+            }
+            update = entry.update(new DeliveryReceipt(entry.messageId, DeliveryStatus.EXPIRED, null, clock.instant()));
+            entry.outcome = update;
+            waiter = entry.waiter;
+        }
+        waiting.decrementAndGet();
+        waiter.complete(update);
+    }
+
+    private void notifyListeners(DeliveryUpdate update) {
+        for (Consumer<? super DeliveryUpdate> listener : listeners) {
+            try {
+                listener.accept(update);
+            } catch (RuntimeException ex) {
+                log.warn("Listener de confirmaciones falló [id={}]", update.receipt().messageId(), ex);
+            }
+        }
+    }
+
+    /** Metadatos de un envío registrado; el estado mutable se guarda con su monitor. */
+    private static final class Entry {
+
+        final ChannelType channel;
+        final String recipient;
+        final long sentAtMillis;
+        DeliveryUpdate outcome;
+        CompletableFuture<DeliveryUpdate> waiter;
+        String messageId;
+
+        Entry(ChannelType channel, String recipient, long sentAtMillis) {
+            this.channel = channel;
+            this.recipient = recipient;
+            this.sentAtMillis = sentAtMillis;
+        }
+
+        DeliveryUpdate update(DeliveryReceipt receipt) {
+            return new DeliveryUpdate(receipt, channel, recipient, Instant.ofEpochMilli(sentAtMillis));
+        }
+    }
+}
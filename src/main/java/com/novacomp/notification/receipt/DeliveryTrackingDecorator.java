@@ -0,0 +1,59 @@
+package com.novacomp.notification.receipt;
+
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.routing.ProviderStats;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decorator que registra en un {@link DeliveryTracker} cada envío que el
+ * proveedor acepta, para correlacionar después sus confirmaciones de
+ * entrega. Los fallos no se registran: el proveedor no confirma lo que no
+ * aceptó.
+ *
+ * @param <T> el tipo de solicitud de notificación que maneja el canal envuelto
+ */
+public final class DeliveryTrackingDecorator<T> implements NotificationChannel<T> {
+
+    private final NotificationChannel<T> delegate;
+    private final DeliveryTracker tracker;
+
+    /**
+     * @param delegate el canal a decorar
+     * @param tracker  tracker de confirmaciones (puede compartirse entre
+     *                 canales)
+     */
+    public DeliveryTrackingDecorator(NotificationChannel<T> delegate, DeliveryTracker tracker) {
+        this.delegate = Objects.requireNonNull(delegate, "El canal delegado no puede ser nulo");
+        this.tracker = Objects.requireNonNull(tracker, "El tracker no puede ser nulo");
+    }
+
+    @Override
+    public NotificationResult send(T request) {
+        NotificationResult result = delegate.send(request);
+        if (result instanceof NotificationResult.Success success
+                && request instanceof NotificationRequest notification) {
+            tracker.track(success.messageId(), getType(), notification.recipient(), success.timestamp());
+        }
+        return result;
+    }
+
+    @Override
+    public ChannelType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public List<ProviderStats> providerStats() {
+        return delegate.providerStats();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+}
@@ -0,0 +1,31 @@
+package com.novacomp.notification.receipt;
+
+import com.novacomp.notification.model.ChannelType;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Confirmación de entrega ya correlacionada con el envío original.
+ *
+ * @param receipt   la confirmación del proveedor
+ * @param channel   canal del envío
+ * @param recipient destinatario, en su forma normalizada
+ * @param sentAt    instante en que el proveedor aceptó el envío
+ */
+public record DeliveryUpdate(DeliveryReceipt receipt, ChannelType channel, String recipient, Instant sentAt) {
+
+    public DeliveryUpdate {
+        Objects.requireNonNull(receipt, "La confirmación no puede ser nula");
+        Objects.requireNonNull(channel, "El canal no puede ser nulo");
+        Objects.requireNonNull(recipient, "El destinatario no puede ser nulo");
+        Objects.requireNonNull(sentAt, "El instante de envío no puede ser nulo");
+    }
+
+    /**
+     * @return el estado reportado
+     */
+    public DeliveryStatus status() {
+        return receipt.status();
+    }
+}
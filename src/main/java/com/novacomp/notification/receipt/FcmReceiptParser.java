@@ -0,0 +1,100 @@
+package com.novacomp.notification.receipt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+/**
+ * Eventos de entrega de FCM.
+ * <p>
+ * FCM no llama webhooks: publica sus eventos de entrega en la exportación
+ * de BigQuery. Este parser acepta esas filas reenviadas tal cual (por un
+ * job programado o un relay): un objeto JSON o un arreglo de objetos con
+ * {@code message_id}, {@code event} y, opcionalmente,
+ * {@code event_timestamp} (ISO-8601).
+ *
+ * <table>
+ * <caption>Eventos de entrega</caption>
+ * <tr><th>{@code event}</th><th>Estado</th></tr>
+ * <tr><td>{@code MESSAGE_ACCEPTED}</td><td>{@code SENT}</td></tr>
+ * <tr><td>{@code MESSAGE_DELIVERED}</td><td>{@code DELIVERED}</td></tr>
+ * <tr><td>{@code MISSING_REGISTRATIONS}, {@code UNAUTHORIZED_REGISTRATION},
+ * {@code INVALID_REGISTRATION}</td><td>{@code BOUNCED}</td></tr>
+ * <tr><td>cualquier otro</td><td>{@code FAILED}</td></tr>
+ * </table>
+ * El código del proveedor es el {@code event}.
+ */
+public final class FcmReceiptParser implements ReceiptParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Override
+    public String provider() {
+        return "fcm";
+    }
+
+    @Override
+    public void parse(byte[] body, int length, Instant receivedAt, Consumer<DeliveryReceipt> sink)
+            throws IOException {
+        try (JsonParser json = JSON.createParser(body, 0, length)) {
+            JsonToken first = json.nextToken();
+            if (first == JsonToken.START_OBJECT) {
+                event(json, receivedAt, sink);
+                return;
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new IOException("Se esperaba un evento o un arreglo de eventos de FCM");
+            }
+            while (json.nextToken() == JsonToken.START_OBJECT) {
+                event(json, receivedAt, sink);
+            }
+            if (json.currentToken() != JsonToken.END_ARRAY) {
+                throw new IOException("Evento de FCM inválido: " + json.currentToken());
+            }
+        }
+    }
+
+    private static void event(JsonParser json, Instant receivedAt, Consumer<DeliveryReceipt> sink)
+            throws IOException {
+        String messageId = null;
+        String event = null;
+        String timestamp = null;
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            String field = json.currentName();
+            json.nextToken();
+            switch (field) {
+                case "message_id" -> messageId = json.getValueAsString();
+                case "event" -> event = json.getValueAsString();
+                case "event_timestamp" -> timestamp = json.getValueAsString();
+                default -> json.skipChildren();
+            }
+        }
+        if (messageId == null || messageId.isEmpty() || event == null) {
+            return;
+        }
+        DeliveryStatus status = switch (event) {
+            case "MESSAGE_ACCEPTED" -> DeliveryStatus.SENT;
+            case "MESSAGE_DELIVERED" -> DeliveryStatus.DELIVERED;
+            case "MISSING_REGISTRATIONS", "UNAUTHORIZED_REGISTRATION", "INVALID_REGISTRATION" ->
+                DeliveryStatus.BOUNCED;
+            default -> DeliveryStatus.FAILED;
+        };
+        sink.accept(new DeliveryReceipt(messageId, status, event, instant(timestamp, receivedAt)));
+    }
+
+    private static Instant instant(String timestamp, Instant fallback) {
+        if (timestamp == null) {
+            return fallback;
+        }
+        try {
+            return Instant.parse(timestamp);
+        } catch (DateTimeParseException ex) {
+            return fallback;
+        }
+    }
+}
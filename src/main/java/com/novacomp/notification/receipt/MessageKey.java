@@ -0,0 +1,74 @@
+package com.novacomp.notification.receipt;
+
+/**
+ * Clave compacta de 128 bits de un id de mensaje: dos hashes de 64 bits
+ * independientes en lugar del {@code String} (que ocupa ~80 bytes para un
+ * id de SendGrid). Con 128 bits bien distribuidos, la probabilidad de una
+ * colisión entre mil millones de ids es del orden de 10<sup>-21</sup>.
+ * <p>
+ * Antes de calcularla se normaliza el id para que el que devuelve el envío
+ * y el que llega en la confirmación coincidan:
+ * <ul>
+ * <li>se descarta todo hasta la última {@code '/'} (FCM devuelve
+ * {@code projects/<p>/messages/<id>} y su exportación de eventos, solo
+ * {@code <id>});</li>
+ * <li>se descarta desde {@code ".filter"} (el {@code sg_message_id} de los
+ * eventos de SendGrid agrega ese sufijo al {@code X-Message-Id}).</li>
+ * </ul>
+ */
+record MessageKey(long hi, long lo) {
+
+    private static final String SENDGRID_SUFFIX = ".filter";
+
+    /**
+     * @param messageId id del envío o de la confirmación
+     * @return su clave
+     * @throws IllegalArgumentException si el id queda vacío al normalizarlo
+     */
+    static MessageKey of(CharSequence messageId) {
+        int start = 0;
+        int end = messageId.length();
+        for (int i = end - 1; i >= 0; i--) {
+            if (messageId.charAt(i) == '/') {
+                start = i + 1;
+                break;
+            }
+        }
+        int suffix = indexOf(messageId, start, end);
+        if (suffix >= 0) {
+            end = suffix;
+        }
+        if (start == end) {
+            throw new IllegalArgumentException("ID de mensaje vacío: '" + messageId + "'");
+        }
+        long h1 = 0x9E3779B97F4A7C15L;
+        long h2 = 0xC2B2AE3D27D4EB4FL;
+        for (int i = start; i < end; i++) {
+            char c = messageId.charAt(i);
+            h1 = (h1 ^ c) * 0x100000001B3L;
+            h2 = Long.rotateLeft(h2 + c * 0xD6E8FEB86659FD93L, 29) * 0xBF58476D1CE4E5B9L;
+        }
+        return new MessageKey(mix(h1 ^ (end - start)), mix(h2));
+    }
+
+    private static int indexOf(CharSequence text, int from, int to) {
+        int last = to - SENDGRID_SUFFIX.length();
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < SENDGRID_SUFFIX.length(); j++) {
+                if (text.charAt(i + j) != SENDGRID_SUFFIX.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /** Finalizador de SplitMix64. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
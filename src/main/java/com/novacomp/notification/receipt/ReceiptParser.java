@@ -0,0 +1,44 @@
+package com.novacomp.notification.receipt;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Traduce el cuerpo de un webhook de un proveedor a
+ * {@link DeliveryReceipt}s.
+ * <p>
+ * Los eventos que no informan sobre la entrega (aperturas, clics, bajas...)
+ * se ignoran. Las implementaciones no guardan estado y pueden usarse desde
+ * varios hilos.
+ */
+public interface ReceiptParser {
+
+    /**
+     * Nombre del proveedor; es el último segmento de la ruta del webhook
+     * ({@code POST /receipts/<provider>}).
+     *
+     * @return el nombre, en minúsculas
+     */
+    String provider();
+
+    /**
+     * Lee un cuerpo de webhook.
+     *
+     * @param body       bytes del cuerpo
+     * @param length     bytes válidos de {@code body}
+     * @param receivedAt instante de recepción, para los eventos sin
+     *                   timestamp propio
+     * @param sink       destino de cada confirmación leída
+     * @throws IOException si el cuerpo no tiene el formato del proveedor
+     */
+    void parse(byte[] body, int length, Instant receivedAt, Consumer<DeliveryReceipt> sink) throws IOException;
+
+    /**
+     * @return los parsers de SendGrid, Twilio y FCM
+     */
+    static List<ReceiptParser> defaults() {
+        return List.of(new SendGridReceiptParser(), new TwilioReceiptParser(), new FcmReceiptParser());
+    }
+}
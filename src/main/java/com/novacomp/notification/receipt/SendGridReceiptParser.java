@@ -0,0 +1,82 @@
+package com.novacomp.notification.receipt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Event Webhook de SendGrid: un arreglo JSON de eventos con
+ * {@code sg_message_id}, {@code event} y {@code timestamp} (segundos Unix).
+ *
+ * <table>
+ * <caption>Eventos de entrega</caption>
+ * <tr><th>{@code event}</th><th>Estado</th></tr>
+ * <tr><td>{@code processed}, {@code deferred}</td><td>{@code SENT}</td></tr>
+ * <tr><td>{@code delivered}</td><td>{@code DELIVERED}</td></tr>
+ * <tr><td>{@code bounce}</td><td>{@code BOUNCED}</td></tr>
+ * <tr><td>{@code dropped}</td><td>{@code FAILED}</td></tr>
+ * </table>
+ * El código del proveedor es el {@code status} SMTP del evento (ej:
+ * {@code "5.1.1"}) o, si no lo trae, el propio {@code event}.
+ */
+public final class SendGridReceiptParser implements ReceiptParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Override
+    public String provider() {
+        return "sendgrid";
+    }
+
+    @Override
+    public void parse(byte[] body, int length, Instant receivedAt, Consumer<DeliveryReceipt> sink)
+            throws IOException {
+        try (JsonParser json = JSON.createParser(body, 0, length)) {
+            if (json.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Se esperaba un arreglo de eventos de SendGrid");
+            }
+            while (json.nextToken() == JsonToken.START_OBJECT) {
+                String messageId = null;
+                String event = null;
+                String code = null;
+                long timestamp = -1;
+                while (json.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = json.currentName();
+                    json.nextToken();
+                    switch (field) {
+                        case "sg_message_id" -> messageId = json.getValueAsString();
+                        case "event" -> event = json.getValueAsString();
+                        case "status" -> code = json.getValueAsString();
+                        case "timestamp" -> timestamp = json.getValueAsLong(-1);
+                        default -> json.skipChildren();
+                    }
+                }
+                DeliveryStatus status = status(event);
+                if (status != null && messageId != null && !messageId.isEmpty()) {
+                    sink.accept(new DeliveryReceipt(messageId, status, code != null ? code : event,
+                            timestamp >= 0 ? Instant.ofEpochSecond(timestamp) : receivedAt));
+                }
+            }
+            if (json.currentToken() != JsonToken.END_ARRAY) {
+                throw new IOException("Evento de SendGrid inválido: " + json.currentToken());
+            }
+        }
+    }
+
+    private static DeliveryStatus status(String event) {
+        if (event == null) {
+            return null;
+        }
+        return switch (event) {
+            case "processed", "deferred" -> DeliveryStatus.SENT;
+            case "delivered" -> DeliveryStatus.DELIVERED;
+            case "bounce" -> DeliveryStatus.BOUNCED;
+            case "dropped" -> DeliveryStatus.FAILED;
+            default -> null;
+        };
+    }
+}
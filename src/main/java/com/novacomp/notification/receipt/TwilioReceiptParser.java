@@ -0,0 +1,91 @@
+package com.novacomp.notification.receipt;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Status Callback de Twilio Messaging: un formulario
+ * {@code application/x-www-form-urlencoded} por evento, con
+ * {@code MessageSid}, {@code MessageStatus} y, si falló, {@code ErrorCode}.
+ *
+ * <table>
+ * <caption>Estados de entrega</caption>
+ * <tr><th>{@code MessageStatus}</th><th>Estado</th></tr>
+ * <tr><td>{@code accepted}, {@code queued}, {@code sending}, {@code sent}</td><td>{@code SENT}</td></tr>
+ * <tr><td>{@code delivered}</td><td>{@code DELIVERED}</td></tr>
+ * <tr><td>{@code undelivered}</td><td>{@code BOUNCED}</td></tr>
+ * <tr><td>{@code failed}</td><td>{@code FAILED}</td></tr>
+ * </table>
+ * El callback no trae timestamp: se usa el de recepción. El código del
+ * proveedor es el {@code ErrorCode} (ej: {@code "30003"}) o, si no lo trae,
+ * el {@code MessageStatus}.
+ */
+public final class TwilioReceiptParser implements ReceiptParser {
+
+    @Override
+    public String provider() {
+        return "twilio";
+    }
+
+    @Override
+    public void parse(byte[] body, int length, Instant receivedAt, Consumer<DeliveryReceipt> sink)
+            throws IOException {
+        String messageSid = null;
+        String messageStatus = null;
+        String errorCode = null;
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            int equals = -1;
+            while (end < length && body[end] != '&') {
+                if (equals < 0 && body[end] == '=') {
+                    equals = end;
+                }
+                end++;
+            }
+            // Los nombres se comparan sobre los bytes: el callback trae ~15 campos y se leen 3.
+            if (is(body, start, equals, "MessageSid")) {
+                messageSid = value(body, equals + 1, end);
+            } else if (is(body, start, equals, "MessageStatus")) {
+                messageStatus = value(body, equals + 1, end);
+            } else if (is(body, start, equals, "ErrorCode")) {
+                errorCode = value(body, equals + 1, end);
+            }
+            start = end + 1;
+        }
+        if (messageSid == null || messageSid.isEmpty() || messageStatus == null) {
+            throw new IOException("Se esperaba un callback de Twilio con MessageSid y MessageStatus");
+        }
+        DeliveryStatus status = switch (messageStatus) {
+            case "accepted", "queued", "sending", "sent" -> DeliveryStatus.SENT;
+            case "delivered" -> DeliveryStatus.DELIVERED;
+            case "undelivered" -> DeliveryStatus.BOUNCED;
+            case "failed" -> DeliveryStatus.FAILED;
+            default -> null;
+        };
+        if (status != null) {
+            sink.accept(new DeliveryReceipt(messageSid, status,
+                    errorCode != null && !errorCode.isEmpty() ? errorCode : messageStatus, receivedAt));
+        }
+    }
+
+    private static boolean is(byte[] body, int from, int to, String name) {
+        if (to - from != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (body[from + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String value(byte[] body, int from, int to) {
+        String raw = new String(body, from, to - from, StandardCharsets.US_ASCII);
+        return raw.indexOf('%') < 0 && raw.indexOf('+') < 0 ? raw : URLDecoder.decode(raw, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,226 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.config.LimiterSettings;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia adaptativo: cuántos envíos pueden estar en vuelo
+ * a la vez contra un proveedor, ajustado continuamente por un
+ * {@link LimitAlgorithm} a partir de la latencia y los descartes
+ * observados.
+ * <p>
+ * Cada envío toma un {@link Permit} y lo libera al terminar informando el
+ * resultado. Con el límite alcanzado, hasta
+ * {@link LimiterSettings#maxWaiting()} envíos esperan un permiso (como
+ * máximo {@link LimiterSettings#maxWait()}); el resto se rechaza de
+ * inmediato. Rechazar en vez de encolar sin límite es lo que mantiene la
+ * latencia acotada cuando el proveedor se degrada.
+ */
+@Slf4j
+public final class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final LimitAlgorithm algorithm;
+    private final int maxWaiting;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private int limit;
+    private int inFlight;
+    private int waiting;
+
+    /**
+     * Crea un limitador.
+     *
+     * @param name     nombre para los logs (ej: el canal)
+     * @param settings configuración del limitador (algoritmo distinto de
+     *                 {@code NONE})
+     */
+    public AdaptiveConcurrencyLimiter(String name, LimiterSettings settings) {
+        this(name, LimitAlgorithm.of(settings), settings.initialLimit(), settings.maxWaiting());
+    }
+
+    AdaptiveConcurrencyLimiter(String name, LimitAlgorithm algorithm, int initialLimit, int maxWaiting) {
+        this.name = Objects.requireNonNull(name, "El nombre del limitador no puede ser nulo");
+        this.algorithm = Objects.requireNonNull(algorithm, "El algoritmo no puede ser nulo");
+        this.limit = initialLimit;
+        this.maxWaiting = maxWaiting;
+    }
+
+    /**
+     * Intenta obtener un permiso sin esperar.
+     *
+     * @return el permiso, o vacío si el límite está alcanzado
+     */
+    public Optional<Permit> tryAcquire() {
+        lock.lock();
+        try {
+            return inFlight < limit ? Optional.of(grant()) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene un permiso, esperando hasta {@code maxWait} si el límite está
+     * alcanzado y quedan lugares de espera.
+     *
+     * @param maxWait espera máxima
+     * @return el permiso, o vacío si se rechaza o vence la espera
+     */
+    public Optional<Permit> acquire(Duration maxWait) {
+        lock.lock();
+        try {
+            if (inFlight < limit) {
+                return Optional.of(grant());
+            }
+            if (waiting >= maxWaiting || maxWait.isZero()) {
+                return Optional.empty();
+            }
+            waiting++;
+            try {
+                long remaining = maxWait.toNanos();
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        return Optional.empty();
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return Optional.of(grant());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica si un nuevo envío sería admitido (con permiso inmediato o en
+     * espera). Es una lectura sin reserva: sirve para descartar carga antes
+     * de crear trabajo, no garantiza que el {@code acquire} posterior tenga
+     * éxito.
+     *
+     * @return {@code true} si hay capacidad o lugar de espera
+     */
+    public boolean admits() {
+        lock.lock();
+        try {
+            return inFlight < limit || waiting < maxWaiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return el límite actual
+     */
+    public int limit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return envíos en vuelo
+     */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return el nombre del limitador
+     */
+    public String name() {
+        return name;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos (bajo lock)
+    // ------------------------------------------------------------------ //
+
+    private Permit grant() {
+        inFlight++;
+        return new Permit(inFlight, System.nanoTime());
+    }
+
+    private void release(Permit permit, Sample sample) {
+        long rtt = System.nanoTime() - permit.startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            if (sample != Sample.IGNORED) {
+                int previous = limit;
+                limit = algorithm.update(limit, rtt, permit.inFlightAtStart, sample == Sample.DROPPED);
+                if (limit != previous) {
+                    log.debug("[LIMIT] [{}] Límite {} -> {} [rtt={} us, enVuelo={}, descarte={}]",
+                            name, previous, limit, TimeUnit.NANOSECONDS.toMicros(rtt), permit.inFlightAtStart,
+                            sample == Sample.DROPPED);
+                }
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private enum Sample {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * Permiso de un envío en vuelo. Debe liberarse exactamente una vez con
+     * uno de sus métodos.
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /** El proveedor respondió: la latencia es una muestra válida. */
+        public void onSuccess() {
+            release(Sample.SUCCESS);
+        }
+
+        /** El proveedor señaló congestión (429, caída, timeout). */
+        public void onDropped() {
+            release(Sample.DROPPED);
+        }
+
+        /** El resultado no dice nada de la capacidad (ej: destinatario inválido). */
+        public void onIgnore() {
+            release(Sample.IGNORED);
+        }
+
+        private void release(Sample sample) {
+            if (released) {
+                throw new IllegalStateException("El permiso ya fue liberado");
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(this, sample);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.capping.FrequencyCapper;
+import com.novacomp.notification.channel.EmailChannel;
+import com.novacomp.notification.core.AsyncNotificationService;
+import com.novacomp.notification.core.BatchResult;
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.suppression.SuppressionList;
+import com.novacomp.notification.validation.RecipientValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reintentos con backoff exponencial para envíos por lotes que reenvían
+ * solo las solicitudes que fallaron.
+ * <p>
+ * Cada llamador envía su lote con {@link #submit(List)} y recibe un future
+ * con su propio {@link BatchResult}, en el orden de su lista. El primer
+ * intento envía el lote del llamador (en trozos de {@code maxBatchSize}).
+ * De cada resultado, las posiciones exitosas quedan resueltas y las
+ * fallidas entran a una cola de reintentos con su propio contador de
+ * intentos y su instante de reintento
+ * ({@code baseDelayMs × 2^(intento-1)}, con tope en
+ * {@link #MAX_DELAY_MS}).
+ * <p>
+ * Un único hilo despachador toma de la cola todas las solicitudes cuyo
+ * backoff venció, sin importar de qué llamador sean, y las envía juntas en
+ * lotes de hasta {@code maxBatchSize}. Si el lote no se llena, espera hasta
+ * un cuarto de {@code baseDelayMs} a que venzan más reintentos (como el
+ * {@code linger.ms} de un productor de Kafka): los fallos de llamadores
+ * concurrentes vencen con milisegundos de diferencia y así viajan juntos.
+ * El tráfico de reintentos es proporcional a los fallos y no al tamaño de
+ * los lotes, y los reintentos de muchos llamadores pequeños viajan en pocos
+ * lotes llenos.
+ * <p>
+ * Una solicitud que agota sus {@code maxRetries} reintentos se resuelve con
+ * su último {@code Failure} y se entrega al {@link DeadLetterSink}. Un
+ * fallo permanente ({@link #PERMANENT_CODES}: destinatario inválido o
+ * suprimido, límite de frecuencia, servicio cerrando, adjunto ilegible) se
+ * resuelve de inmediato, sin reintentos ni dead letter: reintentarlo daría
+ * el mismo resultado y reenviarlo desde el DLQ, también. Si el
+ * llamador cancela su future, sus solicitudes pendientes se descartan en el
+ * siguiente despacho. Al cerrar, las que esperaban reintento se resuelven
+ * con {@code Failure} {@value Deadline#CANCELLED}.
+ *
+ * <pre>{@code
+ * try (var retrier = new BatchRetrier<Object>(service::sendBatch, 500, 3, 1000L)) {
+ *     BatchResult result = retrier.submit(solicitudes).join();
+ * }
+ * }</pre>
+ *
+ * @param <T> el tipo de solicitud
+ */
+@Slf4j
+public final class BatchRetrier<T> implements AutoCloseable {
+
+    /** Código del {@code Failure} de las solicitudes de un lote cuyo envío lanzó una excepción. */
+    public static final String BATCH_SEND_ERROR = "BATCH_SEND_ERROR";
+
+    /** Códigos de {@code Failure} que no se reintentan ni se envían al {@link DeadLetterSink}. */
+    public static final Set<String> PERMANENT_CODES = Set.of(
+            RecipientValidator.INVALID_RECIPIENT,
+            SuppressionList.RECIPIENT_SUPPRESSED,
+            FrequencyCapper.FREQUENCY_CAPPED,
+            AsyncNotificationService.SHUTTING_DOWN,
+            EmailChannel.ATTACHMENT_UNREADABLE);
+
+    /** Tope del backoff: con muchos reintentos, {@code baseDelayMs × 2^n} desbordaría a negativo. */
+    public static final long MAX_DELAY_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final BatchSender<T> sender;
+    private final int maxBatchSize;
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long lingerNanos;
+    private final DeadLetterSink deadLetters;
+    private final DelayQueue<Item<T>> retries = new DelayQueue<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+    private final AtomicLong batchesSent = new AtomicLong();
+    private final AtomicLong itemsSent = new AtomicLong();
+    private volatile boolean closed;
+
+    /** Lote de un llamador: su resultado se arma a medida que se resuelven sus posiciones. */
+    private static final class Call {
+        final BatchResult.Builder result;
+        final AtomicInteger unresolved;
+        final CompletableFuture<BatchResult> future = new CompletableFuture<>();
+
+        Call(int size) {
+            this.result = BatchResult.builder(size);
+            this.unresolved = new AtomicInteger(size);
+        }
+
+        void resolve(int index, NotificationResult outcome) {
+            result.set(index, outcome);
+            if (unresolved.decrementAndGet() == 0) {
+                future.complete(result.build());
+            }
+        }
+    }
+
+    /**
+     * Una solicitud pendiente: su posición en el lote del llamador y los
+     * intentos ya hechos.
+     */
+    private record Item<T>(Call call, int index, T request, int attempts, long dueNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueNanos, ((Item<?>) other).dueNanos);
+        }
+    }
+
+    /**
+     * @param sender       envío de un lote al proveedor
+     * @param maxBatchSize solicitudes por lote como máximo (debe ser ≥ 1)
+     * @param maxRetries   reintentos por solicitud después del primer
+     *                     intento (debe ser ≥ 0)
+     * @param baseDelayMs  delay base del backoff exponencial (debe ser ≥ 1)
+     */
+    public BatchRetrier(BatchSender<T> sender, int maxBatchSize, int maxRetries, long baseDelayMs) {
+        this(sender, maxBatchSize, maxRetries, baseDelayMs, DeadLetterSink.NONE);
+    }
+
+    /**
+     * @param sender       envío de un lote al proveedor
+     * @param maxBatchSize solicitudes por lote como máximo (debe ser ≥ 1)
+     * @param maxRetries   reintentos por solicitud después del primer
+     *                     intento (debe ser ≥ 0)
+     * @param baseDelayMs  delay base del backoff exponencial (debe ser ≥ 1)
+     * @param deadLetters  destino de las solicitudes que agotan sus
+     *                     reintentos
+     */
+    public BatchRetrier(BatchSender<T> sender, int maxBatchSize, int maxRetries, long baseDelayMs,
+            DeadLetterSink deadLetters) {
+        this.sender = Objects.requireNonNull(sender, "El BatchSender no puede ser nulo");
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize debe ser >= 1");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries debe ser >= 0");
+        }
+        if (baseDelayMs < 1) {
+            throw new IllegalArgumentException("baseDelayMs debe ser >= 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(baseDelayMs) / 4;
+        this.deadLetters = Objects.requireNonNull(deadLetters, "El DeadLetterSink no puede ser nulo");
+        this.dispatcher = Thread.ofVirtual().name("batch-retry").start(this::dispatchRetries);
+    }
+
+    /**
+     * Envía un lote, reintentando solo las solicitudes que fallen.
+     *
+     * @param requests las solicitudes (ninguna puede ser {@code null})
+     * @return un future con un resultado por solicitud, en el orden de
+     *         {@code requests}
+     * @throws IllegalStateException si el retrier está cerrado
+     */
+    public CompletableFuture<BatchResult> submit(List<? extends T> requests) {
+        Objects.requireNonNull(requests, "La lista de solicitudes no puede ser nula");
+        if (closed) {
+            throw new IllegalStateException("El BatchRetrier está cerrado");
+        }
+        Call call = new Call(requests.size());
+        if (requests.isEmpty()) {
+            call.future.complete(call.result.build());
+            return call.future;
+        }
+        List<Item<T>> first = new ArrayList<>(Math.min(requests.size(), maxBatchSize));
+        for (int i = 0; i < requests.size(); i++) {
+            T request = Objects.requireNonNull(requests.get(i), "Las solicitudes no pueden ser nulas");
+            first.add(new Item<>(call, i, request, 0, 0));
+            if (first.size() == maxBatchSize) {
+                dispatch(first);
+                first = new ArrayList<>(Math.min(requests.size() - i - 1, maxBatchSize));
+            }
+        }
+        if (!first.isEmpty()) {
+            dispatch(first);
+        }
+        return call.future;
+    }
+
+    /**
+     * @return lotes enviados al proveedor (primeros intentos y reintentos)
+     */
+    public long batchesSent() {
+        return batchesSent.get();
+    }
+
+    /**
+     * @return solicitudes enviadas al proveedor, contando cada intento
+     */
+    public long itemsSent() {
+        return itemsSent.get();
+    }
+
+    /**
+     * @return solicitudes esperando su reintento
+     */
+    public int pendingRetries() {
+        return retries.size();
+    }
+
+    /**
+     * Deja de reintentar: las solicitudes en espera se resuelven con
+     * {@code Failure} {@value Deadline#CANCELLED}. Los lotes en vuelo
+     * terminan y sus fallos ya no se reintentan.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        dispatcher.interrupt();
+        executor.shutdown();
+        // drainTo solo extrae los vencidos: se recorre una copia y se quita cada uno.
+        int abandoned = 0;
+        for (Object pending : retries.toArray()) {
+            @SuppressWarnings("unchecked")
+            Item<T> item = (Item<T>) pending;
+            if (retries.remove(item)) {
+                item.call().resolve(item.index(), Deadline.cancelled("BatchRetrier cerrado antes del reintento"));
+                abandoned++;
+            }
+        }
+        if (abandoned > 0) {
+            log.warn("[BATCH] Retrier cerrado con {} reintentos pendientes", abandoned);
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Despacho
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Bucle del despachador: espera la primera solicitud cuyo backoff venció
+     * y la envía junto con las demás que venzan dentro del linger.
+     */
+    private void dispatchRetries() {
+        List<Item<T>> batch = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            try {
+                batch.add(retries.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                linger(batch);
+            } catch (InterruptedException ex) {
+                // close(): lo ya tomado se resuelve como cancelado abajo.
+                for (Item<T> item : batch) {
+                    item.call().resolve(item.index(), Deadline.cancelled("BatchRetrier cerrado antes del reintento"));
+                }
+                return;
+            }
+            batch.removeIf(item -> item.call().future.isDone());
+            if (!batch.isEmpty()) {
+                dispatch(List.copyOf(batch));
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Completa el lote con los reintentos ya vencidos y con los que venzan
+     * durante {@code lingerNanos}, hasta {@code maxBatchSize}.
+     */
+    private void linger(List<Item<T>> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        retries.drainTo(batch, maxBatchSize - batch.size());
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Item<T> next = retries.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            retries.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void dispatch(List<Item<T>> batch) {
+        try {
+            executor.execute(() -> send(batch));
+        } catch (RuntimeException ex) {
+            // Executor cerrado: el lote no llega a enviarse.
+            for (Item<T> item : batch) {
+                item.call().resolve(item.index(), Deadline.cancelled("BatchRetrier cerrado"));
+            }
+        }
+    }
+
+    private void send(List<Item<T>> batch) {
+        List<T> requests = new ArrayList<>(batch.size());
+        for (Item<T> item : batch) {
+            requests.add(item.request());
+        }
+        batchesSent.incrementAndGet();
+        itemsSent.addAndGet(batch.size());
+
+        BatchResult result;
+        try {
+            result = sender.send(requests);
+            if (result.size() != batch.size()) {
+                throw new IllegalStateException("El BatchSender retornó " + result.size()
+                        + " resultados para un lote de " + batch.size());
+            }
+        } catch (RuntimeException ex) {
+            log.error("[BATCH] Fallo el envío de un lote de {} solicitudes", batch.size(), ex);
+            var failure = new NotificationResult.Failure(BATCH_SEND_ERROR,
+                    ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+            for (Item<T> item : batch) {
+                onFailure(item, failure);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Item<T> item = batch.get(i);
+            if (result.isSuccess(i)) {
+                item.call().resolve(item.index(), result.get(i));
+            } else {
+                onFailure(item, (NotificationResult.Failure) result.get(i));
+            }
+        }
+        if (result.failureCount() > 0) {
+            log.warn("[BATCH] Lote de {} con {} fallos {}", batch.size(), result.failureCount(),
+                    result.countsByFailureCode());
+        }
+    }
+
+    private void onFailure(Item<T> item, NotificationResult.Failure failure) {
+        if (PERMANENT_CODES.contains(failure.code())) {
+            item.call().resolve(item.index(), failure);
+            return;
+        }
+        int attempts = item.attempts() + 1;
+        if (attempts > maxRetries || closed) {
+            if (attempts > maxRetries) {
+                deadLetter(item.request(), failure);
+            }
+            item.call().resolve(item.index(), failure);
+            return;
+        }
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(backoffMillis(baseDelayMs, attempts));
+        Item<T> retry = new Item<>(item.call(), item.index(), item.request(), attempts, System.nanoTime() + delayNanos);
+        retries.add(retry);
+        if (closed && retries.remove(retry)) {
+            // close() ya vació la cola: nadie más va a resolverla.
+            retry.call().resolve(retry.index(), Deadline.cancelled("BatchRetrier cerrado antes del reintento"));
+        }
+    }
+
+    /**
+     * @return {@code baseDelayMs × 2^(attempts-1)}, saturado en
+     *         {@link #MAX_DELAY_MS} antes de que el desplazamiento desborde
+     */
+    static long backoffMillis(long baseDelayMs, int attempts) {
+        int shift = attempts - 1;
+        if (shift >= Long.numberOfLeadingZeros(baseDelayMs) - 1) {
+            return MAX_DELAY_MS;
+        }
+        return Math.min(baseDelayMs << shift, MAX_DELAY_MS);
+    }
+
+    private void deadLetter(T request, NotificationResult.Failure failure) {
+        try {
+            deadLetters.accept(request, failure);
+        } catch (RuntimeException ex) {
+            log.error("[DLQ] [BATCH] No se pudo registrar el dead letter [codigo={}]", failure.code(), ex);
+        }
+    }
+}
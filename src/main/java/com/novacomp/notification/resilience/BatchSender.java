@@ -0,0 +1,26 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.core.BatchResult;
+
+import java.util.List;
+
+/**
+ * Envío de un lote en una sola llamada al proveedor (ej: multicast de FCM,
+ * personalizaciones de SendGrid). El resultado tiene una posición por
+ * solicitud, en el mismo orden que el lote.
+ * <p>
+ * {@code NotificationService::sendBatch} cumple este contrato.
+ *
+ * @param <T> el tipo de solicitud
+ */
+@FunctionalInterface
+public interface BatchSender<T> {
+
+    /**
+     * Envía el lote.
+     *
+     * @param batch las solicitudes
+     * @return un resultado por solicitud, en orden
+     */
+    BatchResult send(List<T> batch);
+}
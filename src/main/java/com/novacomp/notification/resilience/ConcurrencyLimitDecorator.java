@@ -0,0 +1,124 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.routing.ProviderStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decorator que limita la concurrencia de un {@link NotificationChannel}
+ * con un {@link AdaptiveConcurrencyLimiter}.
+ * <p>
+ * Cada envío toma un permiso antes de llamar al canal y lo libera con el
+ * resultado: los éxitos alimentan el algoritmo con su latencia, los fallos
+ * de congestión ({@link #CONGESTION_CODES}) recortan el límite y el resto
+ * de fallos se ignora. Sin permiso, el envío no llega al proveedor y se
+ * retorna un {@code Failure} con código {@value #CONCURRENCY_LIMITED}.
+ *
+ * <pre>{@code
+ * var limiter = new AdaptiveConcurrencyLimiter("SMS", config.getLimiterSettings());
+ * NotificationChannel<SmsRequest> sms = new ConcurrencyLimitDecorator<>(
+ *         new SmsChannel(config), limiter, Duration.ofMillis(500));
+ * }</pre>
+ *
+ * @param <T> el tipo de solicitud de notificación que maneja el canal envuelto
+ */
+@Slf4j
+public final class ConcurrencyLimitDecorator<T> implements NotificationChannel<T> {
+
+    /** Código del {@code Failure} de un envío rechazado por el limitador. */
+    public static final String CONCURRENCY_LIMITED = "CONCURRENCY_LIMITED";
+
+    /**
+     * Códigos de fallo que indican que el proveedor está saturado. Un
+     * {@value Deadline#DEADLINE_EXCEEDED} es el timeout del proveedor
+     * acotado por el plazo del envío y cuenta igual que
+     * {@code PROVIDER_TIMEOUT}.
+     */
+    public static final Set<String> CONGESTION_CODES =
+            Set.of("THROTTLED", "PROVIDER_UNAVAILABLE", "PROVIDER_TIMEOUT", Deadline.DEADLINE_EXCEEDED);
+
+    private final NotificationChannel<T> delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration maxWait;
+
+    /**
+     * @param delegate el canal a decorar
+     * @param limiter  limitador (puede compartirse entre canales que usan el
+     *                 mismo proveedor)
+     * @param maxWait  espera máxima por un permiso
+     */
+    public ConcurrencyLimitDecorator(NotificationChannel<T> delegate,
+            AdaptiveConcurrencyLimiter limiter,
+            Duration maxWait) {
+        this.delegate = Objects.requireNonNull(delegate, "El canal delegado no puede ser nulo");
+        this.limiter = Objects.requireNonNull(limiter, "El limitador no puede ser nulo");
+        this.maxWait = Objects.requireNonNull(maxWait, "La espera máxima no puede ser nula");
+    }
+
+    @Override
+    public NotificationResult send(T request) {
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.acquire(maxWait);
+        if (permit.isEmpty()) {
+            log.warn("[LIMIT] [{}] Envío rechazado: límite de concurrencia alcanzado [limite={}]",
+                    getType(), limiter.limit());
+            return rejection(limiter);
+        }
+
+        NotificationResult result;
+        try {
+            result = delegate.send(request);
+        } catch (RuntimeException ex) {
+            permit.get().onIgnore();
+            throw ex;
+        }
+
+        switch (result) {
+            case NotificationResult.Success s -> permit.get().onSuccess();
+            case NotificationResult.Failure f when CONGESTION_CODES.contains(f.code()) -> permit.get().onDropped();
+            case NotificationResult.Failure f -> permit.get().onIgnore();
+        }
+        return result;
+    }
+
+    @Override
+    public ChannelType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public List<ProviderStats> providerStats() {
+        return delegate.providerStats();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+
+    /**
+     * @return el limitador de este canal
+     */
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * Resultado de un envío rechazado por {@code limiter}.
+     *
+     * @param limiter el limitador que rechazó el envío
+     * @return un {@code Failure} con código {@value #CONCURRENCY_LIMITED}
+     */
+    public static NotificationResult.Failure rejection(AdaptiveConcurrencyLimiter limiter) {
+        return new NotificationResult.Failure(CONCURRENCY_LIMITED,
+                "Límite de concurrencia alcanzado en " + limiter.name() + " [limite=" + limiter.limit() + "]");
+    }
+}
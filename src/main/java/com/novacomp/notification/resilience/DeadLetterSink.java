@@ -0,0 +1,31 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.core.NotificationResult;
+
+/**
+ * Destino de las solicitudes que fallaron de forma definitiva: el
+ * {@link RetryChannelDecorator} le entrega cada solicitud cuyos reintentos
+ * se agotaron, junto con el último {@code Failure}.
+ * <p>
+ * El método se invoca de forma síncrona en el hilo del envío, antes de
+ * retornar el {@code Failure} al llamador: debe ser rápido (ej:
+ * {@code DeadLetterStore} solo agrega al segmento activo y difiere el
+ * fsync). Una excepción del sink se registra y no cambia el resultado del
+ * envío.
+ */
+@FunctionalInterface
+public interface DeadLetterSink {
+
+    /** Implementación que descarta las solicitudes. */
+    DeadLetterSink NONE = (request, failure) -> {
+        // sin dead letters
+    };
+
+    /**
+     * Registra una solicitud que agotó sus reintentos.
+     *
+     * @param request la solicitud de notificación
+     * @param failure el último fallo del canal
+     */
+    void accept(Object request, NotificationResult.Failure failure);
+}
@@ -0,0 +1,150 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.config.LimiterSettings;
+
+/**
+ * Algoritmo que ajusta el límite de concurrencia a partir de cada muestra
+ * (latencia de un envío y si fue descartado por congestión).
+ * <p>
+ * Las implementaciones guardan estado (promedios de latencia) y no son
+ * thread-safe: {@link AdaptiveConcurrencyLimiter} las invoca bajo su lock.
+ */
+public sealed interface LimitAlgorithm permits LimitAlgorithm.Aimd, LimitAlgorithm.Gradient {
+
+    /**
+     * Calcula el nuevo límite tras una muestra.
+     *
+     * @param limit    límite actual
+     * @param rttNanos latencia del envío
+     * @param inFlight envíos en vuelo cuando comenzó el envío medido
+     * @param dropped  {@code true} si el proveedor señaló congestión
+     *                 (throttling, caída, timeout)
+     * @return el nuevo límite, dentro de [min, max]
+     */
+    int update(int limit, long rttNanos, int inFlight, boolean dropped);
+
+    /**
+     * Crea el algoritmo indicado en la configuración.
+     *
+     * @param settings configuración del limitador (algoritmo distinto de
+     *                 {@code NONE})
+     * @return el algoritmo
+     */
+    static LimitAlgorithm of(LimiterSettings settings) {
+        return switch (settings.algorithm()) {
+            case AIMD -> new Aimd(settings.minLimit(), settings.maxLimit());
+            case GRADIENT -> new Gradient(settings.minLimit(), settings.maxLimit());
+            case NONE -> throw new IllegalArgumentException("El limitador está desactivado (limiter.algorithm=none)");
+        };
+    }
+
+    // ------------------------------------------------------------------ //
+    // AIMD
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Additive-increase / multiplicative-decrease: +1 por muestra exitosa
+     * mientras el límite se esté usando, y ×0.9 ante cada descarte. Reacciona
+     * a errores de congestión, no a la latencia.
+     */
+    final class Aimd implements LimitAlgorithm {
+
+        private static final double BACKOFF_RATIO = 0.9;
+
+        private final int minLimit;
+        private final int maxLimit;
+
+        Aimd(int minLimit, int maxLimit) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        @Override
+        public int update(int limit, long rttNanos, int inFlight, boolean dropped) {
+            if (dropped) {
+                return Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+            }
+            if (inFlight * 2 >= limit) {
+                return Math.min(maxLimit, limit + 1);
+            }
+            return limit;
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Gradiente de latencia
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Gradiente de latencia, en la línea de TCP Vegas y del
+     * {@code Gradient2Limit} de Netflix concurrency-limits.
+     * <p>
+     * Compara una media móvil corta de la latencia con una larga (la
+     * latencia "sin cola" del proveedor):
+     *
+     * <pre>
+     *   gradiente = clamp(TOLERANCIA x larga / corta, 0.5, 1.0)
+     *   nuevo     = limite x gradiente + sqrt(limite)
+     * </pre>
+     *
+     * Mientras la latencia reciente se mantiene cerca de la larga el
+     * límite crece en {@code sqrt(limite)} (la cola admitida); cuando la
+     * latencia sube, el gradiente cae por debajo de 1 y el límite se
+     * contrae. Los descartes aplican además un recorte multiplicativo.
+     */
+    final class Gradient implements LimitAlgorithm {
+
+        private static final double TOLERANCE = 1.5;
+        private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+        private static final double LONG_ALPHA = 2.0 / (600 + 1);
+        private static final double SMOOTHING = 0.2;
+        private static final double BACKOFF_RATIO = 0.9;
+
+        private final int minLimit;
+        private final int maxLimit;
+        private double shortRtt;
+        private double longRtt;
+        private double estimatedLimit;
+
+        Gradient(int minLimit, int maxLimit) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        @Override
+        public int update(int limit, long rttNanos, int inFlight, boolean dropped) {
+            if (estimatedLimit == 0) {
+                estimatedLimit = limit;
+            }
+            if (dropped) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+                return (int) estimatedLimit;
+            }
+
+            long rtt = Math.max(1, rttNanos);
+            if (longRtt == 0) {
+                shortRtt = rtt;
+                longRtt = rtt;
+            } else {
+                shortRtt += SHORT_ALPHA * (rtt - shortRtt);
+                longRtt += LONG_ALPHA * (rtt - longRtt);
+                // Tras un cambio de régimen sostenido la media larga queda
+                // muy por encima: se decae para re-aprender la línea base.
+                if (longRtt / shortRtt > 2) {
+                    longRtt *= 0.95;
+                }
+            }
+
+            // Sin demanda suficiente la latencia no dice nada del límite.
+            if (inFlight * 2 < estimatedLimit) {
+                return (int) estimatedLimit;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+            return (int) estimatedLimit;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.novacomp.notification.resilience;
 
+import com.novacomp.notification.core.Deadline;
 import com.novacomp.notification.core.NotificationChannel;
 import com.novacomp.notification.core.NotificationResult;
 import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.routing.ProviderStats;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -24,7 +28,16 @@ import java.util.Objects;
  * </pre>
  * 
  * Si todos los intentos fallan, se retorna el <em>último</em>
- * {@link NotificationResult.Failure} al llamador.
+ * {@link NotificationResult.Failure} al llamador y, si el decorator tiene
+ * un {@link DeadLetterSink}, la solicitud se entrega antes al sink para no
+ * perderla (ej: {@code DeadLetterStore}, que permite reenviarla más tarde).
+ * <p>
+ * Si el envío tiene un {@link Deadline}, no se programa un reintento cuyo
+ * backoff terminaría después del plazo: se retorna de inmediato un
+ * {@code Failure} {@value Deadline#DEADLINE_EXCEEDED} con el último error.
+ * Si el hilo se interrumpe durante el backoff (ej: el llamador canceló el
+ * future), se abandona el envío con un {@code Failure}
+ * {@value Deadline#CANCELLED}.
  *
  * <h3>Ejemplo de uso</h3>
  * 
@@ -43,6 +56,7 @@ public final class RetryChannelDecorator<T> implements NotificationChannel<T> {
     private final NotificationChannel<T> delegate;
     private final int maxRetries;
     private final long baseDelayMs;
+    private final DeadLetterSink deadLetters;
 
     /**
      * Crea un decorator de reintentos envolviendo el canal proporcionado.
@@ -56,6 +70,25 @@ public final class RetryChannelDecorator<T> implements NotificationChannel<T> {
     public RetryChannelDecorator(NotificationChannel<T> delegate,
             int maxRetries,
             long baseDelayMs) {
+        this(delegate, maxRetries, baseDelayMs, DeadLetterSink.NONE);
+    }
+
+    /**
+     * Crea un decorator de reintentos que entrega a {@code deadLetters} las
+     * solicitudes que agotan sus reintentos.
+     *
+     * @param delegate    el canal a decorar (no puede ser {@code null})
+     * @param maxRetries  número máximo de intentos <em>adicionales</em> después
+     *                    del primer fallo (debe ser ≥ 0)
+     * @param baseDelayMs delay base en milisegundos para el backoff
+     *                    exponencial (debe ser ≥ 1)
+     * @param deadLetters destino de los fallos definitivos (no puede ser
+     *                    {@code null})
+     */
+    public RetryChannelDecorator(NotificationChannel<T> delegate,
+            int maxRetries,
+            long baseDelayMs,
+            DeadLetterSink deadLetters) {
         this.delegate = Objects.requireNonNull(delegate, "El canal delegado no puede ser nulo");
         if (maxRetries < 0) {
             throw new IllegalArgumentException("maxRetries debe ser >= 0");
@@ -65,6 +98,7 @@ public final class RetryChannelDecorator<T> implements NotificationChannel<T> {
         }
         this.maxRetries = maxRetries;
         this.baseDelayMs = baseDelayMs;
+        this.deadLetters = Objects.requireNonNull(deadLetters, "El DeadLetterSink no puede ser nulo");
     }
 
     /**
@@ -73,8 +107,9 @@ public final class RetryChannelDecorator<T> implements NotificationChannel<T> {
      *
      * @param request la carga útil de la solicitud de notificación
      * @return un {@link NotificationResult} -- {@code Success} si algun intento
-     *         tiene éxito, o el último {@code Failure} cuando se agotan los
-     *         reintentos
+     *         tiene éxito, el último {@code Failure} cuando se agotan los
+     *         reintentos, o un {@code Failure} {@code DEADLINE_EXCEEDED} /
+     *         {@code CANCELLED} si el plazo o el llamador cortan el backoff
      */
     @Override
     public NotificationResult send(T request) {
@@ -86,16 +121,27 @@ public final class RetryChannelDecorator<T> implements NotificationChannel<T> {
             }
 
             long delay = calculateDelay(attempt - 1);
+            var failure = (NotificationResult.Failure) lastResult;
+            Deadline deadline = Deadline.current().orElse(null);
+            if (deadline != null && !deadline.allows(Duration.ofMillis(delay))) {
+                log.warn("[RETRY] [{}] Intento {}/{} fallo -- sin plazo para reintentar en {} ms [restante={} ms]",
+                        getType(), attempt, maxRetries, delay, deadline.remaining().toMillis());
+                return deadline.exceeded("sin tiempo para el reintento " + attempt
+                        + "; ultimo error [codigo=" + failure.code() + ", razon=" + failure.reason() + "]");
+            }
             log.warn("[RETRY] [{}] Intento {}/{} fallo -- reintentando en {} ms",
                     getType(), attempt, maxRetries, delay);
 
-            sleep(delay);
+            if (!sleep(delay)) {
+                return Deadline.cancelled("interrumpido durante el backoff del reintento " + attempt);
+            }
             lastResult = delegate.send(request);
         }
 
         if (lastResult instanceof NotificationResult.Failure f) {
             log.error("[FAIL] [{}] Todos los {} reintentos agotados -- ultimo error: [codigo={}, razon={}]",
                     getType(), maxRetries, f.code(), f.reason());
+            deadLetter(request, f);
         }
 
         return lastResult;
@@ -106,10 +152,28 @@ public final class RetryChannelDecorator<T> implements NotificationChannel<T> {
         return delegate.getType();
     }
 
+    @Override
+    public List<ProviderStats> providerStats() {
+        return delegate.providerStats();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+
     // ------------------------------------------------------------------ //
     // Helpers internos
     // ------------------------------------------------------------------ //
 
+    private void deadLetter(T request, NotificationResult.Failure failure) {
+        try {
+            deadLetters.accept(request, failure);
+        } catch (RuntimeException ex) {
+            log.error("[DLQ] [{}] No se pudo registrar el dead letter [codigo={}]", getType(), failure.code(), ex);
+        }
+    }
+
     /**
      * Calcula el delay para el intento dado usando backoff exponencial.
      *
@@ -124,13 +188,18 @@ public final class RetryChannelDecorator<T> implements NotificationChannel<T> {
      * Duerme por la duración especificada. Extraído para testabilidad y
      * porque los Virtual Threads hacen que {@code Thread.sleep()} sea
      * extremadamente económico.
+     *
+     * @return {@code false} si el hilo fue interrumpido (el flag queda
+     *         restaurado)
      */
-    private void sleep(long milliseconds) {
+    private boolean sleep(long milliseconds) {
         try {
             Thread.sleep(milliseconds);
+            return true;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            log.warn("Sleep de reintento interrumpido");
+            log.warn("[RETRY] [{}] Backoff interrumpido -- se abandona el envío", getType());
+            return false;
         }
     }
 }
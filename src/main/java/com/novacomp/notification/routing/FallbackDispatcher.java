@@ -0,0 +1,270 @@
+package com.novacomp.notification.routing;
+
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationCategory;
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.NotificationRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Ejecuta una {@link FallbackPolicy} sobre los {@link NotificationChannel}
+ * de la librería: envía una notificación lógica por el primer canal de la
+ * política y, si falla o vence su plazo, por el siguiente, sin que el
+ * llamador orqueste la cascada.
+ * <p>
+ * Cada intento corre en un Virtual Thread propio para poder abandonarlo al
+ * vencer su plazo: el envío se cancela con una interrupción y cuenta como
+ * un {@code Failure} {@value #DEADLINE_EXCEEDED}. El plazo del paso se
+ * vincula además como {@link Deadline} del intento, para que reintentos y
+ * backends no esperen más allá de él; la {@link NotificationCategory} del
+ * llamador también se vincula en cada intento. Si el llamador tiene un
+ * {@link Deadline} vigente, acota la cascada completa: cada intento usa el
+ * plazo que venza primero, y al vencer el del llamador no se prueban más
+ * canales y el resultado es {@value #DEADLINE_EXCEEDED}. En modo
+ * {@link FallbackPolicy.Mode#RACE} los dos primeros intentos corren en
+ * paralelo y el perdedor se cancela en cuanto el otro tiene éxito; su
+ * llamada termina con {@value Deadline#CANCELLED}, que el balanceador de
+ * proveedores no cuenta como fallo. La cancelación es cooperativa: un proveedor que ya aceptó el mensaje puede
+ * entregarlo igual, por lo que la carrera cambia latencia por posibles
+ * duplicados.
+ * <p>
+ * El resultado es un único {@link NotificationResult}: el
+ * {@link NotificationResult.Success} del canal que entregó (con
+ * {@link NotificationResult.Success#channel()}), o un {@code Failure}
+ * {@value #FALLBACK_EXHAUSTED} que resume el fallo de cada canal.
+ *
+ * <pre>{@code
+ * NotificationResult result = service.sendWithFallback(policy, List.of(
+ *         new PushRequest(token, "Pedido enviado", "Llega mañana"),
+ *         new SmsRequest("+50688881234", "Tu pedido llega mañana"),
+ *         new EmailRequest("u@e.com", "Pedido enviado", "Llega mañana")));
+ * }</pre>
+ */
+@Slf4j
+public final class FallbackDispatcher {
+
+    /** Código del {@code Failure} de un intento que superó su plazo. */
+    public static final String DEADLINE_EXCEEDED = Deadline.DEADLINE_EXCEEDED;
+
+    /** Código del {@code Failure} cuando ningún canal entregó. */
+    public static final String FALLBACK_EXHAUSTED = "FALLBACK_EXHAUSTED";
+
+    private final Function<ChannelType, NotificationChannel<?>> channels;
+
+    /**
+     * @param channels resuelve el canal de cada {@link ChannelType}
+     */
+    public FallbackDispatcher(Function<ChannelType, NotificationChannel<?>> channels) {
+        this.channels = Objects.requireNonNull(channels, "El resolvedor de canales no puede ser nulo");
+    }
+
+    /**
+     * Envía la notificación lógica siguiendo la política. Bloquea hasta que
+     * un canal entrega o se agotan los canales.
+     *
+     * @param policy   la política de fallback
+     * @param requests una solicitud por canal; las de canales que no están
+     *                 en la política se ignoran
+     * @return el éxito del canal que entregó, o un {@code Failure}
+     *         {@value #FALLBACK_EXHAUSTED} ({@value #DEADLINE_EXCEEDED} si
+     *         venció el plazo del llamador)
+     * @throws IllegalArgumentException si hay dos solicitudes para el mismo
+     *                                  canal o ninguna para los canales de
+     *                                  la política
+     */
+    public NotificationResult send(FallbackPolicy policy, List<? extends NotificationRequest> requests) {
+        Objects.requireNonNull(policy, "La política no puede ser nula");
+        Objects.requireNonNull(requests, "La lista de solicitudes no puede ser nula");
+
+        List<Attempt> attempts = plan(policy, requests);
+        // Los intentos corren en otros hilos: el plazo del llamador se les pasa explícito.
+        Deadline outer = Deadline.current().orElse(null);
+        BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+        List<Attempt> running = new ArrayList<>(2);
+        int next = 0;
+        int initial = policy.mode() == FallbackPolicy.Mode.RACE ? Math.min(2, attempts.size()) : 1;
+        while (next < initial) {
+            running.add(attempts.get(next++).start(completed, outer));
+        }
+
+        try {
+            while (!running.isEmpty()) {
+                Attempt done = awaitNext(running, completed);
+                running.remove(done);
+                if (done.result() instanceof NotificationResult.Success success) {
+                    running.forEach(Attempt::cancel);
+                    return delivered(done, success);
+                }
+                var failure = (NotificationResult.Failure) done.result();
+                log.warn("[FALLBACK] Canal {} falló [codigo={}]", done.step.channel(), failure.code());
+                if (running.isEmpty() && next < attempts.size() && (outer == null || !outer.isExpired())) {
+                    running.add(attempts.get(next++).start(completed, outer));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.forEach(Attempt::cancel);
+            return Deadline.cancelled("envío con fallback interrumpido");
+        }
+        return exhausted(attempts.subList(0, next), outer);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private List<Attempt> plan(FallbackPolicy policy, List<? extends NotificationRequest> requests) {
+        Map<ChannelType, NotificationRequest> byChannel = new EnumMap<>(ChannelType.class);
+        for (NotificationRequest request : requests) {
+            Objects.requireNonNull(request, "La solicitud no puede ser nula");
+            if (byChannel.put(request.channelType(), request) != null) {
+                throw new IllegalArgumentException("Más de una solicitud para el canal " + request.channelType());
+            }
+        }
+        List<Attempt> attempts = new ArrayList<>();
+        for (FallbackPolicy.Step step : policy.steps()) {
+            NotificationRequest request = byChannel.get(step.channel());
+            if (request != null) {
+                attempts.add(new Attempt(step, channels.apply(step.channel()), request));
+            } else {
+                log.debug("[FALLBACK] Sin solicitud para {}: se omite el paso", step.channel());
+            }
+        }
+        if (attempts.isEmpty()) {
+            throw new IllegalArgumentException("Ninguna solicitud corresponde a los canales de la política");
+        }
+        return attempts;
+    }
+
+    /**
+     * Espera el próximo intento terminado; los que vencen su plazo antes se
+     * cancelan y se retornan como terminados con {@value #DEADLINE_EXCEEDED}.
+     */
+    private static Attempt awaitNext(List<Attempt> running, BlockingQueue<Attempt> completed)
+            throws InterruptedException {
+        while (true) {
+            Attempt earliest = running.getFirst();
+            for (Attempt attempt : running) {
+                if (attempt.deadlineNanos - earliest.deadlineNanos < 0) {
+                    earliest = attempt;
+                }
+            }
+            long wait = earliest.deadlineNanos - System.nanoTime();
+            Attempt done = wait > 0 ? completed.poll(wait, TimeUnit.NANOSECONDS) : completed.poll();
+            if (done != null && running.contains(done)) {
+                return done;
+            }
+            if (done == null && earliest.expire()) {
+                return earliest;
+            }
+        }
+    }
+
+    private static NotificationResult delivered(Attempt attempt, NotificationResult.Success success) {
+        ChannelType channel = attempt.step.channel();
+        log.info("[FALLBACK] Entregado por {} [id={}]", channel, success.messageId());
+        return success.channel() == channel ? success
+                : new NotificationResult.Success(success.messageId(), success.timestamp(), channel);
+    }
+
+    private static NotificationResult.Failure exhausted(List<Attempt> attempted, Deadline outer) {
+        String reason = attempted.stream()
+                .map(a -> a.step.channel() + ": " + ((NotificationResult.Failure) a.result()).code())
+                .collect(Collectors.joining(", ", "Ningún canal entregó [", "]"));
+        log.error("[FALLBACK] {}", reason);
+        return outer != null && outer.isExpired()
+                ? outer.exceeded(reason)
+                : new NotificationResult.Failure(FALLBACK_EXHAUSTED, reason);
+    }
+
+    /**
+     * Un paso de la cascada en ejecución. El resultado lo fija una sola vez
+     * quien llegue primero: el envío (que además encola el intento en
+     * {@code completed}) o el vencimiento del plazo.
+     */
+    private static final class Attempt {
+
+        private final FallbackPolicy.Step step;
+        private final NotificationChannel<Object> channel;
+        private final NotificationRequest request;
+        private FutureTask<Void> task;
+        private long deadlineNanos;
+        private Deadline outer;
+        private final AtomicReference<NotificationResult> result = new AtomicReference<>();
+
+        @SuppressWarnings("unchecked")
+        Attempt(FallbackPolicy.Step step, NotificationChannel<?> channel, NotificationRequest request) {
+            this.step = step;
+            this.channel = (NotificationChannel<Object>) Objects.requireNonNull(channel,
+                    "No hay canal para " + step.channel());
+            this.request = request;
+        }
+
+        /**
+         * @param outer plazo del llamador, o {@code null}; si vence antes que
+         *              el del paso, es el que acota el intento
+         */
+        Attempt start(BlockingQueue<Attempt> completed, Deadline outer) {
+            long stepNanos = step.deadline().toNanos();
+            this.outer = outer != null && outer.remainingNanos() < stepNanos ? outer : null;
+            deadlineNanos = System.nanoTime() + (this.outer != null ? this.outer.remainingNanos() : stepNanos);
+            // start corre en el hilo del llamador: su categoría pasa al intento.
+            Supplier<NotificationResult> send = NotificationCategory.capture(() -> channel.send(request));
+            task = new FutureTask<>(() -> {
+                NotificationResult outcome;
+                try {
+                    Deadline bound = Deadline.after(step.deadline());
+                    outcome = this.outer != null
+                            ? this.outer.call(() -> bound.call(send))
+                            : bound.call(send);
+                } catch (RuntimeException ex) {
+                    outcome = new NotificationResult.Failure("CHANNEL_ERROR", ex.getMessage() != null
+                            ? ex.getMessage() : ex.getClass().getSimpleName());
+                }
+                if (result.compareAndSet(null, outcome)) {
+                    completed.add(this);
+                }
+                return null;
+            });
+            Thread.ofVirtual().name("fallback-" + step.channel()).start(task);
+            return this;
+        }
+
+        /** Cancela el envío por vencimiento del plazo, salvo que ya haya terminado. */
+        boolean expire() {
+            var timeout = outer != null
+                    ? outer.exceeded("el canal " + step.channel() + " no respondió")
+                    : new NotificationResult.Failure(DEADLINE_EXCEEDED,
+                            "El canal " + step.channel() + " no respondió en " + step.deadline().toMillis() + " ms");
+            if (!result.compareAndSet(null, timeout)) {
+                return false;
+            }
+            task.cancel(true);
+            return true;
+        }
+
+        NotificationResult result() {
+            return result.get();
+        }
+
+        void cancel() {
+            task.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.novacomp.notification.routing;
+
+import com.novacomp.notification.model.ChannelType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Política de fallback entre canales: el orden en que se intentan los
+ * canales de una notificación lógica y cuánto se espera a cada uno.
+ * <p>
+ * Es reutilizable e independiente de los destinatarios: al enviar, el
+ * {@link FallbackDispatcher} empareja cada paso con la solicitud del mismo
+ * canal y omite los pasos sin solicitud.
+ * <ul>
+ * <li>{@link Mode#SEQUENTIAL} -- un canal a la vez; se pasa al siguiente
+ * cuando el actual falla o vence su plazo.</li>
+ * <li>{@link Mode#RACE} -- los dos primeros canales se envían en paralelo;
+ * el primer éxito gana y el otro envío se cancela. Si ambos fallan, el
+ * resto sigue en secuencia.</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * FallbackPolicy policy = FallbackPolicy.sequential()
+ *         .then(ChannelType.PUSH, Duration.ofSeconds(2))
+ *         .then(ChannelType.SMS, Duration.ofSeconds(5))
+ *         .then(ChannelType.EMAIL, Duration.ofSeconds(10))
+ *         .build();
+ * }</pre>
+ *
+ * @param mode  modo de ejecución
+ * @param steps canales en orden de preferencia (sin repetidos)
+ */
+public record FallbackPolicy(Mode mode, List<Step> steps) {
+
+    /** Modo de ejecución de los pasos. */
+    public enum Mode {
+        SEQUENTIAL,
+        RACE
+    }
+
+    /**
+     * Un canal de la cascada.
+     *
+     * @param channel  el canal
+     * @param deadline tiempo máximo de espera por este canal; al vencer, el
+     *                 envío se cancela y cuenta como fallo
+     */
+    public record Step(ChannelType channel, Duration deadline) {
+
+        public Step {
+            Objects.requireNonNull(channel, "El canal no puede ser nulo");
+            Objects.requireNonNull(deadline, "El plazo no puede ser nulo");
+            if (deadline.isNegative() || deadline.isZero()) {
+                throw new IllegalArgumentException("El plazo de " + channel + " debe ser > 0");
+            }
+        }
+    }
+
+    public FallbackPolicy {
+        Objects.requireNonNull(mode, "El modo no puede ser nulo");
+        Objects.requireNonNull(steps, "La lista de pasos no puede ser nula");
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("La política requiere al menos un canal");
+        }
+        Set<ChannelType> seen = EnumSet.noneOf(ChannelType.class);
+        for (Step step : steps) {
+            if (!seen.add(step.channel())) {
+                throw new IllegalArgumentException("Canal repetido en la política: " + step.channel());
+            }
+        }
+        steps = List.copyOf(steps);
+    }
+
+    /**
+     * @return un builder de política secuencial
+     */
+    public static Builder sequential() {
+        return new Builder(Mode.SEQUENTIAL);
+    }
+
+    /**
+     * @return un builder de política en carrera
+     */
+    public static Builder race() {
+        return new Builder(Mode.RACE);
+    }
+
+    /**
+     * Builder fluido de {@link FallbackPolicy}.
+     */
+    public static final class Builder {
+
+        private final Mode mode;
+        private final List<Step> steps = new ArrayList<>();
+
+        private Builder(Mode mode) {
+            this.mode = mode;
+        }
+
+        /**
+         * Agrega el siguiente canal de la cascada.
+         *
+         * @param channel  el canal
+         * @param deadline tiempo máximo de espera por este canal
+         * @return este builder
+         */
+        public Builder then(ChannelType channel, Duration deadline) {
+            steps.add(new Step(channel, deadline));
+            return this;
+        }
+
+        /**
+         * @return la política
+         * @throws IllegalArgumentException si no hay pasos o se repite un
+         *                                  canal
+         */
+        public FallbackPolicy build() {
+            return new FallbackPolicy(mode, steps);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.novacomp.notification.routing;
+
+import com.novacomp.notification.config.WeightedProvider;
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Balanceador de carga entre los proveedores de un canal.
+ * <p>
+ * Usa <em>power of two choices</em> ponderado: se eligen dos proveedores
+ * distintos al azar, con probabilidad proporcional a su peso, y se envía
+ * al de menor costo
+ *
+ * <pre>
+ *   costo = latenciaEWMA x (enVuelo + 1) / peso
+ * </pre>
+ *
+ * Así un proveedor lento o congestionado recibe menos tráfico sin
+ * configuración manual, mientras que con todos sanos el reparto tiende a
+ * los pesos. Un proveedor sin muestras tiene costo 0 y recibe tráfico de
+ * inmediato para aprender su latencia. La latencia de un proveedor que
+ * no recibe tráfico decae con el tiempo (τ = 10 s), de modo que uno
+ * penalizado vuelve a probarse en vez de quedar relegado para siempre.
+ * <p>
+ * Tras {@value #EJECTION_THRESHOLD} fallos consecutivos un proveedor se
+ * <em>expulsa</em> durante {@code 10 s x expulsiones} (máximo 5 min); al
+ * vencer vuelve a recibir tráfico y una nueva racha de fallos lo expulsa
+ * por más tiempo. Si todos están expulsados se ignoran las expulsiones:
+ * enviar a un proveedor dudoso es mejor que no enviar. Una llamada que
+ * cancela el llamador ({@value Deadline#CANCELLED}) no cuenta como fallo.
+ */
+@Slf4j
+public final class ProviderBalancer {
+
+    static final int EJECTION_THRESHOLD = 5;
+    private static final long BASE_EJECTION_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long MAX_EJECTION_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final double EWMA_ALPHA = 0.1;
+    private static final double DECAY_TAU_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final String channel;
+    private final LongSupplier nanoClock;
+    private final RandomGenerator random;
+    private final Map<String, Node> nodesByName = new ConcurrentHashMap<>();
+    private volatile List<WeightedProvider> providers = List.of();
+    private volatile Node[] nodes = new Node[0];
+
+    /**
+     * @param channel   nombre del canal, para los logs
+     * @param providers proveedores iniciales
+     */
+    public ProviderBalancer(String channel, List<WeightedProvider> providers) {
+        this(channel, providers, System::nanoTime, null);
+    }
+
+    ProviderBalancer(String channel, List<WeightedProvider> providers, LongSupplier nanoClock,
+            RandomGenerator random) {
+        this.channel = Objects.requireNonNull(channel, "El nombre del canal no puede ser nulo");
+        this.nanoClock = nanoClock;
+        this.random = random;
+        update(providers);
+    }
+
+    /**
+     * Actualiza la lista de proveedores (ej: tras una recarga de
+     * configuración). Los proveedores que se mantienen conservan sus
+     * métricas. Sin cambios respecto de la lista vigente, no hace nada.
+     *
+     * @param providers nueva lista de proveedores (no vacía)
+     */
+    public void update(List<WeightedProvider> providers) {
+        Objects.requireNonNull(providers, "La lista de proveedores no puede ser nula");
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un proveedor");
+        }
+        if (providers == this.providers) {
+            return;
+        }
+        if (providers.equals(this.providers)) {
+            this.providers = providers;
+            return;
+        }
+        synchronized (this) {
+            Node[] next = new Node[providers.size()];
+            for (int i = 0; i < next.length; i++) {
+                WeightedProvider provider = providers.get(i);
+                Node node = nodesByName.computeIfAbsent(provider.name(), Node::new);
+                node.weight = provider.weight();
+                next[i] = node;
+            }
+            nodesByName.keySet().retainAll(providers.stream().map(WeightedProvider::name).toList());
+            this.nodes = next;
+            this.providers = List.copyOf(providers);
+        }
+    }
+
+    /**
+     * Elige el proveedor para un envío. El llamador debe completar la
+     * {@link Selection} con el resultado, o liberarla con
+     * {@link Selection#release()} en un {@code finally}.
+     *
+     * @return la selección
+     */
+    public Selection select() {
+        Node[] snapshot = nodes;
+        long now = nanoClock.getAsLong();
+        Node chosen;
+        if (snapshot.length == 1) {
+            chosen = snapshot[0];
+        } else {
+            RandomGenerator rng = random != null ? random : ThreadLocalRandom.current();
+            boolean skipEjected = anyAvailable(snapshot, now);
+            Node first = pick(snapshot, now, skipEjected, null, rng);
+            Node second = pick(snapshot, now, skipEjected, first, rng);
+            chosen = second == null || first.cost(now) <= second.cost(now) ? first : second;
+        }
+        chosen.inFlight.incrementAndGet();
+        chosen.requests.increment();
+        return new Selection(chosen, now);
+    }
+
+    /**
+     * @return métricas de cada proveedor, en el orden configurado
+     */
+    public List<ProviderStats> stats() {
+        long now = nanoClock.getAsLong();
+        List<ProviderStats> stats = new ArrayList<>();
+        for (Node node : nodes) {
+            stats.add(new ProviderStats(node.name, node.weight, node.requests.sum(), node.failures.sum(),
+                    Double.longBitsToDouble(node.ewmaBits.get()) / 1_000_000.0, node.inFlight.get(),
+                    node.isEjected(now), node.ejections.get()));
+        }
+        return stats;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Selección
+    // ------------------------------------------------------------------ //
+
+    private static boolean anyAvailable(Node[] snapshot, long now) {
+        for (Node node : snapshot) {
+            if (!node.isEjected(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Muestreo ponderado por peso entre los candidatos, excluyendo
+     * {@code exclude}.
+     */
+    private static Node pick(Node[] snapshot, long now, boolean skipEjected, Node exclude, RandomGenerator rng) {
+        int total = 0;
+        for (Node node : snapshot) {
+            if (node != exclude && !(skipEjected && node.isEjected(now))) {
+                total += node.weight;
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+        int target = rng.nextInt(total);
+        Node last = null;
+        for (Node node : snapshot) {
+            if (node != exclude && !(skipEjected && node.isEjected(now))) {
+                target -= node.weight;
+                last = node;
+                if (target < 0) {
+                    return node;
+                }
+            }
+        }
+        // Una expulsión concurrente entre ambas pasadas puede dejar el
+        // objetivo sin alcanzar: se usa el último candidato visto.
+        return last;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Estado por proveedor
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Envío en curso hacia un proveedor elegido. Solo cuenta la primera
+     * llamada a {@link #onSuccess()}, {@link #onFailure()},
+     * {@link #onRejected(NotificationResult.Failure)} o {@link #release()};
+     * las siguientes se ignoran.
+     */
+    public final class Selection {
+
+        private final Node node;
+        private final long startNanos;
+        private boolean completed;
+
+        private Selection(Node node, long startNanos) {
+            this.node = node;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @return el nombre del proveedor elegido
+         */
+        public String provider() {
+            return node.name;
+        }
+
+        /** El proveedor aceptó el envío. */
+        public void onSuccess() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            node.inFlight.decrementAndGet();
+            node.consecutiveFailures.set(0);
+            long now = nanoClock.getAsLong();
+            node.observe(now - startNanos, now);
+        }
+
+        /** El proveedor rechazó el envío o no respondió. */
+        public void onFailure() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            long now = nanoClock.getAsLong();
+            node.inFlight.decrementAndGet();
+            node.failures.increment();
+            // Un fallo pesa como una latencia alta: al menos el doble del promedio.
+            long rtt = now - startNanos;
+            node.observe(Math.max(rtt, (long) (2 * node.latency(now))), now);
+            if (node.consecutiveFailures.incrementAndGet() >= EJECTION_THRESHOLD) {
+                node.eject(now, channel);
+            }
+        }
+
+        /**
+         * El proveedor respondió con {@code failure}. Un
+         * {@value Deadline#CANCELLED} lo provocó el llamador (ej: el
+         * perdedor de una carrera de fallback) y no dice nada del proveedor:
+         * se libera sin contar fallo ni latencia.
+         *
+         * @param failure el fallo con el que terminó la llamada
+         */
+        public void onRejected(NotificationResult.Failure failure) {
+            if (Deadline.CANCELLED.equals(failure.code())) {
+                release();
+            } else {
+                onFailure();
+            }
+        }
+
+        /**
+         * Libera el envío sin registrar un resultado (ej: falló antes de
+         * llegar al proveedor). Tras {@link #onSuccess()} u
+         * {@link #onFailure()} no hace nada.
+         */
+        public void release() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            node.inFlight.decrementAndGet();
+        }
+    }
+
+    private static final class Node {
+
+        private final String name;
+        private volatile int weight = 1;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToRawLongBits(0));
+        private volatile long lastObservedNanos;
+        private final AtomicLong ejectedUntil = new AtomicLong();
+        private final AtomicLong ejections = new AtomicLong();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        double cost(long now) {
+            return latency(now) * (inFlight.get() + 1) / weight;
+        }
+
+        /** Latencia EWMA decaída según el tiempo desde la última muestra. */
+        double latency(long now) {
+            double ewma = Double.longBitsToDouble(ewmaBits.get());
+            long idle = now - lastObservedNanos;
+            return idle <= 0 ? ewma : ewma * Math.exp(-idle / DECAY_TAU_NANOS);
+        }
+
+        boolean isEjected(long now) {
+            long until = ejectedUntil.get();
+            return until != 0 && now - until < 0;
+        }
+
+        void observe(long rttNanos, long now) {
+            while (true) {
+                long bits = ewmaBits.get();
+                double current = latency(now);
+                double next = current == 0 ? rttNanos : current + EWMA_ALPHA * (rttNanos - current);
+                if (ewmaBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                    lastObservedNanos = now;
+                    return;
+                }
+            }
+        }
+
+        void eject(long now, String channel) {
+            if (isEjected(now)) {
+                return;
+            }
+            long count = ejections.incrementAndGet();
+            long duration = Math.min(MAX_EJECTION_NANOS, BASE_EJECTION_NANOS * count);
+            ejectedUntil.set(now + duration);
+            consecutiveFailures.set(0);
+            log.warn("[ROUTING] [{}] Proveedor '{}' expulsado por {} s tras {} fallos consecutivos",
+                    channel, name, TimeUnit.NANOSECONDS.toSeconds(duration), EJECTION_THRESHOLD);
+        }
+    }
+}
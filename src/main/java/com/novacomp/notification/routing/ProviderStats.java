@@ -0,0 +1,24 @@
+package com.novacomp.notification.routing;
+
+/**
+ * Métricas de un proveedor dentro de su canal.
+ *
+ * @param provider          nombre del proveedor
+ * @param weight            peso configurado
+ * @param requests          envíos enrutados al proveedor
+ * @param failures          envíos fallidos
+ * @param ewmaLatencyMillis latencia promedio móvil exponencial a la última
+ *                          muestra (sin el decaimiento por inactividad)
+ * @param inFlight          envíos en curso
+ * @param ejected           {@code true} si está expulsado por fallos
+ * @param ejections         veces que fue expulsado
+ */
+public record ProviderStats(String provider,
+        int weight,
+        long requests,
+        long failures,
+        double ewmaLatencyMillis,
+        int inFlight,
+        boolean ejected,
+        long ejections) {
+}
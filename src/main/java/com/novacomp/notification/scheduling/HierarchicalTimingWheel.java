@@ -0,0 +1,409 @@
+package com.novacomp.notification.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Timer basado en una <strong>rueda de tiempo jerárquica</strong>
+ * (hierarchical timing wheel, Varghese &amp; Lauck).
+ * <p>
+ * Pensado para millones de tareas pendientes: cada tarea es un nodo de una
+ * lista doblemente enlazada dentro de un slot de la rueda, sin hilo ni
+ * {@code ScheduledFuture} propio. Inserción y cancelación son O(1); un
+ * único hilo "ticker" avanza la rueda.
+ * <p>
+ * La rueda tiene {@value #LEVELS} niveles de {@value #SLOTS} slots. El
+ * nivel 0 cubre {@code 256} ticks, el nivel 1 {@code 256²} y así
+ * sucesivamente (con tick de 10 ms: 2.5 s, 11 min, 46 h y ~16 meses).
+ * Cuando el nivel 0 da una vuelta, el slot correspondiente del nivel
+ * superior se <em>cascadea</em>: sus tareas se reubican en niveles más
+ * finos. Las tareas más lejanas que el rango total se estacionan en el
+ * último nivel y se reubican en cada vuelta hasta entrar en rango.
+ * <p>
+ * El ticker no despierta en cada tick: duerme hasta el próximo slot
+ * ocupado del nivel 0 o, si no hay ninguno en la vuelta actual, hasta la
+ * próxima cascada. Con la rueda vacía espera sin plazo a que se programe
+ * una tarea.
+ *
+ * @param <T> tipo del payload asociado a cada tarea
+ */
+@Slf4j
+public final class HierarchicalTimingWheel<T> implements AutoCloseable {
+
+    static final int SLOT_BITS = 8;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Consumer<Timeout<T>> onExpire;
+    private final Bucket<T>[][] wheel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeUp = lock.newCondition();
+    private final Thread ticker;
+    private long currentTick;
+    private long wakeTick = Long.MAX_VALUE;
+    private long pending;
+    private volatile boolean running = true;
+
+    /**
+     * Crea la rueda y arranca su hilo ticker.
+     *
+     * @param tick     resolución de la rueda (debe ser ≥ 1 ms)
+     * @param onExpire callback invocado desde el hilo ticker para cada
+     *                 tarea vencida; debe ser rápido (típicamente despacha
+     *                 a un executor)
+     */
+    public HierarchicalTimingWheel(Duration tick, Consumer<Timeout<T>> onExpire) {
+        Objects.requireNonNull(tick, "El tick no puede ser nulo");
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("El tick debe ser >= 1 ms");
+        }
+        this.tickNanos = tick.toNanos();
+        this.onExpire = Objects.requireNonNull(onExpire, "El callback de expiración no puede ser nulo");
+        this.wheel = newWheel();
+        this.startNanos = System.nanoTime();
+        this.ticker = Thread.ofPlatform()
+                .name("timing-wheel-ticker")
+                .daemon(true)
+                .start(this::runTicker);
+    }
+
+    /**
+     * Programa {@code payload} para dentro de {@code delay}. Un delay
+     * negativo o cero vence en el siguiente tick.
+     *
+     * @param delay   tiempo hasta el vencimiento
+     * @param payload dato asociado a la tarea
+     * @return el handle de la tarea, con el que puede cancelarse
+     */
+    public Timeout<T> schedule(Duration delay, T payload) {
+        Objects.requireNonNull(delay, "El delay no puede ser nulo");
+        long deadlineNanos = System.nanoTime() - startNanos + Math.max(0, saturatedNanos(delay));
+        long deadlineTick = Math.max(1, ceilDiv(deadlineNanos, tickNanos));
+        var timeout = new Timeout<>(this, deadlineTick, payload);
+
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("La rueda de tiempo está cerrada");
+            }
+            if (pending == 0) {
+                // El ticker no avanzó mientras la rueda estuvo vacía.
+                currentTick = Math.max(currentTick, elapsedTicks());
+            }
+            if (timeout.deadlineTick <= currentTick) {
+                timeout.deadlineTick = currentTick + 1;
+            }
+            place(timeout);
+            pending++;
+            if (timeout.deadlineTick < wakeTick) {
+                wakeUp.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return timeout;
+    }
+
+    /**
+     * @return número de tareas pendientes en la rueda
+     */
+    public long pending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Detiene el ticker. Las tareas pendientes se descartan sin vencer y se
+     * retornan para que el llamador decida qué hacer con ellas.
+     *
+     * @return payloads de las tareas que no llegaron a vencer
+     */
+    public List<T> stop() {
+        List<T> remaining = new ArrayList<>();
+        lock.lock();
+        try {
+            if (!running) {
+                return remaining;
+            }
+            running = false;
+            for (Bucket<T>[] level : wheel) {
+                for (Bucket<T> bucket : level) {
+                    for (Timeout<T> t = bucket.poll(); t != null; t = bucket.poll()) {
+                        remaining.add(t.payload);
+                    }
+                }
+            }
+            pending = 0;
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+        ticker.interrupt();
+        return remaining;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    // ------------------------------------------------------------------ //
+    // Núcleo de la rueda (siempre bajo lock)
+    // ------------------------------------------------------------------ //
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        long target = delta < MAX_RANGE ? timeout.deadlineTick : currentTick + MAX_RANGE - 1;
+        long span = target - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && span >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (target >>> (SLOT_BITS * level)) & SLOT_MASK;
+        wheel[level][slot].add(timeout);
+    }
+
+    private boolean cancel(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            if (timeout.bucket == null) {
+                return false;
+            }
+            timeout.bucket.remove(timeout);
+            pending--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Avanza un tick: cascadea los niveles superiores que corresponda y
+     * extrae las tareas vencidas del slot actual del nivel 0.
+     */
+    private void advance(List<Timeout<T>> expired) {
+        currentTick++;
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            long lowerMask = (1L << (SLOT_BITS * level)) - 1;
+            if ((currentTick & lowerMask) == 0) {
+                int slot = (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK;
+                Bucket<T> bucket = wheel[level][slot];
+                for (Timeout<T> t = bucket.poll(); t != null; t = bucket.poll()) {
+                    if (t.deadlineTick <= currentTick) {
+                        expired.add(t);
+                        pending--;
+                    } else {
+                        place(t);
+                    }
+                }
+            }
+        }
+        Bucket<T> due = wheel[0][(int) currentTick & SLOT_MASK];
+        for (Timeout<T> t = due.poll(); t != null; t = due.poll()) {
+            expired.add(t);
+            pending--;
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta {@code targetTick} saltando de una vez los ticks
+     * sin nada que vencer ni cascadear.
+     */
+    private void advanceTo(long targetTick, List<Timeout<T>> expired) {
+        while (running && currentTick < targetTick) {
+            long next = nextEventTick();
+            if (next > targetTick) {
+                currentTick = targetTick;
+                return;
+            }
+            currentTick = next - 1;
+            advance(expired);
+        }
+    }
+
+    /**
+     * @return el próximo tick con un slot ocupado en el nivel 0 o, si no hay
+     *         ninguno antes, el de la próxima cascada; {@code Long.MAX_VALUE}
+     *         con la rueda vacía
+     */
+    private long nextEventTick() {
+        if (pending == 0) {
+            return Long.MAX_VALUE;
+        }
+        long cascade = (currentTick | SLOT_MASK) + 1;
+        for (long tick = currentTick + 1; tick < cascade; tick++) {
+            if (wheel[0][(int) tick & SLOT_MASK].head != null) {
+                return tick;
+            }
+        }
+        return cascade;
+    }
+
+    private void runTicker() {
+        List<Timeout<T>> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (running) {
+                advanceTo(elapsedTicks(), expired);
+                if (!expired.isEmpty()) {
+                    lock.unlock();
+                    try {
+                        fire(expired);
+                    } finally {
+                        lock.lock();
+                    }
+                    continue;
+                }
+
+                wakeTick = nextEventTick();
+                if (wakeTick == Long.MAX_VALUE) {
+                    wakeUp.await();
+                } else {
+                    wakeUp.awaitNanos(startNanos + wakeTick * tickNanos - System.nanoTime());
+                }
+                wakeTick = Long.MAX_VALUE;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fire(List<Timeout<T>> expired) {
+        for (Timeout<T> timeout : expired) {
+            try {
+                onExpire.accept(timeout);
+            } catch (RuntimeException ex) {
+                log.error("[TIMER] Error en callback de expiración | error={}", ex.getMessage(), ex);
+            }
+        }
+        expired.clear();
+    }
+
+    private long elapsedTicks() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Bucket<T>[][] newWheel() {
+        Bucket<T>[][] wheel = (Bucket<T>[][]) new Bucket<?>[LEVELS][SLOTS];
+        for (Bucket<T>[] level : wheel) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new Bucket<>();
+            }
+        }
+        return wheel;
+    }
+
+    private static long saturatedNanos(Duration delay) {
+        try {
+            return delay.toNanos();
+        } catch (ArithmeticException ex) {
+            return delay.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE / 2;
+        }
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Handle y buckets
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Handle de una tarea programada en la rueda.
+     *
+     * @param <T> tipo del payload
+     */
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T payload;
+        private long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, long deadlineTick, T payload) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        /**
+         * @return el dato asociado a la tarea
+         */
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Retira la tarea de la rueda en O(1).
+         *
+         * @return {@code true} si la tarea seguía pendiente y fue cancelada;
+         *         {@code false} si ya había vencido o sido cancelada
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    /**
+     * Lista doblemente enlazada intrusiva: los punteros viven en el propio
+     * {@link Timeout}, sin nodos adicionales.
+     */
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> poll() {
+            Timeout<T> first = head;
+            if (first != null) {
+                remove(first);
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.novacomp.notification.scheduling;
+
+import com.novacomp.notification.core.NotificationCategory;
+import com.novacomp.notification.core.NotificationResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Programador de envíos diferidos ("enviar a las 9:00", "enviar en 15
+ * minutos") respaldado por una {@link HierarchicalTimingWheel}.
+ * <p>
+ * Cada envío pendiente ocupa un único nodo en la rueda -- sin hilo ni
+ * {@code ScheduledFuture} propio -- por lo que millones de envíos
+ * programados cuestan solo memoria. Al vencer, la solicitud se entrega a la
+ * función de despacho (típicamente {@code AsyncNotificationService::sendAsync}),
+ * que la ejecuta en un Virtual Thread. La {@link NotificationCategory}
+ * vigente al programar el envío se vincula al despacharlo; no pasa por
+ * {@link SchedulePersistence}, así que al recuperar lo pendiente hay que
+ * volver a programarlo dentro de su categoría.
+ *
+ * <pre>{@code
+ * try (var scheduler = new NotificationScheduler(asyncService::sendAsync,
+ *         Duration.ofMillis(10), miPersistencia, Clock.systemUTC())) {
+ *     ScheduledNotification envio = scheduler.schedule(
+ *             Instant.parse("2025-01-10T15:00:00Z"), new SmsRequest("+50688881234", "Recordatorio"));
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class NotificationScheduler implements AutoCloseable {
+
+    /** Resolución por defecto de la rueda. */
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+
+    private final Function<Object, CompletableFuture<NotificationResult>> dispatcher;
+    private final SchedulePersistence persistence;
+    private final Clock clock;
+    private final HierarchicalTimingWheel<Entry> wheel;
+    private final AtomicLong ids = new AtomicLong();
+
+    /**
+     * Crea un programador con tick de 10 ms, sin persistencia y con el
+     * reloj del sistema.
+     *
+     * @param dispatcher función que despacha una solicitud vencida
+     */
+    public NotificationScheduler(Function<Object, CompletableFuture<NotificationResult>> dispatcher) {
+        this(dispatcher, DEFAULT_TICK, SchedulePersistence.NONE, Clock.systemUTC());
+    }
+
+    /**
+     * Crea un programador.
+     *
+     * @param dispatcher  función que despacha una solicitud vencida
+     * @param tick        resolución de la rueda (debe ser ≥ 1 ms)
+     * @param persistence hook de persistencia ({@link SchedulePersistence#NONE}
+     *                    para desactivarlo)
+     * @param clock       reloj para convertir instantes absolutos en delays
+     */
+    public NotificationScheduler(Function<Object, CompletableFuture<NotificationResult>> dispatcher,
+            Duration tick,
+            SchedulePersistence persistence,
+            Clock clock) {
+        this.dispatcher = Objects.requireNonNull(dispatcher, "La función de despacho no puede ser nula");
+        this.persistence = Objects.requireNonNull(persistence, "La persistencia no puede ser nula");
+        this.clock = Objects.requireNonNull(clock, "El reloj no puede ser nulo");
+        this.wheel = new HierarchicalTimingWheel<>(tick, this::fire);
+        log.info("Programador de envíos inicializado [tick={}]", tick);
+    }
+
+    /**
+     * Programa un envío para un instante absoluto. Un instante pasado se
+     * despacha en el siguiente tick.
+     *
+     * @param deliverAt instante de envío
+     * @param request   la solicitud de notificación
+     * @return el handle del envío programado
+     * @throws IllegalStateException si el programador está detenido
+     */
+    public ScheduledNotification schedule(Instant deliverAt, Object request) {
+        Objects.requireNonNull(deliverAt, "El instante de envío no puede ser nulo");
+        return schedule(deliverAt, Duration.between(clock.instant(), deliverAt), request);
+    }
+
+    /**
+     * Programa un envío para dentro de {@code delay}.
+     *
+     * @param delay   tiempo hasta el envío
+     * @param request la solicitud de notificación
+     * @return el handle del envío programado
+     * @throws IllegalStateException si el programador está detenido
+     */
+    public ScheduledNotification schedule(Duration delay, Object request) {
+        Objects.requireNonNull(delay, "El delay no puede ser nulo");
+        return schedule(clock.instant().plus(delay), delay, request);
+    }
+
+    /**
+     * @return número de envíos pendientes
+     */
+    public long pending() {
+        return wheel.pending();
+    }
+
+    /**
+     * Detiene el programador. Los envíos pendientes no se despachan: sus
+     * futures quedan cancelados y, si hay persistencia, permanecen
+     * registrados para recuperarse en el próximo arranque.
+     *
+     * @return las solicitudes que quedaron sin despachar
+     */
+    public List<Object> shutdown() {
+        List<Entry> remaining = wheel.stop();
+        remaining.forEach(entry -> entry.result.cancel(false));
+        log.info("Programador de envíos detenido [pendientes={}]", remaining.size());
+        return remaining.stream().map(Entry::request).toList();
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private ScheduledNotification schedule(Instant deliverAt, Duration delay, Object request) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+
+        var entry = new Entry(ids.incrementAndGet(), deliverAt, request,
+                NotificationCategory.capture(() -> dispatcher.apply(request)));
+        // Se persiste antes de entrar a la rueda: un envío vencido puede
+        // despacharse (y darse de baja) antes de que schedule retorne.
+        persistence.saved(entry.id, deliverAt, request);
+        try {
+            entry.timeout = wheel.schedule(delay, entry);
+        } catch (RuntimeException ex) {
+            persistence.removed(entry.id);
+            throw ex;
+        }
+        entry.result.whenComplete((result, error) -> {
+            if (entry.result.isCancelled()) {
+                entry.cancel();
+            }
+        });
+        log.debug("Envío programado [id={}, en={}]", entry.id, deliverAt);
+        return entry;
+    }
+
+    private void fire(HierarchicalTimingWheel.Timeout<Entry> timeout) {
+        Entry entry = timeout.payload();
+        persistence.removed(entry.id);
+        try {
+            entry.dispatch.get().whenComplete((result, error) -> {
+                if (error != null) {
+                    entry.result.completeExceptionally(error);
+                } else {
+                    entry.result.complete(result);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.error("[SCHEDULER] No se pudo despachar el envío programado [id={}] | error={}",
+                    entry.id, ex.getMessage());
+            entry.result.completeExceptionally(ex);
+        }
+    }
+
+    private final class Entry implements ScheduledNotification {
+
+        private final long id;
+        private final Instant deliverAt;
+        private final Object request;
+        private final Supplier<CompletableFuture<NotificationResult>> dispatch;
+        private final CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+        private volatile HierarchicalTimingWheel.Timeout<Entry> timeout;
+
+        Entry(long id, Instant deliverAt, Object request, Supplier<CompletableFuture<NotificationResult>> dispatch) {
+            this.id = id;
+            this.deliverAt = deliverAt;
+            this.request = request;
+            this.dispatch = dispatch;
+        }
+
+        @Override
+        public long id() {
+            return id;
+        }
+
+        @Override
+        public Instant deliverAt() {
+            return deliverAt;
+        }
+
+        @Override
+        public Object request() {
+            return request;
+        }
+
+        @Override
+        public CompletableFuture<NotificationResult> result() {
+            return result;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!timeout.cancel()) {
+                return false;
+            }
+            persistence.removed(id);
+            result.cancel(false);
+            log.debug("Envío programado cancelado [id={}]", id);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.novacomp.notification.scheduling;
+
+import java.time.Instant;
+
+/**
+ * Hook opcional para persistir los envíos programados y poder recuperarlos
+ * tras un reinicio.
+ * <p>
+ * La rueda de tiempo vive en memoria: si el proceso termina, los envíos
+ * pendientes se pierden. Una implementación de este hook (ej: sobre una
+ * tabla o un archivo con {@code CodecWriter}) registra cada alta y cada
+ * baja; al arrancar, la aplicación vuelve a programar lo pendiente con
+ * {@link NotificationScheduler#schedule(Instant, Object)}.
+ * <p>
+ * Los métodos se invocan de forma síncrona en el hilo que programa o
+ * cancela, y en el hilo que despacha al vencer: deben ser rápidos.
+ */
+public interface SchedulePersistence {
+
+    /** Implementación que no persiste nada. */
+    SchedulePersistence NONE = new SchedulePersistence() {
+        @Override
+        public void saved(long id, Instant deliverAt, Object request) {
+            // sin persistencia
+        }
+
+        @Override
+        public void removed(long id) {
+            // sin persistencia
+        }
+    };
+
+    /**
+     * Se invoca cuando se programa un envío.
+     *
+     * @param id        identificador del envío programado
+     * @param deliverAt instante en que debe enviarse
+     * @param request   la solicitud de notificación
+     */
+    void saved(long id, Instant deliverAt, Object request);
+
+    /**
+     * Se invoca cuando un envío programado deja de estar pendiente, ya sea
+     * porque se despachó o porque se canceló.
+     *
+     * @param id identificador del envío programado
+     */
+    void removed(long id);
+}
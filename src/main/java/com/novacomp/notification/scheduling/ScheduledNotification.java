@@ -0,0 +1,53 @@
+package com.novacomp.notification.scheduling;
+
+import com.novacomp.notification.core.NotificationResult;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle de un envío programado con {@link NotificationScheduler}.
+ * <p>
+ * Permite consultar el resultado cuando el envío finalmente ocurra y
+ * cancelarlo mientras siga pendiente.
+ *
+ * <pre>{@code
+ * ScheduledNotification envio = asyncService.sendAfter(Duration.ofMinutes(15), request);
+ * ...
+ * if (usuarioYaRespondio) {
+ *     envio.cancel();
+ * }
+ * }</pre>
+ */
+public interface ScheduledNotification {
+
+    /**
+     * @return identificador único del envío programado
+     */
+    long id();
+
+    /**
+     * @return instante en el que el envío debe despacharse
+     */
+    Instant deliverAt();
+
+    /**
+     * @return la solicitud de notificación programada
+     */
+    Object request();
+
+    /**
+     * Retorna un future que se completa con el resultado del envío una vez
+     * despachado, o queda cancelado si el envío se cancela.
+     *
+     * @return el future del resultado
+     */
+    CompletableFuture<NotificationResult> result();
+
+    /**
+     * Cancela el envío si aún no fue despachado.
+     *
+     * @return {@code true} si el envío estaba pendiente y se canceló
+     */
+    boolean cancel();
+}
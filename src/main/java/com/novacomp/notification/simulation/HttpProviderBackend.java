@@ -0,0 +1,204 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.mime.MessageBody;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.payload.PayloadBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Backend que realiza cada llamada por HTTP contra un
+ * {@link SimulatedProviderServer} (o cualquier servicio que respete su
+ * contrato: {@code 2xx} = aceptado, cabecera
+ * {@value SimulatedProviderServer#FAILURE_CODE_HEADER} con el código de
+ * fallo en caso contrario).
+ */
+public final class HttpProviderBackend implements ProviderBackend {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final String channelPath;
+    private final Duration timeout;
+
+    /**
+     * @param channel canal que usará el backend
+     * @param baseUri URI base del servidor, ej: {@code http://localhost:8089}
+     * @param timeout timeout de cada llamada
+     */
+    public HttpProviderBackend(ChannelType channel, URI baseUri, Duration timeout) {
+        Objects.requireNonNull(channel, "El ChannelType no puede ser nulo");
+        this.baseUri = Objects.requireNonNull(baseUri, "La URI base no puede ser nula");
+        this.timeout = Objects.requireNonNull(timeout, "El timeout no puede ser nulo");
+        this.channelPath = "/" + channel.name().toLowerCase(Locale.ROOT) + "/";
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public Optional<NotificationResult.Failure> call(String provider) {
+        return post(provider, HttpRequest.BodyPublishers.noBody(), null);
+    }
+
+    /**
+     * Envía el payload tal cual está en el arreglo del buffer, sin copiarlo
+     * ({@code BodyPublishers.ofByteArray} lo copiaría al suscribirse). Si la
+     * llamada falla (timeout, conexión, respuesta de error), el cliente
+     * podría seguir leyendo el arreglo: el buffer se abandona en lugar de
+     * volver al pool.
+     */
+    @Override
+    public Optional<NotificationResult.Failure> call(String provider, PayloadBuffer payload) {
+        Objects.requireNonNull(payload, "El payload no puede ser nulo");
+        Optional<NotificationResult.Failure> result = post(provider, publisherOf(payload), payload.contentType());
+        if (result.isPresent()) {
+            payload.abandon();
+        }
+        return result;
+    }
+
+    /**
+     * Transmite el cuerpo como un {@code POST} con transferencia por
+     * bloques: un hilo escritor lo vuelca en un {@link Pipe} y el
+     * {@link HttpClient} lo lee del otro extremo, así que nunca está
+     * completo en memoria.
+     *
+     * @throws IOException si la escritura del cuerpo falló y el proveedor
+     *                     aceptó un cuerpo truncado
+     */
+    @Override
+    public Optional<NotificationResult.Failure> call(String provider, MessageBody body) throws IOException {
+        Objects.requireNonNull(body, "El cuerpo no puede ser nulo");
+        Pipe pipe = Pipe.open();
+        var writeError = new AtomicReference<IOException>();
+        // Hilo de plataforma: con un escritor virtual, en JDK 21 ambos extremos
+        // del Pipe quedaban bloqueados con cuerpos de más de ~1 MB.
+        Thread writer = Thread.ofPlatform().daemon().name("http-body-" + provider).start(() -> {
+            try (Pipe.SinkChannel sink = pipe.sink()) {
+                body.writeTo(sink);
+            } catch (IOException ex) {
+                writeError.set(ex);
+            } catch (UncheckedIOException ex) {
+                writeError.set(ex.getCause());
+            }
+        });
+
+        Optional<NotificationResult.Failure> result;
+        try (Pipe.SourceChannel source = pipe.source()) {
+            result = post(provider, HttpRequest.BodyPublishers.ofInputStream(() -> Channels.newInputStream(source)),
+                    null);
+        }
+        // Cerrar la fuente desbloquea al escritor si el cliente dejó de leer.
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (result.isEmpty() && writeError.get() != null) {
+            throw writeError.get();
+        }
+        return result;
+    }
+
+    private Optional<NotificationResult.Failure> post(String provider, HttpRequest.BodyPublisher publisher,
+            String contentType) {
+        Deadline deadline = Deadline.current().orElse(null);
+        if (deadline != null && deadline.isExpired()) {
+            return Optional.of(deadline.exceeded("proveedor '" + provider + "' no invocado"));
+        }
+        // El plazo del envío acota el timeout propio del backend.
+        boolean bounded = deadline != null && deadline.remaining().compareTo(timeout) < 0;
+        Duration budget = bounded ? deadline.remaining().plusNanos(1) : timeout;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(channelPath + provider))
+                .timeout(budget)
+                .POST(publisher);
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        HttpRequest request = builder.build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                return Optional.empty();
+            }
+            String code = response.headers()
+                    .firstValue(SimulatedProviderServer.FAILURE_CODE_HEADER)
+                    .orElse("HTTP_" + response.statusCode());
+            return Optional.of(new NotificationResult.Failure(code, response.body()));
+        } catch (HttpTimeoutException ex) {
+            if (bounded) {
+                return Optional.of(deadline.exceeded("sin respuesta del proveedor '" + provider + "'"));
+            }
+            return Optional.of(new NotificationResult.Failure("PROVIDER_TIMEOUT",
+                    "Sin respuesta del proveedor en " + timeout.toMillis() + " ms"));
+        } catch (IOException ex) {
+            return Optional.of(new NotificationResult.Failure("PROVIDER_UNREACHABLE", ex.getMessage()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.of(Deadline.cancelled("llamada al proveedor interrumpida"));
+        }
+    }
+
+    /** Publica el contenido del payload como un único {@link ByteBuffer} sobre su arreglo. */
+    private static HttpRequest.BodyPublisher publisherOf(PayloadBuffer payload) {
+        ByteBuffer body = ByteBuffer.wrap(payload.array(), 0, payload.size());
+        Flow.Publisher<ByteBuffer> publisher = subscriber -> {
+            var done = new AtomicBoolean();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    if (n <= 0 && !done.getAndSet(true)) {
+                        subscriber.onError(new IllegalArgumentException("request(" + n + ")"));
+                    } else if (!done.getAndSet(true)) {
+                        subscriber.onNext(body.duplicate());
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    done.set(true);
+                }
+            });
+        };
+        return HttpRequest.BodyPublishers.fromPublisher(publisher, payload.size());
+    }
+
+    /**
+     * Abre la conexión con el servidor con un {@code HEAD} a la URI base: el
+     * {@link HttpClient} la conserva en su pool para el primer envío. El
+     * estado de la respuesta no importa.
+     */
+    @Override
+    public void warmUp() {
+        HttpRequest request = HttpRequest.newBuilder(baseUri)
+                .timeout(timeout)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException ex) {
+            // Servidor caído: el primer envío volverá a intentar conectar.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
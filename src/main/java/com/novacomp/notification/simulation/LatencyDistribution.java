@@ -0,0 +1,129 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.config.NotificationConfig;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de latencias de un proveedor simulado.
+ * <p>
+ * Se configura con una cadena {@code tipo:parametros}:
+ * <ul>
+ * <li>{@code fixed:20ms} -- siempre la misma latencia</li>
+ * <li>{@code lognormal:40ms,0.6} -- log-normal con mediana 40 ms y sigma
+ * 0.6 (cola larga típica de APIs HTTP)</li>
+ * <li>{@code bimodal:15ms,400ms,0.05} -- 95% de llamadas rápidas y 5%
+ * lentas, cada modo con un jitter log-normal leve</li>
+ * </ul>
+ */
+public sealed interface LatencyDistribution {
+
+    /** Sin latencia: el proveedor responde de inmediato. */
+    LatencyDistribution NONE = new Fixed(Duration.ZERO);
+
+    /**
+     * Toma una muestra de la distribución.
+     *
+     * @param random generador de números aleatorios
+     * @return latencia en nanosegundos (≥ 0)
+     */
+    long sampleNanos(RandomGenerator random);
+
+    /**
+     * Latencia constante.
+     *
+     * @param latency latencia de cada llamada
+     */
+    record Fixed(Duration latency) implements LatencyDistribution {
+
+        public Fixed {
+            Objects.requireNonNull(latency, "La latencia no puede ser nula");
+            if (latency.isNegative()) {
+                throw new IllegalArgumentException("La latencia no puede ser negativa");
+            }
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return latency.toNanos();
+        }
+    }
+
+    /**
+     * Latencia log-normal: {@code mediana * e^(sigma * N(0,1))}.
+     *
+     * @param median mediana de la distribución
+     * @param sigma  desviación del logaritmo (0 equivale a {@link Fixed})
+     */
+    record LogNormal(Duration median, double sigma) implements LatencyDistribution {
+
+        public LogNormal {
+            Objects.requireNonNull(median, "La mediana no puede ser nula");
+            if (median.isNegative() || sigma < 0) {
+                throw new IllegalArgumentException("La mediana y sigma deben ser >= 0");
+            }
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            return (long) (median.toNanos() * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    /**
+     * Mezcla de dos modos: la mayoría de llamadas cerca de {@code fast} y
+     * una fracción {@code slowProbability} cerca de {@code slow}.
+     *
+     * @param fast            mediana del modo rápido
+     * @param slow            mediana del modo lento
+     * @param slowProbability probabilidad del modo lento, entre 0 y 1
+     */
+    record Bimodal(Duration fast, Duration slow, double slowProbability) implements LatencyDistribution {
+
+        private static final double JITTER_SIGMA = 0.2;
+
+        public Bimodal {
+            Objects.requireNonNull(fast, "La latencia rápida no puede ser nula");
+            Objects.requireNonNull(slow, "La latencia lenta no puede ser nula");
+            if (slowProbability < 0 || slowProbability > 1) {
+                throw new IllegalArgumentException("La probabilidad del modo lento debe estar entre 0 y 1");
+            }
+        }
+
+        @Override
+        public long sampleNanos(RandomGenerator random) {
+            Duration mode = random.nextDouble() < slowProbability ? slow : fast;
+            return (long) (mode.toNanos() * Math.exp(JITTER_SIGMA * random.nextGaussian()));
+        }
+    }
+
+    /**
+     * Interpreta una distribución en formato {@code tipo:parametros}.
+     *
+     * @param spec la especificación, ej: {@code lognormal:40ms,0.6}
+     * @return la distribución
+     * @throws IllegalArgumentException si el formato es inválido
+     */
+    static LatencyDistribution parse(String spec) {
+        Objects.requireNonNull(spec, "La especificación de latencia no puede ser nula");
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Latencia inválida (se espera tipo:parametros): " + spec);
+        }
+        String[] args = spec.substring(colon + 1).split(",");
+        try {
+            return switch (spec.substring(0, colon).trim()) {
+                case "fixed" -> new Fixed(NotificationConfig.parseDuration(args[0]));
+                case "lognormal" -> new LogNormal(NotificationConfig.parseDuration(args[0]),
+                        Double.parseDouble(args[1].trim()));
+                case "bimodal" -> new Bimodal(NotificationConfig.parseDuration(args[0]),
+                        NotificationConfig.parseDuration(args[1]), Double.parseDouble(args[2].trim()));
+                default -> throw new IllegalArgumentException("Tipo de latencia desconocido: " + spec);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Parámetros de latencia inválidos: " + spec, ex);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.mime.DiscardingChannel;
+import com.novacomp.notification.mime.MessageBody;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.payload.PayloadBuffer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Backend de proveedor contra el que un canal realiza la llamada de envío.
+ * <p>
+ * Los canales siguen generando sus propios identificadores de mensaje; el
+ * backend solo decide <em>cuánto tarda</em> la llamada y <em>si falla</em>.
+ * Se selecciona con la propiedad {@code simulator.mode}:
+ * <ul>
+ * <li>{@code none} (por defecto) -- {@link #NONE}, respuesta inmediata y
+ * siempre exitosa</li>
+ * <li>{@code local} -- {@link ProviderSimulator} en proceso</li>
+ * <li>{@code http} -- {@link HttpProviderBackend} contra un
+ * {@link SimulatedProviderServer} en {@code simulator.http.url}</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface ProviderBackend {
+
+    /** Backend ideal: acepta todas las llamadas sin latencia. */
+    ProviderBackend NONE = provider -> Optional.empty();
+
+    /**
+     * Backend del calentamiento: como {@link #NONE}, y los canales no
+     * registran en el log sus envíos (ver {@link #dryRun()}).
+     */
+    ProviderBackend DRY_RUN = new ProviderBackend() {
+        @Override
+        public Optional<NotificationResult.Failure> call(String provider) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean dryRun() {
+            return true;
+        }
+    };
+
+    /**
+     * Realiza la llamada al proveedor, bloqueando el hilo durante la
+     * latencia simulada.
+     *
+     * @param provider nombre del proveedor configurado en el canal
+     * @return vacío si el proveedor aceptó el envío, o el {@code Failure}
+     *         con el que respondió; si el hilo se interrumpe durante la
+     *         llamada, {@value Deadline#CANCELLED}
+     */
+    Optional<NotificationResult.Failure> call(String provider);
+
+    /**
+     * Realiza la llamada con el payload ya codificado del proveedor. El
+     * buffer vuelve al pool cuando este método retorna; un backend que lo
+     * siga leyendo después debe marcarlo con {@link PayloadBuffer#abandon()}.
+     * Por defecto el payload se ignora: a los simuladores solo les importa
+     * la llamada.
+     *
+     * @param provider nombre del proveedor configurado en el canal
+     * @param payload  cuerpo de la llamada
+     * @return vacío si el proveedor aceptó el envío, o el {@code Failure}
+     *         con el que respondió
+     */
+    default Optional<NotificationResult.Failure> call(String provider, PayloadBuffer payload) {
+        return call(provider);
+    }
+
+    /**
+     * Realiza la llamada transmitiendo un cuerpo en streaming (ej: un correo
+     * con adjuntos). Por defecto el cuerpo se escribe completo sobre un
+     * {@link DiscardingChannel} -- se paga el costo de codificarlo, como con
+     * un proveedor real -- y luego se hace {@link #call(String)}.
+     *
+     * @param provider nombre del proveedor configurado en el canal
+     * @param body     cuerpo a transmitir
+     * @return vacío si el proveedor aceptó el envío, o el {@code Failure}
+     *         con el que respondió
+     * @throws IOException si no se pudo leer o escribir el cuerpo
+     */
+    default Optional<NotificationResult.Failure> call(String provider, MessageBody body) throws IOException {
+        body.writeTo(new DiscardingChannel());
+        return call(provider);
+    }
+
+    /**
+     * @return {@code true} si las llamadas no son envíos reales y el canal
+     *         no debe registrarlos en el log (ej: el calentamiento)
+     */
+    default boolean dryRun() {
+        return false;
+    }
+
+    /**
+     * Abre de antemano lo que la primera llamada tendría que abrir (ej: la
+     * conexión HTTP), sin realizar un envío. Los errores se ignoran: un
+     * proveedor caído no impide arrancar.
+     */
+    default void warmUp() {
+        // Nada que preparar por defecto.
+    }
+
+    /**
+     * Crea el backend configurado para un canal. El modo se fija al crear
+     * el canal; los perfiles de simulación siguen las recargas de
+     * {@code config}.
+     *
+     * @param channel canal que usará el backend
+     * @param config  configuración recargable de la librería
+     * @return el backend correspondiente a {@code simulator.mode}
+     * @throws IllegalArgumentException si el modo es desconocido
+     */
+    static ProviderBackend forChannel(ChannelType channel, ReloadableConfig config) {
+        Objects.requireNonNull(channel, "El ChannelType no puede ser nulo");
+        Objects.requireNonNull(config, "La ReloadableConfig no puede ser nula");
+
+        NotificationConfig current = config.current();
+        return switch (current.getProperty("simulator.mode", "none")) {
+            case "none" -> NONE;
+            case "local" -> new ProviderSimulator(channel, config);
+            case "http" -> new HttpProviderBackend(channel,
+                    URI.create(current.getProperty("simulator.http.url", "http://localhost:8089")),
+                    NotificationConfig.parseDuration(current.getProperty("simulator.http.timeout", "5s")));
+            default -> throw new IllegalArgumentException(
+                    "simulator.mode desconocido: " + current.getProperty("simulator.mode"));
+        };
+    }
+}
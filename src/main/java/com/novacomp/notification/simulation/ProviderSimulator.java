@@ -0,0 +1,177 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Proveedor simulado en proceso.
+ * <p>
+ * Cada llamada se evalúa contra el {@link SimulationProfile} del proveedor,
+ * en este orden:
+ * <ol>
+ * <li>si el simulador está dentro de una ventana de caída, responde
+ * {@value SimulationProfile#PROVIDER_UNAVAILABLE} de inmediato;</li>
+ * <li>si el proveedor ya recibió {@code throttle.rps} llamadas en el
+ * segundo actual, responde {@value SimulationProfile#THROTTLED} (HTTP 429)
+ * de inmediato;</li>
+ * <li>en otro caso duerme la latencia muestreada y responde con éxito o con
+ * uno de los códigos de error configurados, según su probabilidad.</li>
+ * </ol>
+ * Si el envío tiene un {@link Deadline} que vence antes que la latencia
+ * muestreada, se espera solo hasta el plazo y se responde
+ * {@value Deadline#DEADLINE_EXCEEDED}, como haría un cliente HTTP con
+ * timeout.
+ * Los perfiles se resuelven una vez por snapshot de configuración, por lo
+ * que siguen las recargas de {@link ReloadableConfig}; el reloj de las
+ * caídas y los contadores de throttling se conservan entre recargas.
+ */
+@Slf4j
+public final class ProviderSimulator implements ProviderBackend {
+
+    private final ChannelType channel;
+    private final ReloadableConfig config;
+    private final RandomGenerator random;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Map<String, ThrottleWindow> throttles = new ConcurrentHashMap<>();
+    private volatile Profiles profiles;
+
+    /**
+     * Crea un simulador para los proveedores de {@code channel}.
+     *
+     * @param channel canal simulado
+     * @param config  configuración recargable con las claves
+     *                {@code simulator.<canal>.*}
+     */
+    public ProviderSimulator(ChannelType channel, ReloadableConfig config) {
+        this(channel, config, null, System::nanoTime);
+    }
+
+    /**
+     * Constructor para tests: generador aleatorio determinista y reloj
+     * controlable. Con {@code random == null} se usa
+     * {@link ThreadLocalRandom}.
+     */
+    ProviderSimulator(ChannelType channel, ReloadableConfig config, RandomGenerator random,
+            LongSupplier nanoClock) {
+        this.channel = Objects.requireNonNull(channel, "El ChannelType no puede ser nulo");
+        this.config = Objects.requireNonNull(config, "La ReloadableConfig no puede ser nula");
+        this.random = random;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.profiles = new Profiles(config.current());
+        log.info("Simulador de proveedor inicializado [canal={}]", channel);
+    }
+
+    @Override
+    public Optional<NotificationResult.Failure> call(String provider) {
+        SimulationProfile profile = profileFor(provider);
+        long elapsed = nanoClock.getAsLong() - startNanos;
+
+        for (SimulationProfile.OutageWindow outage : profile.outages()) {
+            if (outage.contains(elapsed)) {
+                return Optional.of(new NotificationResult.Failure(SimulationProfile.PROVIDER_UNAVAILABLE,
+                        "HTTP 503 -- proveedor '" + provider + "' fuera de servicio (simulado)"));
+            }
+        }
+
+        if (profile.throttleRps() > 0 && throttles
+                .computeIfAbsent(provider, p -> new ThrottleWindow())
+                .exceeds(TimeUnit.NANOSECONDS.toSeconds(elapsed), profile.throttleRps())) {
+            return Optional.of(new NotificationResult.Failure(SimulationProfile.THROTTLED,
+                    "HTTP 429 -- límite de " + profile.throttleRps() + " llamadas/s superado (simulado)"));
+        }
+
+        RandomGenerator rng = random != null ? random : ThreadLocalRandom.current();
+        long latencyNanos = profile.latency().sampleNanos(rng);
+        Deadline deadline = Deadline.current().orElse(null);
+        boolean exceeds = deadline != null && deadline.remainingNanos() < latencyNanos;
+        long waitNanos = exceeds ? Math.max(0, deadline.remainingNanos()) : latencyNanos;
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.of(Deadline.cancelled("llamada al proveedor interrumpida"));
+            }
+        }
+        if (exceeds) {
+            return Optional.of(deadline.exceeded("sin respuesta del proveedor '" + provider + "' (simulado)"));
+        }
+
+        double draw = rng.nextDouble();
+        for (Map.Entry<String, Double> error : profile.errorRates().entrySet()) {
+            draw -= error.getValue();
+            if (draw < 0) {
+                return Optional.of(new NotificationResult.Failure(error.getKey(),
+                        "Error simulado del proveedor '" + provider + "'"));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return el perfil vigente de {@code provider}
+     */
+    SimulationProfile profileFor(String provider) {
+        NotificationConfig current = config.current();
+        Profiles snapshot = profiles;
+        if (snapshot.source != current) {
+            snapshot = new Profiles(current);
+            profiles = snapshot;
+        }
+        return snapshot.resolve(channel, provider);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Estado interno
+    // ------------------------------------------------------------------ //
+
+    /** Perfiles por proveedor de un snapshot de configuración. */
+    private static final class Profiles {
+
+        private final NotificationConfig source;
+        private final Map<String, SimulationProfile> byProvider = new ConcurrentHashMap<>();
+
+        Profiles(NotificationConfig source) {
+            this.source = source;
+        }
+
+        SimulationProfile resolve(ChannelType channel, String provider) {
+            return byProvider.computeIfAbsent(provider, p -> SimulationProfile.from(source, channel, p));
+        }
+    }
+
+    /**
+     * Ventana fija de un segundo: segundo actual y llamadas recibidas,
+     * empaquetados en un único {@code long} para actualizarlos con un CAS.
+     */
+    private static final class ThrottleWindow {
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean exceeds(long second, int limit) {
+            while (true) {
+                long current = state.get();
+                long next = current >>> 32 == second ? current + 1 : (second << 32) | 1;
+                if (state.compareAndSet(current, next)) {
+                    return (next & 0xFFFF_FFFFL) > limit;
+                }
+            }
+        }
+    }
+}
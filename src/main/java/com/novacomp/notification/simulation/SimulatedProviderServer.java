@@ -0,0 +1,152 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in HTTP local de los proveedores, para probar la librería contra
+ * un backend remoto real (sockets, timeouts de cliente) sin salir de la
+ * máquina.
+ * <p>
+ * Expone {@code POST /<canal>/<proveedor>} y aplica el mismo
+ * {@link ProviderSimulator} que el modo en proceso. Responde {@code 202}
+ * al aceptar y, al fallar, {@code 429} ({@value SimulationProfile#THROTTLED}),
+ * {@code 503} ({@value SimulationProfile#PROVIDER_UNAVAILABLE}) o
+ * {@code 500}, con el código de fallo en la cabecera
+ * {@value #FAILURE_CODE_HEADER}. Cada petición se atiende en un Virtual
+ * Thread.
+ *
+ * <pre>
+ * java -Dsimulator.sms.latency=lognormal:80ms,0.5 -Dsimulator.sms.throttle.rps=200 \
+ *      -cp app.jar:libs/* com.novacomp.notification.simulation.SimulatedProviderServer 8089
+ * </pre>
+ */
+@Slf4j
+public final class SimulatedProviderServer implements AutoCloseable {
+
+    /** Cabecera con el código de {@code Failure} de una respuesta fallida. */
+    public static final String FAILURE_CODE_HEADER = "X-Failure-Code";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<ChannelType, ProviderSimulator> simulators = new EnumMap<>(ChannelType.class);
+
+    /**
+     * Arranca el servidor en {@code localhost:port}.
+     *
+     * @param config configuración con los perfiles {@code simulator.*}
+     * @param port   puerto de escucha (0 = puerto libre cualquiera)
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public SimulatedProviderServer(ReloadableConfig config, int port) throws IOException {
+        Objects.requireNonNull(config, "La ReloadableConfig no puede ser nula");
+        for (ChannelType type : ChannelType.values()) {
+            simulators.put(type, new ProviderSimulator(type, config));
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        log.info("Simulador HTTP de proveedores escuchando en puerto {}", port());
+    }
+
+    /**
+     * @return el puerto efectivo de escucha
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        log.info("Simulador HTTP de proveedores detenido");
+    }
+
+    /**
+     * Arranca el servidor con los perfiles tomados de las propiedades de
+     * sistema {@code simulator.*}.
+     *
+     * @param args {@code [puerto]} (por defecto 8089)
+     */
+    public static void main(String[] args) throws IOException {
+        NotificationConfig.Builder builder = NotificationConfig.builder();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("simulator."))
+                .forEach(key -> builder.property(key, System.getProperty(key)));
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+
+        var server = new SimulatedProviderServer(ReloadableConfig.of(builder.build()), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Manejo de peticiones
+    // ------------------------------------------------------------------ //
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            ChannelType channel = path.length == 3 ? channelOf(path[1]) : null;
+            if (!"POST".equals(exchange.getRequestMethod()) || channel == null) {
+                respond(exchange, 404, null, "{\"error\":\"ruta no encontrada\"}");
+                return;
+            }
+
+            Optional<NotificationResult.Failure> failure = simulators.get(channel).call(path[2]);
+            if (failure.isEmpty()) {
+                respond(exchange, 202, null, "{\"status\":\"accepted\"}");
+                return;
+            }
+            NotificationResult.Failure f = failure.get();
+            int status = switch (f.code()) {
+                case SimulationProfile.THROTTLED -> 429;
+                case SimulationProfile.PROVIDER_UNAVAILABLE -> 503;
+                default -> 500;
+            };
+            respond(exchange, status, f.code(), f.reason());
+        }
+    }
+
+    private static ChannelType channelOf(String segment) {
+        try {
+            return ChannelType.valueOf(segment.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String failureCode, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (failureCode != null) {
+            exchange.getResponseHeaders().set(FAILURE_CODE_HEADER, failureCode);
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
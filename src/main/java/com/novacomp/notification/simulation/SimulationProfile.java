@@ -0,0 +1,153 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.model.ChannelType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Comportamiento configurado de un proveedor simulado, resuelto a partir de
+ * las propiedades {@code simulator.<canal>.*} de {@link NotificationConfig}.
+ * <p>
+ * Cada clave admite una variante por proveedor,
+ * {@code simulator.<canal>.<proveedor>.*}, que tiene prioridad sobre la del
+ * canal:
+ *
+ * <pre>
+ * simulator.sms.latency        = lognormal:80ms,0.5
+ * simulator.sms.errors         = PROVIDER_ERROR:0.02,INVALID_NUMBER:0.005
+ * simulator.sms.throttle.rps   = 200
+ * simulator.sms.outages        = 30s+10s,2m+5s
+ * simulator.sms.vonage.latency = fixed:20ms
+ * </pre>
+ *
+ * @param latency    distribución de latencia de cada llamada
+ * @param errorRates probabilidad (0..1) de cada código de {@code Failure}
+ * @param throttleRps llamadas por segundo admitidas antes de responder
+ *                   {@value #THROTTLED} (0 = sin límite)
+ * @param outages    ventanas de caída, relativas al arranque del simulador
+ */
+public record SimulationProfile(LatencyDistribution latency,
+        Map<String, Double> errorRates,
+        int throttleRps,
+        List<OutageWindow> outages) {
+
+    /** Código de fallo al superar {@code throttle.rps} (HTTP 429). */
+    public static final String THROTTLED = "THROTTLED";
+
+    /** Código de fallo durante una ventana de caída (HTTP 503). */
+    public static final String PROVIDER_UNAVAILABLE = "PROVIDER_UNAVAILABLE";
+
+    /** Perfil neutro: sin latencia, errores, throttling ni caídas. */
+    public static final SimulationProfile IDEAL =
+            new SimulationProfile(LatencyDistribution.NONE, Map.of(), 0, List.of());
+
+    public SimulationProfile {
+        Objects.requireNonNull(latency, "La distribución de latencia no puede ser nula");
+        Objects.requireNonNull(errorRates, "Las tasas de error no pueden ser nulas");
+        Objects.requireNonNull(outages, "Las ventanas de caída no pueden ser nulas");
+        if (throttleRps < 0) {
+            throw new IllegalArgumentException("throttle.rps debe ser >= 0");
+        }
+        double total = 0;
+        for (double rate : errorRates.values()) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Las tasas de error deben estar entre 0 y 1");
+            }
+            total += rate;
+        }
+        if (total > 1) {
+            throw new IllegalArgumentException("La suma de las tasas de error no puede superar 1");
+        }
+        errorRates = Map.copyOf(errorRates);
+        outages = List.copyOf(outages);
+    }
+
+    /**
+     * Ventana de caída del proveedor.
+     *
+     * @param start    inicio, contado desde el arranque del simulador
+     * @param duration duración de la caída
+     */
+    public record OutageWindow(Duration start, Duration duration) {
+
+        public OutageWindow {
+            Objects.requireNonNull(start, "El inicio de la caída no puede ser nulo");
+            Objects.requireNonNull(duration, "La duración de la caída no puede ser nula");
+            if (start.isNegative() || duration.isNegative()) {
+                throw new IllegalArgumentException("La ventana de caída no puede ser negativa");
+            }
+        }
+
+        boolean contains(long elapsedNanos) {
+            long from = start.toNanos();
+            return elapsedNanos >= from && elapsedNanos < from + duration.toNanos();
+        }
+    }
+
+    /**
+     * Resuelve el perfil de un proveedor a partir de la configuración.
+     *
+     * @param config   configuración de la librería
+     * @param channel  canal del proveedor
+     * @param provider nombre del proveedor (ej: {@code twilio})
+     * @return el perfil resultante; {@link #IDEAL} para las claves ausentes
+     * @throws IllegalArgumentException si alguna propiedad es inválida
+     */
+    public static SimulationProfile from(NotificationConfig config, ChannelType channel, String provider) {
+        String channelPrefix = "simulator." + channel.name().toLowerCase(Locale.ROOT) + ".";
+        String providerPrefix = channelPrefix + provider + ".";
+
+        String latency = lookup(config, providerPrefix, channelPrefix, "latency");
+        String errors = lookup(config, providerPrefix, channelPrefix, "errors");
+        String throttle = lookup(config, providerPrefix, channelPrefix, "throttle.rps");
+        String outages = lookup(config, providerPrefix, channelPrefix, "outages");
+
+        return new SimulationProfile(
+                latency == null ? LatencyDistribution.NONE : LatencyDistribution.parse(latency),
+                errors == null ? Map.of() : parseErrorRates(errors),
+                throttle == null ? 0 : Integer.parseInt(throttle.trim()),
+                outages == null ? List.of() : parseOutages(outages));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Parsing
+    // ------------------------------------------------------------------ //
+
+    private static String lookup(NotificationConfig config, String providerPrefix, String channelPrefix,
+            String key) {
+        String value = config.getProperty(providerPrefix + key);
+        return value != null ? value : config.getProperty(channelPrefix + key);
+    }
+
+    private static Map<String, Double> parseErrorRates(String spec) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.split(":");
+            if (kv.length != 2 || kv[0].isBlank()) {
+                throw new IllegalArgumentException("Tasa de error inválida (se espera CODIGO:prob): " + part);
+            }
+            rates.put(kv[0].trim(), Double.parseDouble(kv[1].trim()));
+        }
+        return rates;
+    }
+
+    private static List<OutageWindow> parseOutages(String spec) {
+        List<OutageWindow> windows = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("\\+");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Caída inválida (se espera inicio+duracion): " + part);
+            }
+            windows.add(new OutageWindow(NotificationConfig.parseDuration(kv[0]),
+                    NotificationConfig.parseDuration(kv[1])));
+        }
+        return windows;
+    }
+}
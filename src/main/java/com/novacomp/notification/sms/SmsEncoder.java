@@ -0,0 +1,183 @@
+package com.novacomp.notification.sms;
+
+/**
+ * Motor de codificación de SMS: decide si un texto viaja en GSM-7 o en
+ * UCS-2 y cuántos segmentos facturables produce, en una sola pasada sobre
+ * los caracteres, sin {@code CharsetEncoder} ni asignaciones intermedias.
+ * <p>
+ * Un carácter cuesta 1 septeto si está en el alfabeto básico GSM 03.38, 2
+ * si está en la tabla de extensión ({@code ^ { } \ [ ~ ] |} y {@code €}, que
+ * van precedidos del escape {@code 0x1B}) y, si no está en ninguno, el
+ * mensaje completo pasa a UCS-2. Durante la pasada se cuentan a la vez los
+ * segmentos de ambas codificaciones, de modo que el primer carácter fuera
+ * del alfabeto no obliga a recorrer el texto de nuevo.
+ * <p>
+ * Al concatenar, un carácter de extensión (escape + carácter) y un par
+ * sustituto UTF-16 nunca se parten entre dos segmentos; por eso el total de
+ * segmentos se simula carácter a carácter en lugar de dividir la longitud.
+ *
+ * <pre>{@code
+ * SmsEncoder.analyze("Hola 👋");     // UCS_2, 7 unidades, 1 segmento
+ * SmsEncoder.transliterate("Señal débil — llamá") // "Señal débil - llama"
+ * }</pre>
+ */
+public final class SmsEncoder {
+
+    private static final char EURO = '€';
+
+    /** Alfabeto básico GSM 03.38, en el orden de la tabla. */
+    private static final String BASIC =
+            "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?"
+                    + "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+
+    /** Tabla de extensión (salvo {@code €}, fuera del rango de la tabla de costos). */
+    private static final String EXTENSION = "\f^{}\\[~]|";
+
+    /** Septetos por carácter hasta la última letra griega del alfabeto (Ω); 0 = fuera de GSM-7. */
+    private static final byte[] SEPTETS = new byte['Ω' + 1];
+
+    /** Equivalente GSM-7 de caracteres fuera del alfabeto; {@code null} = sin equivalente. */
+    private static final String[] TRANSLITERATION = new String['›' + 1];
+
+    static {
+        for (int i = 0; i < BASIC.length(); i++) {
+            SEPTETS[BASIC.charAt(i)] = 1;
+        }
+        for (int i = 0; i < EXTENSION.length(); i++) {
+            SEPTETS[EXTENSION.charAt(i)] = 2;
+        }
+
+        mapEach("ÀÁÂÃÈÊËÌÍÎÏÐÒÓÔÕÙÚÛÝ", "AAAAEEEIIIIDOOOOUUUY");
+        mapEach("áâãçêëíîïðóôõúûýÿ", "aaaÇeeiiidooouuyy");
+        mapEach("ŠšŽžŸĆćČčŁłŃńŚśŹźŻż", "SsZzYCcCcLlNnSsZzZz");
+        mapEach("\t\u00A0\u2009\u202F", "    ");
+        mapEach("`´‘’‚‛′‹›", "'''''''''");
+        mapEach("«»“”„″", "\"\"\"\"\"\"");
+        mapEach("‐‑‒–—―•", "-------");
+        mapEach("×÷", "x/");
+        TRANSLITERATION['Œ'] = "OE";
+        TRANSLITERATION['œ'] = "oe";
+        TRANSLITERATION['Þ'] = "Th";
+        TRANSLITERATION['þ'] = "th";
+        TRANSLITERATION['…'] = "...";
+    }
+
+    private SmsEncoder() {
+        // Clase utilitaria -- no instanciable
+    }
+
+    /**
+     * Analiza el texto de un SMS.
+     *
+     * @param text el texto del mensaje
+     * @return codificación, longitud y segmentos facturables
+     */
+    public static SmsSegments analyze(CharSequence text) {
+        int length = text.length();
+        boolean gsm = true;
+        int septets = 0;
+        int gsmSegments = 1;
+        int gsmFill = 0;
+        int ucsSegments = 1;
+        int ucsFill = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (gsm) {
+                int cost = septets(c);
+                if (cost == 0) {
+                    gsm = false;
+                } else {
+                    septets += cost;
+                    if (gsmFill + cost > SmsEncoding.GSM_7.segmentLimit()) {
+                        gsmSegments++;
+                        gsmFill = cost;
+                    } else {
+                        gsmFill += cost;
+                    }
+                }
+            }
+            int units = 1;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                units = 2;
+                i++;
+            }
+            if (ucsFill + units > SmsEncoding.UCS_2.segmentLimit()) {
+                ucsSegments++;
+                ucsFill = units;
+            } else {
+                ucsFill += units;
+            }
+        }
+
+        if (gsm) {
+            return new SmsSegments(SmsEncoding.GSM_7, septets,
+                    septets <= SmsEncoding.GSM_7.singleLimit() ? 1 : gsmSegments);
+        }
+        return new SmsSegments(SmsEncoding.UCS_2, length,
+                length <= SmsEncoding.UCS_2.singleLimit() ? 1 : ucsSegments);
+    }
+
+    /**
+     * Reemplaza los caracteres fuera de GSM-7 por su equivalente más
+     * cercano (vocales con tilde, comillas tipográficas, guiones largos,
+     * espacios especiales, {@code …}), para que el mensaje viaje en GSM-7.
+     * Las letras que sí están en el alfabeto ({@code é}, {@code ñ},
+     * {@code ü}...) se conservan. Si algún carácter no tiene equivalente (ej:
+     * un emoji) el mensaje viajará en UCS-2 de todos modos, y se retorna el
+     * texto original sin perder los acentos.
+     *
+     * @param text el texto del mensaje
+     * @return el texto en GSM-7, o {@code text} si ya lo estaba o no tiene
+     *         equivalente
+     */
+    public static String transliterate(String text) {
+        StringBuilder out = null;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (septets(c) != 0) {
+                if (out != null) {
+                    out.append(c);
+                }
+                continue;
+            }
+            String replacement = c < TRANSLITERATION.length ? TRANSLITERATION[c] : null;
+            if (replacement == null) {
+                return text;
+            }
+            if (out == null) {
+                out = new StringBuilder(length + 8).append(text, 0, i);
+            }
+            out.append(replacement);
+        }
+        return out == null ? text : out.toString();
+    }
+
+    /**
+     * @param c un carácter UTF-16
+     * @return {@code true} si el carácter existe en GSM-7 (alfabeto básico o
+     *         tabla de extensión)
+     */
+    public static boolean isGsm7(char c) {
+        return septets(c) != 0;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    /** @return septetos que ocupa el carácter, o 0 si no está en GSM-7 */
+    private static int septets(char c) {
+        if (c < SEPTETS.length) {
+            return SEPTETS[c];
+        }
+        return c == EURO ? 2 : 0;
+    }
+
+    private static void mapEach(String from, String to) {
+        for (int i = 0; i < from.length(); i++) {
+            TRANSLITERATION[from.charAt(i)] = String.valueOf(to.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.novacomp.notification.sms;
+
+/**
+ * Codificación de un SMS y sus límites por segmento.
+ * <p>
+ * Un SMS transporta 140 octetos de datos. Un mensaje concatenado reserva 6
+ * de ellos para la cabecera UDH (referencia, total y número de parte), por
+ * lo que cada segmento lleva menos caracteres que un mensaje simple.
+ */
+public enum SmsEncoding {
+
+    /** Alfabeto GSM 03.38 de 7 bits (con tabla de extensión). */
+    GSM_7(160, 153),
+
+    /** UTF-16 de 2 octetos por unidad; un emoji ocupa 2 unidades. */
+    UCS_2(70, 67);
+
+    private final int singleLimit;
+    private final int segmentLimit;
+
+    SmsEncoding(int singleLimit, int segmentLimit) {
+        this.singleLimit = singleLimit;
+        this.segmentLimit = segmentLimit;
+    }
+
+    /**
+     * @return unidades (septetos o unidades UTF-16) que caben en un mensaje
+     *         de un solo segmento
+     */
+    public int singleLimit() {
+        return singleLimit;
+    }
+
+    /**
+     * @return unidades que caben en cada segmento de un mensaje concatenado
+     */
+    public int segmentLimit() {
+        return segmentLimit;
+    }
+}
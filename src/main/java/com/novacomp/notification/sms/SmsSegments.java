@@ -0,0 +1,43 @@
+package com.novacomp.notification.sms;
+
+import java.util.Objects;
+
+/**
+ * Resultado de analizar el texto de un SMS: codificación y segmentos
+ * facturables.
+ *
+ * @param encoding codificación con la que viaja el mensaje
+ * @param units    longitud en la unidad de la codificación: septetos en
+ *                 {@link SmsEncoding#GSM_7} (un carácter de la tabla de
+ *                 extensión cuenta 2) o unidades UTF-16 en
+ *                 {@link SmsEncoding#UCS_2}
+ * @param segments segmentos que se envían (al menos 1)
+ */
+public record SmsSegments(SmsEncoding encoding, int units, int segments) {
+
+    public SmsSegments {
+        Objects.requireNonNull(encoding, "La codificación no puede ser nula");
+        if (units < 0 || segments < 1) {
+            throw new IllegalArgumentException("Se requiere units >= 0 y segments >= 1");
+        }
+    }
+
+    /**
+     * @return {@code true} si el mensaje se envía concatenado (con UDH)
+     */
+    public boolean concatenated() {
+        return segments > 1;
+    }
+
+    /**
+     * Unidades libres antes de que el mensaje ocupe un segmento más. Es un
+     * valor aproximado en los mensajes concatenados: un carácter de la tabla
+     * de extensión o un par sustituto no se parte entre segmentos.
+     *
+     * @return unidades libres en el último segmento
+     */
+    public int remaining() {
+        int capacity = segments == 1 ? encoding.singleLimit() : segments * encoding.segmentLimit();
+        return Math.max(0, capacity - units);
+    }
+}
@@ -0,0 +1,91 @@
+package com.novacomp.notification.suppression;
+
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.routing.ProviderStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Decorator que consulta la {@link SuppressionList} antes de llamar al
+ * canal y la alimenta con los fallos definitivos del proveedor.
+ * <p>
+ * Un destinatario suprimido no llega al proveedor: se retorna de inmediato
+ * un {@code Failure} {@value SuppressionList#RECIPIENT_SUPPRESSED}. Si el
+ * proveedor rechaza un envío con uno de los códigos configurados (ej: el
+ * {@code UNREGISTERED} de FCM o un rebote de email), el destinatario se
+ * agrega a la lista y los envíos siguientes ya no salen.
+ *
+ * @param <T> el tipo de solicitud de notificación que maneja el canal envuelto
+ */
+@Slf4j
+public final class SuppressionChannelDecorator<T> implements NotificationChannel<T> {
+
+    private final NotificationChannel<T> delegate;
+    private final SuppressionList list;
+    private final Set<String> suppressOn;
+
+    /**
+     * @param delegate   el canal a decorar
+     * @param list       la lista de supresión (puede compartirse entre
+     *                   canales)
+     * @param suppressOn códigos de {@code Failure} del proveedor que agregan
+     *                   el destinatario a la lista
+     */
+    public SuppressionChannelDecorator(NotificationChannel<T> delegate, SuppressionList list, Set<String> suppressOn) {
+        this.delegate = Objects.requireNonNull(delegate, "El canal delegado no puede ser nulo");
+        this.list = Objects.requireNonNull(list, "La lista de supresión no puede ser nula");
+        this.suppressOn = Set.copyOf(Objects.requireNonNull(suppressOn, "Los códigos no pueden ser nulos"));
+    }
+
+    @Override
+    public NotificationResult send(T request) {
+        if (!(request instanceof NotificationRequest notification)) {
+            return delegate.send(request);
+        }
+        ChannelType type = notification.channelType();
+        String recipient = notification.recipient();
+        if (list.contains(type, recipient)) {
+            log.info("[{}] Destinatario suprimido; no se envía [para='{}']", type, recipient);
+            return new NotificationResult.Failure(SuppressionList.RECIPIENT_SUPPRESSED,
+                    "El destinatario está en la lista de supresión del canal " + type);
+        }
+
+        NotificationResult result = delegate.send(request);
+        if (result instanceof NotificationResult.Failure failure && suppressOn.contains(failure.code())) {
+            suppress(type, recipient, failure.code());
+        }
+        return result;
+    }
+
+    @Override
+    public ChannelType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public List<ProviderStats> providerStats() {
+        return delegate.providerStats();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+
+    private void suppress(ChannelType type, String recipient, String code) {
+        try {
+            if (list.add(type, recipient)) {
+                log.info("[{}] Destinatario agregado a la lista de supresión [para='{}', codigo={}]",
+                        type, recipient, code);
+            }
+        } catch (IllegalStateException ex) {
+            log.warn("[{}] No se pudo suprimir el destinatario: {}", type, ex.getMessage());
+        }
+    }
+}
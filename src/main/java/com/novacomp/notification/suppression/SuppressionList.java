@@ -0,0 +1,490 @@
+package com.novacomp.notification.suppression;
+
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.validation.RecipientValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lista de supresión (bajas, rebotes, tokens dados de baja) para consultar
+ * antes de cada envío, dimensionada para decenas de millones de
+ * destinatarios sin ocupar el heap.
+ *
+ * <h3>Estructura</h3>
+ * Cada destinatario se reduce a una huella de 64 bits
+ * ({@link #fingerprint(ChannelType, CharSequence)}) y se guarda en dos
+ * estructuras fuera del heap:
+ * <ul>
+ * <li>un <b>filtro de Bloom por bloques</b> en memoria directa: los 7 bits
+ * de una huella caen en el mismo bloque de 64 bytes (una línea de caché),
+ * con ~10 bits por entrada (~1% de falsos positivos). La gran mayoría de
+ * los destinatarios no está suprimida y se descarta con un solo acceso a
+ * memoria;</li>
+ * <li>un <b>conjunto exacto</b> de huellas: tabla hash de direccionamiento
+ * abierto (sondeo lineal, {@code 0} = vacío) en un archivo mapeado en
+ * memoria, o en memoria directa si no se indica archivo. Resuelve los
+ * positivos del filtro.</li>
+ * </ul>
+ * Con 50 millones de entradas la tabla ocupa 512 MB (mapeados, paginados
+ * por el sistema operativo) y el filtro 64 MB, contra varios GB de un
+ * {@code HashSet<String>}. Dos destinatarios distintos comparten huella con
+ * probabilidad ~n²/2⁶⁵ (≈ 7·10⁻⁵ con 50 millones): el riesgo de suprimir
+ * por error es despreciable.
+ *
+ * <h3>Persistencia y concurrencia</h3>
+ * La tabla del archivo sobrevive al reinicio; el filtro se reconstruye al
+ * abrir recorriendo la tabla. La capacidad es fija: la del archivo si ya
+ * existe, o la del builder al crearlo. Las altas y las consultas son
+ * lock-free (CAS sobre las celdas de la tabla y OR atómico sobre las
+ * palabras del filtro) y pueden ejecutarse desde cualquier hilo.
+ *
+ * <h3>Claves</h3>
+ * {@link #add} y {@link #contains} esperan el destinatario en forma
+ * canónica (la que produce {@link RecipientValidator}, que corre antes en
+ * el servicio). {@link #load} normaliza cada línea del archivo.
+ *
+ * <pre>{@code
+ * try (var suppression = SuppressionList.builder()
+ *         .capacity(50_000_000)
+ *         .file(Path.of("/var/lib/notifications/suppression.idx"))
+ *         .open()) {
+ *     suppression.load(ChannelType.SMS, Path.of("bajas-sms.txt"));
+ *     suppression.add(ChannelType.PUSH, token);
+ * }
+ * }</pre>
+ */
+@Slf4j
+public final class SuppressionList implements AutoCloseable {
+
+    /** Código del {@code Failure} de un envío a un destinatario suprimido. */
+    public static final String RECIPIENT_SUPPRESSED = "RECIPIENT_SUPPRESSED";
+
+    /** Capacidad máxima admitida (el filtro debe caber en un solo buffer). */
+    public static final long MAX_CAPACITY = 500_000_000L;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long MAGIC = 0x4E4F564153555050L; // "NOVASUPP"
+    private static final int HEADER_BYTES = 4096;
+    private static final int CHUNK_SHIFT = 24; // 2^24 celdas (128 MB) por buffer
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final int BLOCK_LONGS = 8; // 512 bits = 64 bytes
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer[] chunks;
+    private final long slotMask;
+    private final long maxEntries;
+    private final ByteBuffer bloom;
+    private final long blockMask;
+    private final AtomicLong size = new AtomicLong();
+    private final RecipientValidator normalizer = new RecipientValidator(0);
+
+    private SuppressionList(Builder builder) throws IOException {
+        this.file = builder.file;
+        long slots = slotsFor(builder.capacity);
+
+        if (file == null) {
+            this.channel = null;
+            this.chunks = allocate(slots);
+        } else {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                slots = mapHeader(slots);
+                this.chunks = map(slots);
+            } catch (IOException | RuntimeException ex) {
+                channel.close();
+                throw ex;
+            }
+        }
+        this.slotMask = slots - 1;
+        this.maxEntries = slots - (slots >>> 2);
+
+        long blocks = Math.max(1, Long.highestOneBit(Math.max(1, maxEntries * BLOOM_BITS_PER_ENTRY / 512)) << 1);
+        this.bloom = ByteBuffer.allocateDirect(Math.toIntExact(blocks * BLOCK_LONGS * Long.BYTES));
+        this.blockMask = blocks - 1;
+
+        rebuild(slots);
+        log.info("Lista de supresión abierta [archivo={}, entradas={}, capacidad={}]",
+                file == null ? "(memoria)" : file, size.get(), maxEntries);
+    }
+
+    /**
+     * Crea un builder para abrir una lista de supresión.
+     *
+     * @return un nuevo builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ------------------------------------------------------------------ //
+    // Consulta y altas
+    // ------------------------------------------------------------------ //
+
+    /**
+     * @param channel   el canal
+     * @param recipient el destinatario en forma canónica
+     * @return {@code true} si el destinatario está suprimido en el canal
+     */
+    public boolean contains(ChannelType channel, CharSequence recipient) {
+        return containsFingerprint(fingerprint(channel, recipient));
+    }
+
+    /**
+     * @param fingerprint huella de {@link #fingerprint(ChannelType, CharSequence)}
+     * @return {@code true} si la huella está en la lista
+     */
+    public boolean containsFingerprint(long fingerprint) {
+        long key = key(fingerprint);
+        if (!mightContain(key)) {
+            return false;
+        }
+        for (long slot = key & slotMask; ; slot = (slot + 1) & slotMask) {
+            long current = get(slot);
+            if (current == key) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Suprime un destinatario.
+     *
+     * @param channel   el canal
+     * @param recipient el destinatario en forma canónica
+     * @return {@code true} si no estaba suprimido
+     * @throws IllegalStateException si la lista alcanzó su capacidad
+     */
+    public boolean add(ChannelType channel, CharSequence recipient) {
+        return addFingerprint(fingerprint(channel, recipient));
+    }
+
+    /**
+     * Suprime una huella.
+     *
+     * @param fingerprint huella de {@link #fingerprint(ChannelType, CharSequence)}
+     * @return {@code true} si no estaba en la lista
+     * @throws IllegalStateException si la lista alcanzó su capacidad
+     */
+    public boolean addFingerprint(long fingerprint) {
+        long key = key(fingerprint);
+        for (long slot = key & slotMask; ; slot = (slot + 1) & slotMask) {
+            long current = get(slot);
+            if (current == key) {
+                return false;
+            }
+            if (current != 0) {
+                continue;
+            }
+            if (size.get() >= maxEntries) {
+                throw new IllegalStateException("La lista de supresión alcanzó su capacidad (" + maxEntries + ")");
+            }
+            if (compareAndSet(slot, key)) {
+                size.incrementAndGet();
+                setBloom(key);
+                return true;
+            }
+            // Otro hilo ocupó la celda: se vuelve a leer la misma.
+            slot = (slot - 1) & slotMask;
+        }
+    }
+
+    /**
+     * Carga masiva desde un archivo de texto con un destinatario por línea
+     * (UTF-8; se ignoran las líneas vacías y las que empiezan con
+     * {@code #}). Cada destinatario se normaliza como en el envío; los que
+     * no son válidos para el canal se cargan tal como están (recortados).
+     *
+     * @param channel el canal de los destinatarios
+     * @param source  el archivo
+     * @return cantidad de destinatarios nuevos en la lista
+     * @throws UncheckedIOException  si no se pudo leer el archivo
+     * @throws IllegalStateException si la lista alcanzó su capacidad
+     */
+    public long load(ChannelType channel, Path source) {
+        Objects.requireNonNull(channel, "El canal no puede ser nulo");
+        Objects.requireNonNull(source, "El archivo no puede ser nulo");
+        long started = System.nanoTime();
+        long lines = 0;
+        long added = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String recipient = line.strip();
+                if (recipient.isEmpty() || recipient.charAt(0) == '#') {
+                    continue;
+                }
+                lines++;
+                RecipientValidator.Verdict verdict = normalizer.check(channel, recipient);
+                if (add(channel, verdict.valid() ? verdict.canonical() : recipient)) {
+                    added++;
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer la lista de supresión " + source, ex);
+        }
+        log.info("Lista de supresión cargada [canal={}, archivo={}, lineas={}, nuevas={}, ms={}]",
+                channel, source, lines, added, (System.nanoTime() - started) / 1_000_000);
+        return added;
+    }
+
+    /**
+     * @return cantidad de destinatarios suprimidos
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * @return cantidad máxima de destinatarios
+     */
+    public long capacity() {
+        return maxEntries;
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas de la tabla (no hace nada sin
+     * archivo).
+     */
+    public void flush() {
+        if (channel == null) {
+            return;
+        }
+        for (ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+    }
+
+    /**
+     * Fuerza la tabla a disco y cierra el archivo. Los buffers mapeados se
+     * liberan cuando el recolector los descarta.
+     */
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        flush();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("No se pudo cerrar la lista de supresión {}", file, ex);
+        }
+    }
+
+    /**
+     * Huella de 64 bits de un destinatario: FNV-1a sobre el canal y los
+     * caracteres, seguido del mezclador final de MurmurHash3 para repartir
+     * los bits. No asigna memoria.
+     *
+     * @param channel   el canal
+     * @param recipient el destinatario
+     * @return la huella
+     */
+    public static long fingerprint(ChannelType channel, CharSequence recipient) {
+        long hash = 0xCBF29CE484222325L ^ channel.ordinal();
+        for (int i = 0, length = recipient.length(); i < length; i++) {
+            hash = (hash ^ recipient.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Filtro de Bloom por bloques
+    // ------------------------------------------------------------------ //
+
+    private boolean mightContain(long key) {
+        int base = blockOffset(key);
+        long bits = mix(key ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < BLOOM_HASHES; i++, bits >>>= 9) {
+            int bit = (int) bits & 511;
+            long word = (long) LONGS.getAcquire(bloom, base + ((bit >>> 6) << 3));
+            if ((word & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBloom(long key) {
+        int base = blockOffset(key);
+        long bits = mix(key ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < BLOOM_HASHES; i++, bits >>>= 9) {
+            int bit = (int) bits & 511;
+            LONGS.getAndBitwiseOr(bloom, base + ((bit >>> 6) << 3), 1L << (bit & 63));
+        }
+    }
+
+    private int blockOffset(long key) {
+        return (int) ((key >>> 32) & blockMask) * BLOCK_LONGS * Long.BYTES;
+    }
+
+    // ------------------------------------------------------------------ //
+    // Tabla exacta
+    // ------------------------------------------------------------------ //
+
+    private long get(long slot) {
+        return (long) LONGS.getAcquire(chunks[(int) (slot >>> CHUNK_SHIFT)], offset(slot));
+    }
+
+    private boolean compareAndSet(long slot, long key) {
+        return LONGS.compareAndSet(chunks[(int) (slot >>> CHUNK_SHIFT)], offset(slot), 0L, key);
+    }
+
+    private static int offset(long slot) {
+        return (int) (slot & ((1L << CHUNK_SHIFT) - 1)) << 3;
+    }
+
+    private void rebuild(long slots) {
+        long count = 0;
+        for (long slot = 0; slot < slots; slot++) {
+            long key = get(slot);
+            if (key != 0) {
+                setBloom(key);
+                count++;
+            }
+        }
+        size.set(count);
+    }
+
+    private static ByteBuffer[] allocate(long slots) {
+        ByteBuffer[] buffers = new ByteBuffer[chunkCount(slots)];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(chunkBytes(slots));
+        }
+        return buffers;
+    }
+
+    /** Lee (o escribe, si el archivo es nuevo) la cabecera; retorna las celdas de la tabla. */
+    private long mapHeader(long requestedSlots) throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        long magic = header.getLong(0);
+        if (magic == 0) {
+            header.putLong(8, requestedSlots);
+            header.putLong(0, MAGIC);
+            header.force();
+            return requestedSlots;
+        }
+        long slots = header.getLong(8);
+        if (magic != MAGIC || Long.bitCount(slots) != 1) {
+            throw new IOException("El archivo " + file + " no es una lista de supresión válida");
+        }
+        return slots;
+    }
+
+    private ByteBuffer[] map(long slots) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[chunkCount(slots)];
+        long bytes = chunkBytes(slots);
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + i * bytes, bytes);
+        }
+        return buffers;
+    }
+
+    private static int chunkCount(long slots) {
+        return (int) Math.max(1, slots >>> CHUNK_SHIFT);
+    }
+
+    private static int chunkBytes(long slots) {
+        return (int) Math.min(slots, 1L << CHUNK_SHIFT) << 3;
+    }
+
+    /** Celdas para {@code capacity} entradas con factor de carga ≤ 0,75. */
+    private static long slotsFor(long capacity) {
+        long needed = Math.max(1024, capacity + (capacity + 2) / 3);
+        return Long.highestOneBit(needed - 1) << 1;
+    }
+
+    /** {@code 0} marca una celda vacía: la huella 0 se guarda como 1. */
+    private static long key(long fingerprint) {
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Builder
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Builder de {@link SuppressionList}.
+     */
+    public static final class Builder {
+
+        private long capacity = 1_000_000;
+        private Path file;
+
+        private Builder() {
+        }
+
+        /**
+         * @param capacity destinatarios que admite la lista (solo al crear
+         *                 el archivo; uno existente conserva la suya)
+         * @return este builder
+         */
+        public Builder capacity(long capacity) {
+            if (capacity < 1 || capacity > MAX_CAPACITY) {
+                throw new IllegalArgumentException("capacity debe estar entre 1 y " + MAX_CAPACITY);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * @param file archivo de la tabla, mapeado en memoria; sin archivo la
+         *             tabla vive en memoria directa y no se persiste
+         * @return este builder
+         */
+        public Builder file(Path file) {
+            this.file = Objects.requireNonNull(file, "El archivo no puede ser nulo");
+            return this;
+        }
+
+        /**
+         * Abre la lista, reconstruyendo el filtro si el archivo ya existe.
+         *
+         * @return la lista
+         * @throws UncheckedIOException si no se pudo abrir o mapear el
+         *                              archivo
+         */
+        public SuppressionList open() {
+            try {
+                return new SuppressionList(this);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("No se pudo abrir la lista de supresión " + file, ex);
+            }
+        }
+    }
+}
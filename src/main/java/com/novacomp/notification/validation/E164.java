@@ -0,0 +1,241 @@
+package com.novacomp.notification.validation;
+
+/**
+ * Parser de números telefónicos internacionales (E.164) escrito a mano, sin
+ * expresiones regulares ni asignaciones de memoria.
+ * <p>
+ * Acepta el número en formato internacional, con {@code +} o con el prefijo
+ * de salida {@code 00}, y con los separadores habituales entre dígitos
+ * (espacio, {@code -}, {@code .}, paréntesis): {@code "+506 8888-1234"},
+ * {@code "00506 88881234"} o {@code "+1 (202) 555-0123"}. Un número E.164
+ * tiene como máximo 15 dígitos, por lo que el resultado cabe en un
+ * {@code long}:
+ *
+ * <pre>
+ *   resultado &gt;= 0 :  bits 56..59 = cantidad de dígitos, bits 0..55 = valor
+ *   resultado &lt;  0 :  uno de los códigos de error de esta clase
+ * </pre>
+ *
+ * El código de país se resuelve con una tabla de los prefijos asignados por
+ * la UIT (que no son prefijo uno de otro, por lo que basta probar 1, 2 y 3
+ * dígitos) y la longitud del número nacional se valida con una tabla por
+ * país; los países sin entrada admiten de 4 a 14 dígitos nacionales. Para
+ * el plan de numeración norteamericano ({@code +1}) además se exige que el
+ * código de área y la central no empiecen con 0 ni 1.
+ */
+public final class E164 {
+
+    /** Contiene un carácter que no es dígito ni separador. */
+    public static final long INVALID_CHARACTER = -1;
+
+    /** No empieza con {@code +} ni con {@code 00}. */
+    public static final long MISSING_PREFIX = -2;
+
+    /** Más de 15 dígitos. */
+    public static final long TOO_LONG = -3;
+
+    /** El prefijo de país no está asignado. */
+    public static final long UNKNOWN_COUNTRY = -4;
+
+    /** El número nacional no tiene una longitud válida para el país. */
+    public static final long INVALID_LENGTH = -5;
+
+    /** Código de área o central inválidos en el plan norteamericano. */
+    public static final long INVALID_NANP = -6;
+
+    /** Máximo de dígitos de un número E.164. */
+    public static final int MAX_DIGITS = 15;
+
+    private static final int LENGTH_SHIFT = 56;
+    private static final long VALUE_MASK = (1L << LENGTH_SHIFT) - 1;
+
+    private static final String[] ERRORS = {
+            "número inválido",
+            "contiene caracteres que no son dígitos",
+            "debe estar en formato internacional (+código de país)",
+            "tiene más de " + MAX_DIGITS + " dígitos",
+            "el código de país no existe",
+            "longitud inválida para el país",
+            "código de área o central inválidos (+1)"
+    };
+
+    private static final long[] POW10 = new long[MAX_DIGITS + 1];
+
+    /** Longitud mínima/máxima del número nacional por código de país; 0 = no asignado. */
+    private static final byte[] MIN_NATIONAL = new byte[1000];
+    private static final byte[] MAX_NATIONAL = new byte[1000];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+
+        assign(4, 14, 1, 7, 20, 27, 30, 31, 32, 33, 34, 36, 39, 40, 41, 43, 44, 45, 46, 47, 48, 49,
+                51, 52, 53, 54, 55, 56, 57, 58, 60, 61, 62, 63, 64, 65, 66, 81, 82, 84, 86,
+                90, 91, 92, 93, 94, 95, 98);
+        assign(4, 12, 211, 212, 213, 216, 218);
+        assignRange(4, 12, 220, 269);
+        assign(4, 12, 290, 291, 297, 298, 299);
+        assignRange(4, 12, 350, 359);
+        assignRange(4, 12, 370, 383);
+        assign(4, 12, 385, 386, 387, 389, 420, 421, 423);
+        assignRange(4, 12, 500, 509);
+        assignRange(4, 12, 590, 599);
+        assign(4, 12, 670, 672, 673, 674, 675, 676, 677, 678, 679, 680, 681, 682, 683,
+                685, 686, 687, 688, 689, 690, 691, 692);
+        assign(4, 12, 800, 808, 850, 852, 853, 855, 856, 870, 878, 880, 881, 882, 883, 886, 888);
+        assignRange(4, 12, 960, 968);
+        assignRange(4, 12, 970, 977);
+        assign(4, 12, 979, 992, 993, 994, 995, 996, 998);
+
+        // Planes de numeración con longitud nacional conocida.
+        assign(10, 10, 1, 7, 52, 57, 58, 91);
+        assign(9, 9, 33, 34, 56, 61);
+        assign(9, 10, 44, 81);
+        assign(10, 11, 54, 55);
+        assign(8, 9, 51, 593);
+        assign(6, 11, 39);
+        assign(8, 8, 502, 503, 504, 505, 506, 507);
+    }
+
+    private E164() {
+        // Clase utilitaria -- no instanciable
+    }
+
+    /**
+     * Analiza un número en formato internacional.
+     *
+     * @param raw el número tal como lo escribió el usuario
+     * @return el número empaquetado (ver la descripción de la clase), o un
+     *         código de error negativo
+     */
+    public static long parse(CharSequence raw) {
+        int end = raw.length();
+        int i = 0;
+        while (i < end && raw.charAt(i) == ' ') {
+            i++;
+        }
+        while (end > i && raw.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (i < end && raw.charAt(i) == '+') {
+            i++;
+        } else if (i + 1 < end && raw.charAt(i) == '0' && raw.charAt(i + 1) == '0') {
+            i += 2;
+        } else {
+            return MISSING_PREFIX;
+        }
+
+        long value = 0;
+        int digits = 0;
+        for (; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITS) {
+                    return TOO_LONG;
+                }
+                value = value * 10 + (c - '0');
+            } else if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')') {
+                return INVALID_CHARACTER;
+            }
+        }
+        return validate(value, digits);
+    }
+
+    /**
+     * @param parsed resultado válido de {@link #parse(CharSequence)}
+     * @return cantidad de dígitos del número (incluido el código de país)
+     */
+    public static int digits(long parsed) {
+        return (int) (parsed >>> LENGTH_SHIFT);
+    }
+
+    /**
+     * @param parsed resultado válido de {@link #parse(CharSequence)}
+     * @return el código de país (ej: 506)
+     */
+    public static int countryCode(long parsed) {
+        long value = parsed & VALUE_MASK;
+        int digits = digits(parsed);
+        for (int length = 1; length <= 3 && length < digits; length++) {
+            int code = (int) (value / POW10[digits - length]);
+            if (MAX_NATIONAL[code] != 0) {
+                return code;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Formatea el número en forma canónica: {@code +} seguido solo de
+     * dígitos (ej: {@code +50688881234}).
+     *
+     * @param parsed resultado válido de {@link #parse(CharSequence)}
+     * @return el número canónico
+     */
+    public static String format(long parsed) {
+        int digits = digits(parsed);
+        long value = parsed & VALUE_MASK;
+        char[] out = new char[digits + 1];
+        out[0] = '+';
+        for (int i = digits; i > 0; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(out);
+    }
+
+    /**
+     * @param error código de error de {@link #parse(CharSequence)}
+     * @return descripción del error
+     */
+    public static String describe(long error) {
+        return error < 0 && -error < ERRORS.length ? ERRORS[(int) -error] : ERRORS[0];
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers internos
+    // ------------------------------------------------------------------ //
+
+    private static long validate(long value, int digits) {
+        if (digits > 0 && value < POW10[digits - 1]) {
+            return UNKNOWN_COUNTRY; // ningún código de país empieza con 0
+        }
+        for (int length = 1; length <= 3 && length < digits; length++) {
+            int code = (int) (value / POW10[digits - length]);
+            int max = MAX_NATIONAL[code];
+            if (max == 0) {
+                continue;
+            }
+            int national = digits - length;
+            if (national < MIN_NATIONAL[code] || national > max) {
+                return INVALID_LENGTH;
+            }
+            if (code == 1 && !validNanp(value % POW10[national])) {
+                return INVALID_NANP;
+            }
+            return ((long) digits << LENGTH_SHIFT) | value;
+        }
+        return digits <= 3 ? INVALID_LENGTH : UNKNOWN_COUNTRY;
+    }
+
+    /** NXX-NXX-XXXX: el código de área y la central empiezan con 2-9. */
+    private static boolean validNanp(long national) {
+        return national / 1_000_000_000L >= 2 && (national / 1_000_000L) % 10 >= 2;
+    }
+
+    private static void assign(int min, int max, int... codes) {
+        for (int code : codes) {
+            MIN_NATIONAL[code] = (byte) min;
+            MAX_NATIONAL[code] = (byte) max;
+        }
+    }
+
+    private static void assignRange(int min, int max, int from, int to) {
+        for (int code = from; code <= to; code++) {
+            assign(min, max, code);
+        }
+    }
+
+}
@@ -0,0 +1,284 @@
+package com.novacomp.notification.validation;
+
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Valida y normaliza el destinatario de una solicitud antes del envío, para
+ * rechazar en nanosegundos lo que el proveedor rechazaría tras un viaje de
+ * red (y sus reintentos).
+ * <ul>
+ * <li><b>SMS</b>: número E.164 con {@link E164} (prefijos de país y
+ * longitudes por país); se normaliza a {@code +} y dígitos:
+ * {@code "+506 8888-1234"} → {@code "+50688881234"}.</li>
+ * <li><b>Email</b>: sintaxis {@code local@dominio} sin expresiones
+ * regulares (parte local de átomos separados por puntos, dominio con al
+ * menos dos etiquetas y TLD alfabético); se normaliza el dominio a
+ * minúsculas.</li>
+ * <li><b>Push</b>: token de {@value #MIN_TOKEN_LENGTH} a
+ * {@value #MAX_TOKEN_LENGTH} caracteres del alfabeto de los tokens de FCM y
+ * APNs ({@code [A-Za-z0-9_:.-]}).</li>
+ * </ul>
+ * Los veredictos se guardan en una caché de mapeo directo por canal (un
+ * arreglo de tamaño fijo indexado por el hash del destinatario): un
+ * destinatario repetido se resuelve con una lectura del arreglo y sin
+ * asignar memoria. Las colisiones simplemente reemplazan la entrada. La
+ * clase es thread-safe: las entradas son inmutables y una carrera al
+ * escribir solo cuesta volver a validar.
+ */
+public final class RecipientValidator {
+
+    /** Código del {@code Failure} de un destinatario inválido. */
+    public static final String INVALID_RECIPIENT = "INVALID_RECIPIENT";
+
+    /** Longitud mínima de un token de dispositivo. */
+    public static final int MIN_TOKEN_LENGTH = 8;
+
+    /** Longitud máxima de un token de dispositivo. */
+    public static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final int MAX_EMAIL_LENGTH = 254;
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private final Verdict[][] cache;
+    private final int mask;
+
+    /**
+     * Resultado de validar un destinatario.
+     *
+     * @param recipient el destinatario tal como llegó
+     * @param canonical el destinatario normalizado, o {@code null} si es
+     *                  inválido
+     * @param failure   el rechazo, o {@code null} si es válido
+     */
+    public record Verdict(String recipient, String canonical, NotificationResult.Failure failure) {
+
+        /**
+         * @return {@code true} si el destinatario es válido
+         */
+        public boolean valid() {
+            return failure == null;
+        }
+    }
+
+    /**
+     * Crea un validador con una caché de 4096 entradas por canal.
+     */
+    public RecipientValidator() {
+        this(4096);
+    }
+
+    /**
+     * @param cacheSize entradas de la caché por canal (se redondea a
+     *                  potencia de 2; 0 desactiva la caché)
+     */
+    public RecipientValidator(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize debe ser >= 0");
+        }
+        int size = Integer.bitCount(cacheSize) <= 1 ? cacheSize : Integer.highestOneBit(cacheSize) << 1;
+        this.cache = new Verdict[ChannelType.values().length][size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Valida el destinatario de la solicitud.
+     *
+     * @param request la solicitud
+     * @return el veredicto (cacheado si el destinatario ya se vio)
+     */
+    public Verdict check(NotificationRequest request) {
+        Objects.requireNonNull(request, "La solicitud no puede ser nula");
+        return check(request.channelType(), request.recipient());
+    }
+
+    /**
+     * Valida un destinatario del canal dado.
+     *
+     * @param channel   el canal
+     * @param recipient el destinatario en el formato del canal
+     * @return el veredicto (cacheado si el destinatario ya se vio)
+     */
+    public Verdict check(ChannelType channel, String recipient) {
+        Verdict[] slots = cache[channel.ordinal()];
+        if (slots.length == 0) {
+            return validate(channel, recipient);
+        }
+        int slot = spread(recipient.hashCode()) & mask;
+        Verdict cached = slots[slot];
+        if (cached != null && cached.recipient.equals(recipient)) {
+            return cached;
+        }
+        Verdict verdict = validate(channel, recipient);
+        slots[slot] = verdict;
+        return verdict;
+    }
+
+    /**
+     * Retorna la solicitud con el destinatario normalizado del veredicto.
+     *
+     * @param request la solicitud validada
+     * @param verdict su veredicto válido
+     * @return {@code request} si ya estaba normalizada, o una copia con el
+     *         destinatario canónico
+     */
+    public static NotificationRequest normalize(NotificationRequest request, Verdict verdict) {
+        String canonical = verdict.canonical();
+        if (canonical == null || canonical.equals(request.recipient())) {
+            return request;
+        }
+        return switch (request) {
+            case SmsRequest sms -> new SmsRequest(canonical, sms.message());
+            case EmailRequest email -> email.withTo(canonical);
+            case PushRequest push -> new PushRequest(canonical, push.title(), push.body());
+        };
+    }
+
+    // ------------------------------------------------------------------ //
+    // Validación por canal
+    // ------------------------------------------------------------------ //
+
+    private static Verdict validate(ChannelType channel, String recipient) {
+        return switch (channel) {
+            case SMS -> phone(recipient);
+            case EMAIL -> email(recipient);
+            case PUSH -> token(recipient);
+        };
+    }
+
+    private static Verdict phone(String recipient) {
+        long parsed = E164.parse(recipient);
+        if (parsed < 0) {
+            return invalid(recipient, "Número de teléfono inválido ('" + recipient + "'): " + E164.describe(parsed));
+        }
+        return new Verdict(recipient, E164.format(parsed), null);
+    }
+
+    /** Sintaxis de RFC 5321 restringida a lo que aceptan los proveedores (sin comillas ni IPs). */
+    private static Verdict email(String recipient) {
+        int start = 0;
+        int end = recipient.length();
+        while (start < end && recipient.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && recipient.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int at = recipient.lastIndexOf('@', end - 1);
+        String error;
+        if (end - start > MAX_EMAIL_LENGTH) {
+            error = "supera los " + MAX_EMAIL_LENGTH + " caracteres";
+        } else if (at < start) {
+            error = "falta la '@'";
+        } else if (!validLocalPart(recipient, start, at)) {
+            error = "parte local inválida";
+        } else if (!validDomain(recipient, at + 1, end)) {
+            error = "dominio inválido";
+        } else {
+            return new Verdict(recipient, canonicalEmail(recipient, start, at, end), null);
+        }
+        return invalid(recipient, "Email inválido ('" + recipient + "'): " + error);
+    }
+
+    private static Verdict token(String recipient) {
+        int length = recipient.length();
+        if (length < MIN_TOKEN_LENGTH || length > MAX_TOKEN_LENGTH) {
+            return invalid(recipient, "Token de dispositivo inválido: longitud " + length
+                    + " fuera de [" + MIN_TOKEN_LENGTH + ", " + MAX_TOKEN_LENGTH + "]");
+        }
+        for (int i = 0; i < length; i++) {
+            char c = recipient.charAt(i);
+            if (!isAlphanumeric(c) && c != '_' && c != ':' && c != '.' && c != '-') {
+                return invalid(recipient, "Token de dispositivo inválido: carácter no permitido en la posición " + i);
+            }
+        }
+        return new Verdict(recipient, recipient, null);
+    }
+
+    private static boolean validLocalPart(String s, int from, int to) {
+        if (to - from < 1 || to - from > MAX_LOCAL_LENGTH || s.charAt(from) == '.' || s.charAt(to - 1) == '.') {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (s.charAt(i - 1) == '.') {
+                    return false;
+                }
+            } else if (!isAlphanumeric(c) && "!#$%&'*+/=?^_`{|}~-".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean validDomain(String s, int from, int to) {
+        int labels = 0;
+        int labelStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i < to && s.charAt(i) != '.') {
+                char c = s.charAt(i);
+                if (!isAlphanumeric(c) && c != '-') {
+                    return false;
+                }
+                continue;
+            }
+            int length = i - labelStart;
+            if (length < 1 || length > MAX_LABEL_LENGTH
+                    || s.charAt(labelStart) == '-' || s.charAt(i - 1) == '-') {
+                return false;
+            }
+            labels++;
+            if (i == to) {
+                // TLD: al menos 2 letras.
+                if (length < 2) {
+                    return false;
+                }
+                for (int j = labelStart; j < i; j++) {
+                    if (!isLetter(s.charAt(j))) {
+                        return false;
+                    }
+                }
+            }
+            labelStart = i + 1;
+        }
+        return labels >= 2;
+    }
+
+    /** Recorta espacios y pasa el dominio a minúsculas; no asigna si ya es canónico. */
+    private static String canonicalEmail(String s, int start, int at, int end) {
+        boolean canonical = start == 0 && end == s.length();
+        for (int i = at + 1; canonical && i < end; i++) {
+            char c = s.charAt(i);
+            canonical = c < 'A' || c > 'Z';
+        }
+        if (canonical) {
+            return s;
+        }
+        return s.substring(start, at + 1) + s.substring(at + 1, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    private static Verdict invalid(String recipient, String reason) {
+        return new Verdict(recipient, null, new NotificationResult.Failure(INVALID_RECIPIENT, reason));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
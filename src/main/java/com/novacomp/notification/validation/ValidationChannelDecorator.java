@@ -0,0 +1,69 @@
+package com.novacomp.notification.validation;
+
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.routing.ProviderStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decorator que valida y normaliza el destinatario con un
+ * {@link RecipientValidator} antes de llamar al canal.
+ * <p>
+ * Un destinatario inválido no llega al proveedor (ni consume un permiso del
+ * limitador, ni dispara reintentos): se retorna de inmediato un
+ * {@code Failure} {@value RecipientValidator#INVALID_RECIPIENT}. Uno válido
+ * se envía en su forma canónica (ej: {@code "+506 8888-1234"} como
+ * {@code "+50688881234"}).
+ *
+ * @param <T> el tipo de solicitud de notificación que maneja el canal envuelto
+ */
+@Slf4j
+public final class ValidationChannelDecorator<T> implements NotificationChannel<T> {
+
+    private final NotificationChannel<T> delegate;
+    private final RecipientValidator validator;
+
+    /**
+     * @param delegate  el canal a decorar
+     * @param validator validador (puede compartirse entre canales)
+     */
+    public ValidationChannelDecorator(NotificationChannel<T> delegate, RecipientValidator validator) {
+        this.delegate = Objects.requireNonNull(delegate, "El canal delegado no puede ser nulo");
+        this.validator = Objects.requireNonNull(validator, "El validador no puede ser nulo");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NotificationResult send(T request) {
+        if (!(request instanceof NotificationRequest notification)) {
+            return delegate.send(request);
+        }
+        RecipientValidator.Verdict verdict = validator.check(notification);
+        if (!verdict.valid()) {
+            log.warn("[{}] Destinatario rechazado antes del envío [razon={}]", getType(), verdict.failure().reason());
+            return verdict.failure();
+        }
+        // La solicitud normalizada es del mismo tipo que la original.
+        return delegate.send((T) RecipientValidator.normalize(notification, verdict));
+    }
+
+    @Override
+    public ChannelType getType() {
+        return delegate.getType();
+    }
+
+    @Override
+    public List<ProviderStats> providerStats() {
+        return delegate.providerStats();
+    }
+
+    @Override
+    public void warmUp() {
+        delegate.warmUp();
+    }
+}
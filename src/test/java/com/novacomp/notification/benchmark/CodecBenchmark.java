@@ -0,0 +1,113 @@
+package com.novacomp.notification.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novacomp.notification.codec.CodecReader;
+import com.novacomp.notification.codec.CodecWriter;
+import com.novacomp.notification.codec.RecordView;
+import com.novacomp.notification.model.EmailRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara {@link CodecWriter}/{@link CodecReader} contra Jackson sobre un
+ * lote de 1.000 emails de campaña (mismo asunto y cuerpo, destinatario
+ * distinto): el caso típico de una cola de reintentos o un outbox.
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=CodecBenchmark -Dbenchmark.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CodecWriter writer = new CodecWriter(64 * 1024);
+
+    private EmailRequest[] requests;
+    private byte[][] jsonEncoded;
+    private ByteBuffer binaryEncoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        requests = new EmailRequest[BATCH];
+        jsonEncoded = new byte[BATCH][];
+        String body = "Hola, tu factura de mayo ya está disponible. Ingresa a tu cuenta para verla.";
+        for (int i = 0; i < BATCH; i++) {
+            requests[i] = new EmailRequest("cliente" + i + "@ejemplo.com", "Tu factura de mayo", body);
+            jsonEncoded[i] = mapper.writeValueAsBytes(requests[i]);
+        }
+        CodecWriter setupWriter = new CodecWriter();
+        for (EmailRequest request : requests) {
+            setupWriter.write(request);
+        }
+        binaryEncoded = ByteBuffer.wrap(setupWriter.toByteArray());
+
+        int jsonBytes = 0;
+        for (byte[] bytes : jsonEncoded) {
+            jsonBytes += bytes.length;
+        }
+        System.out.printf("%n[tamaño] jackson=%d bytes | binario=%d bytes%n", jsonBytes, binaryEncoded.remaining());
+    }
+
+    @Benchmark
+    public void encodeJackson(Blackhole bh) throws IOException {
+        for (EmailRequest request : requests) {
+            bh.consume(mapper.writeValueAsBytes(request));
+        }
+    }
+
+    @Benchmark
+    public int encodeBinary() {
+        writer.reset();
+        for (EmailRequest request : requests) {
+            writer.write(request);
+        }
+        return writer.size();
+    }
+
+    @Benchmark
+    public void decodeJackson(Blackhole bh) throws IOException {
+        for (byte[] bytes : jsonEncoded) {
+            bh.consume(mapper.readValue(bytes, EmailRequest.class));
+        }
+    }
+
+    @Benchmark
+    public void decodeBinary(Blackhole bh) {
+        CodecReader reader = new CodecReader(binaryEncoded);
+        while (reader.hasNext()) {
+            bh.consume(reader.next());
+        }
+    }
+
+    @Benchmark
+    public int scanBinaryViews() {
+        CodecReader reader = new CodecReader(binaryEncoded);
+        int bytes = 0;
+        while (reader.hasNext()) {
+            RecordView view = reader.nextView();
+            bytes += view.fieldLength(0);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,105 @@
+package com.novacomp.notification.benchmark;
+
+import com.novacomp.notification.config.ReceiptSettings;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.receipt.DeliveryTracker;
+import com.novacomp.notification.receipt.SendGridReceiptParser;
+import com.novacomp.notification.receipt.TwilioReceiptParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por confirmación de leer el webhook y correlacionarlo en un
+ * {@link DeliveryTracker} con 1M de envíos registrados, sin la capa HTTP:
+ * <ul>
+ * <li>{@code sendGridBatch} -- lote de {@value #BATCH} eventos de SendGrid
+ * (el webhook agrupa eventos en cada POST)</li>
+ * <li>{@code twilioCallback} -- un status callback de Twilio por POST</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=DeliveryReceiptBenchmark -Dbenchmark.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class DeliveryReceiptBenchmark {
+
+    private static final int TRACKED = 1 << 20;
+    private static final int BATCH = 100;
+
+    private final SendGridReceiptParser sendGrid = new SendGridReceiptParser();
+    private final TwilioReceiptParser twilio = new TwilioReceiptParser();
+    private DeliveryTracker tracker;
+    private byte[][] batches;
+    private byte[][] callbacks;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tracker = new DeliveryTracker(new ReceiptSettings(true, Duration.ofHours(6), TRACKED,
+                ReceiptSettings.DEFAULT_MAX_BODY_BYTES), Clock.systemUTC());
+        Instant now = Instant.now();
+        for (int i = 0; i < TRACKED; i++) {
+            tracker.track(id(i), ChannelType.EMAIL, "cliente" + (i & 1023) + "@ejemplo.com", now);
+        }
+        batches = new byte[TRACKED / BATCH][];
+        for (int b = 0; b < batches.length; b++) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = b * BATCH; i < (b + 1) * BATCH; i++) {
+                json.append(i > b * BATCH ? "," : "")
+                        .append("{\"email\":\"cliente").append(i & 1023).append("@ejemplo.com\",")
+                        .append("\"timestamp\":1772366400,\"event\":\"delivered\",")
+                        .append("\"smtp-id\":\"<").append(i).append("@novacomp.com>\",")
+                        .append("\"sg_message_id\":\"").append(id(i)).append(".filter0001.16648.5515E0B88.0\",")
+                        .append("\"response\":\"250 OK\",\"category\":[\"factura\"]}");
+            }
+            batches[b] = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        }
+        callbacks = new byte[4096][];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = ("SmsSid=" + id(i) + "&SmsStatus=delivered&MessageStatus=delivered&To=%2B50688881234"
+                    + "&MessageSid=" + id(i) + "&AccountSid=AC0&From=%2B15551234567&ApiVersion=2010-04-01")
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static String id(int i) {
+        return String.format("SG%032x", i * 0x9E3779B97F4A7C15L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long sendGridBatch() throws IOException {
+        byte[] batch = batches[next++ % batches.length];
+        sendGrid.parse(batch, batch.length, Instant.EPOCH, tracker::accept);
+        return tracker.matched();
+    }
+
+    @Benchmark
+    public long twilioCallback() throws IOException {
+        byte[] callback = callbacks[next++ & (callbacks.length - 1)];
+        twilio.parse(callback, callback.length, Instant.EPOCH, tracker::accept);
+        return tracker.matched();
+    }
+}
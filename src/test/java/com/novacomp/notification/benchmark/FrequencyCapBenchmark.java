@@ -0,0 +1,81 @@
+package com.novacomp.notification.benchmark;
+
+import com.novacomp.notification.capping.SlidingWindowSketch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por chequeo del límite de frecuencia con un sketch del tamaño de
+ * producción (256 MB con width 2^22 y depth 4, muy por encima de la caché)
+ * y claves aleatorias de 30M destinatarios: cada chequeo paga
+ * {@code depth} fallos de caché. Mide un hilo y 4 hilos compitiendo por las
+ * mismas celdas.
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=FrequencyCapBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class FrequencyCapBenchmark {
+
+    private static final int RECIPIENTS = 30_000_000;
+
+    @Param({"4194304"})
+    int width;
+
+    private SlidingWindowSketch sketch;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        final SplittableRandom random = new SplittableRandom();
+
+        long next() {
+            // Huella de un destinatario entre 30M (mezcla de MurmurHash3).
+            long h = random.nextInt(RECIPIENTS) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            return h ^ (h >>> 33);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        sketch = new SlidingWindowSketch(width, 4, Duration.ofDays(1), Clock.systemUTC());
+    }
+
+    @Benchmark
+    public boolean tryAcquire(Keys keys) {
+        return sketch.tryAcquire(keys.next(), 3);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean tryAcquireContended(Keys keys) {
+        return sketch.tryAcquire(keys.next(), 3);
+    }
+
+    @Benchmark
+    public int estimate(Keys keys) {
+        return sketch.estimate(keys.next());
+    }
+}
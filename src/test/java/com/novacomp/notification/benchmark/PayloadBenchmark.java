@@ -0,0 +1,146 @@
+package com.novacomp.notification.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.payload.PayloadBuffer;
+import com.novacomp.notification.payload.PayloadPool;
+import com.novacomp.notification.payload.ProviderPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo y asignación por envío del payload JSON de SendGrid para un correo
+ * de campaña (~400 bytes, con acentos y comillas que escapar):
+ * <ul>
+ * <li>{@code stringBuilding} -- concatenación con escapes a mano y
+ * {@code getBytes}</li>
+ * <li>{@code objectMapper} -- mapas anidados serializados con Jackson</li>
+ * <li>{@code jsonGenerator} -- {@link JsonGenerator} de streaming con pool
+ * de reciclado concurrente, sobre un stream reutilizado</li>
+ * <li>{@code pooledBuffer} -- {@link ProviderPayloads#sendGrid} sobre un
+ * buffer de {@link PayloadPool}</li>
+ * </ul>
+ * La asignación se lee en {@code gc.alloc.rate.norm}:
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=PayloadBenchmark -Dbenchmark.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    private static final int REQUESTS = 1024;
+    private static final String FROM = "noreply@novacomp.com";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonFactory factory = JsonFactory.builder()
+            .recyclerPool(JsonRecyclerPools.newConcurrentDequePool())
+            .build();
+    private final ByteArrayOutputStream stream = new ByteArrayOutputStream(1024);
+    private final PayloadPool pool = PayloadPool.shared();
+
+    private EmailRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        requests = new EmailRequest[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = new EmailRequest("cliente" + i + "@ejemplo.com", "Tu factura de mayo está lista",
+                    "Hola, tu factura #" + (48_000 + i) + " ya está disponible.\n"
+                            + "Ingresa a \"Mi cuenta\" para verla o descargarla. "
+                            + "Si ya pagaste, ignora este mensaje. ¡Gracias por elegirnos!");
+        }
+    }
+
+    private EmailRequest nextRequest() {
+        return requests[next++ & (REQUESTS - 1)];
+    }
+
+    @Benchmark
+    public byte[] stringBuilding() {
+        EmailRequest request = nextRequest();
+        String json = "{\"personalizations\":[{\"to\":[{\"email\":\"" + escape(request.to()) + "\"}]}],"
+                + "\"from\":{\"email\":\"" + escape(FROM) + "\"},"
+                + "\"subject\":\"" + escape(request.subject()) + "\","
+                + "\"content\":[{\"type\":\"text/plain\",\"value\":\"" + escape(request.body()) + "\"}]}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws IOException {
+        EmailRequest request = nextRequest();
+        return mapper.writeValueAsBytes(Map.of(
+                "personalizations", List.of(Map.of("to", List.of(Map.of("email", request.to())))),
+                "from", Map.of("email", FROM),
+                "subject", request.subject(),
+                "content", List.of(Map.of("type", "text/plain", "value", request.body()))));
+    }
+
+    @Benchmark
+    public int jsonGenerator() throws IOException {
+        EmailRequest request = nextRequest();
+        stream.reset();
+        try (JsonGenerator json = factory.createGenerator(stream)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("personalizations");
+            json.writeStartObject();
+            json.writeArrayFieldStart("to");
+            json.writeStartObject();
+            json.writeStringField("email", request.to());
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeObjectFieldStart("from");
+            json.writeStringField("email", FROM);
+            json.writeEndObject();
+            json.writeStringField("subject", request.subject());
+            json.writeArrayFieldStart("content");
+            json.writeStartObject();
+            json.writeStringField("type", "text/plain");
+            json.writeStringField("value", request.body());
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return stream.size();
+    }
+
+    @Benchmark
+    public int pooledBuffer() {
+        PayloadBuffer payload = pool.acquire();
+        try {
+            return ProviderPayloads.sendGrid(payload, FROM, nextRequest()).size();
+        } finally {
+            pool.release(payload);
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r");
+    }
+}
@@ -0,0 +1,86 @@
+package com.novacomp.notification.benchmark;
+
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.validation.E164;
+import com.novacomp.notification.validation.RecipientValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Costo por destinatario de la validación previa al envío: parser E.164
+ * escrito a mano contra una expresión regular equivalente, y el validador
+ * completo con la caché fría (destinatarios siempre nuevos) y caliente
+ * (destinatarios repetidos).
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=RecipientValidationBenchmark -Dbenchmark.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipientValidationBenchmark {
+
+    private static final int RECIPIENTS = 1024;
+    private static final Pattern E164_REGEX = Pattern.compile("^\\+?(?:00)?[1-9][0-9 ().-]{6,18}$");
+
+    private final RecipientValidator cached = new RecipientValidator(RECIPIENTS * 2);
+    private final RecipientValidator uncached = new RecipientValidator(0);
+
+    private String[] phones;
+    private String[] emails;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        phones = new String[RECIPIENTS];
+        emails = new String[RECIPIENTS];
+        for (int i = 0; i < RECIPIENTS; i++) {
+            phones[i] = String.format("+506 8%03d-%04d", i % 1000, i);
+            emails[i] = "cliente" + i + "@Ejemplo.com";
+        }
+    }
+
+    private int nextIndex() {
+        return next = (next + 1) & (RECIPIENTS - 1);
+    }
+
+    @Benchmark
+    public long parseE164() {
+        return E164.parse(phones[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean regexE164() {
+        return E164_REGEX.matcher(phones[nextIndex()]).matches();
+    }
+
+    @Benchmark
+    public Object validatePhoneUncached() {
+        return uncached.check(ChannelType.SMS, phones[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object validatePhoneCached() {
+        return cached.check(ChannelType.SMS, phones[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object validateEmailCached() {
+        return cached.check(ChannelType.EMAIL, emails[nextIndex()]);
+    }
+}
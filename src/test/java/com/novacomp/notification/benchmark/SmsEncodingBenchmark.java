@@ -0,0 +1,132 @@
+package com.novacomp.notification.benchmark;
+
+import com.novacomp.notification.sms.SmsEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por mensaje de la codificación de SMS sobre un corpus de 2M
+ * mensajes distintos (~85% GSM-7, ~10% con acentos fuera del alfabeto, ~5%
+ * con emoji; de 20 a 400 caracteres): el motor de una pasada de
+ * {@link SmsEncoder} contra una clasificación ingenua con
+ * {@code String.indexOf} sobre el alfabeto seguida de una segunda pasada
+ * para contar segmentos, y la transliteración.
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=SmsEncodingBenchmark -Dbenchmark.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SmsEncodingBenchmark {
+
+    private static final int CORPUS = 1 << 21;
+
+    private static final String BASIC =
+            "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?"
+                    + "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+    private static final String EXTENSION = "\f^{}\\[~]|€";
+
+    private static final String[] WORDS = {
+            "Hola", "tu", "pedido", "#48213", "fue", "enviado", "y", "llegará", "mañana", "entre",
+            "las", "9:00", "y", "13:00.", "Código", "de", "verificación:", "482913", "Saldo", "₡12.500",
+            "vence", "el", "15/03", "Responde", "STOP", "para", "no", "recibir", "más", "mensajes",
+            "Tu", "cita", "está", "confirmada", "[ref]", "{ok}", "100€", "¿Dudas?", "¡Gracias!", "envío"
+    };
+
+    private String[] messages;
+
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        messages = new String[CORPUS];
+        var text = new StringBuilder(512);
+        for (int i = 0; i < CORPUS; i++) {
+            text.setLength(0);
+            int target = 20 + random.nextInt(380);
+            int kind = random.nextInt(100);
+            while (text.length() < target) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                text.append(kind < 85 ? gsmOnly(word) : word).append(' ');
+            }
+            text.append(i);
+            if (kind >= 95) {
+                text.append(" 📦");
+            }
+            messages[i] = text.toString();
+        }
+    }
+
+    /** Quita del corpus GSM-7 las palabras con acentos fuera del alfabeto. */
+    private static String gsmOnly(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (BASIC.indexOf(word.charAt(i)) < 0 && EXTENSION.indexOf(word.charAt(i)) < 0) {
+                return "ok";
+            }
+        }
+        return word;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS)
+    public long analyze() {
+        long segments = 0;
+        for (String message : messages) {
+            segments += SmsEncoder.analyze(message).segments();
+        }
+        return segments;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS)
+    public long naiveTwoPass() {
+        long segments = 0;
+        for (String message : messages) {
+            int septets = 0;
+            boolean gsm = true;
+            for (int i = 0; i < message.length() && gsm; i++) {
+                char c = message.charAt(i);
+                if (BASIC.indexOf(c) >= 0) {
+                    septets++;
+                } else if (EXTENSION.indexOf(c) >= 0) {
+                    septets += 2;
+                } else {
+                    gsm = false;
+                }
+            }
+            if (gsm) {
+                segments += septets <= 160 ? 1 : (septets + 152) / 153;
+            } else {
+                int units = message.length();
+                segments += units <= 70 ? 1 : (units + 66) / 67;
+            }
+        }
+        return segments;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS)
+    public long transliterate() {
+        long length = 0;
+        for (String message : messages) {
+            length += SmsEncoder.transliterate(message).length();
+        }
+        return length;
+    }
+}
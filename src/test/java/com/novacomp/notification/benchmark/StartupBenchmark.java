@@ -0,0 +1,181 @@
+package com.novacomp.notification.benchmark;
+
+import com.novacomp.notification.core.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Tiempo hasta el primer envío exitoso en una JVM nueva -- arranque de la
+ * JVM, carga de clases, creación del servicio y un SMS -- para
+ * {@code NotificationService} y {@code AsyncNotificationService}, sin y
+ * con un archivo AppCDS.
+ * <p>
+ * Cada invocación lanza un proceso {@link StartupProbe} y mide hasta que
+ * informa el {@code Success}; el proceso se destruye después, fuera de la
+ * medición. Al terminar cada configuración se imprime además la media de
+ * lo que informa la propia sonda: desde su {@code main} hasta el
+ * {@code Success}, sin el arranque de la JVM. AppCDS solo archiva clases cargadas desde
+ * JARs, así que el setup empaqueta {@code target/classes} y la sonda en un
+ * JAR temporal; el classpath hijo es ese JAR más los JARs de dependencias.
+ * El archivo se genera con una corrida de entrenamiento
+ * ({@code -XX:ArchiveClassesAtExit}) y se usa con
+ * {@code -XX:SharedArchiveFile}. Sin AppCDS la JVM sigue usando el CDS por
+ * defecto del JDK.
+ *
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=StartupBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"service", "async"})
+    String mode;
+
+    @Param({"none", "appcds"})
+    String cds;
+
+    private Path workDir;
+    private List<String> command;
+    private final List<Long> probeNanos = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("startup-benchmark");
+        Path jar = packageClasses(workDir.resolve("notification-lib.jar"));
+        String classpath = jar + File.pathSeparator + dependencyJars();
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<String> jvm = new ArrayList<>(List.of(java, "-cp", classpath));
+        List<String> probe = List.of(StartupProbe.class.getName(), mode);
+        if ("appcds".equals(cds)) {
+            Path archive = workDir.resolve("startup-" + mode + ".jsa");
+            // Corrida de entrenamiento: al salir, la JVM archiva las clases que cargó.
+            Process training = start(concat(jvm, List.of("-XX:ArchiveClassesAtExit=" + archive), probe));
+            awaitSuccess(training);
+            if (training.waitFor() != 0) {
+                throw new IllegalStateException("La corrida de entrenamiento terminó con " + training.exitValue());
+            }
+            if (!Files.exists(archive)) {
+                throw new IllegalStateException("La JVM no generó el archivo AppCDS " + archive);
+            }
+            jvm.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command = concat(jvm, List.of(), probe);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n[sonda] main -> Success: media %.1f ms en %d envíos%n",
+                probeNanos.stream().mapToLong(Long::longValue).average().orElse(0) / 1e6, probeNanos.size());
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public long firstSend() throws Exception {
+        Process process = start(command);
+        try {
+            long nanos = awaitSuccess(process);
+            probeNanos.add(nanos);
+            return nanos;
+        } finally {
+            // Sin esperar la salida: la medición termina con el OK.
+            process.destroyForcibly();
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers
+    // ------------------------------------------------------------------ //
+
+    private static Process start(List<String> command) throws IOException {
+        return new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    /** Espera la línea de la sonda y retorna los nanos que informa, o falla si el envío falló. */
+    private static long awaitSuccess(Process process) throws IOException {
+        var out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = out.readLine();
+        if (line == null || !line.startsWith("OK ")) {
+            throw new IllegalStateException("La sonda falló: " + line);
+        }
+        return Long.parseLong(line.substring(3));
+    }
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... parts) {
+        List<String> all = new ArrayList<>();
+        for (List<String> part : parts) {
+            all.addAll(part);
+        }
+        return all;
+    }
+
+    /** Empaqueta las clases de la librería y la sonda en un JAR. */
+    private static Path packageClasses(Path jar) throws Exception {
+        Path classes = Paths.get(NotificationService.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path testClasses = Paths.get(StartupProbe.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        String probe = StartupProbe.class.getName().replace('.', '/') + ".class";
+        try (OutputStream file = Files.newOutputStream(jar); var out = new JarOutputStream(file);
+             Stream<Path> tree = Files.walk(classes)) {
+            for (Path path : tree.filter(Files::isRegularFile).toList()) {
+                add(out, classes.relativize(path).toString().replace(File.separatorChar, '/'), path);
+            }
+            add(out, probe, testClasses.resolve(probe));
+        }
+        return jar;
+    }
+
+    private static void add(JarOutputStream out, String name, Path path) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        Files.copy(path, out);
+        out.closeEntry();
+    }
+
+    private static String dependencyJars() {
+        return String.join(File.pathSeparator, Arrays.stream(
+                        System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.endsWith(".jar"))
+                .toList());
+    }
+}
@@ -0,0 +1,44 @@
+package com.novacomp.notification.benchmark;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.core.AsyncNotificationService;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.core.NotificationService;
+import com.novacomp.notification.model.SmsRequest;
+
+/**
+ * Proceso hijo de {@link StartupBenchmark}: crea el servicio, hace un
+ * envío y termina. Imprime {@code OK <nanos>} -- el tiempo desde la
+ * entrada a {@code main} hasta el primer {@code Success} -- o el resultado
+ * fallido, antes de cerrar el servicio.
+ */
+public final class StartupProbe {
+
+    private StartupProbe() {
+    }
+
+    /**
+     * @param args {@code service} o {@code async}
+     */
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+        NotificationConfig config = NotificationConfig.builder()
+                .property("email.from", "noreply@novacomp.com")
+                .retryAttempts(0)
+                .build();
+        SmsRequest request = new SmsRequest("+50688881234", "Su código es 4821");
+
+        if ("async".equals(args[0])) {
+            try (var async = new AsyncNotificationService(config)) {
+                report(start, async.sendAsync(request).get());
+            }
+        } else {
+            report(start, new NotificationService(config).send(request));
+        }
+    }
+
+    private static void report(long start, NotificationResult result) {
+        long elapsed = System.nanoTime() - start;
+        System.out.println(result instanceof NotificationResult.Success ? "OK " + elapsed : "FAIL " + result);
+    }
+}
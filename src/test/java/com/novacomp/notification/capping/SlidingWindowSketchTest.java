@@ -0,0 +1,139 @@
+package com.novacomp.notification.capping;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link SlidingWindowSketch}: límite por clave, avance de la
+ * ventana por octavos y memoria constante.
+ */
+@DisplayName("SlidingWindowSketch -- Count-min sobre ventana deslizante")
+class SlidingWindowSketchTest {
+
+    private static final Duration DIA = Duration.ofHours(24);
+
+    /** Reloj manual para avanzar la ventana. */
+    private static final class ManualClock extends Clock {
+        Instant now = Instant.parse("2026-03-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    @DisplayName("admite hasta el límite por clave sin afectar a otras claves")
+    void capsPerKey() {
+        var sketch = new SlidingWindowSketch(1 << 12, 4, DIA, new ManualClock());
+
+        assertTrue(sketch.tryAcquire(42L, 3));
+        assertTrue(sketch.tryAcquire(42L, 3));
+        assertTrue(sketch.tryAcquire(42L, 3));
+        assertFalse(sketch.tryAcquire(42L, 3));
+        assertEquals(3, sketch.estimate(42L));
+
+        assertTrue(sketch.tryAcquire(43L, 3));
+        assertEquals(1, sketch.estimate(43L));
+    }
+
+    @Test
+    @DisplayName("la ventana avanza por octavos y libera los envíos que salen")
+    void windowSlides() {
+        var clock = new ManualClock();
+        var sketch = new SlidingWindowSketch(1 << 12, 4, DIA, clock);
+
+        assertTrue(sketch.tryAcquire(7L, 2));
+        clock.now = clock.now.plus(Duration.ofHours(6));
+        assertTrue(sketch.tryAcquire(7L, 2));
+        assertFalse(sketch.tryAcquire(7L, 2));
+
+        // 24 h después del primer envío, su octavo sale de la ventana.
+        clock.now = clock.now.plus(Duration.ofHours(18));
+        assertEquals(1, sketch.estimate(7L));
+        assertTrue(sketch.tryAcquire(7L, 2));
+
+        // Un salto mayor que la ventana lo limpia todo.
+        clock.now = clock.now.plus(Duration.ofDays(3));
+        assertEquals(0, sketch.estimate(7L));
+    }
+
+    @Test
+    @DisplayName("cada celda descarta sus octavos vencidos al usarse, aunque lleve varios sin tocarse")
+    void clearsExpiredBucketsLazily() {
+        var clock = new ManualClock();
+        var sketch = new SlidingWindowSketch(1 << 12, 4, DIA, clock);
+
+        assertTrue(sketch.tryAcquire(7L, 3));
+        clock.now = clock.now.plus(Duration.ofHours(3));
+        assertTrue(sketch.tryAcquire(7L, 3));
+        clock.now = clock.now.plus(Duration.ofHours(3));
+        assertTrue(sketch.tryAcquire(7L, 3));
+
+        // 5 octavos sin tocar la celda: sale solo el primer envío.
+        clock.now = clock.now.plus(Duration.ofHours(18));
+        assertEquals(2, sketch.estimate(7L));
+        assertEquals(2, sketch.estimate(7L));
+        assertTrue(sketch.tryAcquire(7L, 3));
+        assertFalse(sketch.tryAcquire(7L, 3));
+
+        // El octavo actual se reutiliza sin arrastrar el conteo de hace 24 h.
+        clock.now = clock.now.plus(Duration.ofHours(6));
+        assertEquals(1, sketch.estimate(7L));
+    }
+
+    @Test
+    @DisplayName("memoria fija y pocos bloqueos de más con width del orden de las claves")
+    void constantMemoryAndLowError() {
+        var sketch = new SlidingWindowSketch(1 << 16, 4, DIA, new ManualClock());
+        long memory = sketch.memoryBytes();
+        var random = new SplittableRandom(7);
+
+        // 65.536 claves con 1 o 2 envíos cada una.
+        int keys = 1 << 16;
+        for (int i = 0; i < keys; i++) {
+            long key = random.nextLong();
+            sketch.tryAcquire(key, 3);
+            if ((i & 1) == 0) {
+                sketch.tryAcquire(key, 3);
+            }
+        }
+        int falselyCapped = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!sketch.tryAcquire(random.nextLong(), 3)) {
+                falselyCapped++;
+            }
+        }
+        assertTrue(falselyCapped < 100, "Bloqueos de más: " + falselyCapped);
+        assertEquals(memory, sketch.memoryBytes());
+        assertEquals(16L * (1 << 16) * 4, memory);
+    }
+
+    @Test
+    @DisplayName("valida los parámetros")
+    void validatesArguments() {
+        var clock = new ManualClock();
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowSketch(0, 4, DIA, clock));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowSketch(1024, 9, DIA, clock));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowSketch(1024, 4, Duration.ofMillis(4), clock));
+    }
+}
@@ -3,10 +3,16 @@ package com.novacomp.notification.channel;
 import com.novacomp.notification.config.NotificationConfig;
 import com.novacomp.notification.core.NotificationResult;
 import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailAttachment;
 import com.novacomp.notification.model.EmailRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,4 +46,17 @@ class EmailChannelTest {
         assertNotNull(success.messageId());
         assertNotNull(success.timestamp());
     }
+
+    @Test
+    @DisplayName("send() transmite los adjuntos y falla con ATTACHMENT_UNREADABLE si falta el archivo")
+    void sendsAttachments(@TempDir Path dir) throws Exception {
+        var pdf = EmailAttachment.ofFile(Files.write(dir.resolve("factura.pdf"), new byte[4096]));
+        var missing = EmailAttachment.ofFile(dir.resolve("no-existe.pdf"));
+
+        var sent = channel.send(new EmailRequest("user@example.com", "Factura", "Adjunta", List.of(pdf)));
+        var failed = channel.send(new EmailRequest("user@example.com", "Factura", "Adjunta", List.of(pdf, missing)));
+
+        assertInstanceOf(NotificationResult.Success.class, sent);
+        assertEquals(EmailChannel.ATTACHMENT_UNREADABLE, ((NotificationResult.Failure) failed).code());
+    }
 }
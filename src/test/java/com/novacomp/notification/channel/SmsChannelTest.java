@@ -1,6 +1,7 @@
 package com.novacomp.notification.channel;
 
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
 import com.novacomp.notification.core.NotificationResult;
 import com.novacomp.notification.model.ChannelType;
 import com.novacomp.notification.model.SmsRequest;
@@ -40,4 +41,16 @@ class SmsChannelTest {
         assertNotNull(success.messageId());
         assertNotNull(success.timestamp());
     }
+
+    @Test
+    @DisplayName("un error del backend no deja al proveedor con un envío en vuelo")
+    void backendErrorReleasesSelection() {
+        var config = ReloadableConfig.of(NotificationConfig.builder().property("sms.provider", "twilio").build());
+        var failing = new SmsChannel(config, provider -> {
+            throw new AssertionError("backend roto");
+        });
+
+        assertThrows(AssertionError.class, () -> failing.send(new SmsRequest("+1234567890", "Hola SMS")));
+        assertEquals(0, failing.providerStats().get(0).inFlight());
+    }
 }
@@ -0,0 +1,99 @@
+package com.novacomp.notification.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link HashRing}.
+ */
+@DisplayName("HashRing -- Hashing consistente con nodos virtuales")
+class HashRingTest {
+
+    private static final int KEYS = 200_000;
+
+    private static List<ClusterMember> members(int count) {
+        List<ClusterMember> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new ClusterMember("node-" + i, new InetSocketAddress("localhost", 7400 + i)));
+        }
+        return members;
+    }
+
+    private static long[] keys() {
+        var random = new SplittableRandom(42);
+        long[] keys = new long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+
+    @Test
+    @DisplayName("reparte las claves de forma pareja entre los nodos")
+    void balancesKeys() {
+        HashRing ring = HashRing.of(members(4), HashRing.DEFAULT_VIRTUAL_NODES);
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key : keys()) {
+            counts.merge(ring.owner(key).id(), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertEquals(KEYS / 4.0, count, KEYS / 4.0 * 0.3, "Carga por nodo: " + counts);
+        }
+    }
+
+    @Test
+    @DisplayName("al agregar un nodo solo se mueven hacia él ~1/N de las claves")
+    void addingNodeMovesOnlyItsShare() {
+        HashRing before = HashRing.of(members(4), HashRing.DEFAULT_VIRTUAL_NODES);
+        HashRing after = HashRing.of(members(5), HashRing.DEFAULT_VIRTUAL_NODES);
+
+        int moved = 0;
+        for (long key : keys()) {
+            String was = before.owner(key).id();
+            String now = after.owner(key).id();
+            if (!was.equals(now)) {
+                assertEquals("node-4", now, "Una clave solo puede moverse al nodo nuevo");
+                moved++;
+            }
+        }
+        double fraction = (double) moved / KEYS;
+        assertEquals(0.2, fraction, 0.06);
+        assertEquals(fraction, before.movedFraction(after), 0.01);
+    }
+
+    @Test
+    @DisplayName("la asignación depende solo de los ids, no del orden ni de la dirección")
+    void ownershipIsDeterministic() {
+        List<ClusterMember> members = members(3);
+        List<ClusterMember> reordered = List.of(members.get(2),
+                new ClusterMember("node-0", new InetSocketAddress("localhost", 9000)), members.get(1));
+        HashRing ring = HashRing.of(members, 64);
+        HashRing other = HashRing.of(reordered, 64);
+
+        for (long key : keys()) {
+            assertEquals(ring.owner(key).id(), other.owner(key).id());
+        }
+        assertEquals(0.0, ring.movedFraction(other));
+    }
+
+    @Test
+    @DisplayName("un anillo vacío no tiene dueños")
+    void emptyRing() {
+        HashRing empty = HashRing.of(List.of(), 16);
+
+        assertTrue(empty.isEmpty());
+        assertThrows(IllegalStateException.class, () -> empty.owner(1L));
+        assertEquals(1.0, empty.movedFraction(HashRing.of(members(1), 16)));
+    }
+}
@@ -0,0 +1,223 @@
+package com.novacomp.notification.cluster;
+
+import com.novacomp.notification.channel.EmailChannel;
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.core.AsyncNotificationService;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link ShardedNotificationService}: tres nodos en el mismo
+ * proceso, cada uno con su servicio local, conectados por localhost.
+ */
+@DisplayName("ShardedNotificationService -- Sharding por destinatario")
+class ShardedNotificationServiceTest {
+
+    private final StaticMemberDiscovery discovery = new StaticMemberDiscovery(List.of());
+    private final List<AsyncNotificationService> services = new ArrayList<>();
+    private final List<ShardedNotificationService> nodes = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            var service = new AsyncNotificationService(NotificationConfig.builder()
+                    .property("email.from", "noreply@novacomp.com")
+                    .retryAttempts(0)
+                    .build());
+            services.add(service);
+            nodes.add(ShardedNotificationService.builder(service)
+                    .memberId("node-" + i)
+                    .discovery(discovery)
+                    .open());
+        }
+        discovery.update(nodes.stream().map(ShardedNotificationService::self).toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ShardedNotificationService::close);
+        services.forEach(AsyncNotificationService::close);
+    }
+
+    private static SmsRequest sms(int i) {
+        return new SmsRequest("+5068888" + String.format("%04d", i), "Mensaje " + i);
+    }
+
+    @Test
+    @DisplayName("cada destinatario se envía desde su dueño, sin importar el nodo de entrada")
+    void routesToOwner() throws Exception {
+        ShardedNotificationService entry = nodes.get(0);
+        List<CompletableFuture<NotificationResult>> futures = new ArrayList<>();
+        int ownedByEntry = 0;
+        for (int i = 0; i < 60; i++) {
+            ClusterMember owner = entry.ownerOf(sms(i));
+            for (ShardedNotificationService node : nodes) {
+                assertEquals(owner.id(), node.ownerOf(sms(i)).id(), "Todos los nodos coinciden en el dueño");
+            }
+            if (owner.equals(entry.self())) {
+                ownedByEntry++;
+            }
+            futures.add(entry.sendAsync(sms(i)));
+        }
+
+        for (CompletableFuture<NotificationResult> future : futures) {
+            assertInstanceOf(NotificationResult.Success.class, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(60 - ownedByEntry, entry.forwarded());
+        assertEquals(60, nodes.stream().mapToLong(ShardedNotificationService::handledLocally).sum());
+        assertTrue(nodes.stream().allMatch(node -> node.handledLocally() > 0), "Los 3 nodos reciben destinatarios");
+    }
+
+    @Test
+    @DisplayName("las variantes de formato de un destinatario tienen el mismo dueño")
+    void normalizesBeforeHashing() {
+        ShardedNotificationService node = nodes.get(1);
+
+        assertEquals(node.ownerOf(new SmsRequest("+50688881234", "Hola")),
+                node.ownerOf(new SmsRequest("+506 8888-1234", "Hola")));
+    }
+
+    @Test
+    @DisplayName("sendOrdered reenviado preserva el orden por destinatario")
+    void forwardsOrderedSends() throws Exception {
+        ShardedNotificationService entry = nodes.get(0);
+        SmsRequest remote = null;
+        for (int i = 0; remote == null; i++) {
+            if (!entry.ownerOf(sms(i)).equals(entry.self())) {
+                remote = sms(i);
+            }
+        }
+
+        var first = entry.sendOrdered(remote);
+        var second = entry.sendOrdered(new SmsRequest(remote.phoneNumber(), "Segundo"));
+
+        assertInstanceOf(NotificationResult.Success.class, second.get(5, TimeUnit.SECONDS));
+        assertTrue(first.isDone(), "El primer envío debe terminar antes que el segundo");
+        assertEquals(2, entry.forwarded());
+    }
+
+    @Test
+    @DisplayName("los adjuntos de archivo se reenvían con su contenido, no con la ruta")
+    void inlinesFileAttachmentsWhenForwarding() throws Exception {
+        Path pdf = Files.write(dir.resolve("factura.pdf"), new byte[] {1, 2, 3, 4});
+        var email = new EmailRequest("u@e.com", "Factura", "Adjunta", List.of(EmailAttachment.ofFile(pdf)));
+
+        byte[] frame = ShardProtocol.request(1, 0, null, null, email);
+        Files.delete(pdf);
+        var forwarded = (EmailRequest) ShardProtocol.read(new DataInputStream(new ByteArrayInputStream(frame)))
+                .payload();
+
+        EmailAttachment attachment = forwarded.attachments().get(0);
+        assertTrue(attachment.path().isEmpty());
+        assertEquals("factura.pdf", attachment.filename());
+        assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), attachment.content());
+
+        var missing = new EmailRequest("u@e.com", "Factura", "Adjunta", List.of(EmailAttachment.ofFile(pdf)));
+        for (ShardedNotificationService node : nodes) {
+            var result = node.sendAsync(missing).get(5, TimeUnit.SECONDS);
+            assertEquals(EmailChannel.ATTACHMENT_UNREADABLE,
+                    assertInstanceOf(NotificationResult.Failure.class, result).code(),
+                    "Local o reenviado, el resultado es el mismo");
+        }
+    }
+
+    @Test
+    @DisplayName("al salir un nodo, sus destinatarios pasan a los demás y el resto conserva dueño")
+    void rebalancesOnMembershipChange() throws Exception {
+        ShardedNotificationService entry = nodes.get(0);
+        ClusterMember leaving = nodes.get(2).self();
+        List<String> before = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            before.add(entry.ownerOf(sms(i)).id());
+        }
+
+        discovery.update(List.of(nodes.get(0).self(), nodes.get(1).self()));
+
+        for (int i = 0; i < 200; i++) {
+            String owner = entry.ownerOf(sms(i)).id();
+            assertNotEquals(leaving.id(), owner);
+            if (!before.get(i).equals(leaving.id())) {
+                assertEquals(before.get(i), owner, "Solo se reasignan los destinatarios del nodo que salió");
+            }
+        }
+        assertInstanceOf(NotificationResult.Success.class, entry.sendAsync(sms(7)).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("cancelar un reenvío cancela el envío en el nodo dueño")
+    void cancelPropagatesToOwner() throws Exception {
+        var slow = new AsyncNotificationService(NotificationConfig.builder()
+                .property("simulator.mode", "local")
+                .property("simulator.sms.latency", "fixed:10s")
+                .retryAttempts(0)
+                .build());
+        services.add(slow);
+        ShardedNotificationService owner = ShardedNotificationService.builder(slow)
+                .memberId("node-slow")
+                .discovery(discovery)
+                .open();
+        nodes.add(owner);
+        discovery.update(nodes.stream().map(ShardedNotificationService::self).toList());
+        ShardedNotificationService entry = nodes.get(0);
+        SmsRequest request = null;
+        for (int i = 0; request == null; i++) {
+            if (entry.ownerOf(sms(i)).equals(owner.self())) {
+                request = sms(i);
+            }
+        }
+
+        var future = entry.sendAsync(request);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (slow.inFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, slow.inFlight());
+        assertTrue(future.cancel(true));
+
+        while (slow.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, slow.inFlight(), "El dueño no sigue esperando al proveedor");
+    }
+
+    @Test
+    @DisplayName("si el dueño no responde, el envío falla con SHARD_UNAVAILABLE")
+    void failsWhenOwnerIsDown() throws Exception {
+        ShardedNotificationService entry = nodes.get(0);
+        ShardedNotificationService down = nodes.get(1);
+        SmsRequest request = null;
+        for (int i = 0; request == null; i++) {
+            if (entry.ownerOf(sms(i)).equals(down.self())) {
+                request = sms(i);
+            }
+        }
+        down.close();
+
+        NotificationResult result = entry.sendAsync(request).get(5, TimeUnit.SECONDS);
+
+        var failure = assertInstanceOf(NotificationResult.Failure.class, result);
+        assertEquals(ShardedNotificationService.SHARD_UNAVAILABLE, failure.code());
+    }
+}
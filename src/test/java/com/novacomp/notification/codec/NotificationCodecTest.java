@@ -0,0 +1,160 @@
+package com.novacomp.notification.codec;
+
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationCodec -- Formato binario compacto")
+class NotificationCodecTest {
+
+    // ------------------------------------------------------------------ //
+    // Ida y vuelta
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("codifica y decodifica los tres tipos de solicitud")
+    void roundTripsRequests() {
+        var email = new EmailRequest("u@e.com", "¡Bienvenido!", "Gracias por registrarte 🎉");
+        var sms = new SmsRequest("+50688881234", "Tu código: 482913");
+        var push = new PushRequest("device-token-abc123", "Oferta", "50% hoy");
+
+        assertEquals(email, NotificationCodec.decode(ByteBuffer.wrap(NotificationCodec.encode(email))));
+        assertEquals(sms, NotificationCodec.decode(ByteBuffer.wrap(NotificationCodec.encode(sms))));
+        assertEquals(push, NotificationCodec.decode(ByteBuffer.wrap(NotificationCodec.encode(push))));
+    }
+
+    @Test
+    @DisplayName("guarda los adjuntos de archivo por ruta y los de buffer por contenido")
+    void roundTripsAttachments() {
+        var file = EmailAttachment.ofFile(Path.of("/facturas/2026-10.pdf"));
+        var inline = EmailAttachment.ofBuffer("resumen.csv", "text/csv",
+                ByteBuffer.wrap("a,b\n1,2\n".getBytes(StandardCharsets.UTF_8)));
+        var writer = new CodecWriter();
+        writer.write(new EmailRequest("a@e.com", "Factura", "Adjunta", List.of(file, inline)));
+        writer.write(new EmailRequest("b@e.com", "Factura", "Adjunta", List.of(file, inline)));
+
+        var reader = new CodecReader(writer.toByteBuffer());
+        var first = (EmailRequest) reader.next();
+        var view = reader.nextView();
+
+        assertEquals(RecordType.EMAIL_WITH_ATTACHMENTS, view.type());
+        assertEquals(2, view.attachmentCount());
+        var second = (EmailRequest) view.materialize();
+        assertEquals("b@e.com", second.to());
+        for (EmailRequest decoded : List.of(first, second)) {
+            var decodedFile = decoded.attachments().get(0);
+            assertEquals(Path.of("/facturas/2026-10.pdf"), decodedFile.path().orElseThrow());
+            assertEquals("2026-10.pdf", decodedFile.filename());
+            assertEquals("application/pdf", decodedFile.contentType());
+            var decodedInline = decoded.attachments().get(1);
+            assertEquals("text/csv", decodedInline.contentType());
+            assertEquals(inline.content(), decodedInline.content());
+        }
+    }
+
+    @Test
+    @DisplayName("codifica y decodifica Success y Failure")
+    void roundTripsResults() {
+        var success = new NotificationResult.Success("SG.abc", Instant.parse("2024-05-01T10:15:30.123456789Z"));
+        var failure = new NotificationResult.Failure("TIMEOUT", "Timeout del gateway");
+
+        assertEquals(success, NotificationCodec.decode(ByteBuffer.wrap(NotificationCodec.encode(success))));
+        assertEquals(failure, NotificationCodec.decode(ByteBuffer.wrap(NotificationCodec.encode(failure))));
+    }
+
+    @Test
+    @DisplayName("conserva el canal que entregó y lee Success v1 sin canal")
+    void successChannelAndV1Compatibility() {
+        var success = new NotificationResult.Success("SM.1", Instant.parse("2024-05-01T10:15:30Z"), ChannelType.SMS);
+        byte[] bytes = NotificationCodec.encode(success);
+
+        assertEquals(success, NotificationCodec.decode(ByteBuffer.wrap(bytes)));
+
+        // Un registro v1 es el mismo sin el byte final de canal.
+        byte[] v1 = Arrays.copyOf(bytes, bytes.length - 1);
+        v1[0] = 1;
+        var legacy = (NotificationResult.Success) NotificationCodec.decode(ByteBuffer.wrap(v1));
+        assertEquals("SM.1", legacy.messageId());
+        assertNull(legacy.channel());
+    }
+
+    @Test
+    @DisplayName("cada registro comienza con el byte de versión de esquema")
+    void writesSchemaVersion() {
+        byte[] bytes = NotificationCodec.encode(new SmsRequest("+50688881234", "Hola"));
+
+        assertEquals(NotificationCodec.SCHEMA_VERSION, bytes[0]);
+        assertEquals(RecordType.SMS_REQUEST.tag(), bytes[1]);
+    }
+
+    @Test
+    @DisplayName("rechaza versiones de esquema desconocidas")
+    void rejectsUnknownVersion() {
+        byte[] bytes = NotificationCodec.encode(new SmsRequest("+50688881234", "Hola"));
+        bytes[0] = 99;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationCodec.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Strings compartidos
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("asuntos y cuerpos repetidos se escriben una sola vez por stream")
+    void sharesRepeatedStrings() {
+        String body = "Tu pedido fue confirmado y será enviado pronto.";
+        var writer = new CodecWriter();
+        writer.write(new EmailRequest("a@e.com", "Pedido confirmado", body));
+        int firstSize = writer.size();
+        writer.write(new EmailRequest("b@e.com", "Pedido confirmado", body));
+
+        int secondSize = writer.size() - firstSize;
+        assertTrue(secondSize < 16, "El segundo registro debe reducirse a referencias: " + secondSize);
+
+        var reader = new CodecReader(writer.toByteBuffer());
+        assertEquals(new EmailRequest("a@e.com", "Pedido confirmado", body), reader.next());
+        assertEquals(new EmailRequest("b@e.com", "Pedido confirmado", body), reader.next());
+        assertFalse(reader.hasNext());
+    }
+
+    // ------------------------------------------------------------------ //
+    // Vistas zero-copy
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("la vista expone los campos sin materializar el registro")
+    void viewExposesFieldsWithoutDecoding() {
+        var writer = new CodecWriter()
+                .write(new NotificationResult.Failure("UNREGISTERED", "Token expirado"))
+                .write(new PushRequest("tok-1", "Titulo", "Cuerpo"));
+
+        var reader = new CodecReader(writer.toByteBuffer());
+        RecordView view = reader.nextView();
+
+        assertEquals(RecordType.FAILURE, view.type());
+        assertEquals(ByteBuffer.wrap("UNREGISTERED".getBytes(StandardCharsets.UTF_8)), view.field(0));
+        assertEquals("Token expirado", view.string(1));
+        assertTrue(view.field(0).isReadOnly());
+
+        view = reader.nextView();
+        assertEquals(RecordType.PUSH_REQUEST, view.type());
+        assertEquals("tok-1", view.string(0));
+        assertThrows(IllegalStateException.class, view::timestamp);
+    }
+}
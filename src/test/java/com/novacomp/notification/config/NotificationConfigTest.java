@@ -0,0 +1,32 @@
+package com.novacomp.notification.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationConfig -- Duraciones de configuración")
+class NotificationConfigTest {
+
+    @Test
+    @DisplayName("interpreta las unidades ms, s, m, h y d")
+    void parsesAllUnits() {
+        assertEquals(Duration.ofMillis(250), NotificationConfig.parseDuration("250ms"));
+        assertEquals(Duration.ofSeconds(30), NotificationConfig.parseDuration(" 30S "));
+        assertEquals(Duration.ofMinutes(2), NotificationConfig.parseDuration("2m"));
+        assertEquals(Duration.ofHours(6), NotificationConfig.parseDuration("6h"));
+        assertEquals(Duration.ofDays(1), NotificationConfig.parseDuration("1d"));
+    }
+
+    @Test
+    @DisplayName("rechaza con IllegalArgumentException una duración vacía, sin número o con otra unidad")
+    void rejectsMalformedDurations() {
+        for (String text : new String[] {"", "s", "ms", "d1", "5w", "1.5s"}) {
+            assertThrows(IllegalArgumentException.class, () -> NotificationConfig.parseDuration(text), text);
+        }
+        var rule = NotificationConfig.builder().property("capping.sms.default", "3/");
+        assertThrows(IllegalArgumentException.class, rule::build);
+    }
+}
@@ -0,0 +1,83 @@
+package com.novacomp.notification.config;
+
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.core.NotificationService;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReloadableConfig -- Snapshots tipados y recarga en caliente")
+class ReloadableConfigTest {
+
+    // ------------------------------------------------------------------ //
+    // Snapshots tipados
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("resuelve los valores por defecto de cada canal")
+    void resolvesDefaults() {
+        var config = NotificationConfig.builder().build();
+
+        assertEquals(new EmailSettings("sendgrid", "no-configurado"), config.getEmailSettings());
+        assertEquals(new SmsSettings("twilio", "AC_demo"), config.getSmsSettings());
+        assertEquals(new PushSettings("fcm", "novacomp-demo"), config.getPushSettings());
+    }
+
+    @Test
+    @DisplayName("build() rechaza propiedades de canal inválidas")
+    void buildRejectsInvalidChannelProperties() {
+        var builder = NotificationConfig.builder().property("sms.account.sid", " ");
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Recarga
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("update() publica un nuevo snapshot y notifica a los listeners")
+    void updatePublishesNewSnapshot() {
+        var reloadable = ReloadableConfig.of(NotificationConfig.builder()
+                .property("sms.account.sid", "AC_viejo")
+                .retryAttempts(5)
+                .build());
+        var notified = new AtomicReference<NotificationConfig>();
+        reloadable.addListener(notified::set);
+
+        var next = reloadable.update(b -> b.property("sms.account.sid", "AC_nuevo"));
+
+        assertSame(next, reloadable.current());
+        assertSame(next, notified.get());
+        assertEquals("AC_nuevo", reloadable.current().getSmsSettings().accountSid());
+        assertEquals(5, reloadable.current().getRetryAttempts(), "toBuilder() conserva el resto del estado");
+    }
+
+    @Test
+    @DisplayName("una recarga inválida no reemplaza el snapshot vigente")
+    void invalidUpdateKeepsCurrentSnapshot() {
+        var initial = NotificationConfig.builder().build();
+        var reloadable = ReloadableConfig.of(initial);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> reloadable.update(b -> b.property("push.provider", "")));
+        assertSame(initial, reloadable.current());
+    }
+
+    @Test
+    @DisplayName("el servicio sigue enviando tras recargar sin reconstruirse")
+    void serviceUsesReloadedSnapshot() {
+        var reloadable = ReloadableConfig.of(NotificationConfig.builder().build());
+        var service = new NotificationService(reloadable);
+
+        reloadable.update(b -> b.property("sms.provider", "vonage"));
+        var result = service.send(new SmsRequest("+50688881234", "Hola"));
+
+        assertInstanceOf(NotificationResult.Success.class, result);
+        assertEquals("vonage", service.getConfig().current().getSmsSettings().provider());
+    }
+}
@@ -1,14 +1,26 @@
 package com.novacomp.notification.core;
 
+import com.novacomp.notification.codec.CodecReader;
 import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.model.ChannelType;
 import com.novacomp.notification.model.EmailRequest;
 import com.novacomp.notification.model.SmsRequest;
+import com.novacomp.notification.resilience.ConcurrencyLimitDecorator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,13 +73,325 @@ class AsyncNotificationServiceTest {
     @Test
     @DisplayName("sendAsync auto-despacha SmsRequest correctamente")
     void sendAsyncAutoDispatchesSms() throws Exception {
-        CompletableFuture<NotificationResult> future = asyncService.sendAsync(new SmsRequest("+1234567890", "Hola"));
+        CompletableFuture<NotificationResult> future = asyncService.sendAsync(new SmsRequest("+50688881234", "Hola"));
 
         NotificationResult result = future.get(5, TimeUnit.SECONDS);
 
         assertInstanceOf(NotificationResult.Success.class, result);
     }
 
+    @Test
+    @DisplayName("warmUp prepara todos los canales antes del primer envío")
+    void warmUpPreparesAllChannels() throws Exception {
+        WarmUpReport report = asyncService.warmUp();
+
+        assertEquals(List.of(ChannelType.values()), report.channels());
+        assertEquals(NotificationService.DEFAULT_WARM_UP_ITERATIONS, report.iterations());
+        assertInstanceOf(NotificationResult.Success.class,
+                asyncService.sendAsync(new SmsRequest("+50688881234", "Hola")).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("sendOrdered entrega en orden los mensajes a un mismo destinatario")
+    void sendOrderedPreservesOrderPerRecipient() throws Exception {
+        var first = asyncService.sendOrdered(new SmsRequest("+50688881234", "Pedido confirmado"));
+        var second = asyncService.sendOrdered(new SmsRequest("+50688881234", "Pedido enviado"));
+
+        var secondResult = (NotificationResult.Success) second.get(5, TimeUnit.SECONDS);
+        assertTrue(first.isDone(), "El primer envío debe terminar antes que el segundo");
+        var firstResult = (NotificationResult.Success) first.get();
+        assertFalse(secondResult.timestamp().isBefore(firstResult.timestamp()));
+    }
+
+    @Test
+    @DisplayName("sendAfter despacha el envío programado al vencer el delay")
+    void sendAfterDispatchesScheduledNotification() throws Exception {
+        var scheduled = asyncService.sendAfter(Duration.ofMillis(30), new EmailRequest("u@e.com", "Luego", "Cuerpo"));
+
+        assertInstanceOf(NotificationResult.Success.class, scheduled.result().get(5, TimeUnit.SECONDS));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Plazos y cancelación
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("sendAsync con plazo retorna DEADLINE_EXCEEDED sin esperar al proveedor")
+    void sendAsyncHonorsDeadline() throws Exception {
+        try (var slow = slowSmsService()) {
+            long start = System.nanoTime();
+            var result = slow.sendAsync(new SmsRequest("+50688881234", "Lento"), Duration.ofMillis(100))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(Deadline.DEADLINE_EXCEEDED, ((NotificationResult.Failure) result).code());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        }
+    }
+
+    @Test
+    @DisplayName("sendOrdered con plazo descarta los envíos que no salen de la lane a tiempo")
+    void sendOrderedHonorsDeadline() throws Exception {
+        try (var slow = slowSmsService()) {
+            var request = new SmsRequest("+50688881234", "Lento");
+            var first = slow.sendOrdered(request, Duration.ofMillis(100));
+            var second = slow.sendOrdered(request, Duration.ofMillis(100));
+
+            assertEquals(Deadline.DEADLINE_EXCEEDED,
+                    ((NotificationResult.Failure) first.get(5, TimeUnit.SECONDS)).code());
+            assertEquals(Deadline.DEADLINE_EXCEEDED,
+                    ((NotificationResult.Failure) second.get(5, TimeUnit.SECONDS)).code());
+        }
+    }
+
+    @Test
+    @DisplayName("sendOrdered rechaza en admisión los envíos a un canal saturado")
+    void sendOrderedHonorsLimiterAdmission() throws Exception {
+        var limited = new NotificationService(NotificationConfig.builder()
+                .property("limiter.algorithm", "aimd")
+                .property("limiter.initial", "1")
+                .property("limiter.max", "1")
+                .property("limiter.max.wait.ms", "0")
+                .build());
+        try (var service = new AsyncNotificationService(limited)) {
+            var held = limited.getLimiter(ChannelType.SMS).orElseThrow().acquire(Duration.ZERO).orElseThrow();
+
+            var rejected = service.sendOrdered(new SmsRequest("+50688881234", "Hola"));
+            held.onIgnore();
+
+            assertTrue(rejected.isDone());
+            assertEquals(ConcurrencyLimitDecorator.CONCURRENCY_LIMITED,
+                    ((NotificationResult.Failure) rejected.join()).code());
+            assertEquals(0, service.inFlight());
+        }
+    }
+
+    @Test
+    @DisplayName("cancelar el future interrumpe el envío en curso")
+    void cancelInterruptsSend() throws Exception {
+        try (var slow = slowSmsService()) {
+            var future = slow.sendAsync(new SmsRequest("+50688881234", "Lento"));
+            Thread.sleep(50);
+
+            assertTrue(future.cancel(true));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (slow.inFlight() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, slow.inFlight());
+            assertTrue(future.isCancelled());
+        }
+    }
+
+    @Test
+    @DisplayName("sendAsync propaga la categoría del llamador al hilo del envío")
+    void sendAsyncPropagatesCategory() throws Exception {
+        try (var capped = new AsyncNotificationService(NotificationConfig.builder()
+                .property("capping.sms.marketing", "1/1d")
+                .build())) {
+            var request = new SmsRequest("+50688881234", "Oferta");
+            var first = NotificationCategory.call("marketing", () -> capped.sendAsync(request));
+            assertInstanceOf(NotificationResult.Success.class, first.get(5, TimeUnit.SECONDS));
+
+            var second = NotificationCategory.call("marketing", () -> capped.sendAsync(request));
+            assertEquals("FREQUENCY_CAPPED",
+                    ((NotificationResult.Failure) second.get(5, TimeUnit.SECONDS)).code());
+        }
+    }
+
+    @Test
+    @DisplayName("sendOrdered propaga la categoría del llamador a la lane")
+    void sendOrderedPropagatesCategory() throws Exception {
+        try (var capped = cappedMarketingService()) {
+            var request = new SmsRequest("+50688881234", "Oferta");
+            for (String expected : List.of("OK", "FREQUENCY_CAPPED")) {
+                var result = NotificationCategory.call("marketing", () -> capped.sendOrdered(request));
+                assertEquals(expected, code(result.get(5, TimeUnit.SECONDS)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("sendAll propaga la categoría del llamador a cada subtarea")
+    void sendAllPropagatesCategory() {
+        try (var capped = cappedMarketingService()) {
+            var request = new SmsRequest("+50688881234", "Oferta");
+            for (String expected : List.of("OK", "FREQUENCY_CAPPED")) {
+                var result = NotificationCategory.call("marketing", () -> capped.sendAll(
+                        BroadcastPolicy.ALL, Duration.ofSeconds(5), List.of(request)));
+                assertEquals(expected, code(result.results().get(0)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("sendAfter despacha con la categoría vigente al programar")
+    void sendAfterPropagatesCategory() throws Exception {
+        try (var capped = cappedMarketingService()) {
+            var request = new SmsRequest("+50688881234", "Oferta");
+            for (String expected : List.of("OK", "FREQUENCY_CAPPED")) {
+                var scheduled = NotificationCategory.call("marketing",
+                        () -> capped.sendAfter(Duration.ofMillis(20), request));
+                assertEquals(expected, code(scheduled.result().get(5, TimeUnit.SECONDS)));
+            }
+        }
+    }
+
+    private static AsyncNotificationService cappedMarketingService() {
+        return new AsyncNotificationService(NotificationConfig.builder()
+                .property("capping.sms.marketing", "1/1d")
+                .build());
+    }
+
+    private static String code(NotificationResult result) {
+        return result instanceof NotificationResult.Failure failure ? failure.code() : "OK";
+    }
+
+    private static AsyncNotificationService slowSmsService() {
+        return new AsyncNotificationService(NotificationConfig.builder()
+                .property("simulator.mode", "local")
+                .property("simulator.sms.latency", "fixed:10s")
+                .retryAttempts(0)
+                .build());
+    }
+
+    @Test
+    @DisplayName("sendAll respeta el plazo vigente del llamador si vence antes")
+    void sendAllHonorsCallerDeadline() {
+        try (var slow = slowSmsService()) {
+            long start = System.nanoTime();
+            var result = Deadline.after(Duration.ofMillis(100)).call(() -> slow.sendAll(
+                    BroadcastPolicy.ALL, Duration.ofSeconds(30), List.of(new SmsRequest("+50688881234", "Lento"))));
+
+            assertEquals(Deadline.DEADLINE_EXCEEDED,
+                    ((NotificationResult.Failure) result.results().get(0)).code());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Cierre ordenado
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("shutdown drena los envíos en curso dentro del plazo")
+    void shutdownDrainsInFlight() {
+        var futures = new ArrayList<CompletableFuture<NotificationResult>>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(asyncService.sendAsync(new SmsRequest("+50688881234", "Hola " + i)));
+        }
+
+        ShutdownReport report = asyncService.shutdown(Duration.ofSeconds(5));
+
+        assertTrue(report.clean());
+        assertEquals(0, report.exported());
+        assertTrue(futures.stream().allMatch(f -> f.isDone() && !f.isCancelled()));
+        var rejected = asyncService.sendAsync(new SmsRequest("+50688881234", "Tarde")).join();
+        assertEquals(AsyncNotificationService.SHUTTING_DOWN, ((NotificationResult.Failure) rejected).code());
+        assertThrows(IllegalStateException.class,
+                () -> asyncService.sendAfter(Duration.ofSeconds(1), new SmsRequest("+50688881234", "Tarde")));
+    }
+
+    @Test
+    @DisplayName("al vencer el plazo cancela lo pendiente y lo exporta a archivo")
+    void shutdownExportsAbandoned(@TempDir Path dir) throws Exception {
+        var slow = new AsyncNotificationService(NotificationConfig.builder()
+                .property("simulator.mode", "local")
+                .property("simulator.sms.latency", "fixed:10s")
+                .retryAttempts(0)
+                .build());
+        var sent = slow.sendAsync(new SmsRequest("+50688881234", "Lento"));
+        slow.sendAfter(Duration.ofHours(1), new EmailRequest("u@e.com", "Luego", "Cuerpo"));
+        Path file = dir.resolve("pendientes.bin");
+
+        ShutdownReport report = slow.shutdown(Duration.ofMillis(100), AsyncNotificationService.exportToFile(file));
+        slow.close();
+
+        assertEquals(0, report.drained());
+        assertEquals(2, report.abandoned());
+        assertEquals(2, report.exported());
+        assertTrue(report.elapsed().toMillis() < 5_000);
+        assertTrue(sent.isCancelled());
+
+        var reader = new CodecReader(ByteBuffer.wrap(Files.readAllBytes(file)));
+        var exported = List.of(reader.next(), reader.next());
+        assertTrue(exported.contains(new SmsRequest("+50688881234", "Lento")));
+        assertTrue(exported.contains(new EmailRequest("u@e.com", "Luego", "Cuerpo")));
+    }
+
+    @Test
+    @DisplayName("shutdown espera, interrumpe y exporta también los envíos de sendAll")
+    void shutdownTracksSendAll() throws Exception {
+        var slow = slowSmsService();
+        var request = new SmsRequest("+50688881234", "Alerta");
+        var broadcast = CompletableFuture.supplyAsync(
+                () -> slow.sendAll(BroadcastPolicy.ALL, Duration.ofSeconds(30), List.of(request)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (slow.inFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, slow.inFlight());
+
+        var exported = new ArrayList<Object>();
+        ShutdownReport report = slow.shutdown(Duration.ofMillis(100), exported::addAll);
+
+        assertEquals(1, report.exported());
+        assertEquals(List.of(request), exported);
+        var result = broadcast.get(5, TimeUnit.SECONDS);
+        assertEquals(0, result.successCount());
+        var late = slow.sendAll(BroadcastPolicy.ANY, Duration.ofSeconds(1), List.of(request));
+        assertEquals(AsyncNotificationService.SHUTTING_DOWN,
+                ((NotificationResult.Failure) late.results().get(0)).code());
+        slow.close();
+    }
+
+    @Test
+    @DisplayName("todo envío concurrente con shutdown termina, se rechaza o se exporta")
+    void shutdownRacingSubmitsLosesNothing() throws Exception {
+        var slow = new AsyncNotificationService(NotificationConfig.builder()
+                .property("simulator.mode", "local")
+                .property("simulator.sms.latency", "fixed:200ms")
+                .retryAttempts(0)
+                .build());
+        var sent = new ConcurrentHashMap<CompletableFuture<NotificationResult>, SmsRequest>();
+        var start = new CountDownLatch(1);
+        var senders = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            int sender = t;
+            senders.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 200; i++) {
+                    var request = new SmsRequest("+5068888" + String.format("%04d", sender * 1000 + i), "Hola");
+                    sent.put(slow.sendAsync(request), request);
+                }
+            }));
+        }
+
+        start.countDown();
+        Thread.sleep(5);
+        var exported = new ArrayList<Object>();
+        slow.shutdown(Duration.ofMillis(50), exported::addAll);
+        for (Thread sender : senders) {
+            sender.join();
+        }
+        slow.close();
+
+        sent.forEach((future, request) -> {
+            assertTrue(future.isDone());
+            if (future.isCancelled()) {
+                assertTrue(exported.contains(request), "cancelado sin exportar: " + request);
+            } else {
+                var result = future.join();
+                assertFalse(result instanceof NotificationResult.Failure failure
+                        && failure.code().equals(Deadline.CANCELLED), "interrumpido sin exportar: " + request);
+            }
+        });
+    }
+
     // ------------------------------------------------------------------ //
     // Verificación de Virtual Threads
     // ------------------------------------------------------------------ //
@@ -0,0 +1,112 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchResult -- Contenedor primitivo para lotes")
+class BatchResultTest {
+
+    private static final Instant AHORA = Instant.parse("2024-05-01T10:15:30.123456789Z");
+
+    @Test
+    @DisplayName("materializa de forma perezosa los mismos resultados registrados")
+    void materializesRegisteredResults() {
+        var success = new NotificationResult.Success("SG.abc123", AHORA);
+        var failure = new NotificationResult.Failure("TIMEOUT", "Timeout del gateway");
+
+        var batch = BatchResult.builder(2)
+                .set(1, failure)
+                .set(0, success)
+                .build();
+
+        assertEquals(success, batch.get(0));
+        assertEquals(failure, batch.get(1));
+        assertEquals(List.of(success, failure), toList(batch));
+        assertEquals("SG.abc123", batch.messageId(0));
+        assertNull(batch.messageId(1));
+    }
+
+    @Test
+    @DisplayName("cuenta éxitos y fallos agrupados por código")
+    void countsByFailureCode() {
+        var builder = BatchResult.builder(5)
+                .set(0, new NotificationResult.Success("id-0", AHORA))
+                .set(1, new NotificationResult.Failure("TIMEOUT", "a"))
+                .set(2, new NotificationResult.Failure("UNREGISTERED", "b"))
+                .set(3, new NotificationResult.Failure("TIMEOUT", "c"))
+                .set(4, new NotificationResult.Success("id-4", AHORA));
+
+        var batch = builder.build();
+
+        assertEquals(2, batch.successCount());
+        assertEquals(3, batch.failureCount());
+        assertEquals(Map.of("TIMEOUT", 2, "UNREGISTERED", 1), batch.countsByFailureCode());
+        assertArrayEquals(new int[] { 1, 2, 3 }, batch.failedIndices());
+    }
+
+    @Test
+    @DisplayName("build() falla si quedan posiciones sin resultado")
+    void buildRequiresAllPositions() {
+        var builder = BatchResult.builder(2).set(0, new NotificationResult.Success("id", AHORA));
+
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalStateException.class,
+                () -> builder.set(0, new NotificationResult.Success("otro", AHORA)));
+    }
+
+    @Test
+    @DisplayName("sendBatchAsync agrega los resultados en el orden de las solicitudes")
+    void sendBatchAsyncPreservesOrder() throws Exception {
+        var config = NotificationConfig.builder().retryAttempts(0).build();
+        List<Object> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(i % 2 == 0
+                    ? new EmailRequest("u" + i + "@e.com", "Hola", "Cuerpo")
+                    : new PushRequest("device-token-" + i, "T", "C"));
+        }
+
+        try (var asyncService = new AsyncNotificationService(config)) {
+            var batch = asyncService.sendBatchAsync(requests).get(5, TimeUnit.SECONDS);
+
+            assertEquals(50, batch.size());
+            assertEquals(50, batch.successCount());
+            assertTrue(batch.messageId(0).startsWith("SG."));
+            assertTrue(batch.messageId(1).startsWith("projects/"));
+        }
+    }
+
+    @Test
+    @DisplayName("sendBatchAsync registra como Failure el envío que termina con excepción")
+    void sendBatchAsyncKeepsOtherResultsWhenOneThrows() throws Exception {
+        var config = NotificationConfig.builder().retryAttempts(0).build();
+        List<Object> requests = List.of(
+                new EmailRequest("a@e.com", "Hola", "Cuerpo"),
+                "no es una solicitud",
+                new PushRequest("device-token-2", "T", "C"));
+
+        try (var asyncService = new AsyncNotificationService(config)) {
+            var batch = asyncService.sendBatchAsync(requests).get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, batch.successCount());
+            assertArrayEquals(new int[] { 1 }, batch.failedIndices());
+            assertEquals(Map.of("CHANNEL_ERROR", 1), batch.countsByFailureCode());
+        }
+    }
+
+    private static List<NotificationResult> toList(BatchResult batch) {
+        List<NotificationResult> results = new ArrayList<>();
+        batch.forEach(results::add);
+        return results;
+    }
+}
@@ -0,0 +1,136 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para el envío simultáneo de {@link AsyncNotificationService#sendAll}.
+ * <p>
+ * Cada caso corre sobre ambas implementaciones de {@link Broadcaster}: la
+ * de concurrencia estructurada (los tests corren con
+ * {@code --enable-preview}) y la de futures.
+ */
+@DisplayName("Broadcaster -- Envío simultáneo con plazo")
+class BroadcasterTest {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final List<NotificationRequest> ALERTA = List.of(
+            new EmailRequest("oncall@e.com", "Caída", "La base de datos no responde"),
+            new SmsRequest("+50688881234", "Caída: la base de datos no responde"),
+            new PushRequest("device-token-abc123", "Caída", "La base de datos no responde"));
+
+    private final Map<ChannelType, Boolean> ranOnVirtualThread = new ConcurrentHashMap<>();
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    static Stream<Broadcaster> broadcasters() {
+        return Stream.of(Broadcaster.create(EXECUTOR), new FutureBroadcaster(EXECUTOR));
+    }
+
+    /** Envío simulado: EMAIL tarda 10 s (atiende interrupciones), SMS falla y PUSH entrega. */
+    private Function<NotificationRequest, NotificationResult> send(boolean smsFails) {
+        return request -> {
+            ranOnVirtualThread.put(request.channelType(), Thread.currentThread().isVirtual());
+            return switch (request.channelType()) {
+                case EMAIL -> {
+                    try {
+                        Thread.sleep(10_000);
+                        yield new NotificationResult.Success("mail", Instant.now(), ChannelType.EMAIL);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        yield Deadline.cancelled("interrumpido");
+                    }
+                }
+                case SMS -> smsFails
+                        ? new NotificationResult.Failure("PROVIDER_UNAVAILABLE", "caído")
+                        : new NotificationResult.Success("sms", Instant.now(), ChannelType.SMS);
+                case PUSH -> new NotificationResult.Success("push", Instant.now(), ChannelType.PUSH);
+            };
+        };
+    }
+
+    @Test
+    @DisplayName("con --enable-preview se usa StructuredTaskScope")
+    void prefersStructuredConcurrency() {
+        assertFalse(Broadcaster.create(EXECUTOR) instanceof FutureBroadcaster);
+    }
+
+    @ParameterizedTest
+    @MethodSource("broadcasters")
+    @DisplayName("ANY retorna con el primer éxito y cancela los rezagados")
+    void anyCancelsStragglers(Broadcaster broadcaster) throws Exception {
+        long start = System.nanoTime();
+        var result = broadcaster.broadcast(send(true), BroadcastPolicy.ANY, Duration.ofSeconds(5), ALERTA);
+
+        assertTrue(result.succeeded());
+        assertEquals(List.of(ChannelType.PUSH), result.deliveredChannels());
+        assertEquals(BroadcastResult.CANCELLED, ((NotificationResult.Failure) result.results().get(0)).code());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "El envío rezagado debe interrumpirse");
+        assertTrue(ranOnVirtualThread.values().stream().allMatch(Boolean::booleanValue));
+    }
+
+    @ParameterizedTest
+    @MethodSource("broadcasters")
+    @DisplayName("ALL espera a todos y marca DEADLINE_EXCEEDED al vencer el plazo")
+    void allHonorsDeadline(Broadcaster broadcaster) throws Exception {
+        var result = broadcaster.broadcast(send(false), BroadcastPolicy.ALL, Duration.ofMillis(200), ALERTA);
+
+        assertFalse(result.succeeded());
+        assertEquals(2, result.successCount());
+        assertEquals(List.of(ChannelType.SMS, ChannelType.PUSH), result.deliveredChannels());
+        assertEquals(BroadcastResult.DEADLINE_EXCEEDED, ((NotificationResult.Failure) result.results().get(0)).code());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @ParameterizedTest
+    @MethodSource("broadcasters")
+    @DisplayName("ALL con todos entregando es exitoso")
+    void allSucceeds(Broadcaster broadcaster) {
+        var result = broadcaster.broadcast(send(false), BroadcastPolicy.ALL, Duration.ofSeconds(5), ALERTA.subList(1, 3));
+
+        assertTrue(result.succeeded());
+        assertEquals(2, result.successCount());
+    }
+
+    @Test
+    @DisplayName("sendAll envía por todos los canales del servicio")
+    void sendAllThroughService() {
+        try (var service = new AsyncNotificationService(NotificationConfig.builder().retryAttempts(0).build())) {
+            var result = service.sendAll(BroadcastPolicy.ALL, Duration.ofSeconds(5), ALERTA);
+
+            assertTrue(result.succeeded());
+            assertEquals(List.of(ChannelType.EMAIL, ChannelType.SMS, ChannelType.PUSH), result.deliveredChannels());
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.sendAll(BroadcastPolicy.ANY, Duration.ZERO, ALERTA));
+        }
+    }
+}
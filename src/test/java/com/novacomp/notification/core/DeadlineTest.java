@@ -0,0 +1,46 @@
+package com.novacomp.notification.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Deadline -- Plazo propagado por hilo")
+class DeadlineTest {
+
+    @Test
+    @DisplayName("call vincula el plazo al hilo y lo restaura al terminar")
+    void bindsAndRestores() {
+        var deadline = Deadline.after(Duration.ofSeconds(5));
+
+        assertTrue(Deadline.current().isEmpty());
+        assertSame(deadline, deadline.call(() -> Deadline.current().orElseThrow()));
+        assertTrue(Deadline.current().isEmpty());
+    }
+
+    @Test
+    @DisplayName("un plazo anidado más largo no extiende el vigente")
+    void nestedDeadlineNeverExtends() {
+        var corto = Deadline.after(Duration.ofMillis(100));
+        var largo = Deadline.after(Duration.ofSeconds(10));
+
+        var efectivo = corto.call(() -> largo.call(() -> Deadline.current().orElseThrow()));
+        var interno = largo.call(() -> corto.call(() -> Deadline.current().orElseThrow()));
+
+        assertSame(corto, efectivo);
+        assertSame(corto, interno);
+    }
+
+    @Test
+    @DisplayName("allows compara una espera contra el tiempo restante")
+    void allows() {
+        var deadline = Deadline.after(Duration.ofSeconds(1));
+
+        assertTrue(deadline.allows(Duration.ofMillis(10)));
+        assertFalse(deadline.allows(Duration.ofSeconds(2)));
+        assertEquals(Deadline.DEADLINE_EXCEEDED, deadline.exceeded("x").code());
+        assertThrows(IllegalArgumentException.class, () -> Deadline.after(Duration.ZERO));
+    }
+}
@@ -0,0 +1,254 @@
+package com.novacomp.notification.core;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link NotificationProcessor}: demanda acotada por la
+ * capacidad de despacho y backpressure desde los suscriptores de
+ * resultados.
+ */
+@DisplayName("NotificationProcessor -- Flow con backpressure")
+class NotificationProcessorTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** Envío simulado de 5 ms que registra la concurrencia máxima. */
+    private final Function<Object, CompletableFuture<NotificationResult>> send = request -> {
+        sent.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return new NotificationResult.Success("id-" + request, Instant.now(), ChannelType.PUSH);
+        }, executor);
+    };
+
+    /** Suscriptor de resultados que pide bajo demanda del test. */
+    private static final class Collector implements Flow.Subscriber<NotificationResult> {
+        final List<NotificationResult> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        private final long initialDemand;
+
+        Collector(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(NotificationResult item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    private static void produce(Flow.Subscriber<Object> processor, int count, Throwable error) {
+        Thread.ofVirtual().start(() -> {
+            try (var upstream = new SubmissionPublisher<Object>(command -> Thread.ofVirtual().start(command), 4)) {
+                upstream.subscribe(processor);
+                IntStream.range(0, count).forEach(upstream::submit);
+                if (error != null) {
+                    upstream.closeExceptionally(error);
+                }
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("no hay más envíos en curso que maxInFlight")
+    void boundsInFlight() throws Exception {
+        var processor = new NotificationProcessor(send, 4, () -> Integer.MAX_VALUE, 16, executor);
+        var collector = new Collector(Long.MAX_VALUE);
+        processor.subscribe(collector);
+
+        produce(processor, 200, null);
+
+        assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+        assertNull(collector.error);
+        assertEquals(200, collector.received.size());
+        assertTrue(peak.get() <= 4, "Concurrencia máxima observada: " + peak.get());
+        assertEquals(0, processor.inFlight());
+    }
+
+    @Test
+    @DisplayName("la demanda sigue la capacidad de los limitadores por debajo de maxInFlight")
+    void followsLimiterCapacity() throws Exception {
+        var limit = new AtomicInteger(2);
+        var processor = new NotificationProcessor(send, 16, limit::get, 16, executor);
+        var collector = new Collector(Long.MAX_VALUE);
+        processor.subscribe(collector);
+
+        produce(processor, 100, null);
+        Thread.sleep(100);
+        assertTrue(peak.get() <= 2, "Concurrencia máxima con límite 2: " + peak.get());
+        limit.set(0);
+        assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+
+        assertEquals(100, collector.received.size());
+        assertTrue(peak.get() <= 2, "Concurrencia máxima observada: " + peak.get());
+    }
+
+    @Test
+    @DisplayName("con un productor síncrono y envíos ya completados no recursa en onNext")
+    void synchronousUpstreamDoesNotRecurse() throws Exception {
+        int count = 50_000;
+        var processor = new NotificationProcessor(
+                request -> CompletableFuture.completedFuture(new NotificationResult.Failure("CONCURRENCY_LIMITED", "x")),
+                1, () -> Integer.MAX_VALUE, 16, executor);
+        var collector = new Collector(Long.MAX_VALUE);
+        processor.subscribe(collector);
+
+        // Emite dentro de request(): sin publicación asíncrona cada resultado
+        // volvería a pedir desde la pila del onNext anterior.
+        Flow.Publisher<Object> inline = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private int next;
+
+            @Override
+            public synchronized void request(long n) {
+                for (long i = 0; i < n && next < count; i++) {
+                    subscriber.onNext(next++);
+                }
+                if (next == count) {
+                    next++;
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        inline.subscribe(processor);
+
+        assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+        assertNull(collector.error);
+        assertEquals(count, collector.received.size());
+    }
+
+    @Test
+    @DisplayName("vincula en cada envío la categoría vigente al crearlo, no la del productor")
+    void propagatesCategoryFromCreator() throws Exception {
+        var categories = new CopyOnWriteArrayList<String>();
+        var processor = NotificationCategory.call("marketing", () -> new NotificationProcessor(request -> {
+            categories.add(NotificationCategory.current().orElse("ninguna"));
+            return send.apply(request);
+        }, 4, () -> Integer.MAX_VALUE, 16, executor));
+        var collector = new Collector(Long.MAX_VALUE);
+        processor.subscribe(collector);
+
+        produce(processor, 20, null);
+
+        assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(20, categories.size());
+        assertTrue(categories.stream().allMatch("marketing"::equals), "Categorías: " + categories);
+    }
+
+    @Test
+    @DisplayName("un suscriptor lento detiene la demanda hacia el productor")
+    void slowSubscriberStopsUpstreamDemand() throws Exception {
+        var processor = new NotificationProcessor(send, 4, () -> Integer.MAX_VALUE, 4, executor);
+        var collector = new Collector(0);
+        processor.subscribe(collector);
+
+        produce(processor, 100, null);
+        Thread.sleep(300);
+
+        // maxInFlight envíos + lo que cabe en el buffer del suscriptor.
+        assertTrue(sent.get() <= 8, "Solicitudes pedidas sin demanda: " + sent.get());
+        assertTrue(collector.received.isEmpty());
+
+        collector.subscription.request(Long.MAX_VALUE);
+        assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(100, collector.received.size());
+    }
+
+    @Test
+    @DisplayName("un error del productor se propaga a los suscriptores de resultados")
+    void propagatesUpstreamError() throws Exception {
+        var processor = new NotificationProcessor(send, 4, () -> Integer.MAX_VALUE, 16, executor);
+        var collector = new Collector(Long.MAX_VALUE);
+        processor.subscribe(collector);
+
+        produce(processor, 10, new IllegalStateException("Kafka caído"));
+
+        assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, collector.error);
+        assertEquals(0, processor.inFlight());
+    }
+
+    @Test
+    @DisplayName("processor del servicio envía por el canal de cada solicitud")
+    void serviceProcessor() throws Exception {
+        var config = NotificationConfig.builder().retryAttempts(0).build();
+        try (var service = new AsyncNotificationService(config)) {
+            var processor = service.processor(8, 32);
+            var collector = new Collector(Long.MAX_VALUE);
+            processor.subscribe(collector);
+
+            try (var upstream = new SubmissionPublisher<Object>()) {
+                upstream.subscribe(processor);
+                upstream.submit(new EmailRequest("u@e.com", "Hola", "Cuerpo"));
+                upstream.submit(new PushRequest("device-token-abc123", "Hola", "Cuerpo"));
+                upstream.submit("no es una solicitud");
+            }
+
+            assertTrue(collector.completed.await(5, TimeUnit.SECONDS));
+            assertEquals(3, collector.received.size());
+            assertEquals(2, collector.received.stream()
+                    .filter(NotificationResult.Success.class::isInstance).count());
+            assertThrows(IllegalArgumentException.class, () -> service.processor(0, 1));
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package com.novacomp.notification.core;
 
+import com.novacomp.notification.capping.FrequencyCapper;
 import com.novacomp.notification.config.NotificationConfig;
 import com.novacomp.notification.model.EmailRequest;
 import com.novacomp.notification.model.PushRequest;
 import com.novacomp.notification.model.SmsRequest;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.receipt.DeliveryTracker;
+import com.novacomp.notification.resilience.ConcurrencyLimitDecorator;
+import com.novacomp.notification.suppression.SuppressionList;
+import com.novacomp.notification.validation.RecipientValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,14 +52,14 @@ class NotificationServiceTest {
     @Test
     @DisplayName("auto-despacha SmsRequest al canal SMS")
     void autoDispatchSms() {
-        var result = service.send(new SmsRequest("+123", "Hola"));
+        var result = service.send(new SmsRequest("+50688881234", "Hola"));
         assertInstanceOf(NotificationResult.Success.class, result);
     }
 
     @Test
     @DisplayName("auto-despacha PushRequest al canal PUSH")
     void autoDispatchPush() {
-        var result = service.send(new PushRequest("tok", "T", "C"));
+        var result = service.send(new PushRequest("device-token-abc123", "T", "C"));
         assertInstanceOf(NotificationResult.Success.class, result);
     }
 
@@ -81,4 +94,164 @@ class NotificationServiceTest {
         assertNotNull(id);
         assertFalse(id.isBlank());
     }
+
+    @Test
+    @DisplayName("rechaza un destinatario inválido sin llamar al proveedor")
+    void rejectsInvalidRecipient() {
+        var result = service.send(new SmsRequest("+1234567890", "Hola"));
+
+        var failure = assertInstanceOf(NotificationResult.Failure.class, result);
+        assertEquals(RecipientValidator.INVALID_RECIPIENT, failure.code());
+        assertInstanceOf(NotificationResult.Success.class, service.send(new SmsRequest("+506 8888-1234", "Hola")));
+    }
+
+    @Test
+    @DisplayName("no envía a destinatarios suprimidos y suprime los tokens UNREGISTERED")
+    void suppressesRecipients() {
+        var suppressed = new NotificationService(NotificationConfig.builder()
+                .property("suppression.enabled", "true")
+                .property("simulator.mode", "local")
+                .property("simulator.push.latency", "fixed:0ms")
+                .property("simulator.push.errors", "UNREGISTERED:1.0")
+                .build());
+        var list = suppressed.getSuppressionList().orElseThrow();
+        list.add(ChannelType.SMS, "+50688881234");
+
+        var sms = suppressed.send(new SmsRequest("+506 8888-1234", "Hola"));
+        assertEquals(SuppressionList.RECIPIENT_SUPPRESSED, assertInstanceOf(NotificationResult.Failure.class, sms).code());
+
+        var push = new PushRequest("device-token-abc123", "Hola", "Cuerpo");
+        assertEquals("UNREGISTERED", ((NotificationResult.Failure) suppressed.send(push)).code());
+        assertEquals(SuppressionList.RECIPIENT_SUPPRESSED, ((NotificationResult.Failure) suppressed.send(push)).code());
+        assertTrue(service.getSuppressionList().isEmpty());
+    }
+
+    @Test
+    @DisplayName("limita los envíos por destinatario según canal y categoría")
+    void capsFrequencyPerCategory() {
+        var capped = new NotificationService(NotificationConfig.builder()
+                .property("capping.push.marketing", "2/1d")
+                .property("capping.width", "4096")
+                .build());
+        var push = new PushRequest("device-token-abc123", "Oferta", "2x1 hoy");
+
+        assertInstanceOf(NotificationResult.Success.class, NotificationCategory.call("marketing", () -> capped.send(push)));
+        assertInstanceOf(NotificationResult.Success.class, NotificationCategory.call("marketing", () -> capped.send(push)));
+        var third = NotificationCategory.call("marketing", () -> capped.send(push));
+        assertEquals(FrequencyCapper.FREQUENCY_CAPPED, assertInstanceOf(NotificationResult.Failure.class, third).code());
+
+        // Sin categoría (ni regla 'default') o en otra categoría no se limita.
+        assertInstanceOf(NotificationResult.Success.class, capped.send(push));
+        assertInstanceOf(NotificationResult.Success.class, NotificationCategory.call("transaccional", () -> capped.send(push)));
+        assertThrows(IllegalArgumentException.class, () -> new NotificationService(NotificationConfig.builder()
+                .property("capping.push.marketing", "3 por dia")
+                .build()));
+    }
+
+    @Test
+    @DisplayName("un envío rechazado por el limitador de concurrencia no consume el límite de frecuencia")
+    void limiterRejectionKeepsFrequencyQuota() {
+        var limited = new NotificationService(NotificationConfig.builder()
+                .property("capping.sms.default", "1/1h")
+                .property("capping.width", "4096")
+                .property("limiter.algorithm", "aimd")
+                .property("limiter.initial", "1")
+                .property("limiter.max", "1")
+                .property("limiter.max.wait.ms", "0")
+                .build());
+        var sms = new SmsRequest("+50688881234", "Hola");
+        var held = limited.getLimiter(ChannelType.SMS).orElseThrow().acquire(Duration.ZERO).orElseThrow();
+
+        var rejected = limited.send(sms);
+        held.onIgnore();
+
+        assertEquals(ConcurrencyLimitDecorator.CONCURRENCY_LIMITED,
+                assertInstanceOf(NotificationResult.Failure.class, rejected).code());
+        assertInstanceOf(NotificationResult.Success.class, limited.send(sms));
+        assertEquals(FrequencyCapper.FREQUENCY_CAPPED,
+                assertInstanceOf(NotificationResult.Failure.class, limited.send(sms)).code());
+    }
+
+    @Test
+    @DisplayName("crea cada canal en su primer uso")
+    void createsChannelsLazily() {
+        var lazy = new NotificationService(NotificationConfig.builder()
+                .property("simulator.mode", "desconocido")
+                .build());
+
+        assertThrows(IllegalArgumentException.class, () -> lazy.send(new SmsRequest("+50688881234", "Hola")));
+        assertThrows(IllegalArgumentException.class, lazy::warmUp);
+    }
+
+    @Test
+    @DisplayName("warmUp prepara los canales sin enviar ni consumir el límite de frecuencia")
+    void warmUpPreparesChannelsWithoutSending() {
+        var capped = new NotificationService(NotificationConfig.builder()
+                .property("capping.push.default", "1/1d")
+                .property("capping.width", "4096")
+                .build());
+
+        WarmUpReport report = capped.warmUp(EnumSet.of(ChannelType.PUSH, ChannelType.SMS), 500);
+
+        assertEquals(List.of(ChannelType.SMS, ChannelType.PUSH), report.channels());
+        assertEquals(500, report.iterations());
+        assertTrue(capped.getProviderStats(ChannelType.PUSH).stream().allMatch(stats -> stats.requests() == 0));
+        assertInstanceOf(NotificationResult.Success.class,
+                capped.send(new PushRequest("warmup-token-0", "Hola", "Cuerpo")));
+    }
+
+    @Test
+    @DisplayName("warmUp recorre la cadena de decorators sin registrar envíos para confirmación")
+    void warmUpDrivesChainWithoutTracking() {
+        var tracked = new NotificationService(NotificationConfig.builder()
+                .property("email.from", "noreply@novacomp.com")
+                .property("receipts.enabled", "true")
+                .build());
+
+        tracked.warmUp(EnumSet.allOf(ChannelType.class), 200);
+
+        DeliveryTracker tracker = tracked.getDeliveryTracker().orElseThrow();
+        assertEquals(0, tracker.tracked());
+        assertInstanceOf(NotificationResult.Success.class, tracked.send(new SmsRequest("+50688881234", "Hola")));
+        assertEquals(1, tracker.tracked());
+    }
+
+    @Test
+    @DisplayName("cerrar el servicio asíncrono deja la lista de supresión en disco")
+    void asyncCloseClosesSuppressionFile(@TempDir Path dir) {
+        Path file = dir.resolve("suppression.bin");
+        var owned = new NotificationService(NotificationConfig.builder()
+                .property("suppression.enabled", "true")
+                .property("suppression.file", file.toString())
+                .property("suppression.capacity", "1024")
+                .build());
+        var async = new AsyncNotificationService(owned);
+        owned.getSuppressionList().orElseThrow().add(ChannelType.SMS, "+50688881234");
+
+        async.close();
+        owned.close();
+
+        try (var reopened = SuppressionList.builder().capacity(1024).file(file).open()) {
+            assertTrue(reopened.contains(ChannelType.SMS, "+50688881234"));
+        }
+    }
+
+    @Test
+    @DisplayName("después de close() no se abre la lista de supresión ni se crean canales")
+    void closedServiceDoesNotOpenSuppressionFile(@TempDir Path dir) {
+        Path file = dir.resolve("suppression.bin");
+        var closed = new NotificationService(NotificationConfig.builder()
+                .property("suppression.enabled", "true")
+                .property("suppression.file", file.toString())
+                .property("suppression.capacity", "1024")
+                .build());
+        closed.close();
+
+        var result = closed.send(new SmsRequest("+50688881234", "Hola"));
+
+        var failure = assertInstanceOf(NotificationResult.Failure.class, result);
+        assertEquals(AsyncNotificationService.SHUTTING_DOWN, failure.code());
+        assertThrows(IllegalStateException.class, closed::getSuppressionList);
+        assertFalse(Files.exists(file));
+    }
 }
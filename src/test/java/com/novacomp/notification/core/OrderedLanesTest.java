@@ -0,0 +1,126 @@
+package com.novacomp.notification.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderedLanes -- Orden por clave sin lock global")
+class OrderedLanesTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("las tareas de una misma clave se ejecutan en orden de llegada")
+    void preservesOrderPerKey() throws Exception {
+        var lanes = new OrderedLanes(4, executor);
+        List<Integer> observed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            int seq = i;
+            futures.add(lanes.submit("+50688881234", () -> {
+                sleepMicros(ThreadLocalRandom.current().nextInt(200));
+                observed.add(seq);
+                return seq;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, observed.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("claves en lanes distintas avanzan en paralelo")
+    void differentLanesRunInParallel() throws Exception {
+        var lanes = new OrderedLanes(8, executor);
+        String keyA = "a@e.com";
+        String keyB = keyA;
+        for (int i = 0; lanes.laneIndex(keyB) == lanes.laneIndex(keyA); i++) {
+            keyB = "b" + i + "@e.com";
+        }
+
+        var blocker = new CountDownLatch(1);
+        var blocked = lanes.submit(keyA, () -> {
+            await(blocker);
+            return "A";
+        });
+        var free = lanes.submit(keyB, () -> "B");
+
+        assertEquals("B", free.get(5, TimeUnit.SECONDS), "La lane B no debe esperar a la lane A");
+        assertFalse(blocked.isDone());
+        blocker.countDown();
+        assertEquals("A", blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("una excepción completa el future sin bloquear la lane")
+    void exceptionDoesNotBlockLane() throws Exception {
+        var lanes = new OrderedLanes(1, executor);
+
+        var failed = lanes.submit("k", () -> {
+            throw new IllegalStateException("boom");
+        });
+        var next = lanes.submit("k", () -> "ok");
+
+        assertEquals("ok", next.get(5, TimeUnit.SECONDS));
+        assertTrue(failed.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("si el executor rechaza el drenado, el future falla y la lane no queda trabada")
+    void rejectedDrainDoesNotWedgeLane() throws Exception {
+        var rejecting = new AtomicBoolean(true);
+        var lanes = new OrderedLanes(1, command -> {
+            if (rejecting.get()) {
+                throw new RejectedExecutionException("executor cerrado");
+            }
+            executor.execute(command);
+        });
+
+        var rejected = lanes.submit("k", () -> "nunca");
+        rejecting.set(false);
+        var next = lanes.submit("k", () -> "ok");
+
+        var error = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals("ok", next.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void sleepMicros(int micros) {
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.novacomp.notification.deadletter;
+
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link DeadLetterStore}: índice por código y tiempo,
+ * recuperación tras reinicio, rotación de segmentos y reenvío.
+ */
+@DisplayName("DeadLetterStore -- Dead letters en segmentos de disco")
+class DeadLetterStoreTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T10:00:00Z");
+    private static final NotificationResult.Failure CAIDO =
+            new NotificationResult.Failure("PROVIDER_UNAVAILABLE", "Proveedor caído");
+    private static final NotificationResult.Failure INVALIDO =
+            new NotificationResult.Failure("INVALID_RECIPIENT", "Número inexistente");
+
+    @TempDir
+    Path dir;
+
+    /** Reloj manual para controlar el instante de cada dead letter. */
+    private static final class ManualClock extends Clock {
+        Instant now = T0;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static SmsRequest sms(int i) {
+        return new SmsRequest("+5068888" + String.format("%04d", i), "Mensaje " + i);
+    }
+
+    @Test
+    @DisplayName("consulta por código y rango de tiempo en orden de llegada")
+    void queriesByCodeAndTime() {
+        var clock = new ManualClock();
+        try (var store = DeadLetterStore.builder(dir).clock(clock).open()) {
+            for (int i = 0; i < 6; i++) {
+                clock.now = T0.plusSeconds(i * 60L);
+                store.append(sms(i), i % 2 == 0 ? CAIDO : INVALIDO);
+            }
+
+            var caidos = store.find(DeadLetterQuery.all().withCode("PROVIDER_UNAVAILABLE"));
+            assertEquals(List.of(sms(0), sms(2), sms(4)), caidos.stream().map(DeadLetter::request).toList());
+            assertEquals(CAIDO, caidos.get(0).failure());
+            assertEquals(T0, caidos.get(0).failedAt());
+
+            var ventana = DeadLetterQuery.all().between(T0.plusSeconds(60), T0.plusSeconds(240));
+            assertEquals(3, store.count(ventana));
+            assertEquals(2, store.count(ventana.withCode("INVALID_RECIPIENT")));
+            assertEquals(1, store.find(ventana.limit(1)).size());
+            assertEquals(0, store.count(DeadLetterQuery.all().withCode("OTRO")));
+        }
+    }
+
+    @Test
+    @DisplayName("al reabrir reconstruye el índice y trunca un frame final cortado")
+    void recoversAfterRestart() throws Exception {
+        try (var store = DeadLetterStore.builder(dir).open()) {
+            store.append(sms(1), CAIDO);
+            store.append(new EmailRequest("u@e.com", "Asunto", "Cuerpo"), INVALIDO);
+            store.append(sms(3), CAIDO);
+            store.resolve(List.of(1L));
+        }
+        Path segment = segments().get(0);
+        long validSize = Files.size(segment);
+        // Escritura cortada por una caída: cabecera a medias.
+        Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        try (var store = DeadLetterStore.builder(dir).open()) {
+            assertEquals(validSize, Files.size(segment));
+            assertEquals(2, store.size());
+            var letters = store.find(DeadLetterQuery.all());
+            assertEquals(List.of(2L, 3L), letters.stream().map(DeadLetter::id).toList());
+            assertInstanceOf(EmailRequest.class, letters.get(0).request());
+
+            assertEquals(4L, store.append(sms(4), CAIDO));
+        }
+    }
+
+    @Test
+    @DisplayName("rota segmentos y borra los antiguos ya resueltos")
+    void rollsAndDeletesResolvedSegments() throws Exception {
+        String cuerpo = "x".repeat(400);
+        try (var store = DeadLetterStore.builder(dir).segmentBytes(4096).syncInterval(Duration.ZERO).open()) {
+            for (int i = 0; i < 40; i++) {
+                store.append(new EmailRequest("u" + i + "@e.com", "Asunto", cuerpo), CAIDO);
+            }
+            assertTrue(segments().size() > 3);
+
+            var ids = store.find(DeadLetterQuery.all()).stream().map(DeadLetter::id).toList();
+            assertEquals(39, store.resolve(ids.subList(0, 39)));
+
+            assertEquals(1, store.size());
+            assertEquals(40L, store.find(DeadLetterQuery.all()).get(0).id());
+            assertTrue(segments().size() <= 2, "Segmentos restantes: " + segments());
+        }
+        try (var store = DeadLetterStore.builder(dir).open()) {
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    @DisplayName("un frame corrupto en un segmento sellado se salta sin truncar lo que sigue")
+    void skipsCorruptFrameInSealedSegment() throws Exception {
+        String cuerpo = "x".repeat(400);
+        try (var store = DeadLetterStore.builder(dir).segmentBytes(4096).syncInterval(Duration.ZERO).open()) {
+            for (int i = 0; i < 20; i++) {
+                store.append(new EmailRequest("u" + i + "@e.com", "Asunto", cuerpo), CAIDO);
+            }
+        }
+        Path sealed = segments().get(0);
+        long sealedSize = Files.size(sealed);
+        try (var channel = FileChannel.open(sealed, StandardOpenOption.WRITE)) {
+            // Un byte dañado en el payload de la primera dead letter.
+            channel.write(ByteBuffer.wrap(new byte[] {'#'}), 40);
+        }
+
+        try (var store = DeadLetterStore.builder(dir).open()) {
+            assertEquals(sealedSize, Files.size(sealed));
+            assertEquals(19, store.size());
+            var ids = store.find(DeadLetterQuery.all()).stream().map(DeadLetter::id).toList();
+            assertEquals(2L, ids.get(0));
+            assertEquals(20L, ids.get(18));
+        }
+
+        try (var channel = FileChannel.open(sealed, StandardOpenOption.WRITE)) {
+            // Longitud ilegible: no se puede saltar el frame sin perder el resto.
+            channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE), 0);
+        }
+        assertThrows(UncheckedIOException.class, () -> DeadLetterStore.builder(dir).open());
+        assertEquals(sealedSize, Files.size(sealed));
+    }
+
+    @Test
+    @DisplayName("replay reenvía a ritmo controlado y resuelve solo las entregadas")
+    void replaysAtControlledRate() {
+        try (var store = DeadLetterStore.builder(dir).open()) {
+            for (int i = 0; i < 5; i++) {
+                store.append(sms(i), CAIDO);
+            }
+            store.append(sms(99), INVALIDO);
+
+            var report = store.replay(DeadLetterQuery.all().withCode("PROVIDER_UNAVAILABLE"), 20.0,
+                    request -> CompletableFuture.completedFuture(request.equals(sms(3))
+                            ? CAIDO
+                            : new NotificationResult.Success("ok", Instant.now())));
+
+            assertEquals(new ReplayReport(5, 5, 4, 1, report.elapsed()), report);
+            // 5 reenvíos a 20/s: el último sale a los 200 ms.
+            assertTrue(report.elapsed().toMillis() >= 190, "Duración: " + report.elapsed());
+            assertEquals(List.of(sms(3), sms(99)),
+                    store.find(DeadLetterQuery.all()).stream().map(DeadLetter::request).toList());
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.replay(DeadLetterQuery.all(), 0, r -> null));
+        }
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".dlq")).sorted().toList();
+        }
+    }
+}
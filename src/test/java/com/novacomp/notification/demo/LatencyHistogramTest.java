@@ -0,0 +1,54 @@
+package com.novacomp.notification.demo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram -- Percentiles log-lineales")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("los percentiles respetan el error relativo acotado")
+    void percentilesWithinRelativeError() {
+        var histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertEquals(100_000, histogram.totalCount());
+        assertEquals(50_000, histogram.valueAtPercentile(50), 50_000 * 0.02);
+        assertEquals(99_000, histogram.valueAtPercentile(99), 99_000 * 0.02);
+        assertEquals(100_000, histogram.maxValue(), 100_000 * 0.02);
+    }
+
+    @Test
+    @DisplayName("cada valor cae en un bucket cuyo límite superior lo contiene")
+    void indexIsMonotonicAndCovering() {
+        int previous = -1;
+        for (long value = 0; value < 10_000_000; value += 997) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index >= previous, "índice no monótono en " + value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            previous = index;
+        }
+    }
+
+    @Test
+    @DisplayName("exporta la distribución en formato .hgrm")
+    void outputsHgrm() {
+        var histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        var bytes = new ByteArrayOutputStream();
+
+        histogram.outputPercentileDistribution(new PrintStream(bytes), 1000.0);
+
+        String text = bytes.toString();
+        assertTrue(text.contains("Percentile"));
+        assertTrue(text.contains("Total count    =            1"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.novacomp.notification.mime;
+
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MimeMessage -- Cuerpo MIME en streaming")
+class MimeMessageTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("el base64 de cada adjunto decodifica al contenido original, en cualquier tamaño")
+    void base64RoundTripsAnySize() throws Exception {
+        var pool = new BufferPool(MimeMessage.MIN_BUFFER_SIZE, 2);
+        for (int size : new int[] {0, 1, 2, 3, 56, 57, 58, 114, 4096, 200_003}) {
+            byte[] data = random(size);
+            var attachment = EmailAttachment.ofBuffer("datos.bin", "application/octet-stream", ByteBuffer.wrap(data));
+            var message = new MimeMessage("noreply@novacomp.com",
+                    new EmailRequest("u@e.com", "Datos", "Ver adjunto", List.of(attachment)), pool);
+
+            String mime = write(message);
+
+            assertArrayEquals(data, decodePart(mime, message.boundary(), 2), "tamaño " + size);
+            assertTrue(mime.lines().allMatch(line -> line.length() <= MimeMessage.LINE_LENGTH),
+                    "ninguna línea supera 76 caracteres");
+        }
+    }
+
+    @Test
+    @DisplayName("arma un multipart/mixed con el cuerpo y los adjuntos en orden")
+    void writesMultipart() throws Exception {
+        Path pdf = Files.write(dir.resolve("factura.pdf"), random(10_000));
+        var message = new MimeMessage("noreply@novacomp.com", new EmailRequest("u@e.com", "Factura", "Hola",
+                List.of(EmailAttachment.ofFile(pdf),
+                        EmailAttachment.ofBuffer("resumen.csv", "text/csv", ByteBuffer.wrap("a,b\n1,2\n".getBytes())))));
+
+        String mime = write(message);
+
+        assertTrue(mime.startsWith("From: noreply@novacomp.com\r\nTo: u@e.com\r\nSubject: Factura\r\n"));
+        assertTrue(mime.contains("Content-Type: multipart/mixed; boundary=\"" + message.boundary() + "\""));
+        assertTrue(mime.contains("Content-Type: application/pdf; name=\"factura.pdf\""));
+        assertTrue(mime.contains("Content-Disposition: attachment; filename=\"resumen.csv\""));
+        assertTrue(mime.endsWith("--" + message.boundary() + "--\r\n"));
+        assertEquals("Hola", new String(decodePart(mime, message.boundary(), 1), StandardCharsets.UTF_8));
+        assertArrayEquals(Files.readAllBytes(pdf), decodePart(mime, message.boundary(), 2));
+        assertEquals("a,b\n1,2\n", new String(decodePart(mime, message.boundary(), 3), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("codifica asunto y nombre de archivo no ASCII según RFC 2047 y 2231")
+    void encodesNonAsciiHeaders() throws Exception {
+        var attachment = EmailAttachment.ofBuffer("año 2026.txt", "text/plain", ByteBuffer.wrap(new byte[] {1}));
+        var message = new MimeMessage("noreply@novacomp.com",
+                new EmailRequest("u@e.com", "¡Factura de\r\nBcc: x@y.com!", "", List.of(attachment)));
+
+        String mime = write(message);
+
+        assertTrue(mime.contains("Subject: =?UTF-8?B?"), mime);
+        assertFalse(mime.contains("Bcc:"));
+        assertTrue(mime.contains("filename*=UTF-8''a%C3%B1o%202026.txt"));
+    }
+
+    @Test
+    @DisplayName("un mismo adjunto se envía en paralelo reutilizando los buffers del pool")
+    void sharesAttachmentAcrossRecipients() throws Exception {
+        byte[] data = random(300_000);
+        var attachment = EmailAttachment.ofFile(Files.write(dir.resolve("campania.pdf"), data));
+        var pool = new BufferPool(BufferPool.DEFAULT_BUFFER_SIZE, 4);
+
+        List<Callable<byte[]>> sends = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            var message = new MimeMessage("noreply@novacomp.com",
+                    new EmailRequest("u" + i + "@e.com", "Campaña", "Hola", List.of(attachment)), pool);
+            sends.add(() -> decodePart(write(message), message.boundary(), 2));
+        }
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            for (Future<byte[]> sent : executor.invokeAll(sends)) {
+                assertArrayEquals(data, sent.get());
+            }
+        }
+
+        assertTrue(pool.allocated() <= 4, "a lo sumo un buffer por hilo: " + pool.allocated());
+    }
+
+    @Test
+    @DisplayName("DiscardingChannel cuenta exactamente los bytes escritos")
+    void countsWrittenBytes() throws Exception {
+        var message = new MimeMessage("noreply@novacomp.com", new EmailRequest("u@e.com", "Hola", "Cuerpo",
+                List.of(EmailAttachment.ofBuffer("x.bin", "application/octet-stream", ByteBuffer.wrap(random(5000))))));
+        var sink = new DiscardingChannel();
+
+        long written = message.writeTo(sink);
+
+        assertEquals(write(message).length(), written);
+        assertEquals(written, sink.written());
+    }
+
+    // ------------------------------------------------------------------ //
+    // Helpers
+    // ------------------------------------------------------------------ //
+
+    private static String write(MimeMessage message) throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        message.writeTo(Channels.newChannel(bytes));
+        return bytes.toString(StandardCharsets.US_ASCII);
+    }
+
+    /** Decodifica la parte {@code index} (1 = cuerpo) de un multipart. */
+    private static byte[] decodePart(String mime, String boundary, int index) {
+        String part = mime.split("--" + boundary)[index];
+        String content = part.substring(part.indexOf("\r\n\r\n") + 4);
+        return Base64.getMimeDecoder().decode(content);
+    }
+
+    private static byte[] random(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,95 @@
+package com.novacomp.notification.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmailAttachment -- Adjuntos por referencia")
+class EmailAttachmentTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("mapea el archivo una vez y entrega vistas independientes sobre la misma memoria")
+    void mapsFileOnceAndSharesViews() throws Exception {
+        Path pdf = Files.write(dir.resolve("factura.pdf"), new byte[] {1, 2, 3, 4});
+        var attachment = EmailAttachment.ofFile(pdf);
+
+        ByteBuffer first = attachment.content();
+        first.get();
+        ByteBuffer second = attachment.content();
+
+        assertEquals("factura.pdf", attachment.filename());
+        assertEquals("application/pdf", attachment.contentType());
+        assertTrue(first.isDirect() && first.isReadOnly());
+        assertEquals(0, second.position(), "cada vista tiene su propia posición");
+        assertEquals(4, attachment.size());
+    }
+
+    @Test
+    @DisplayName("adjuntos separados del mismo archivo comparten el mapeo hasta que el archivo cambia")
+    void sharesMappingUntilFileChanges() throws Exception {
+        Path csv = Files.write(dir.resolve("lote.csv"), new byte[] {1, 2, 3});
+        var first = EmailAttachment.ofFile(csv);
+        var second = EmailAttachment.ofFile(csv.getParent().resolve("./lote.csv"));
+        assertEquals(first.content(), second.content());
+
+        Files.write(dir.resolve("nuevo.csv"), new byte[] {4, 5, 6, 7});
+        Files.move(dir.resolve("nuevo.csv"), csv, StandardCopyOption.REPLACE_EXISTING);
+        var replaced = EmailAttachment.ofFile(csv);
+
+        assertEquals(3, first.size(), "un adjunto ya mapeado conserva su mapeo");
+        assertEquals(4, replaced.size(), "el archivo reemplazado se vuelve a mapear");
+        assertEquals(4, replaced.content().get(0));
+    }
+
+    @Test
+    @DisplayName("un buffer se adjunta sin copiar y sin exponer escritura")
+    void wrapsBufferWithoutCopy() {
+        byte[] data = {9, 8, 7};
+        var attachment = EmailAttachment.ofBuffer("x.bin", "application/octet-stream", ByteBuffer.wrap(data));
+
+        data[0] = 1;
+
+        assertEquals(1, attachment.content().get(0));
+        assertTrue(attachment.content().isReadOnly());
+        assertTrue(attachment.path().isEmpty());
+    }
+
+    @Test
+    @DisplayName("un archivo inexistente falla recién al leerlo")
+    void failsLazilyOnMissingFile() {
+        var attachment = EmailAttachment.ofFile(dir.resolve("no-existe.pdf"));
+
+        assertThrows(UncheckedIOException.class, attachment::content);
+    }
+
+    @Test
+    @DisplayName("rechaza nombres con saltos de línea")
+    void rejectsHeaderInjection() {
+        assertThrows(IllegalArgumentException.class, () -> EmailAttachment.ofBuffer(
+                "a.txt\r\nBcc: x@y.com", "text/plain", ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    @DisplayName("EmailRequest comparte la lista de adjuntos al cambiar de destinatario")
+    void requestKeepsAttachmentsOnCopy() {
+        var attachment = EmailAttachment.ofBuffer("x.bin", "application/octet-stream", ByteBuffer.allocate(1));
+        var request = new EmailRequest("a@b.com", "Asunto", "Cuerpo", List.of(attachment));
+
+        var copy = request.withTo("c@d.com");
+
+        assertSame(attachment, copy.attachments().get(0));
+        assertTrue(new EmailRequest("a@b.com", "Asunto", "Cuerpo").attachments().isEmpty());
+    }
+}
@@ -1,5 +1,7 @@
 package com.novacomp.notification.model;
 
+import com.novacomp.notification.sms.SmsEncoding;
+import com.novacomp.notification.sms.SmsSegments;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -37,4 +39,14 @@ class SmsRequestTest {
         assertThrows(NullPointerException.class,
                 () -> new SmsRequest("+1234567890", null));
     }
+
+    @Test
+    @DisplayName("segments() expone la codificación y los segmentos del mensaje")
+    void exposesSegments() {
+        var gsm = new SmsRequest("+1234567890", "Hola via SMS");
+        var ucs = new SmsRequest("+1234567890", "Hola vía SMS");
+
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 12, 1), gsm.segments());
+        assertEquals(new SmsSegments(SmsEncoding.UCS_2, 12, 1), ucs.segments());
+    }
 }
@@ -0,0 +1,105 @@
+package com.novacomp.notification.payload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PayloadBuffer -- Payloads de proveedor en UTF-8")
+class PayloadBufferTest {
+
+    private static final String TRICKY = "Línea 1\n\"comillas\" \\ tab\t ctrl\u0001 € 🎉 sep\u2028\u2029 huérfano\uD800";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("el JSON de SendGrid es válido y conserva el texto con escapes, acentos y emoji")
+    void writesValidSendGridJson() throws Exception {
+        var buffer = new PayloadBuffer(16);
+
+        ProviderPayloads.sendGrid(buffer, "noreply@novacomp.com", new EmailRequest("u@e.com", "¡Hola!", TRICKY));
+
+        JsonNode json = mapper.readTree(buffer.array(), 0, buffer.size());
+        assertEquals("u@e.com", json.at("/personalizations/0/to/0/email").asText());
+        assertEquals("noreply@novacomp.com", json.at("/from/email").asText());
+        assertEquals("¡Hola!", json.at("/subject").asText());
+        assertEquals(TRICKY.replace('\uD800', '?'), json.at("/content/0/value").asText());
+        assertFalse(buffer.toString().contains("\u2028"), "U+2028 viaja escapado");
+        assertEquals(PayloadBuffer.JSON, buffer.contentType());
+        assertTrue(buffer.capacity() > 16, "el buffer creció");
+    }
+
+    @Test
+    @DisplayName("el JSON de FCM anida mensaje, notificación y prioridad")
+    void writesFcmJson() throws Exception {
+        var buffer = ProviderPayloads.fcm(new PayloadBuffer(256), new PushRequest("tok-1", "Oferta", "50% hoy"));
+
+        JsonNode json = mapper.readTree(buffer.toString());
+        assertEquals("tok-1", json.at("/message/token").asText());
+        assertEquals("Oferta", json.at("/message/notification/title").asText());
+        assertEquals("high", json.at("/message/android/priority").asText());
+    }
+
+    @Test
+    @DisplayName("el formulario de Twilio coincide con URLEncoder")
+    void writesTwilioForm() {
+        var request = new SmsRequest("+50688881234", "Código: 482913 & más 🎉 +info");
+
+        var buffer = ProviderPayloads.twilio(new PayloadBuffer(32), "+15551234567", request);
+
+        String expected = "To=" + URLEncoder.encode(request.phoneNumber(), StandardCharsets.UTF_8)
+                + "&From=" + URLEncoder.encode("+15551234567", StandardCharsets.UTF_8)
+                + "&Body=" + URLEncoder.encode(request.message(), StandardCharsets.UTF_8);
+        assertEquals(expected, buffer.toString());
+        assertEquals(request.message(), URLDecoder.decode(buffer.toString().split("&Body=")[1], StandardCharsets.UTF_8));
+        assertEquals(PayloadBuffer.FORM, buffer.contentType());
+    }
+
+    @Test
+    @DisplayName("escribe números, booleanos y nulos, y se reutiliza tras startJson()")
+    void writesScalarsAndResets() throws Exception {
+        var buffer = new PayloadBuffer(64);
+        buffer.startJson().beginArray().value(1).endArray();
+
+        buffer.startJson().beginObject()
+                .name("min").value(Long.MIN_VALUE)
+                .name("neg").value(-42)
+                .name("zero").value(0)
+                .name("ok").value(true)
+                .name("nada").value((String) null)
+                .name("vacio").beginArray().endArray()
+                .endObject();
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("min", Long.MIN_VALUE);
+        expected.put("neg", -42);
+        expected.put("zero", 0);
+        expected.put("ok", true);
+        expected.put("nada", null);
+        expected.put("vacio", List.of());
+        assertEquals(mapper.writeValueAsString(expected), buffer.toString());
+    }
+
+    @Test
+    @DisplayName("rechaza cierres sin apertura y nombres sin valor")
+    void rejectsMalformedJson() {
+        var buffer = new PayloadBuffer(64).startJson();
+
+        assertThrows(IllegalStateException.class, buffer::endObject);
+        buffer.beginObject().name("a");
+        assertThrows(IllegalStateException.class, () -> buffer.name("b"));
+        assertThrows(IllegalStateException.class, buffer::endObject);
+    }
+}
@@ -0,0 +1,74 @@
+package com.novacomp.notification.payload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PayloadPool -- Pool sin ThreadLocal")
+class PayloadPoolTest {
+
+    @Test
+    @DisplayName("reutiliza el buffer devuelto por el mismo hilo")
+    void reusesReleasedBuffer() {
+        var pool = new PayloadPool(8, 64, 1024);
+
+        PayloadBuffer first = pool.acquire();
+        pool.release(first);
+        PayloadBuffer second = pool.acquire();
+
+        assertSame(first, second);
+        assertEquals(1, pool.allocated());
+    }
+
+    @Test
+    @DisplayName("descarta los buffers abandonados y los que crecieron de más")
+    void dropsAbandonedAndOversized() {
+        var pool = new PayloadPool(8, 64, 128);
+
+        PayloadBuffer abandoned = pool.acquire();
+        abandoned.abandon();
+        pool.release(abandoned);
+        PayloadBuffer grown = pool.acquire();
+        grown.startJson().value("x".repeat(500));
+        pool.release(grown);
+
+        assertEquals(0, pool.available());
+        assertNotSame(abandoned, pool.acquire());
+    }
+
+    @Test
+    @DisplayName("con miles de hilos virtuales nunca entrega el mismo buffer a dos envíos a la vez")
+    void neverSharesBufferAcrossVirtualThreads() throws Exception {
+        var pool = new PayloadPool(16, 64, 1024);
+        Set<PayloadBuffer> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        List<Future<Boolean>> sends = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10_000; i++) {
+                int id = i;
+                sends.add(executor.submit(() -> {
+                    PayloadBuffer buffer = pool.acquire();
+                    boolean exclusive = inUse.add(buffer);
+                    buffer.startJson().beginObject().name("id").value(id).endObject();
+                    boolean intact = buffer.toString().equals("{\"id\":" + id + "}");
+                    inUse.remove(buffer);
+                    pool.release(buffer);
+                    return exclusive && intact;
+                }));
+            }
+        }
+        for (Future<Boolean> send : sends) {
+            assertTrue(send.get());
+        }
+        assertTrue(pool.allocated() < 10_000, "reutilizó buffers: " + pool.allocated());
+    }
+}
@@ -0,0 +1,131 @@
+package com.novacomp.notification.receipt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CorrelationIndex -- Índice por generaciones con claves compactas")
+class CorrelationIndexTest {
+
+    /** Reloj manual para avanzar las generaciones. */
+    private static final class ManualClock extends Clock {
+        volatile Instant now = Instant.parse("2026-03-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    @DisplayName("una entrada vive entre ttl y 4/3 de ttl y al expirar se entrega a onExpire")
+    void expiresByGeneration() {
+        var clock = new ManualClock();
+        List<String> expired = new ArrayList<>();
+        var index = new CorrelationIndex<String>(Duration.ofHours(3), 16, clock, expired::add);
+        MessageKey key = MessageKey.of("SG.abc");
+
+        index.put(key, "envío");
+        clock.now = clock.now.plus(Duration.ofMinutes(239));
+        assertEquals("envío", index.get(key));
+        assertEquals(1, index.size());
+        assertTrue(expired.isEmpty());
+
+        clock.now = clock.now.plus(Duration.ofMinutes(1));
+        assertNull(index.get(key));
+        assertEquals(List.of("envío"), expired);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("un put cuya generación se drena antes de insertar reintenta en la vigente")
+    void putRetriesWhenGenerationIsDrained() throws Exception {
+        var clock = new ManualClock();
+        List<String> expired = new CopyOnWriteArrayList<>();
+        var draining = new CountDownLatch(1);
+        var resume = new CountDownLatch(1);
+        var index = new CorrelationIndex<String>(Duration.ofHours(3), 16, clock, value -> {
+            if (value.equals("viejo")) {
+                // El put de "nuevo" rota y drena "viejo": se detiene entre
+                // current() y el lock de su tabla.
+                draining.countDown();
+                awaitQuietly(resume);
+            }
+            expired.add(value);
+        });
+        MessageKey key = MessageKey.of("SG.nuevo");
+        index.put(MessageKey.of("SG.viejo"), "viejo");
+
+        clock.now = clock.now.plus(Duration.ofHours(4));
+        Thread writer = Thread.ofVirtual().start(() -> index.put(key, "nuevo"));
+        assertTrue(draining.await(5, TimeUnit.SECONDS));
+        // Mientras tanto, otra rotación retira y drena la generación del put.
+        clock.now = clock.now.plus(Duration.ofHours(4));
+        index.expire();
+        resume.countDown();
+        writer.join(5_000);
+
+        assertEquals("nuevo", index.get(key));
+        clock.now = clock.now.plus(Duration.ofHours(4));
+        index.expire();
+        assertEquals(List.of("viejo", "nuevo"), expired);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("crece más allá del tamaño esperado y reemplaza claves repetidas")
+    void growsAndReplaces() {
+        var index = new CorrelationIndex<Integer>(Duration.ofHours(1), 16, Clock.systemUTC(), value -> { });
+
+        for (int i = 0; i < 100_000; i++) {
+            index.put(MessageKey.of("SM" + i), i);
+        }
+        index.put(MessageKey.of("SM7"), -7);
+
+        assertEquals(100_000, index.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(i == 7 ? -7 : i, index.get(MessageKey.of("SM" + i)));
+        }
+        assertNull(index.get(MessageKey.of("SM100000")));
+    }
+
+    @Test
+    @DisplayName("la clave ignora el prefijo de FCM y el sufijo de los eventos de SendGrid")
+    void normalizesProviderIds() {
+        assertEquals(MessageKey.of("0:1500415314455276%31bd1c96"),
+                MessageKey.of("projects/novacomp/messages/0:1500415314455276%31bd1c96"));
+        assertEquals(MessageKey.of("14c5d75ce93.dfd.64b469"),
+                MessageKey.of("14c5d75ce93.dfd.64b469.filter0001.16648.5515E0B88.0"));
+        assertNotEquals(MessageKey.of("SM1"), MessageKey.of("SM2"));
+        assertThrows(IllegalArgumentException.class, () -> MessageKey.of("projects/p/messages/"));
+    }
+}
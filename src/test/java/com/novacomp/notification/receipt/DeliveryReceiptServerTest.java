@@ -0,0 +1,124 @@
+package com.novacomp.notification.receipt;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.core.NotificationService;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DeliveryReceiptServer -- Webhooks de confirmación de extremo a extremo")
+class DeliveryReceiptServerTest {
+
+    private static int post(HttpClient client, int port, String provider, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/receipts/" + provider))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String messageId(NotificationResult result) {
+        return assertInstanceOf(NotificationResult.Success.class, result).messageId();
+    }
+
+    @Test
+    @DisplayName("correlaciona las confirmaciones de los tres proveedores con los envíos del servicio")
+    void correlatesServiceSends() throws Exception {
+        var service = new NotificationService(NotificationConfig.builder()
+                .property("email.from", "noreply@novacomp.com")
+                .property("receipts.enabled", "true")
+                .build());
+        DeliveryTracker tracker = service.getDeliveryTracker().orElseThrow();
+        String email = messageId(service.send(new EmailRequest("u@e.com", "Hola", "Cuerpo")));
+        String sms = messageId(service.send(new SmsRequest("+506 8888-1234", "Hola")));
+        String push = messageId(service.send(new PushRequest("device-token-abc123", "T", "C")));
+        var emailStatus = tracker.whenFinal(email);
+        var smsStatus = tracker.whenFinal(sms);
+        var pushStatus = tracker.whenFinal(push);
+
+        try (var server = new DeliveryReceiptServer(tracker, 0);
+             HttpClient client = HttpClient.newHttpClient()) {
+            assertEquals(204, post(client, server.port(), "sendgrid",
+                    "[{\"event\":\"delivered\",\"sg_message_id\":\"" + email + ".filter0001.1.2.0\"}]"));
+            assertEquals(204, post(client, server.port(), "twilio",
+                    "MessageSid=" + sms + "&MessageStatus=failed&ErrorCode=30007"));
+            assertEquals(204, post(client, server.port(), "fcm", "{\"message_id\":\""
+                    + push.substring(push.lastIndexOf('/') + 1) + "\",\"event\":\"MESSAGE_DELIVERED\"}"));
+            assertEquals(400, post(client, server.port(), "sendgrid", "no es json"));
+            assertEquals(404, post(client, server.port(), "vonage", "x"));
+            assertEquals(2, server.rejected());
+        }
+
+        assertEquals(DeliveryStatus.DELIVERED, emailStatus.get(1, TimeUnit.SECONDS).status());
+        DeliveryUpdate smsUpdate = smsStatus.get(1, TimeUnit.SECONDS);
+        assertEquals(DeliveryStatus.FAILED, smsUpdate.status());
+        assertEquals("30007", smsUpdate.receipt().providerCode());
+        assertEquals("+50688881234", smsUpdate.recipient());
+        assertEquals(ChannelType.SMS, smsUpdate.channel());
+        assertEquals(DeliveryStatus.DELIVERED, pushStatus.get(1, TimeUnit.SECONDS).status());
+    }
+
+    @Test
+    @DisplayName("rechaza con 413 los cuerpos mayores al máximo configurado y con 404 las rutas desconocidas")
+    void rejectsOversizedBodies() throws Exception {
+        var tracker = new DeliveryTracker(NotificationConfig.builder().build().getReceiptSettings(), Clock.systemUTC());
+        tracker.track("SM1", ChannelType.SMS, "+50688881234", Instant.now());
+        String callback = "MessageSid=SM1&MessageStatus=delivered";
+
+        try (var server = new DeliveryReceiptServer(tracker, 0, callback.length());
+             HttpClient client = HttpClient.newHttpClient()) {
+            assertEquals(413, post(client, server.port(), "twilio", callback + "&To=%2B50688881234"));
+            assertEquals(404, post(client, server.port(), "vonage", callback + "&To=%2B50688881234"));
+            assertEquals(204, post(client, server.port(), "twilio", callback));
+            assertEquals(2, server.rejected());
+        }
+        assertEquals(1, tracker.matched());
+    }
+
+    @Test
+    @DisplayName("atiende miles de callbacks concurrentes sin perder correlaciones")
+    void sustainsConcurrentCallbacks() throws Exception {
+        var tracker = new DeliveryTracker(NotificationConfig.builder().build().getReceiptSettings(), Clock.systemUTC());
+        int messages = 2_000;
+        for (int i = 0; i < messages; i++) {
+            tracker.track("SM" + i, ChannelType.SMS, "+5068888" + i, Instant.now());
+        }
+
+        List<Future<Integer>> responses = new ArrayList<>();
+        try (var server = new DeliveryReceiptServer(tracker, 0);
+             HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+             ExecutorService senders = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < messages; i++) {
+                String body = "MessageSid=SM" + i + "&MessageStatus=" + (i % 10 == 0 ? "undelivered" : "delivered");
+                responses.add(senders.submit(() -> post(client, server.port(), "twilio", body)));
+            }
+            for (Future<Integer> response : responses) {
+                assertEquals(204, response.get());
+            }
+        }
+
+        assertEquals(messages, tracker.matched());
+        assertEquals(0, tracker.unmatched());
+        assertEquals(DeliveryStatus.BOUNCED, tracker.whenFinal("SM10").getNow(null).status());
+        assertEquals(DeliveryStatus.DELIVERED, tracker.whenFinal("SM11").getNow(null).status());
+    }
+}
@@ -0,0 +1,129 @@
+package com.novacomp.notification.receipt;
+
+import com.novacomp.notification.config.ReceiptSettings;
+import com.novacomp.notification.model.ChannelType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DeliveryTracker -- Correlación de confirmaciones de entrega")
+class DeliveryTrackerTest {
+
+    private static final Instant SENT_AT = Instant.parse("2026-03-01T00:00:00Z");
+
+    /** Reloj manual para expirar los envíos. */
+    private static final class ManualClock extends Clock {
+        Instant now = SENT_AT;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static DeliveryReceipt receipt(String id, DeliveryStatus status) {
+        return new DeliveryReceipt(id, status, null, SENT_AT.plusSeconds(5));
+    }
+
+    @Test
+    @DisplayName("correlaciona con el envío y descarta lo que llega después del estado final")
+    void correlatesAndKeepsFirstFinal() {
+        var tracker = new DeliveryTracker(new ReceiptSettings(true, Duration.ofHours(1), 16,
+                ReceiptSettings.DEFAULT_MAX_BODY_BYTES), new ManualClock());
+        List<DeliveryUpdate> updates = new ArrayList<>();
+        tracker.subscribe(updates::add);
+        tracker.track("SMa1", ChannelType.SMS, "+50688881234", SENT_AT);
+
+        assertTrue(tracker.accept(receipt("SMa1", DeliveryStatus.SENT)));
+        assertTrue(tracker.accept(receipt("SMa1", DeliveryStatus.DELIVERED)));
+        assertTrue(tracker.accept(receipt("SMa1", DeliveryStatus.FAILED)));
+        assertTrue(tracker.accept(receipt("SMa1", DeliveryStatus.SENT)));
+        assertFalse(tracker.accept(receipt("SMzz", DeliveryStatus.DELIVERED)));
+
+        assertEquals(List.of(DeliveryStatus.SENT, DeliveryStatus.DELIVERED),
+                updates.stream().map(DeliveryUpdate::status).toList());
+        DeliveryUpdate delivered = updates.get(1);
+        assertEquals(ChannelType.SMS, delivered.channel());
+        assertEquals("+50688881234", delivered.recipient());
+        assertEquals(SENT_AT, delivered.sentAt());
+        assertEquals(4, tracker.matched());
+        assertEquals(1, tracker.unmatched());
+    }
+
+    @Test
+    @DisplayName("whenFinal completa con la confirmación final, incluso si ya había llegado")
+    void completesFinalStatus() throws Exception {
+        var tracker = new DeliveryTracker(new ReceiptSettings(true, Duration.ofHours(1), 16,
+                ReceiptSettings.DEFAULT_MAX_BODY_BYTES), new ManualClock());
+        tracker.track("projects/p/messages/0:1", ChannelType.PUSH, "tok", SENT_AT);
+        tracker.track("SG.b2", ChannelType.EMAIL, "u@e.com", SENT_AT);
+
+        CompletableFuture<DeliveryUpdate> push = tracker.whenFinal("projects/p/messages/0:1");
+        tracker.accept(receipt("0:1", DeliveryStatus.SENT));
+        assertFalse(push.isDone());
+        tracker.accept(receipt("0:1", DeliveryStatus.BOUNCED));
+        assertEquals(DeliveryStatus.BOUNCED, push.getNow(null).status());
+
+        tracker.accept(receipt("SG.b2.filter0001.1.2.0", DeliveryStatus.DELIVERED));
+        assertEquals(DeliveryStatus.DELIVERED, tracker.whenFinal("SG.b2").getNow(null).status());
+
+        var unknown = tracker.whenFinal("SG.nunca");
+        var ex = assertThrows(ExecutionException.class, unknown::get);
+        assertInstanceOf(NoSuchElementException.class, ex.getCause());
+    }
+
+    @Test
+    @DisplayName("sin confirmación final, whenFinal completa con EXPIRED al expirar el envío")
+    void expiresPendingWaiters() {
+        var clock = new ManualClock();
+        var tracker = new DeliveryTracker(new ReceiptSettings(true, Duration.ofMinutes(30), 16,
+                ReceiptSettings.DEFAULT_MAX_BODY_BYTES), clock);
+        tracker.track("SMc3", ChannelType.SMS, "+50688881234", SENT_AT);
+        CompletableFuture<DeliveryUpdate> pending = tracker.whenFinal("SMc3");
+
+        clock.now = clock.now.plus(Duration.ofMinutes(40));
+        tracker.expireStale();
+
+        DeliveryUpdate update = pending.getNow(null);
+        assertNotNull(update);
+        assertEquals(DeliveryStatus.EXPIRED, update.status());
+        assertEquals("SMc3", update.receipt().messageId());
+        assertFalse(tracker.accept(receipt("SMc3", DeliveryStatus.DELIVERED)));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    @DisplayName("en un tracker ocioso, whenFinal completa con EXPIRED sin otras llamadas")
+    void expiresWaitersWhileIdle() throws Exception {
+        var tracker = new DeliveryTracker(new ReceiptSettings(true, Duration.ofMillis(60), 16,
+                ReceiptSettings.DEFAULT_MAX_BODY_BYTES), Clock.systemUTC());
+        tracker.track("SMd4", ChannelType.SMS, "+50688881234", Instant.now());
+
+        DeliveryUpdate update = tracker.whenFinal("SMd4").get(2, TimeUnit.SECONDS);
+
+        assertEquals(DeliveryStatus.EXPIRED, update.status());
+    }
+}
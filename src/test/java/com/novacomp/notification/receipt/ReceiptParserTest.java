@@ -0,0 +1,84 @@
+package com.novacomp.notification.receipt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReceiptParser -- Webhooks de SendGrid, Twilio y FCM")
+class ReceiptParserTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    private static List<DeliveryReceipt> parse(ReceiptParser parser, String body) throws IOException {
+        List<DeliveryReceipt> receipts = new ArrayList<>();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        parser.parse(bytes, bytes.length, NOW, receipts::add);
+        return receipts;
+    }
+
+    @Test
+    @DisplayName("SendGrid: traduce los eventos de entrega e ignora los de interacción")
+    void parsesSendGridEvents() throws IOException {
+        String body = """
+                [
+                  {"email":"a@e.com","timestamp":1772366400,"event":"processed",
+                   "sg_message_id":"SG.a1.filter0001.16648.5515E0B88.0","category":["factura"]},
+                  {"email":"a@e.com","timestamp":1772366460,"event":"open","sg_message_id":"SG.a1.filter0001"},
+                  {"email":"b@e.com","timestamp":1772366470,"event":"bounce","status":"5.1.1",
+                   "reason":"550 5.1.1 no existe","sg_message_id":"SG.b2.filter0002"},
+                  {"email":"c@e.com","event":"delivered","sg_message_id":"SG.c3"}
+                ]""";
+
+        List<DeliveryReceipt> receipts = parse(new SendGridReceiptParser(), body);
+
+        assertEquals(3, receipts.size());
+        assertEquals(new DeliveryReceipt("SG.a1.filter0001.16648.5515E0B88.0", DeliveryStatus.SENT, "processed",
+                Instant.ofEpochSecond(1772366400)), receipts.get(0));
+        assertEquals(DeliveryStatus.BOUNCED, receipts.get(1).status());
+        assertEquals("5.1.1", receipts.get(1).providerCode());
+        assertEquals(NOW, receipts.get(2).timestamp());
+        assertThrows(IOException.class, () -> parse(new SendGridReceiptParser(), "{\"event\":\"delivered\"}"));
+    }
+
+    @Test
+    @DisplayName("Twilio: lee el formulario del status callback con su ErrorCode")
+    void parsesTwilioCallback() throws IOException {
+        var parser = new TwilioReceiptParser();
+
+        List<DeliveryReceipt> receipts = parse(parser, "SmsSid=SMd4&SmsStatus=undelivered&MessageStatus=undelivered"
+                + "&To=%2B50688881234&MessageSid=SMd4&AccountSid=AC1&From=%2B15551234567&ErrorCode=30003");
+
+        assertEquals(List.of(new DeliveryReceipt("SMd4", DeliveryStatus.BOUNCED, "30003", NOW)), receipts);
+        assertEquals(DeliveryStatus.DELIVERED, parse(parser, "MessageSid=SMe5&MessageStatus=delivered").get(0).status());
+        assertTrue(parse(parser, "MessageSid=SMe5&MessageStatus=read").isEmpty());
+        assertThrows(IOException.class, () -> parse(parser, "MessageStatus=delivered"));
+    }
+
+    @Test
+    @DisplayName("FCM: acepta una fila o un arreglo de filas de la exportación de eventos")
+    void parsesFcmEvents() throws IOException {
+        var parser = new FcmReceiptParser();
+
+        List<DeliveryReceipt> receipts = parse(parser, """
+                [
+                  {"message_id":"0:1500415314455276%31bd1c96","event":"MESSAGE_DELIVERED",
+                   "event_timestamp":"2026-03-01T11:59:58Z","instance_id":"fkV2"},
+                  {"message_id":"0:1500415314455277%31bd1c96","event":"INVALID_REGISTRATION"},
+                  {"message_id":"0:1500415314455278%31bd1c96","event":"QUOTA_EXCEEDED"}
+                ]""");
+
+        assertEquals(List.of(DeliveryStatus.DELIVERED, DeliveryStatus.BOUNCED, DeliveryStatus.FAILED),
+                receipts.stream().map(DeliveryReceipt::status).toList());
+        assertEquals(Instant.parse("2026-03-01T11:59:58Z"), receipts.get(0).timestamp());
+        assertEquals(DeliveryStatus.SENT,
+                parse(parser, "{\"message_id\":\"0:9\",\"event\":\"MESSAGE_ACCEPTED\"}").get(0).status());
+        assertThrows(IOException.class, () -> parse(parser, "[{\"message_id\":"));
+    }
+}
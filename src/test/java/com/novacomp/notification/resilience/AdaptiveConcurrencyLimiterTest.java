@@ -0,0 +1,187 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.core.AsyncNotificationService;
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.core.NotificationService;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter -- Límite de concurrencia adaptativo")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final EmailRequest SOLICITUD = new EmailRequest("user@test.com", "Asunto", "Cuerpo");
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // ------------------------------------------------------------------ //
+    // Algoritmos
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("AIMD sube de a uno con demanda y recorta ante descartes")
+    void aimd() {
+        var aimd = new LimitAlgorithm.Aimd(1, 100);
+
+        assertEquals(11, aimd.update(10, MS, 10, false));
+        assertEquals(10, aimd.update(10, MS, 2, false), "sin demanda no sube");
+        assertEquals(9, aimd.update(10, MS, 10, true));
+        assertEquals(1, aimd.update(1, MS, 1, true), "respeta el mínimo");
+    }
+
+    @Test
+    @DisplayName("el gradiente crece con latencia estable y se contrae cuando sube")
+    void gradient() {
+        var gradient = new LimitAlgorithm.Gradient(1, 1000);
+        int limit = 20;
+        for (int i = 0; i < 50; i++) {
+            limit = gradient.update(limit, 10 * MS, limit, false);
+        }
+        int grown = limit;
+        assertTrue(grown > 40, "con latencia estable el límite crece: " + grown);
+
+        for (int i = 0; i < 50; i++) {
+            limit = gradient.update(limit, 60 * MS, limit, false);
+        }
+        assertTrue(limit < grown / 2, "con latencia x6 el límite se contrae: " + limit);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Permisos
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("rechaza al alcanzar el límite y libera al terminar")
+    void permits() {
+        var limiter = new AdaptiveConcurrencyLimiter("EMAIL", new LimitAlgorithm.Aimd(1, 10), 2, 0);
+
+        var first = limiter.tryAcquire().orElseThrow();
+        limiter.tryAcquire().orElseThrow();
+        assertTrue(limiter.tryAcquire().isEmpty());
+        assertFalse(limiter.admits());
+
+        first.onSuccess();
+        assertEquals(1, limiter.inFlight());
+        assertEquals(3, limiter.limit(), "éxito con el límite en uso -> +1");
+        assertThrows(IllegalStateException.class, first::onSuccess);
+    }
+
+    @Test
+    @DisplayName("un envío en espera obtiene el permiso que se libera")
+    void waitsForPermit() throws Exception {
+        var limiter = new AdaptiveConcurrencyLimiter("SMS", new LimitAlgorithm.Aimd(1, 1), 1, 1);
+        var held = limiter.tryAcquire().orElseThrow();
+        var acquired = new CountDownLatch(1);
+
+        Thread.ofVirtual().start(() -> limiter.acquire(Duration.ofSeconds(5)).ifPresent(p -> {
+            acquired.countDown();
+            p.onIgnore();
+        }));
+        Thread.sleep(50);
+        assertTrue(limiter.acquire(Duration.ofSeconds(1)).isEmpty(), "el único lugar de espera está ocupado");
+
+        held.onIgnore();
+        assertTrue(acquired.await(2, TimeUnit.SECONDS));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Decorator e integración
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("el decorator recorta el límite ante fallos de congestión")
+    @SuppressWarnings("unchecked")
+    void decoratorClassifiesResults() {
+        NotificationChannel<EmailRequest> channel = mock(NotificationChannel.class);
+        when(channel.send(SOLICITUD))
+                .thenReturn(new NotificationResult.Failure("THROTTLED", "HTTP 429"))
+                .thenReturn(new NotificationResult.Failure("INVALID_EMAIL", "destinatario inválido"));
+        var limiter = new AdaptiveConcurrencyLimiter("EMAIL", new LimitAlgorithm.Aimd(1, 100), 10, 0);
+        var decorator = new ConcurrencyLimitDecorator<>(channel, limiter, Duration.ZERO);
+
+        decorator.send(SOLICITUD);
+        assertEquals(9, limiter.limit());
+        decorator.send(SOLICITUD);
+        assertEquals(9, limiter.limit(), "un fallo que no es de congestión se ignora");
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("los timeouts acotados por el plazo del envío recortan el límite")
+    void deadlineExceededShrinksLimit() {
+        var service = new NotificationService(NotificationConfig.builder()
+                .property("limiter.algorithm", "aimd")
+                .property("limiter.initial", "10")
+                .property("simulator.mode", "local")
+                .property("simulator.sms.latency", "fixed:1s")
+                .retryAttempts(0)
+                .build());
+        var sms = new SmsRequest("+50688881234", "Lento");
+
+        for (int i = 0; i < 3; i++) {
+            var result = Deadline.after(Duration.ofMillis(20)).call(() -> service.send(sms));
+            assertEquals(Deadline.DEADLINE_EXCEEDED, ((NotificationResult.Failure) result).code());
+        }
+
+        assertEquals(7, service.getLimiter(ChannelType.SMS).orElseThrow().limit());
+    }
+
+    @Test
+    @DisplayName("AsyncNotificationService descarta en admisión con el canal saturado")
+    void asyncAdmission() throws Exception {
+        var config = NotificationConfig.builder()
+                .property("limiter.algorithm", "aimd")
+                .property("limiter.initial", "1")
+                .property("limiter.min", "1")
+                .property("limiter.max", "1")
+                .property("simulator.mode", "local")
+                .property("simulator.sms.latency", "fixed:300ms")
+                .build();
+        var service = new NotificationService(config);
+
+        try (var async = new AsyncNotificationService(service)) {
+            var slow = async.sendAsync(new SmsRequest("+50688881234", "uno"));
+            var limiter = service.getLimiter(ChannelType.SMS).orElseThrow();
+            while (limiter.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+
+            var shed = async.sendAsync(new SmsRequest("+50688881235", "dos"));
+
+            assertTrue(shed.isDone(), "rechazado sin crear trabajo");
+            assertEquals(ConcurrencyLimitDecorator.CONCURRENCY_LIMITED,
+                    ((NotificationResult.Failure) shed.join()).code());
+            assertInstanceOf(NotificationResult.Success.class, slow.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("sin limiter.algorithm el servicio no crea limitadores")
+    void disabledByDefault() {
+        var service = new NotificationService(NotificationConfig.builder().build());
+
+        assertTrue(service.getLimiter(ChannelType.EMAIL).isEmpty());
+        assertInstanceOf(NotificationResult.Success.class, service.send(SOLICITUD));
+    }
+
+    @Test
+    @DisplayName("valida la configuración limiter.*")
+    void validatesSettings() {
+        var builder = NotificationConfig.builder()
+                .property("limiter.algorithm", "gradient")
+                .property("limiter.initial", "5000");
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+}
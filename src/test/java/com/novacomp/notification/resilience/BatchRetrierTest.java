@@ -0,0 +1,206 @@
+package com.novacomp.notification.resilience;
+
+import com.novacomp.notification.core.BatchResult;
+import com.novacomp.notification.core.NotificationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link BatchRetrier}.
+ * <p>
+ * El proveedor es un {@link BatchSender} falso que registra cada lote y
+ * hace fallar a las solicitudes configuradas una cantidad dada de veces.
+ */
+@DisplayName("BatchRetrier -- Reintento parcial de lotes")
+class BatchRetrierTest {
+
+    /** Proveedor falso: cada solicitud falla tantas veces como indique {@code failures}. */
+    private static final class FlakySender implements BatchSender<String> {
+
+        final Map<String, Integer> failures = new ConcurrentHashMap<>();
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public BatchResult send(List<String> batch) {
+            batches.add(List.copyOf(batch));
+            var result = BatchResult.builder(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                String request = batch.get(i);
+                int remaining = failures.getOrDefault(request, 0);
+                if (remaining > 0) {
+                    failures.put(request, remaining - 1);
+                    result.set(i, new NotificationResult.Failure("UNAVAILABLE", "Proveedor no disponible: " + request));
+                } else {
+                    result.set(i, new NotificationResult.Success("id-" + request, Instant.now()));
+                }
+            }
+            return result.build();
+        }
+    }
+
+    @Test
+    @DisplayName("reenvía solo las solicitudes que fallaron y conserva el orden del llamador")
+    void resendsOnlyFailedItems() throws Exception {
+        var sender = new FlakySender();
+        sender.failures.put("b", 1);
+        sender.failures.put("d", 2);
+
+        try (var retrier = new BatchRetrier<>(sender, 100, 3, 5L)) {
+            BatchResult result = retrier.submit(List.of("a", "b", "c", "d")).get(5, TimeUnit.SECONDS);
+
+            assertEquals(4, result.successCount());
+            assertEquals(List.of("id-a", "id-b", "id-c", "id-d"),
+                    List.of(result.messageId(0), result.messageId(1), result.messageId(2), result.messageId(3)));
+            assertEquals(List.of("a", "b", "c", "d"), sender.batches.get(0));
+            // Los reintentos solo llevan las solicitudes fallidas.
+            assertEquals(4 + 2 + 1, retrier.itemsSent());
+            assertTrue(sender.batches.stream().skip(1).allMatch(batch -> !batch.contains("a") && !batch.contains("c")));
+        }
+    }
+
+    @Test
+    @DisplayName("une los reintentos de varios llamadores en un mismo lote")
+    void mergesRetriesAcrossCallers() throws Exception {
+        var sender = new FlakySender();
+        sender.failures.put("a2", 1);
+        sender.failures.put("b1", 1);
+
+        try (var retrier = new BatchRetrier<>(sender, 100, 3, 200L)) {
+            var first = retrier.submit(List.of("a1", "a2"));
+            var second = retrier.submit(List.of("b1", "b2"));
+
+            BatchResult a = first.get(5, TimeUnit.SECONDS);
+            BatchResult b = second.get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, a.successCount());
+            assertEquals(2, b.successCount());
+            assertEquals("id-a2", a.messageId(1));
+            assertEquals("id-b1", b.messageId(0));
+            assertEquals(3, retrier.batchesSent(), "dos primeros intentos y un único reintento conjunto");
+            var retry = new ArrayList<>(sender.batches.get(2));
+            retry.sort(null);
+            assertEquals(List.of("a2", "b1"), retry);
+        }
+    }
+
+    @Test
+    @DisplayName("respeta maxBatchSize en el primer intento")
+    void splitsFirstAttemptIntoChunks() throws Exception {
+        var sender = new FlakySender();
+
+        try (var retrier = new BatchRetrier<>(sender, 2, 0, 5L)) {
+            BatchResult result = retrier.submit(List.of("a", "b", "c", "d", "e")).get(5, TimeUnit.SECONDS);
+
+            assertEquals(5, result.successCount());
+            assertEquals(3, retrier.batchesSent());
+            assertTrue(sender.batches.stream().allMatch(batch -> batch.size() <= 2));
+        }
+    }
+
+    @Test
+    @DisplayName("agota los reintentos -- retorna el último Failure y lo envía al DLQ")
+    void exhaustedItemsGoToDeadLetters() throws Exception {
+        var sender = new FlakySender();
+        sender.failures.put("b", Integer.MAX_VALUE);
+        List<Object> deadLetters = new CopyOnWriteArrayList<>();
+
+        try (var retrier = new BatchRetrier<>(sender, 100, 2, 5L, (request, failure) -> deadLetters.add(request))) {
+            BatchResult result = retrier.submit(List.of("a", "b")).get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.isSuccess(0));
+            assertEquals("UNAVAILABLE", result.failureCode(1));
+            assertEquals(List.of("b"), deadLetters);
+            assertEquals(2 + 1 + 1, retrier.itemsSent(), "primer intento + 2 reintentos de 'b'");
+        }
+    }
+
+    @Test
+    @DisplayName("un fallo permanente se resuelve en el primer intento, sin reintentos ni DLQ")
+    void permanentFailuresAreNotRetried() throws Exception {
+        List<Object> deadLetters = new CopyOnWriteArrayList<>();
+        BatchSender<String> sender = batch -> {
+            var result = BatchResult.builder(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                result.set(i, batch.get(i).equals("b")
+                        ? new NotificationResult.Failure("INVALID_RECIPIENT", "Número inexistente")
+                        : new NotificationResult.Success("id-" + batch.get(i), Instant.now()));
+            }
+            return result.build();
+        };
+
+        try (var retrier = new BatchRetrier<>(sender, 100, 3, 5L, (request, failure) -> deadLetters.add(request))) {
+            BatchResult result = retrier.submit(List.of("a", "b")).get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.isSuccess(0));
+            assertEquals("INVALID_RECIPIENT", result.failureCode(1));
+            assertEquals(2, retrier.itemsSent(), "solo el primer intento");
+            assertEquals(1, retrier.batchesSent());
+            assertTrue(deadLetters.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("una excepción del proveedor hace fallar (y reintentar) todo el lote")
+    void senderExceptionFailsWholeBatch() throws Exception {
+        BatchSender<String> broken = batch -> {
+            throw new IllegalStateException("conexión cerrada");
+        };
+
+        try (var retrier = new BatchRetrier<>(broken, 100, 1, 5L)) {
+            BatchResult result = retrier.submit(List.of("a", "b")).get(5, TimeUnit.SECONDS);
+
+            assertEquals(0, result.successCount());
+            assertEquals(BatchRetrier.BATCH_SEND_ERROR, result.failureCode(0));
+            assertEquals(4, retrier.itemsSent());
+        }
+    }
+
+    @Test
+    @DisplayName("al cerrar, los reintentos pendientes se resuelven como cancelados")
+    void closeCancelsPendingRetries() throws Exception {
+        var sender = new FlakySender();
+        sender.failures.put("a", 1);
+
+        var retrier = new BatchRetrier<>(sender, 100, 3, 60_000L);
+        var future = retrier.submit(List.of("a"));
+        while (retrier.pendingRetries() == 0) {
+            Thread.sleep(1);
+        }
+        retrier.close();
+
+        assertEquals("CANCELLED", future.get(5, TimeUnit.SECONDS).failureCode(0));
+        assertThrows(IllegalStateException.class, () -> retrier.submit(List.of("b")));
+    }
+
+    @Test
+    @DisplayName("el backoff crece exponencialmente y satura en MAX_DELAY_MS sin desbordar")
+    void backoffSaturatesInsteadOfOverflowing() {
+        assertEquals(100, BatchRetrier.backoffMillis(100, 1));
+        assertEquals(800, BatchRetrier.backoffMillis(100, 4));
+        assertEquals(BatchRetrier.MAX_DELAY_MS, BatchRetrier.backoffMillis(100, 40));
+        assertEquals(BatchRetrier.MAX_DELAY_MS, BatchRetrier.backoffMillis(100, 64));
+        assertEquals(BatchRetrier.MAX_DELAY_MS, BatchRetrier.backoffMillis(1, Integer.MAX_VALUE));
+        assertEquals(BatchRetrier.MAX_DELAY_MS, BatchRetrier.backoffMillis(Long.MAX_VALUE / 2, 1));
+    }
+
+    @Test
+    @DisplayName("un lote vacío se resuelve sin llamar al proveedor")
+    void emptyBatch() throws Exception {
+        var sender = new FlakySender();
+
+        try (var retrier = new BatchRetrier<>(sender, 100, 3, 5L)) {
+            assertEquals(0, retrier.submit(List.of()).get(1, TimeUnit.SECONDS).size());
+            assertEquals(0, retrier.batchesSent());
+        }
+    }
+}
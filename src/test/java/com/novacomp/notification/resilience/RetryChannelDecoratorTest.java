@@ -1,5 +1,6 @@
 package com.novacomp.notification.resilience;
 
+import com.novacomp.notification.core.Deadline;
 import com.novacomp.notification.core.NotificationChannel;
 import com.novacomp.notification.core.NotificationResult;
 import com.novacomp.notification.model.ChannelType;
@@ -10,7 +11,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -98,6 +102,69 @@ class RetryChannelDecoratorTest {
         verify(mockChannel, times(4)).send(SOLICITUD_EJEMPLO);
     }
 
+    @Test
+    @DisplayName("entrega al DeadLetterSink la solicitud que agota sus reintentos")
+    void exhaustedRetriesGoToDeadLetterSink() {
+        when(mockChannel.send(SOLICITUD_EJEMPLO)).thenReturn(FALLO);
+        DeadLetterSink sink = mock(DeadLetterSink.class);
+
+        var decorator = new RetryChannelDecorator<>(mockChannel, 2, 1L, sink);
+        var result = decorator.send(SOLICITUD_EJEMPLO);
+
+        assertEquals(FALLO, result);
+        verify(sink).accept(SOLICITUD_EJEMPLO, (NotificationResult.Failure) FALLO);
+    }
+
+    @Test
+    @DisplayName("un error del DeadLetterSink no cambia el resultado del envío")
+    void deadLetterSinkErrorIsContained() {
+        when(mockChannel.send(SOLICITUD_EJEMPLO)).thenReturn(EXITO, FALLO);
+        DeadLetterSink sink = (request, failure) -> {
+            throw new IllegalStateException("disco lleno");
+        };
+
+        assertEquals(EXITO, new RetryChannelDecorator<>(mockChannel, 0, 1L, sink).send(SOLICITUD_EJEMPLO));
+        assertEquals(FALLO, new RetryChannelDecorator<>(mockChannel, 0, 1L, sink).send(SOLICITUD_EJEMPLO));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Plazo y cancelación
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("no programa un reintento cuyo backoff supera el plazo")
+    void stopsRetryingAtDeadline() {
+        when(mockChannel.send(SOLICITUD_EJEMPLO)).thenReturn(FALLO);
+
+        var decorator = new RetryChannelDecorator<>(mockChannel, 5, 200L);
+        long start = System.nanoTime();
+        var result = Deadline.after(Duration.ofMillis(300)).call(() -> decorator.send(SOLICITUD_EJEMPLO));
+
+        var failure = assertInstanceOf(NotificationResult.Failure.class, result);
+        assertEquals(Deadline.DEADLINE_EXCEEDED, failure.code());
+        assertTrue(failure.reason().contains("SEND_ERROR"));
+        // Intento inicial + 1 reintento (200 ms); el segundo (400 ms) ya no cabe.
+        verify(mockChannel, times(2)).send(SOLICITUD_EJEMPLO);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(350));
+    }
+
+    @Test
+    @DisplayName("una interrupción durante el backoff abandona el envío")
+    void interruptAbortsBackoff() throws Exception {
+        when(mockChannel.send(SOLICITUD_EJEMPLO)).thenReturn(FALLO);
+        var decorator = new RetryChannelDecorator<>(mockChannel, 3, 10_000L);
+        var result = new AtomicReference<NotificationResult>();
+
+        Thread worker = Thread.ofVirtual().start(() -> result.set(decorator.send(SOLICITUD_EJEMPLO)));
+        Thread.sleep(100);
+        worker.interrupt();
+        worker.join(2_000);
+
+        assertFalse(worker.isAlive());
+        assertEquals(Deadline.CANCELLED, ((NotificationResult.Failure) result.get()).code());
+        verify(mockChannel, times(1)).send(SOLICITUD_EJEMPLO);
+    }
+
     // ------------------------------------------------------------------ //
     // Transparencia del Decorator
     // ------------------------------------------------------------------ //
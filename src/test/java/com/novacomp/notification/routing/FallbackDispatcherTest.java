@@ -0,0 +1,287 @@
+package com.novacomp.notification.routing;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationCategory;
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.core.NotificationService;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.NotificationRequest;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FallbackDispatcher -- Cascada entre canales y modo carrera")
+class FallbackDispatcherTest {
+
+    private static final List<NotificationRequest> SOLICITUDES = List.of(
+            new PushRequest("device-token-abc123", "Pedido", "Llega mañana"),
+            new SmsRequest("+50688881234", "Tu pedido llega mañana"),
+            new EmailRequest("u@e.com", "Pedido", "Llega mañana"));
+
+    private static final Duration PLAZO = Duration.ofSeconds(5);
+
+    private final Map<ChannelType, NotificationChannel<?>> channels = new EnumMap<>(ChannelType.class);
+    private final Map<ChannelType, AtomicInteger> calls = new EnumMap<>(ChannelType.class);
+    private final FallbackDispatcher dispatcher = new FallbackDispatcher(channels::get);
+
+    /** Registra un canal que responde con {@code behavior} y cuenta sus llamadas. */
+    private void channel(ChannelType type, Behavior behavior) {
+        var counter = new AtomicInteger();
+        calls.put(type, counter);
+        channels.put(type, new NotificationChannel<Object>() {
+            @Override
+            public NotificationResult send(Object request) {
+                counter.incrementAndGet();
+                try {
+                    return behavior.respond();
+                } catch (InterruptedException e) {
+                    return Deadline.cancelled("interrumpido");
+                }
+            }
+
+            @Override
+            public ChannelType getType() {
+                return type;
+            }
+        });
+    }
+
+    private static NotificationResult ok() {
+        return new NotificationResult.Success("id", Instant.now());
+    }
+
+    private static NotificationResult fail(String code) {
+        return new NotificationResult.Failure(code, "fallo simulado");
+    }
+
+    // ------------------------------------------------------------------ //
+    // Secuencial
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("pasa al siguiente canal cuando el anterior falla y reporta quién entregó")
+    void fallsBackInOrder() {
+        channel(ChannelType.PUSH, () -> fail("INVALID_TOKEN"));
+        channel(ChannelType.SMS, FallbackDispatcherTest::ok);
+        channel(ChannelType.EMAIL, FallbackDispatcherTest::ok);
+        var policy = FallbackPolicy.sequential()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).then(ChannelType.EMAIL, PLAZO).build();
+
+        var result = dispatcher.send(policy, SOLICITUDES);
+
+        var success = assertInstanceOf(NotificationResult.Success.class, result);
+        assertEquals(ChannelType.SMS, success.channel());
+        assertEquals(0, calls.get(ChannelType.EMAIL).get());
+    }
+
+    @Test
+    @DisplayName("un canal que supera su plazo se cancela y cuenta como fallo")
+    void perStepDeadline() {
+        var interrupted = new CountDownLatch(1);
+        channel(ChannelType.PUSH, () -> {
+            try {
+                Thread.sleep(10_000);
+                return ok();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+        channel(ChannelType.EMAIL, FallbackDispatcherTest::ok);
+        var policy = FallbackPolicy.sequential()
+                .then(ChannelType.PUSH, Duration.ofMillis(50)).then(ChannelType.EMAIL, PLAZO).build();
+
+        long start = System.nanoTime();
+        var result = dispatcher.send(policy, SOLICITUDES);
+
+        assertEquals(ChannelType.EMAIL, ((NotificationResult.Success) result).channel());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertDoesNotThrow(() -> assertTrue(interrupted.await(1, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    @DisplayName("cada intento corre con la categoría del llamador")
+    void propagatesCategoryToAttempts() {
+        var categories = new CopyOnWriteArrayList<String>();
+        channel(ChannelType.PUSH, () -> {
+            categories.add(NotificationCategory.current().orElse("ninguna"));
+            return fail("INVALID_TOKEN");
+        });
+        channel(ChannelType.SMS, () -> {
+            categories.add(NotificationCategory.current().orElse("ninguna"));
+            return ok();
+        });
+        var policy = FallbackPolicy.sequential()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).build();
+
+        var result = NotificationCategory.call("marketing", () -> dispatcher.send(policy, SOLICITUDES));
+
+        assertInstanceOf(NotificationResult.Success.class, result);
+        assertEquals(List.of("marketing", "marketing"), categories);
+    }
+
+    @Test
+    @DisplayName("el plazo del llamador acota la cascada completa")
+    void callerDeadlineBoundsCascade() {
+        channel(ChannelType.PUSH, () -> {
+            Thread.sleep(10_000);
+            return ok();
+        });
+        channel(ChannelType.SMS, FallbackDispatcherTest::ok);
+        var policy = FallbackPolicy.sequential()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).build();
+
+        long start = System.nanoTime();
+        var result = Deadline.after(Duration.ofMillis(100)).call(() -> dispatcher.send(policy, SOLICITUDES));
+
+        assertEquals(Deadline.DEADLINE_EXCEEDED, assertInstanceOf(NotificationResult.Failure.class, result).code());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(0, calls.get(ChannelType.SMS).get(), "sin plazo no se prueban más canales");
+    }
+
+    @Test
+    @DisplayName("sin canal que entregue retorna FALLBACK_EXHAUSTED con el fallo de cada uno")
+    void exhausted() {
+        channel(ChannelType.PUSH, () -> fail("INVALID_TOKEN"));
+        channel(ChannelType.SMS, () -> fail("PROVIDER_UNAVAILABLE"));
+        var policy = FallbackPolicy.sequential()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).then(ChannelType.EMAIL, PLAZO).build();
+
+        var result = dispatcher.send(policy, SOLICITUDES.subList(0, 2));
+
+        var failure = assertInstanceOf(NotificationResult.Failure.class, result);
+        assertEquals(FallbackDispatcher.FALLBACK_EXHAUSTED, failure.code());
+        assertTrue(failure.reason().contains("PUSH: INVALID_TOKEN"));
+        assertTrue(failure.reason().contains("SMS: PROVIDER_UNAVAILABLE"));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Carrera
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("en carrera gana el primer éxito y el perdedor se cancela")
+    void raceCancelsLoser() {
+        var loserInterrupted = new CountDownLatch(1);
+        channel(ChannelType.PUSH, () -> {
+            try {
+                Thread.sleep(10_000);
+                return ok();
+            } catch (InterruptedException e) {
+                loserInterrupted.countDown();
+                throw e;
+            }
+        });
+        channel(ChannelType.SMS, FallbackDispatcherTest::ok);
+        channel(ChannelType.EMAIL, FallbackDispatcherTest::ok);
+        var policy = FallbackPolicy.race()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).then(ChannelType.EMAIL, PLAZO).build();
+
+        var result = dispatcher.send(policy, SOLICITUDES);
+
+        assertEquals(ChannelType.SMS, ((NotificationResult.Success) result).channel());
+        assertDoesNotThrow(() -> assertTrue(loserInterrupted.await(1, TimeUnit.SECONDS)));
+        assertEquals(0, calls.get(ChannelType.EMAIL).get());
+    }
+
+    @Test
+    @DisplayName("en carrera, si ambos fallan el resto sigue en secuencia")
+    void raceFallsBackToRemaining() {
+        channel(ChannelType.PUSH, () -> fail("INVALID_TOKEN"));
+        channel(ChannelType.SMS, () -> fail("THROTTLED"));
+        channel(ChannelType.EMAIL, FallbackDispatcherTest::ok);
+        var policy = FallbackPolicy.race()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).then(ChannelType.EMAIL, PLAZO).build();
+
+        var result = dispatcher.send(policy, SOLICITUDES);
+
+        assertEquals(ChannelType.EMAIL, ((NotificationResult.Success) result).channel());
+        assertEquals(1, calls.get(ChannelType.PUSH).get());
+        assertEquals(1, calls.get(ChannelType.SMS).get());
+    }
+
+    // ------------------------------------------------------------------ //
+    // Validación e integración
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("rechaza políticas vacías, canales repetidos y solicitudes duplicadas")
+    void validates() {
+        assertThrows(IllegalArgumentException.class, () -> FallbackPolicy.sequential().build());
+        assertThrows(IllegalArgumentException.class, () -> FallbackPolicy.race()
+                .then(ChannelType.SMS, PLAZO).then(ChannelType.SMS, PLAZO).build());
+        assertThrows(IllegalArgumentException.class, () -> FallbackPolicy.sequential()
+                .then(ChannelType.SMS, Duration.ZERO));
+
+        var policy = FallbackPolicy.sequential().then(ChannelType.SMS, PLAZO).build();
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.send(policy,
+                List.of(new SmsRequest("+50688881234", "a"), new SmsRequest("+50688881235", "b"))));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.send(policy,
+                List.of(new EmailRequest("u@e.com", "a", "b"))));
+    }
+
+    @Test
+    @DisplayName("el servicio cae de push a SMS cuando el proveedor de push falla")
+    void serviceIntegration() {
+        var service = new NotificationService(NotificationConfig.builder()
+                .property("simulator.mode", "local")
+                .property("simulator.push.errors", "INVALID_TOKEN:1")
+                .retryAttempts(0)
+                .build());
+        var policy = FallbackPolicy.sequential()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).build();
+
+        var result = service.sendWithFallback(policy, SOLICITUDES);
+
+        assertEquals(ChannelType.SMS, ((NotificationResult.Success) result).channel());
+    }
+
+    @Test
+    @DisplayName("perder carreras no cuenta como fallo del proveedor más lento")
+    void lostRacesDoNotEjectProvider() throws Exception {
+        var service = new NotificationService(NotificationConfig.builder()
+                .property("simulator.mode", "local")
+                .property("simulator.push.latency", "fixed:500ms")
+                .property("simulator.sms.latency", "fixed:1ms")
+                .retryAttempts(0)
+                .build());
+        var policy = FallbackPolicy.race()
+                .then(ChannelType.PUSH, PLAZO).then(ChannelType.SMS, PLAZO).build();
+
+        for (int i = 0; i < ProviderBalancer.EJECTION_THRESHOLD + 2; i++) {
+            var result = service.sendWithFallback(policy, SOLICITUDES);
+            assertEquals(ChannelType.SMS, ((NotificationResult.Success) result).channel());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (service.getProviderStats(ChannelType.PUSH).getFirst().inFlight() > 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        var push = service.getProviderStats(ChannelType.PUSH).getFirst();
+        assertEquals(0, push.inFlight());
+        assertEquals(0, push.failures());
+        assertFalse(push.ejected());
+    }
+
+    @FunctionalInterface
+    private interface Behavior {
+        NotificationResult respond() throws InterruptedException;
+    }
+}
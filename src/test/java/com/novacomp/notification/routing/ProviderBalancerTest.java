@@ -0,0 +1,162 @@
+package com.novacomp.notification.routing;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.WeightedProvider;
+import com.novacomp.notification.core.NotificationService;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProviderBalancer -- P2C ponderado, EWMA y expulsión")
+class ProviderBalancerTest {
+
+    private static final List<WeightedProvider> DOS_PROVEEDORES =
+            List.of(new WeightedProvider("twilio", 1), new WeightedProvider("vonage", 1));
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ProviderBalancer balancer(List<WeightedProvider> providers) {
+        return new ProviderBalancer("SMS", providers, clock::get, new Random(42));
+    }
+
+    private Map<String, Integer> route(ProviderBalancer balancer, int sends, Map<String, Long> latencyMs) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < sends; i++) {
+            var selection = balancer.select();
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs.getOrDefault(selection.provider(), 0L)));
+            selection.onSuccess();
+            counts.merge(selection.provider(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    @DisplayName("con proveedores equivalentes el tráfico sigue los pesos")
+    void followsWeights() {
+        var balancer = balancer(List.of(new WeightedProvider("sendgrid", 3), new WeightedProvider("mailgun", 1)));
+
+        var counts = route(balancer, 4_000, Map.of());
+
+        assertEquals(3_000, counts.get("sendgrid"), 150);
+    }
+
+    @Test
+    @DisplayName("el proveedor lento recibe menos tráfico")
+    void prefersFasterProvider() {
+        var balancer = balancer(DOS_PROVEEDORES);
+
+        var counts = route(balancer, 2_000, Map.of("twilio", 10L, "vonage", 100L));
+
+        assertTrue(counts.get("twilio") > 1_600, "twilio (rápido) recibió " + counts.get("twilio"));
+        assertTrue(balancer.stats().get(1).ewmaLatencyMillis() > 50);
+    }
+
+    @Test
+    @DisplayName("expulsa tras fallos consecutivos y reincorpora al vencer la expulsión")
+    void ejectsFailingProvider() {
+        var balancer = balancer(DOS_PROVEEDORES);
+        int vonageFailures = 0;
+        while (vonageFailures < ProviderBalancer.EJECTION_THRESHOLD) {
+            var selection = balancer.select();
+            if (selection.provider().equals("vonage")) {
+                selection.onFailure();
+                vonageFailures++;
+            } else {
+                selection.onSuccess();
+            }
+        }
+
+        assertTrue(balancer.stats().get(1).ejected());
+        for (int i = 0; i < 100; i++) {
+            var selection = balancer.select();
+            assertEquals("twilio", selection.provider());
+            selection.onSuccess();
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertFalse(balancer.stats().get(1).ejected());
+        assertEquals(1, balancer.stats().get(1).ejections());
+    }
+
+    @Test
+    @DisplayName("release() libera el envío sin contar fallo ni latencia")
+    void releaseSkipsAccounting() {
+        var balancer = balancer(List.of(new WeightedProvider("twilio", 1)));
+        var selection = balancer.select();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        selection.release();
+        selection.onFailure();
+
+        var stats = balancer.stats().get(0);
+        assertEquals(0, stats.inFlight());
+        assertEquals(0, stats.failures());
+        assertEquals(0.0, stats.ewmaLatencyMillis());
+    }
+
+    @Test
+    @DisplayName("con todos expulsados sigue enviando")
+    void allEjectedStillRoutes() {
+        var balancer = balancer(DOS_PROVEEDORES);
+        for (int i = 0; i < 20; i++) {
+            balancer.select().onFailure();
+        }
+
+        assertTrue(balancer.stats().stream().allMatch(ProviderStats::ejected));
+        assertNotNull(balancer.select().provider());
+    }
+
+    @Test
+    @DisplayName("la recarga conserva las métricas de los proveedores que se mantienen")
+    void updateKeepsStats() {
+        var balancer = balancer(DOS_PROVEEDORES);
+        route(balancer, 10, Map.of());
+        long twilioRequests = balancer.stats().get(0).requests();
+
+        balancer.update(List.of(new WeightedProvider("twilio", 2)));
+
+        assertEquals(1, balancer.stats().size());
+        assertEquals(twilioRequests, balancer.stats().get(0).requests());
+        assertEquals(2, balancer.stats().get(0).weight());
+    }
+
+    @Test
+    @DisplayName("el canal reparte entre los proveedores de <canal>.providers y expone sus métricas")
+    void channelIntegration() {
+        var service = new NotificationService(NotificationConfig.builder()
+                .property("sms.providers", "twilio:3,vonage:1")
+                .property("simulator.mode", "local")
+                .property("simulator.sms.vonage.errors", "PROVIDER_ERROR:1")
+                .build());
+
+        for (int i = 0; i < 200; i++) {
+            service.send(new SmsRequest("+50688881234", "Hola"));
+        }
+
+        List<ProviderStats> stats = service.getProviderStats(ChannelType.SMS);
+        assertEquals(List.of("twilio", "vonage"), stats.stream().map(ProviderStats::provider).toList());
+        assertEquals(0, stats.get(0).failures());
+        assertTrue(stats.get(1).failures() > 0);
+        assertTrue(stats.get(1).requests() < 20, "vonage falla siempre y casi no recibe tráfico");
+        assertEquals("twilio", service.getConfig().current().getSmsSettings().provider());
+    }
+
+    @Test
+    @DisplayName("rechaza proveedores repetidos o con peso inválido")
+    void validatesProviders() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationConfig.builder().property("email.providers", "sendgrid:1,sendgrid:2").build());
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationConfig.builder().property("email.providers", "sendgrid:0").build());
+    }
+}
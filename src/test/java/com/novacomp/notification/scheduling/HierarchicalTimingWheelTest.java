@@ -0,0 +1,75 @@
+package com.novacomp.notification.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HierarchicalTimingWheel -- Inserción y cascada")
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("vence tareas que atraviesan la cascada del nivel 1 al nivel 0")
+    void expiresAcrossCascade() throws Exception {
+        int tasks = 1_000;
+        var latch = new CountDownLatch(tasks);
+        var early = new AtomicInteger();
+
+        try (var wheel = new HierarchicalTimingWheel<Long>(Duration.ofMillis(1), timeout -> {
+            if (System.nanoTime() < timeout.payload()) {
+                early.incrementAndGet();
+            }
+            latch.countDown();
+        })) {
+            for (int i = 0; i < tasks; i++) {
+                // 0..599 ms: cubre el nivel 0 (256 ticks) y el nivel 1
+                long delayMs = i % 600;
+                wheel.schedule(Duration.ofMillis(delayMs), System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs));
+            }
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "Todas las tareas deben vencer");
+            assertEquals(0, early.get(), "Ninguna tarea puede vencer antes de su deadline");
+            assertEquals(0, wheel.pending());
+        }
+    }
+
+    @Test
+    @DisplayName("con la rueda vacía el ticker espera sin despertar y una tarea nueva lo reactiva")
+    void parksWhileEmpty() throws Exception {
+        var fired = new CountDownLatch(1);
+        var expiredAt = new long[1];
+        Set<Thread> existing = Thread.getAllStackTraces().keySet();
+
+        try (var wheel = new HierarchicalTimingWheel<Long>(Duration.ofMillis(1), timeout -> {
+            expiredAt[0] = System.nanoTime();
+            fired.countDown();
+        })) {
+            Thread ticker = tickerThread(existing);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (ticker.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(Thread.State.WAITING, ticker.getState(), "Sin tareas el ticker espera sin plazo");
+
+            Thread.sleep(200);
+            long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30);
+            wheel.schedule(Duration.ofMillis(30), due);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS), "La tarea debe vencer");
+            assertTrue(expiredAt[0] >= due, "La tarea no puede vencer antes de su deadline");
+        }
+    }
+
+    private static Thread tickerThread(Set<Thread> existing) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("timing-wheel-ticker") && !existing.contains(thread))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,110 @@
+package com.novacomp.notification.scheduling;
+
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationScheduler -- Rueda de tiempo jerárquica")
+class NotificationSchedulerTest {
+
+    private final List<Object> dispatched = new CopyOnWriteArrayList<>();
+    private final List<Long> persisted = new CopyOnWriteArrayList<>();
+    private final SchedulePersistence persistence = new SchedulePersistence() {
+        @Override
+        public void saved(long id, Instant deliverAt, Object request) {
+            persisted.add(id);
+        }
+
+        @Override
+        public void removed(long id) {
+            persisted.remove(id);
+        }
+    };
+
+    private final NotificationScheduler scheduler = new NotificationScheduler(request -> {
+        dispatched.add(request);
+        return CompletableFuture.completedFuture(new NotificationResult.Success("id-" + request.hashCode(), Instant.now()));
+    }, Duration.ofMillis(1), persistence, Clock.systemUTC());
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    @DisplayName("despacha el envío al vencer el delay, nunca antes")
+    void dispatchesAfterDelay() throws Exception {
+        var request = new SmsRequest("+50688881234", "Recordatorio");
+        long start = System.nanoTime();
+
+        var scheduled = scheduler.schedule(Duration.ofMillis(50), request);
+        var result = scheduled.result().get(5, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertInstanceOf(NotificationResult.Success.class, result);
+        assertEquals(List.of(request), dispatched);
+        assertTrue(persisted.isEmpty(), "El hook debe registrar la baja al despachar");
+    }
+
+    @Test
+    @DisplayName("respeta el orden de vencimiento entre niveles de la rueda")
+    void expiresInDeadlineOrder() throws Exception {
+        var later = scheduler.schedule(Duration.ofMillis(300), "tarde");
+        var sooner = scheduler.schedule(Duration.ofMillis(20), "pronto");
+        var past = scheduler.schedule(Instant.now().minusSeconds(5), "vencido");
+
+        CompletableFuture.allOf(later.result(), sooner.result(), past.result()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("vencido", "pronto", "tarde"), dispatched);
+    }
+
+    @Test
+    @DisplayName("cancel() retira el envío pendiente y cancela su future")
+    void cancelRemovesPendingNotification() throws Exception {
+        var scheduled = scheduler.schedule(Duration.ofMillis(100), "cancelado");
+        assertEquals(1, scheduler.pending());
+
+        assertTrue(scheduled.cancel());
+        assertFalse(scheduled.cancel(), "Una segunda cancelación no tiene efecto");
+        assertTrue(scheduled.result().isCancelled());
+        assertEquals(0, scheduler.pending());
+        assertTrue(persisted.isEmpty());
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        assertTrue(dispatched.isEmpty());
+    }
+
+    @Test
+    @DisplayName("los envíos lejanos quedan pendientes y se retornan al detener")
+    void shutdownReturnsPendingRequests() {
+        scheduler.schedule(Duration.ofDays(400), "el año que viene");
+        scheduler.schedule(Duration.ofHours(2), "en dos horas");
+
+        assertEquals(2, scheduler.pending());
+        var remaining = scheduler.shutdown();
+
+        assertEquals(2, remaining.size());
+        assertEquals(2, persisted.size(), "Los pendientes siguen persistidos para recuperarse");
+    }
+
+    @Test
+    @DisplayName("programar con el programador detenido falla sin dejar el envío persistido")
+    void rejectsAfterShutdownWithoutPersisting() {
+        scheduler.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> scheduler.schedule(Duration.ofMinutes(5), "tarde"));
+        assertTrue(persisted.isEmpty(), "El hook debe registrar la baja del envío rechazado");
+    }
+}
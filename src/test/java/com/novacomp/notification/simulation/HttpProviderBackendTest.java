@@ -0,0 +1,55 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.PushRequest;
+import com.novacomp.notification.payload.PayloadBuffer;
+import com.novacomp.notification.payload.ProviderPayloads;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HttpProviderBackend -- Payload sin copia")
+class HttpProviderBackendTest {
+
+    @Test
+    @DisplayName("envía el payload con su Content-Type y abandona el buffer si el proveedor falla")
+    void postsPayload() throws Exception {
+        var body = new AtomicReference<String>();
+        var contentType = new AtomicReference<String>();
+        var status = new AtomicReference<>(202);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange; InputStream in = exchange.getRequestBody()) {
+                body.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                contentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+                exchange.sendResponseHeaders(status.get(), -1);
+            }
+        });
+        server.start();
+        try {
+            var backend = new HttpProviderBackend(ChannelType.PUSH,
+                    URI.create("http://localhost:" + server.getAddress().getPort()), Duration.ofSeconds(2));
+            var payload = ProviderPayloads.fcm(new PayloadBuffer(64), new PushRequest("tok", "Hola", "¡Oferta!"));
+
+            assertTrue(backend.call("fcm", payload).isEmpty());
+            assertEquals(payload.toString(), body.get());
+            assertEquals(PayloadBuffer.JSON, contentType.get());
+            assertFalse(payload.isAbandoned());
+
+            status.set(500);
+            assertTrue(backend.call("fcm", payload).isPresent());
+            assertTrue(payload.isAbandoned());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
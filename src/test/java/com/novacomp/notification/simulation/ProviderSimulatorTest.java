@@ -0,0 +1,166 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.channel.SmsChannel;
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
+import com.novacomp.notification.core.Deadline;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProviderSimulator -- Latencia, errores, throttling y caídas")
+class ProviderSimulatorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ProviderSimulator simulator(NotificationConfig.Builder builder) {
+        return new ProviderSimulator(ChannelType.SMS, ReloadableConfig.of(builder.build()),
+                new Random(42), clock::get);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Perfiles
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("interpreta las distribuciones de latencia")
+    void parsesLatencyDistributions() {
+        assertEquals(new LatencyDistribution.Fixed(Duration.ofMillis(20)),
+                LatencyDistribution.parse("fixed:20ms"));
+        assertEquals(new LatencyDistribution.LogNormal(Duration.ofMillis(40), 0.6),
+                LatencyDistribution.parse("lognormal:40ms,0.6"));
+        assertEquals(new LatencyDistribution.Bimodal(Duration.ofMillis(15), Duration.ofSeconds(1), 0.05),
+                LatencyDistribution.parse("bimodal:15ms,1s,0.05"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("gaussian:1ms"));
+    }
+
+    @Test
+    @DisplayName("la mediana de la log-normal coincide con la configurada")
+    void logNormalMedian() {
+        var distribution = new LatencyDistribution.LogNormal(Duration.ofMillis(40), 0.8);
+        var random = new Random(7);
+        long below = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (distribution.sampleNanos(random) < TimeUnit.MILLISECONDS.toNanos(40)) {
+                below++;
+            }
+        }
+        assertEquals(5_000, below, 300);
+    }
+
+    @Test
+    @DisplayName("las claves por proveedor tienen prioridad sobre las del canal")
+    void providerOverridesChannel() {
+        var config = NotificationConfig.builder()
+                .property("simulator.sms.throttle.rps", "100")
+                .property("simulator.sms.vonage.throttle.rps", "5")
+                .build();
+
+        assertEquals(100, SimulationProfile.from(config, ChannelType.SMS, "twilio").throttleRps());
+        assertEquals(5, SimulationProfile.from(config, ChannelType.SMS, "vonage").throttleRps());
+        assertEquals(SimulationProfile.IDEAL, SimulationProfile.from(config, ChannelType.PUSH, "fcm"));
+    }
+
+    // ------------------------------------------------------------------ //
+    // Comportamiento
+    // ------------------------------------------------------------------ //
+
+    @Test
+    @DisplayName("las tasas de error se respetan por código")
+    void errorRates() {
+        var sim = simulator(NotificationConfig.builder()
+                .property("simulator.sms.errors", "PROVIDER_ERROR:0.2,INVALID_NUMBER:0.05"));
+
+        int providerErrors = 0;
+        int invalid = 0;
+        for (int i = 0; i < 10_000; i++) {
+            Optional<NotificationResult.Failure> result = sim.call("twilio");
+            if (result.isPresent()) {
+                switch (result.get().code()) {
+                    case "PROVIDER_ERROR" -> providerErrors++;
+                    case "INVALID_NUMBER" -> invalid++;
+                    default -> fail("código inesperado " + result.get().code());
+                }
+            }
+        }
+        assertEquals(2_000, providerErrors, 200);
+        assertEquals(500, invalid, 100);
+    }
+
+    @Test
+    @DisplayName("responde THROTTLED al superar las llamadas por segundo")
+    void throttles() {
+        var sim = simulator(NotificationConfig.builder().property("simulator.sms.throttle.rps", "3"));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(sim.call("twilio").isEmpty());
+        }
+        assertEquals(SimulationProfile.THROTTLED, sim.call("twilio").orElseThrow().code());
+        assertTrue(sim.call("vonage").isEmpty(), "el límite es por proveedor");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(sim.call("twilio").isEmpty(), "el siguiente segundo abre una nueva ventana");
+    }
+
+    @Test
+    @DisplayName("responde PROVIDER_UNAVAILABLE dentro de una ventana de caída")
+    void outages() {
+        var sim = simulator(NotificationConfig.builder().property("simulator.sms.outages", "10s+5s"));
+
+        assertTrue(sim.call("twilio").isEmpty());
+        clock.set(TimeUnit.SECONDS.toNanos(12));
+        assertEquals(SimulationProfile.PROVIDER_UNAVAILABLE, sim.call("twilio").orElseThrow().code());
+        clock.set(TimeUnit.SECONDS.toNanos(15));
+        assertTrue(sim.call("twilio").isEmpty());
+    }
+
+    @Test
+    @DisplayName("una llamada interrumpida responde CANCELLED")
+    void interruptedCallIsCancelled() {
+        var sim = simulator(NotificationConfig.builder().property("simulator.sms.latency", "fixed:10s"));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(Deadline.CANCELLED, sim.call("twilio").orElseThrow().code());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    @DisplayName("sigue las recargas de configuración")
+    void followsReload() {
+        var config = ReloadableConfig.of(NotificationConfig.builder().build());
+        var sim = new ProviderSimulator(ChannelType.SMS, config, new Random(1), clock::get);
+        assertTrue(sim.call("twilio").isEmpty());
+
+        config.update(b -> b.property("simulator.sms.errors", "PROVIDER_ERROR:1"));
+
+        assertEquals("PROVIDER_ERROR", sim.call("twilio").orElseThrow().code());
+    }
+
+    @Test
+    @DisplayName("el canal retorna el Failure del proveedor simulado")
+    void channelPropagatesFailure() {
+        var config = ReloadableConfig.of(NotificationConfig.builder()
+                .property("simulator.mode", "local")
+                .property("simulator.sms.errors", "PROVIDER_ERROR:1")
+                .build());
+        var channel = new SmsChannel(config);
+
+        NotificationResult result = channel.send(new SmsRequest("+50688881234", "Hola"));
+
+        assertInstanceOf(NotificationResult.Failure.class, result);
+        assertEquals("PROVIDER_ERROR", ((NotificationResult.Failure) result).code());
+    }
+}
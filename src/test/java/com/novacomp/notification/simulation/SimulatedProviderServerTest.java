@@ -0,0 +1,73 @@
+package com.novacomp.notification.simulation;
+
+import com.novacomp.notification.config.NotificationConfig;
+import com.novacomp.notification.config.ReloadableConfig;
+import com.novacomp.notification.mime.MimeMessage;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailAttachment;
+import com.novacomp.notification.model.EmailRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SimulatedProviderServer -- Stand-in HTTP")
+class SimulatedProviderServerTest {
+
+    @Test
+    @DisplayName("acepta envíos y traduce el throttling a HTTP 429")
+    void roundTrip() throws Exception {
+        var config = ReloadableConfig.of(NotificationConfig.builder()
+                .property("simulator.push.throttle.rps", "2")
+                .build());
+
+        try (var server = new SimulatedProviderServer(config, 0)) {
+            var backend = new HttpProviderBackend(ChannelType.PUSH,
+                    URI.create("http://localhost:" + server.port()), Duration.ofSeconds(2));
+
+            assertTrue(backend.call("fcm").isEmpty());
+            assertTrue(backend.call("fcm").isEmpty());
+            assertEquals(SimulationProfile.THROTTLED, backend.call("fcm").orElseThrow().code());
+        }
+    }
+
+    @Test
+    @DisplayName("reporta PROVIDER_TIMEOUT cuando el proveedor no responde a tiempo")
+    void clientTimeout() throws Exception {
+        var config = ReloadableConfig.of(NotificationConfig.builder()
+                .property("simulator.email.latency", "fixed:1s")
+                .build());
+
+        try (var server = new SimulatedProviderServer(config, 0)) {
+            var backend = new HttpProviderBackend(ChannelType.EMAIL,
+                    URI.create("http://localhost:" + server.port()), Duration.ofMillis(100));
+
+            assertEquals("PROVIDER_TIMEOUT", backend.call("sendgrid").orElseThrow().code());
+        }
+    }
+
+    @Test
+    @DisplayName("transmite un cuerpo en streaming y propaga el error si su escritura falla")
+    void streamsBody() throws Exception {
+        var config = ReloadableConfig.of(NotificationConfig.builder().build());
+        var attachment = EmailAttachment.ofBuffer("grande.bin", "application/octet-stream",
+                ByteBuffer.allocateDirect(3 * 1024 * 1024));
+        var request = new EmailRequest("u@e.com", "Adjunto", "Cuerpo", List.of(attachment));
+
+        try (var server = new SimulatedProviderServer(config, 0)) {
+            var backend = new HttpProviderBackend(ChannelType.EMAIL,
+                    URI.create("http://localhost:" + server.port()), Duration.ofSeconds(5));
+
+            assertTrue(backend.call("sendgrid", new MimeMessage("noreply@novacomp.com", request)).isEmpty());
+            assertThrows(IOException.class, () -> backend.call("sendgrid", out -> {
+                throw new IOException("disco desconectado");
+            }));
+        }
+    }
+}
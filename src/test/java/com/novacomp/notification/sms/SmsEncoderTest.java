@@ -0,0 +1,89 @@
+package com.novacomp.notification.sms;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link SmsEncoder}: clasificación GSM-7/UCS-2, conteo de
+ * segmentos con UDH y transliteración.
+ */
+@DisplayName("SmsEncoder -- Codificación y segmentación de SMS")
+class SmsEncoderTest {
+
+    @Test
+    @DisplayName("texto GSM-7 cabe en 160 septetos y luego se parte en segmentos de 153")
+    void segmentsGsm7() {
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 0, 1), SmsEncoder.analyze(""));
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 160, 1), SmsEncoder.analyze("a".repeat(160)));
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 161, 2), SmsEncoder.analyze("a".repeat(161)));
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 306, 2), SmsEncoder.analyze("a".repeat(306)));
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 307, 3), SmsEncoder.analyze("a".repeat(307)));
+        // Letras del alfabeto básico fuera de ASCII.
+        assertEquals(SmsEncoding.GSM_7, SmsEncoder.analyze("Señal débil en Δ ¿qué? ¡ü! £ ¥ §").encoding());
+    }
+
+    @Test
+    @DisplayName("la tabla de extensión cuenta 2 septetos y el escape no se parte entre segmentos")
+    void extensionTable() {
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 4, 1), SmsEncoder.analyze("€{"));
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 160, 1), SmsEncoder.analyze("a".repeat(158) + "€"));
+        assertEquals(161, SmsEncoder.analyze("a".repeat(159) + "[").units());
+
+        // 152 septetos + '€': el par escape/carácter no cabe en el primer segmento.
+        var segments = SmsEncoder.analyze("a".repeat(152) + "€" + "a".repeat(152));
+        assertEquals(new SmsSegments(SmsEncoding.GSM_7, 306, 3), segments);
+    }
+
+    @Test
+    @DisplayName("un carácter fuera de GSM-7 pasa todo el mensaje a UCS-2")
+    void switchesToUcs2() {
+        assertEquals(new SmsSegments(SmsEncoding.UCS_2, 160, 3),
+                SmsEncoder.analyze("a".repeat(159) + "á"));
+        assertEquals(new SmsSegments(SmsEncoding.UCS_2, 70, 1), SmsEncoder.analyze("á".repeat(70)));
+        assertEquals(new SmsSegments(SmsEncoding.UCS_2, 71, 2), SmsEncoder.analyze("á".repeat(71)));
+        assertFalse(SmsEncoder.isGsm7('`'));
+        assertTrue(SmsEncoder.isGsm7('@'));
+    }
+
+    @Test
+    @DisplayName("un emoji ocupa 2 unidades y no se parte entre segmentos")
+    void surrogatePairs() {
+        assertEquals(new SmsSegments(SmsEncoding.UCS_2, 7, 1), SmsEncoder.analyze("Hola 👋"));
+        // 66 unidades + emoji = 68 > 67: el emoji abre el segundo segmento.
+        var segments = SmsEncoder.analyze("a".repeat(66) + "👋" + "a".repeat(66));
+        assertEquals(new SmsSegments(SmsEncoding.UCS_2, 134, 3), segments);
+        assertEquals(new SmsSegments(SmsEncoding.UCS_2, 134, 2),
+                SmsEncoder.analyze("a".repeat(65) + "👋" + "a".repeat(67)));
+    }
+
+    @Test
+    @DisplayName("translitera a GSM-7 y conserva las letras que ya están en el alfabeto")
+    void transliterates() {
+        String text = "Señal débil — llamá “ya” al 800… ¿Sí?";
+        String gsm = SmsEncoder.transliterate(text);
+
+        assertEquals("Señal débil - llama \"ya\" al 800... ¿Si?", gsm);
+        assertEquals(SmsEncoding.GSM_7, SmsEncoder.analyze(gsm).encoding());
+        assertEquals("Ça va, coeur", SmsEncoder.transliterate("ça va, cœur"));
+    }
+
+    @Test
+    @DisplayName("sin equivalente o ya en GSM-7 retorna el mismo texto")
+    void transliterationKeepsOriginal() {
+        String ascii = "Hola mundo";
+        String emoji = "Llegó tu pedido 📦";
+
+        assertSame(ascii, SmsEncoder.transliterate(ascii));
+        assertSame(emoji, SmsEncoder.transliterate(emoji));
+    }
+
+    @Test
+    @DisplayName("remaining() indica las unidades libres del último segmento")
+    void remaining() {
+        assertEquals(150, SmsEncoder.analyze("a".repeat(10)).remaining());
+        assertEquals(2 * 153 - 200, SmsEncoder.analyze("a".repeat(200)).remaining());
+        assertTrue(SmsEncoder.analyze("a".repeat(200)).concatenated());
+    }
+}
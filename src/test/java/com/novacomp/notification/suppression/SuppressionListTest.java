@@ -0,0 +1,92 @@
+package com.novacomp.notification.suppression;
+
+import com.novacomp.notification.model.ChannelType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para {@link SuppressionList}: consultas exactas detrás del filtro de
+ * Bloom, persistencia del archivo mapeado, carga masiva y capacidad.
+ */
+@DisplayName("SuppressionList -- Lista de supresión fuera del heap")
+class SuppressionListTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("distingue destinatarios y canales sin falsos negativos")
+    void exactMembership() {
+        try (var list = SuppressionList.builder().capacity(300_000).open()) {
+            for (int i = 0; i < 200_000; i++) {
+                assertTrue(list.add(ChannelType.SMS, "+5068" + String.format("%07d", i)));
+            }
+            assertFalse(list.add(ChannelType.SMS, "+50680000007"));
+            assertEquals(200_000, list.size());
+
+            for (int i = 0; i < 200_000; i++) {
+                assertTrue(list.contains(ChannelType.SMS, "+5068" + String.format("%07d", i)));
+            }
+            long collisions = IntStream.range(0, 100_000)
+                    .filter(i -> list.contains(ChannelType.SMS, "+5067" + String.format("%07d", i)))
+                    .count();
+            assertEquals(0, collisions);
+            assertFalse(list.contains(ChannelType.PUSH, "+50680000007"));
+        }
+    }
+
+    @Test
+    @DisplayName("el archivo mapeado conserva las entradas al reabrir")
+    void persistsAcrossReopen() {
+        Path file = dir.resolve("supresion.idx");
+        try (var list = SuppressionList.builder().capacity(1000).file(file).open()) {
+            list.add(ChannelType.EMAIL, "baja@ejemplo.com");
+            list.add(ChannelType.PUSH, "device-token-abc123");
+        }
+        // La capacidad del archivo existente prevalece sobre la del builder.
+        try (var list = SuppressionList.builder().capacity(5).file(file).open()) {
+            assertEquals(2, list.size());
+            assertTrue(list.contains(ChannelType.EMAIL, "baja@ejemplo.com"));
+            assertTrue(list.contains(ChannelType.PUSH, "device-token-abc123"));
+            assertFalse(list.contains(ChannelType.EMAIL, "alta@ejemplo.com"));
+            assertTrue(list.capacity() >= 1000);
+        }
+    }
+
+    @Test
+    @DisplayName("la carga masiva normaliza, ignora comentarios y cuenta solo las nuevas")
+    void bulkLoad() throws Exception {
+        Path source = dir.resolve("bajas.txt");
+        Files.write(source, List.of("# bajas de marzo", "+506 8888-1234", "", "+50688881234", "+1 (202) 555-0123"));
+
+        try (var list = SuppressionList.builder().capacity(100).open()) {
+            assertEquals(2, list.load(ChannelType.SMS, source));
+            assertTrue(list.contains(ChannelType.SMS, "+50688881234"));
+            assertTrue(list.contains(ChannelType.SMS, "+12025550123"));
+            assertEquals(0, list.load(ChannelType.SMS, source));
+        }
+    }
+
+    @Test
+    @DisplayName("rechaza altas por encima de la capacidad")
+    void rejectsWhenFull() {
+        try (var list = SuppressionList.builder().capacity(10).open()) {
+            long capacity = list.capacity();
+            for (long i = 0; i < capacity; i++) {
+                list.addFingerprint(i + 1);
+            }
+            assertThrows(IllegalStateException.class, () -> list.addFingerprint(-1));
+            assertFalse(list.addFingerprint(1));
+            assertTrue(list.containsFingerprint(capacity));
+        }
+        assertThrows(IllegalArgumentException.class, () -> SuppressionList.builder().capacity(0));
+    }
+}
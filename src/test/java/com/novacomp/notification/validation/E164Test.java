@@ -0,0 +1,70 @@
+package com.novacomp.notification.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E164 -- Parser de números internacionales")
+class E164Test {
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+            "'+506 8888-1234',     +50688881234, 506",
+            "'00506 88881234',     +50688881234, 506",
+            "'+1 (202) 555-0123',  +12025550123, 1",
+            "'+34 612.345.678',    +34612345678, 34",
+            "'  +44 20 7946 0958 ', +442079460958, 44",
+            "'+7 912 345 67 89',   +79123456789, 7",
+            "'+372 5123 4567',     +37251234567, 372"
+    })
+    @DisplayName("normaliza números válidos a + y dígitos")
+    void parsesValidNumbers(String raw, String canonical, int country) {
+        long parsed = E164.parse(raw);
+
+        assertTrue(parsed >= 0, E164.describe(parsed));
+        assertEquals(canonical, E164.format(parsed));
+        assertEquals(country, E164.countryCode(parsed));
+        assertEquals(canonical.length() - 1, E164.digits(parsed));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "'88881234',           -2",
+            "'+506 8888-123a',     -1",
+            "'+1234567890123456',  -3",
+            "'+999 12345678',      -4",
+            "'+0 12345678',        -4",
+            "'+506 8888-123',      -5",
+            "'+1234567890',        -5",
+            "'+1 (123) 555-0123',  -6",
+            "'+1 (202) 155-0123',  -6",
+            "'+',                  -5"
+    })
+    @DisplayName("rechaza números inválidos con el código de error")
+    void rejectsInvalidNumbers(String raw, long error) {
+        assertEquals(error, E164.parse(raw));
+        assertFalse(E164.describe(error).isBlank());
+    }
+
+    @Test
+    @DisplayName("no asigna memoria al analizar")
+    void parseDoesNotAllocate() {
+        var threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        String raw = "+506 8888-1234";
+        long sink = 0;
+        for (int i = 0; i < 50_000; i++) {
+            sink += E164.parse(raw);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            sink += E164.parse(raw);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertNotEquals(0, sink);
+        assertTrue(allocated < 1024, "Bytes asignados: " + allocated);
+    }
+}
@@ -0,0 +1,97 @@
+package com.novacomp.notification.validation;
+
+import com.novacomp.notification.core.NotificationChannel;
+import com.novacomp.notification.core.NotificationResult;
+import com.novacomp.notification.model.ChannelType;
+import com.novacomp.notification.model.EmailRequest;
+import com.novacomp.notification.model.SmsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RecipientValidator -- Validación previa al envío")
+class RecipientValidatorTest {
+
+    private final RecipientValidator validator = new RecipientValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"u@e.com", "nombre.apellido+tag@sub.ejemplo.co", "o'brien@ejemplo.ie", "a-b_c@x-y.org"})
+    @DisplayName("acepta emails válidos")
+    void acceptsValidEmails(String email) {
+        assertTrue(validator.check(ChannelType.EMAIL, email).valid());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"usuario", "@e.com", "u@", "u@e", "u@e.c", "u@e.c0m", ".u@e.com", "u.@e.com",
+            "u..v@e.com", "u@-e.com", "u@e-.com", "u@e..com", "u v@e.com", "a@b@e.com"})
+    @DisplayName("rechaza emails con sintaxis inválida")
+    void rejectsInvalidEmails(String email) {
+        var verdict = validator.check(ChannelType.EMAIL, email);
+
+        assertFalse(verdict.valid());
+        assertEquals(RecipientValidator.INVALID_RECIPIENT, verdict.failure().code());
+    }
+
+    @Test
+    @DisplayName("normaliza el dominio del email y el número de teléfono")
+    void normalizes() {
+        var email = new EmailRequest(" Ana@Ejemplo.COM ", "Hola", "Cuerpo");
+        var sms = new SmsRequest("+506 8888-1234", "Hola");
+        var canonical = new SmsRequest("+50688881234", "Hola");
+
+        assertEquals(new EmailRequest("Ana@ejemplo.com", "Hola", "Cuerpo"),
+                RecipientValidator.normalize(email, validator.check(email)));
+        assertEquals(canonical, RecipientValidator.normalize(sms, validator.check(sms)));
+        assertSame(canonical, RecipientValidator.normalize(canonical, validator.check(canonical)));
+    }
+
+    @Test
+    @DisplayName("valida el formato de los tokens de dispositivo")
+    void validatesTokens() {
+        assertTrue(validator.check(ChannelType.PUSH, "fcm:APA91bH-x_y.z").valid());
+        assertFalse(validator.check(ChannelType.PUSH, "tok").valid());
+        assertFalse(validator.check(ChannelType.PUSH, "device token").valid());
+    }
+
+    @Test
+    @DisplayName("reutiliza el veredicto de un destinatario repetido")
+    void cachesVerdicts() {
+        var first = validator.check(ChannelType.SMS, "+506 8888-1234");
+
+        assertSame(first, validator.check(ChannelType.SMS, new String("+506 8888-1234")));
+        assertNotSame(first, new RecipientValidator(0).check(ChannelType.SMS, "+506 8888-1234"));
+    }
+
+    @Test
+    @DisplayName("el decorator rechaza sin llamar al canal y envía la forma canónica")
+    void decoratorRejectsBeforeChannel() {
+        List<SmsRequest> sent = new ArrayList<>();
+        NotificationChannel<SmsRequest> channel = new NotificationChannel<>() {
+            @Override
+            public NotificationResult send(SmsRequest request) {
+                sent.add(request);
+                return new NotificationResult.Success("SM1", Instant.now(), ChannelType.SMS);
+            }
+
+            @Override
+            public ChannelType getType() {
+                return ChannelType.SMS;
+            }
+        };
+        var decorated = new ValidationChannelDecorator<>(channel, validator);
+
+        var rejected = decorated.send(new SmsRequest("+1234567890", "Hola"));
+        var delivered = decorated.send(new SmsRequest("+506 8888-1234", "Hola"));
+
+        assertEquals(RecipientValidator.INVALID_RECIPIENT, ((NotificationResult.Failure) rejected).code());
+        assertInstanceOf(NotificationResult.Success.class, delivered);
+        assertEquals(List.of(new SmsRequest("+50688881234", "Hola")), sent);
+    }
+}